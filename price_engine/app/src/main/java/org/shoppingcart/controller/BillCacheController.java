@@ -0,0 +1,33 @@
+package org.shoppingcart.controller;
+
+import org.shoppingcart.models.BillCacheStatsDTO;
+import org.shoppingcart.services.BillCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/bill/cache")
+public class BillCacheController {
+
+    private final BillCache billCache;
+
+    @Autowired
+    public BillCacheController(BillCache billCache) {
+        this.billCache = billCache;
+    }
+
+    @GetMapping
+    public ResponseEntity<BillCacheStatsDTO> stats() {
+        return ResponseEntity.ok(billCache.stats());
+    }
+
+    @DeleteMapping
+    public ResponseEntity<BillCacheStatsDTO> invalidate() {
+        billCache.invalidateAll();
+        return ResponseEntity.ok(billCache.stats());
+    }
+}
@@ -0,0 +1,43 @@
+package org.shoppingcart.controller;
+
+import org.shoppingcart.models.CatalogInfoDTO;
+import org.shoppingcart.services.FruitCatalogService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/catalog")
+public class CatalogController {
+
+    private final FruitCatalogService catalogService;
+
+    @Autowired
+    public CatalogController(FruitCatalogService catalogService) {
+        this.catalogService = catalogService;
+    }
+
+    @GetMapping
+    public ResponseEntity<CatalogInfoDTO> currentCatalog() {
+        return ResponseEntity.ok(CatalogInfoDTO.from(catalogService.current()));
+    }
+
+    /**
+     * Every catalog version a bill can still be repriced against, newest first.
+     */
+    @GetMapping("/versions")
+    public ResponseEntity<List<CatalogInfoDTO>> catalogVersions() {
+        return ResponseEntity.ok(catalogService.versions().stream().map(CatalogInfoDTO::from).toList());
+    }
+
+    @PostMapping("/reload")
+    public ResponseEntity<CatalogInfoDTO> reloadCatalog() throws IOException {
+        return ResponseEntity.ok(CatalogInfoDTO.from(catalogService.reload()));
+    }
+}
@@ -0,0 +1,88 @@
+package org.shoppingcart.controller;
+
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import org.shoppingcart.models.BatchBillResultDTO;
+import org.shoppingcart.models.CartTally;
+import org.shoppingcart.models.FruitResponseDTO;
+import org.shoppingcart.services.BillStreamService;
+import org.shoppingcart.services.FruitBillService;
+import org.shoppingcart.utils.UnknownFruitException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api")
+public class FruitOrderController {
+
+    private static final Logger log = LoggerFactory.getLogger(FruitOrderController.class);
+
+    private final FruitBillService fruitCalculatorService;
+    private final BillStreamService billStreamService;
+
+    @Autowired
+    public FruitOrderController(FruitBillService fruitCalculatorService, BillStreamService billStreamService) {
+        this.fruitCalculatorService = fruitCalculatorService;
+        this.billStreamService = billStreamService;
+    }
+
+    /**
+     * Bills a cart; {@code tier} selects a customer tier's prices, such as {@code member} or
+     * {@code wholesale}, and is answered {@code 400} if the catalog has no such tier.
+     * {@code version} reprices the cart against a retained catalog version, as recorded on
+     * an earlier bill, and is answered {@code 404} once that version is no longer kept.
+     */
+    @PostMapping("/bill")
+    public ResponseEntity<FruitResponseDTO> computeBill(@RequestBody CartTally tally,
+                                                        @RequestParam(required = false) String tier,
+                                                        @RequestParam(required = false) Long version) {
+
+        // The body is decoded token by token into the tally; unknown names are reported together
+        if (tally.hasUnknownNames()) {
+            throw new UnknownFruitException(tally.getUnknownNames());
+        }
+
+        log.info("Received bill request for {} items", tally.distinctCount());
+        FruitResponseDTO fruitBill = version == null
+                ? fruitCalculatorService.billFromTally(tally, tier)
+                : fruitCalculatorService.billAtVersion(tally, version, tier);
+
+        return ResponseEntity.status(HttpStatus.OK).body(fruitBill);
+    }
+
+    @PostMapping("/bill/batch")
+    public ResponseEntity<List<BatchBillResultDTO>> computeBatchBill(
+            @Valid @NotEmpty(message = "Cart list cannot be empty")
+            @RequestBody List<List<String>> carts,
+            @RequestParam(required = false) String tier) {
+
+        log.info("Received batch bill request for {} carts", carts.size());
+        List<BatchBillResultDTO> bills = fruitCalculatorService.billBatch(carts, tier);
+
+        return ResponseEntity.status(HttpStatus.OK).body(bills);
+    }
+
+    /**
+     * Streams bills for newline-delimited carts: one {@code ["apple", ...]} per request line,
+     * one bill (or error) per response line, written as the carts arrive.
+     */
+    @PostMapping(value = "/bill/stream",
+            consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void computeBillStream(InputStream carts, @RequestParam(required = false) String tier,
+                                  HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        long count = billStreamService.stream(carts, response.getOutputStream(), tier);
+        log.info("Streamed {} bills", count);
+    }
+}
@@ -0,0 +1,180 @@
+package org.shoppingcart.controller;
+
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import org.shoppingcart.grpc.BillRequest;
+import org.shoppingcart.grpc.BillResponse;
+import org.shoppingcart.grpc.CartLine;
+import org.shoppingcart.grpc.PricedBundle;
+import org.shoppingcart.grpc.PricedLine;
+import org.shoppingcart.grpc.PricingServiceGrpc;
+import org.shoppingcart.models.BundlePriceDTO;
+import org.shoppingcart.models.CartTally;
+import org.shoppingcart.models.FruitCatalog;
+import org.shoppingcart.models.FruitPriceDTO;
+import org.shoppingcart.models.FruitResponseDTO;
+import org.shoppingcart.services.FruitBillService;
+import org.shoppingcart.services.FruitCatalogService;
+import org.shoppingcart.utils.CatalogVersionNotFoundException;
+import org.shoppingcart.utils.SkuDictionary;
+import org.shoppingcart.utils.UnknownFruitException;
+import org.shoppingcart.utils.UnknownTierException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * gRPC counterpart of {@link FruitOrderController}, served by
+ * {@link org.shoppingcart.utils.GrpcServerLifecycle} in the same process. Carts are
+ * tallied by SKU id and priced by {@link FruitBillService}, so both transports share
+ * the catalog snapshot, the offer table and the bill cache. A cart whose quantities or
+ * charges overflow is rejected as {@code INVALID_ARGUMENT}, as the REST endpoints answer it
+ * with {@code 400}.
+ */
+@Component
+public class PricingGrpcService extends PricingServiceGrpc.PricingServiceImplBase {
+
+    static final String OVERFLOW_MESSAGE = "Cart quantities or charges are too large to price";
+
+    private final FruitBillService fruitBillService;
+    private final FruitCatalogService catalogService;
+
+    @Autowired
+    public PricingGrpcService(FruitBillService fruitBillService, FruitCatalogService catalogService) {
+        this.fruitBillService = fruitBillService;
+        this.catalogService = catalogService;
+    }
+
+    @Override
+    public void bill(BillRequest request, StreamObserver<BillResponse> responseObserver) {
+        BillResponse response;
+        try {
+            response = price(request);
+        } catch (IllegalArgumentException | UnknownFruitException | UnknownTierException e) {
+            responseObserver.onError(Status.INVALID_ARGUMENT.withDescription(e.getMessage()).asRuntimeException());
+            return;
+        } catch (ArithmeticException e) {
+            responseObserver.onError(Status.INVALID_ARGUMENT.withDescription(OVERFLOW_MESSAGE).asRuntimeException());
+            return;
+        } catch (CatalogVersionNotFoundException e) {
+            responseObserver.onError(Status.NOT_FOUND.withDescription(e.getMessage()).asRuntimeException());
+            return;
+        }
+        responseObserver.onNext(response);
+        responseObserver.onCompleted();
+    }
+
+    /**
+     * Answers each cart in order. Carts are requested one at a time and the next one only
+     * once the response has room in the transport buffer, so a client that reads slowly
+     * holds back its own requests instead of making the server buffer responses.
+     */
+    @Override
+    public StreamObserver<BillRequest> billStream(StreamObserver<BillResponse> responseObserver) {
+        ServerCallStreamObserver<BillResponse> call = (ServerCallStreamObserver<BillResponse>) responseObserver;
+        call.disableAutoRequest();
+        // Runs on the call's serialized executor, like onNext, so the flag needs no locking
+        boolean[] waiting = {true};
+        call.setOnReadyHandler(() -> {
+            if (waiting[0] && call.isReady()) {
+                waiting[0] = false;
+                call.request(1);
+            }
+        });
+
+        return new StreamObserver<>() {
+            @Override
+            public void onNext(BillRequest request) {
+                BillResponse response;
+                try {
+                    response = price(request);
+                } catch (IllegalArgumentException | UnknownFruitException | UnknownTierException
+                         | CatalogVersionNotFoundException e) {
+                    // One bad cart does not end the stream
+                    response = error(request, e.getMessage());
+                } catch (ArithmeticException e) {
+                    response = error(request, OVERFLOW_MESSAGE);
+                }
+                call.onNext(response);
+                if (call.isReady()) {
+                    call.request(1);
+                } else {
+                    waiting[0] = true;
+                }
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                // Client cancelled or the transport failed; there is no one left to answer
+            }
+
+            @Override
+            public void onCompleted() {
+                responseObserver.onCompleted();
+            }
+        };
+    }
+
+    private BillResponse price(BillRequest request) {
+        // One snapshot per cart, so ids and prices come from the same catalog version
+        long version = request.getCatalogVersion();
+        FruitCatalog catalog = (version == 0 ? catalogService.current() : catalogService.atVersion(version))
+                .forTier(request.getTier());
+        CartTally tally = new CartTally(catalog);
+        for (int i = 0, n = request.getLinesCount(); i < n; i++) {
+            CartLine line = request.getLines(i);
+            int skuId = catalog.idOf(line.getSku());
+            if (skuId == SkuDictionary.NOT_FOUND) {
+                tally.addUnknown(line.getSku());
+            } else {
+                tally.add(skuId, line.getQuantity());
+            }
+        }
+        if (tally.hasUnknownNames()) {
+            throw new UnknownFruitException(tally.getUnknownNames());
+        }
+
+        return toResponse(request.getRequestId(), fruitBillService.billFromTally(tally));
+    }
+
+    private static BillResponse error(BillRequest request, String message) {
+        return BillResponse.newBuilder()
+                .setRequestId(request.getRequestId())
+                .setError(message)
+                .build();
+    }
+
+    private static BillResponse toResponse(String requestId, FruitResponseDTO bill) {
+        BillResponse.Builder response = BillResponse.newBuilder()
+                .setRequestId(requestId)
+                .setTotalQuantity(bill.getTotalQuantity())
+                .setTotalPriceMinor(bill.getTotalPriceMinor());
+        if (bill.getCatalogVersion() != null) {
+            response.setCatalogVersion(bill.getCatalogVersion());
+        }
+        if (bill.getTier() != null) {
+            response.setTier(bill.getTier());
+        }
+        for (FruitPriceDTO line : bill.getFruits()) {
+            response.addLines(PricedLine.newBuilder()
+                    .setSku(line.getFruit())
+                    .setOffer(line.getOffer().getOfferName())
+                    .setUnitPriceMinor(line.getUnitPriceMinor())
+                    .setQuantity(line.getQuantity())
+                    .setChargedMinor(line.getChargedMinor())
+                    .setAvgPriceMinor(line.getAvgPriceMinor())
+                    .setBundled(line.getBundled() == null ? 0 : line.getBundled()));
+        }
+        if (bill.getBundles() != null) {
+            for (BundlePriceDTO bundle : bill.getBundles()) {
+                response.addBundles(PricedBundle.newBuilder()
+                        .setName(bundle.getBundle())
+                        .setCount(bundle.getCount())
+                        .setPriceMinor(bundle.getPriceMinor())
+                        .setChargedMinor(bundle.getChargedMinor())
+                        .putAllItems(bundle.getItems()));
+            }
+        }
+        return response.build();
+    }
+}
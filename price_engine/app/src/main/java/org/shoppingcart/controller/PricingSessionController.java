@@ -0,0 +1,56 @@
+package org.shoppingcart.controller;
+
+import jakarta.validation.Valid;
+import org.shoppingcart.models.CartDeltasDTO;
+import org.shoppingcart.models.PricingSessionDTO;
+import org.shoppingcart.services.PricingSessionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+
+/**
+ * Incremental pricing: open a session, send item changes as they happen, and get back the
+ * changed lines with the cart totals. Each change reprices one line, however big the cart,
+ * unless it touches a bundle; then the cart is priced again as a bill would be.
+ */
+@RestController
+@RequestMapping("/api/sessions")
+public class PricingSessionController {
+
+    private final PricingSessionService sessionService;
+
+    @Autowired
+    public PricingSessionController(PricingSessionService sessionService) {
+        this.sessionService = sessionService;
+    }
+
+    /**
+     * Opens a session; {@code tier} prices it for a customer tier, and is answered
+     * {@code 400} if the catalog has no such tier.
+     */
+    @PostMapping
+    public ResponseEntity<PricingSessionDTO> open(@RequestParam(required = false) String tier) {
+        PricingSessionDTO session = sessionService.open(tier);
+        return ResponseEntity.created(URI.create("/api/sessions/" + session.getSessionId())).body(session);
+    }
+
+    @PatchMapping("/{sessionId}")
+    public ResponseEntity<PricingSessionDTO> apply(@PathVariable String sessionId,
+                                                   @Valid @RequestBody CartDeltasDTO request) {
+        return ResponseEntity.ok(sessionService.apply(sessionId, request.getDeltas()));
+    }
+
+    @GetMapping("/{sessionId}")
+    public ResponseEntity<PricingSessionDTO> view(@PathVariable String sessionId) {
+        return ResponseEntity.ok(sessionService.view(sessionId));
+    }
+
+    @DeleteMapping("/{sessionId}")
+    public ResponseEntity<Void> close(@PathVariable String sessionId) {
+        sessionService.close(sessionId);
+        return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
+    }
+}
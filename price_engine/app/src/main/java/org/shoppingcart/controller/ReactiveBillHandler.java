@@ -0,0 +1,242 @@
+package org.shoppingcart.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.QueryStringDecoder;
+import org.shoppingcart.models.CartTally;
+import org.shoppingcart.models.FruitResponseDTO;
+import org.shoppingcart.services.FruitBillService;
+import org.shoppingcart.utils.CatalogVersionNotFoundException;
+import org.shoppingcart.utils.UnknownFruitException;
+import org.shoppingcart.utils.UnknownTierException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.ByteBufFlux;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Non-blocking counterpart of {@link FruitOrderController#computeBill}, served on its own
+ * port by {@link org.shoppingcart.utils.ReactiveServerLifecycle}. Connections are held by a
+ * few Netty event-loop threads; each body is decoded and priced by {@link FruitBillService}
+ * on the pricing pool, so the bill, the catalog snapshot and the bill cache are the ones the
+ * servlet endpoint uses.
+ * <p>
+ * A body is read before the request is admitted: it may be at most
+ * {@code pricing.reactive.max-body-bytes} long ({@code 413} otherwise) and must arrive within
+ * {@code pricing.reactive.receive-timeout} ({@code 408} otherwise), so a slow or oversized
+ * upload never holds a pricing slot. At most {@code pricing.reactive.max-in-flight} bills are
+ * then priced at once. A request over the limit is answered {@code 503} with
+ * {@code Retry-After}, so a saturated pricing pool sheds load instead of queueing it without
+ * bound. Both show up as {@code pricing.reactive.in.flight} and {@code pricing.reactive.rejected}.
+ */
+@Component
+public class ReactiveBillHandler implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveBillHandler.class);
+
+    private static final byte[] EMPTY_BODY = new byte[0];
+
+    private final FruitBillService fruitBillService;
+    private final ObjectMapper objectMapper;
+    private final Scheduler pricingWorkers;
+    private final int maxInFlight;
+    private final int maxBodyBytes;
+    private final Duration receiveTimeout;
+    private final Semaphore admissions;
+    private final AtomicLong rejected = new AtomicLong();
+
+    @Autowired
+    public ReactiveBillHandler(FruitBillService fruitBillService,
+                               ObjectMapper objectMapper,
+                               ForkJoinPool pricingPool,
+                               @Value("${pricing.reactive.max-in-flight:256}") int maxInFlight,
+                               @Value("${pricing.reactive.max-body-bytes:1048576}") int maxBodyBytes,
+                               @Value("${pricing.reactive.receive-timeout:10s}") Duration receiveTimeout) {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("pricing.reactive.max-in-flight must be at least 1");
+        }
+        if (maxBodyBytes < 1) {
+            throw new IllegalArgumentException("pricing.reactive.max-body-bytes must be at least 1");
+        }
+        this.fruitBillService = fruitBillService;
+        this.objectMapper = objectMapper;
+        // The pool is owned by PricingExecutorConfig; this scheduler only submits to it
+        this.pricingWorkers = Schedulers.fromExecutor(pricingPool);
+        this.maxInFlight = maxInFlight;
+        this.maxBodyBytes = maxBodyBytes;
+        this.receiveTimeout = receiveTimeout;
+        this.admissions = new Semaphore(maxInFlight);
+    }
+
+    public Mono<Void> bill(HttpServerRequest request, HttpServerResponse response) {
+        Integer contentLength = request.requestHeaders().getInt(HttpHeaderNames.CONTENT_LENGTH);
+        if (contentLength != null && contentLength > maxBodyBytes) {
+            return tooLarge(response);
+        }
+
+        Map<String, List<String>> parameters = new QueryStringDecoder(request.uri()).parameters();
+        String tier = first(parameters, "tier");
+        String version = first(parameters, "version");
+        AtomicLong received = new AtomicLong();
+        // Chunked bodies carry no Content-Length, so count bytes as they arrive
+        return ByteBufFlux.fromInbound(request.receive().doOnNext(chunk -> {
+                    if (received.addAndGet(chunk.readableBytes()) > maxBodyBytes) {
+                        throw new BodyTooLargeException();
+                    }
+                }))
+                .aggregate().asByteArray()
+                .timeout(receiveTimeout)
+                .defaultIfEmpty(EMPTY_BODY)
+                .flatMap(body -> admit(body, tier, version, response))
+                .onErrorResume(BodyTooLargeException.class, e -> tooLarge(response))
+                .onErrorResume(TimeoutException.class, e -> send(response.status(HttpResponseStatus.REQUEST_TIMEOUT),
+                        errorBody("body", "Request body not received within " + receiveTimeout)));
+    }
+
+    /**
+     * Prices a received body if a slot is free, holding the slot until the response is sent
+     * or the exchange is cancelled.
+     */
+    private Mono<Void> admit(byte[] body, String tier, String version, HttpServerResponse response) {
+        if (!admissions.tryAcquire()) {
+            rejected.incrementAndGet();
+            return send(response
+                            .status(HttpResponseStatus.SERVICE_UNAVAILABLE)
+                            .header(HttpHeaderNames.RETRY_AFTER, "1"),
+                    errorBody("pricing", "Pricing is saturated, retry later"));
+        }
+        return Mono.just(body)
+                .publishOn(pricingWorkers)
+                .map(received -> price(received, tier, version, response))
+                .flatMap(bill -> send(response, bill))
+                .doFinally(signal -> admissions.release());
+    }
+
+    private Mono<Void> tooLarge(HttpServerResponse response) {
+        return send(response.status(HttpResponseStatus.REQUEST_ENTITY_TOO_LARGE),
+                errorBody("body", "Request body exceeds " + maxBodyBytes + " bytes"));
+    }
+
+    private static String first(Map<String, List<String>> parameters, String name) {
+        List<String> values = parameters.get(name);
+        return values == null || values.isEmpty() ? null : values.get(0);
+    }
+
+    /**
+     * Decodes and prices one body at the prices of {@code tier}, against catalog
+     * {@code version} when one is given, setting the response status. Runs on a pricing worker.
+     */
+    private byte[] price(byte[] body, String tier, String version, HttpServerResponse response) {
+        try {
+            CartTally tally = objectMapper.readValue(body, CartTally.class);
+            if (tally.hasUnknownNames()) {
+                throw new UnknownFruitException(tally.getUnknownNames());
+            }
+
+            log.debug("Received reactive bill request for {} items", tally.distinctCount());
+            FruitResponseDTO fruitBill = version == null
+                    ? fruitBillService.billFromTally(tally, tier)
+                    : fruitBillService.billAtVersion(tally, Long.parseLong(version), tier);
+            response.status(HttpResponseStatus.OK);
+            return objectMapper.writeValueAsBytes(fruitBill);
+        } catch (UnknownFruitException e) {
+            response.status(HttpResponseStatus.BAD_REQUEST);
+            return errorBody("fruits", e.getMessage());
+        } catch (UnknownTierException e) {
+            response.status(HttpResponseStatus.BAD_REQUEST);
+            return errorBody("tier", e.getMessage());
+        } catch (CatalogVersionNotFoundException e) {
+            response.status(HttpResponseStatus.NOT_FOUND);
+            return errorBody("version", e.getMessage());
+        } catch (ArithmeticException e) {
+            response.status(HttpResponseStatus.BAD_REQUEST);
+            return errorBody("cart", "Cart quantities or charges are too large to price");
+        } catch (NumberFormatException e) {
+            response.status(HttpResponseStatus.BAD_REQUEST);
+            return errorBody("version", "Catalog version must be a number");
+        } catch (IOException e) {
+            response.status(HttpResponseStatus.BAD_REQUEST);
+            return errorBody("body", "Malformed request body");
+        } catch (RuntimeException e) {
+            log.error("Reactive bill request failed", e);
+            response.status(HttpResponseStatus.INTERNAL_SERVER_ERROR);
+            return errorBody("error", "Error computing bill");
+        }
+    }
+
+    private byte[] errorBody(String field, String message) {
+        try {
+            return objectMapper.writeValueAsBytes(Map.of(field, message));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Mono<Void> send(HttpServerResponse response, byte[] body) {
+        return response
+                .header(HttpHeaderNames.CONTENT_TYPE, HttpHeaderValues.APPLICATION_JSON)
+                .header(HttpHeaderNames.CONTENT_LENGTH, Integer.toString(body.length))
+                .sendByteArray(Mono.just(body))
+                .then();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("pricing.reactive.in.flight", this, ReactiveBillHandler::inFlight)
+                .description("Reactive bill requests admitted and not yet answered")
+                .register(registry);
+        FunctionCounter.builder("pricing.reactive.rejected", rejected, AtomicLong::get)
+                .description("Reactive bill requests rejected with 503 while saturated")
+                .register(registry);
+    }
+
+    /**
+     * Bills admitted and not yet answered.
+     */
+    public int inFlight() {
+        return maxInFlight - admissions.availablePermits();
+    }
+
+    public int maxInFlight() {
+        return maxInFlight;
+    }
+
+    /**
+     * Signals a body past {@code pricing.reactive.max-body-bytes} while it is received.
+     */
+    private static final class BodyTooLargeException extends RuntimeException {
+        BodyTooLargeException() {
+            super(null, null, false, false);
+        }
+    }
+
+    /**
+     * Requests turned away with {@code 503} since startup.
+     */
+    public long rejectedCount() {
+        return rejected.get();
+    }
+}
@@ -0,0 +1,96 @@
+package org.shoppingcart.services;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.shoppingcart.utils.FruitLoader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+
+/**
+ * Reloads the catalog whenever the catalog file changes on disk.
+ * Enabled with {@code catalog.watch.enabled=true}; only works for file-backed locations.
+ */
+@Component
+@ConditionalOnProperty(name = "catalog.watch.enabled", havingValue = "true")
+public class CatalogFileWatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogFileWatcher.class);
+
+    private final FruitCatalogService catalogService;
+    private final FruitLoader fruitLoader;
+    private WatchService watchService;
+    private Thread watcherThread;
+
+    @Autowired
+    public CatalogFileWatcher(FruitCatalogService catalogService, FruitLoader fruitLoader) {
+        this.catalogService = catalogService;
+        this.fruitLoader = fruitLoader;
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        Path catalogFile = fruitLoader.getCatalogFile();
+        if (catalogFile == null) {
+            throw new FileNotFoundException(fruitLoader.getCatalogLocation() + " is not on the file system");
+        }
+        Path file = catalogFile.toAbsolutePath();
+        Path directory = file.getParent();
+
+        watchService = FileSystems.getDefault().newWatchService();
+        directory.register(watchService,
+                StandardWatchEventKinds.ENTRY_MODIFY,
+                StandardWatchEventKinds.ENTRY_CREATE);
+
+        watcherThread = new Thread(() -> watch(file), "catalog-file-watcher");
+        watcherThread.setDaemon(true);
+        watcherThread.start();
+        log.info("Watching {} for catalog changes", file);
+    }
+
+    @PreDestroy
+    public void stop() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+        }
+    }
+
+    private void watch(Path file) {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                WatchKey key = watchService.take();
+                boolean changed = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (file.getFileName().equals(event.context())) {
+                        changed = true;
+                    }
+                }
+                key.reset();
+
+                if (changed) {
+                    try {
+                        catalogService.reload();
+                    } catch (IOException | RuntimeException e) {
+                        log.warn("Catalog reload failed, keeping version {}", catalogService.current().getVersion(), e);
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // shutting down
+        }
+    }
+}
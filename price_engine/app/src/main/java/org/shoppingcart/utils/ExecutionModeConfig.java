@@ -0,0 +1,58 @@
+package org.shoppingcart.utils;
+
+import org.apache.coyote.ProtocolHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Chooses the threads that handle requests and price batches, set with
+ * {@code pricing.execution.mode}:
+ * <ul>
+ *     <li>{@code platform} (default): Tomcat's bounded worker pool, gRPC's cached pool and
+ *     the fork/join pricing pool for batches.</li>
+ *     <li>{@code virtual}: one virtual thread per HTTP request, per gRPC call and per slice
+ *     of a batch, so a burst of connections does not queue behind
+ *     {@code server.tomcat.threads.max} workers.</li>
+ * </ul>
+ * Virtual mode needs a Java 21+ runtime, which the {@code java21} build profile targets;
+ * on Java 17 it logs a warning and stays on platform threads.
+ */
+@Configuration
+public class ExecutionModeConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(ExecutionModeConfig.class);
+
+    private final ExecutionMode executionMode;
+
+    public ExecutionModeConfig(@Value("${pricing.execution.mode:platform}") ExecutionMode requested) {
+        this.executionMode = resolve(requested);
+    }
+
+    static ExecutionMode resolve(ExecutionMode requested) {
+        if (requested == ExecutionMode.VIRTUAL && !VirtualThreads.isSupported()) {
+            log.warn("pricing.execution.mode=virtual needs Java 21+ (running {}); using platform threads",
+                    Runtime.version());
+            return ExecutionMode.PLATFORM;
+        }
+        return requested;
+    }
+
+    @Bean
+    public ExecutionMode executionMode() {
+        return executionMode;
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> requestThreadsCustomizer() {
+        return protocolHandler -> {
+            if (executionMode == ExecutionMode.VIRTUAL) {
+                protocolHandler.setExecutor(VirtualThreads.newThreadPerTaskExecutor("http-vt-"));
+                log.info("Handling HTTP requests on virtual threads");
+            }
+        };
+    }
+}
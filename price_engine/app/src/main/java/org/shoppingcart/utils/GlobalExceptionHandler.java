@@ -0,0 +1,93 @@
+package org.shoppingcart.utils;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+@RestControllerAdvice
+public class GlobalExceptionHandler {
+
+    private final PricingMetrics metrics;
+
+    @Autowired
+    public GlobalExceptionHandler(PricingMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @ExceptionHandler(IOException.class)
+    public ResponseEntity<String> handleIOException(IOException ex) {
+        metrics.recordError(PricingMetrics.IO);
+        return ResponseEntity
+                .status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body("Error reading fruit data: " + ex.getMessage());
+    }
+
+    @ExceptionHandler(MethodArgumentNotValidException.class)
+    public ResponseEntity<Map<String, String>> handleValidationExceptions(MethodArgumentNotValidException ex) {
+        metrics.recordError(PricingMetrics.VALIDATION);
+        Map<String, String> errors = new HashMap<>();
+        ex.getBindingResult().getFieldErrors().forEach(error ->
+                errors.put(error.getField(), error.getDefaultMessage())
+        );
+        return ResponseEntity.badRequest().body(errors);
+    }
+
+    // Without this, a malformed body is matched by its JsonParseException cause and reported as a 500
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<Map<String, String>> handleUnreadableBody(HttpMessageNotReadableException ex) {
+        metrics.recordError(PricingMetrics.MALFORMED_BODY);
+        Map<String, String> errors = new HashMap<>();
+        errors.put("body", "Malformed request body");
+        return ResponseEntity.badRequest().body(errors);
+    }
+
+    @ExceptionHandler(UnknownFruitException.class)
+    public ResponseEntity<Map<String, String>> handleUnknownFruitException(UnknownFruitException ex) {
+        metrics.recordError(PricingMetrics.UNKNOWN_FRUIT);
+        Map<String, String> errors = new HashMap<>();
+        errors.put("fruits", ex.getMessage());
+        return ResponseEntity.badRequest().body(errors);
+    }
+
+    @ExceptionHandler(UnknownTierException.class)
+    public ResponseEntity<Map<String, String>> handleUnknownTierException(UnknownTierException ex) {
+        metrics.recordError(PricingMetrics.UNKNOWN_TIER);
+        Map<String, String> errors = new HashMap<>();
+        errors.put("tier", ex.getMessage());
+        return ResponseEntity.badRequest().body(errors);
+    }
+
+    // Quantities or charges past a long; the cart, not the server, is at fault
+    @ExceptionHandler(ArithmeticException.class)
+    public ResponseEntity<Map<String, String>> handleArithmeticException(ArithmeticException ex) {
+        metrics.recordError(PricingMetrics.OVERFLOW);
+        Map<String, String> errors = new HashMap<>();
+        errors.put("cart", "Cart quantities or charges are too large to price");
+        return ResponseEntity.badRequest().body(errors);
+    }
+
+    @ExceptionHandler(CatalogVersionNotFoundException.class)
+    public ResponseEntity<Map<String, String>> handleCatalogVersionNotFoundException(
+            CatalogVersionNotFoundException ex) {
+        metrics.recordError(PricingMetrics.CATALOG_VERSION_NOT_FOUND);
+        Map<String, String> errors = new HashMap<>();
+        errors.put("version", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errors);
+    }
+
+    @ExceptionHandler(SessionNotFoundException.class)
+    public ResponseEntity<Map<String, String>> handleSessionNotFoundException(SessionNotFoundException ex) {
+        metrics.recordError(PricingMetrics.SESSION_NOT_FOUND);
+        Map<String, String> errors = new HashMap<>();
+        errors.put("session", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errors);
+    }
+}
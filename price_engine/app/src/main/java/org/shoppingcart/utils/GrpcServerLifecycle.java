@@ -0,0 +1,80 @@
+package org.shoppingcart.utils;
+
+import io.grpc.BindableService;
+import io.grpc.Grpc;
+import io.grpc.InsecureServerCredentials;
+import io.grpc.Server;
+import io.grpc.ServerBuilder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs a gRPC server next to the embedded web server, serving every
+ * {@link BindableService} bean. Listens on {@code grpc.server.port} (0 picks a free
+ * port); disable with {@code grpc.server.enabled=false}. Calls run on virtual threads
+ * when {@link ExecutionModeConfig} selects {@link ExecutionMode#VIRTUAL}.
+ */
+@Component
+@ConditionalOnProperty(name = "grpc.server.enabled", havingValue = "true", matchIfMissing = true)
+public class GrpcServerLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(GrpcServerLifecycle.class);
+
+    private final List<BindableService> services;
+    private final int port;
+    private final ExecutionMode executionMode;
+    private ExecutorService callExecutor;
+    private Server server;
+
+    @Autowired
+    public GrpcServerLifecycle(List<BindableService> services,
+                               @Value("${grpc.server.port:9090}") int port,
+                               ExecutionMode executionMode) {
+        this.services = services;
+        this.port = port;
+        this.executionMode = executionMode;
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        ServerBuilder<?> builder = Grpc.newServerBuilderForPort(port, InsecureServerCredentials.create());
+        services.forEach(builder::addService);
+        if (executionMode == ExecutionMode.VIRTUAL) {
+            // One virtual thread per call instead of gRPC's default cached platform pool
+            callExecutor = VirtualThreads.newThreadPerTaskExecutor("grpc-vt-");
+            builder.executor(callExecutor);
+        }
+        server = builder.build().start();
+        log.info("gRPC server listening on port {} with {} service(s), {} threads",
+                server.getPort(), services.size(), executionMode.name().toLowerCase());
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (server == null) {
+            return;
+        }
+        server.shutdown();
+        if (!server.awaitTermination(5, TimeUnit.SECONDS)) {
+            server.shutdownNow();
+        }
+        if (callExecutor != null) {
+            callExecutor.shutdown();
+        }
+    }
+
+    public int getPort() {
+        return server.getPort();
+    }
+}
@@ -0,0 +1,37 @@
+package org.shoppingcart.utils;
+
+
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.shoppingcart.services.FruitCatalogService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Applies the pricing engine's {@link PricingJson} setup to the application's ObjectMapper.
+ */
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    public SimpleModule javaMoneyModule(@Value("${pricing.json.money-as-number:false}") boolean moneyAsNumber) {
+        return PricingJson.moneyModule(moneyAsNumber);
+    }
+
+    /**
+     * Decodes cart bodies against the catalog snapshot current at decode time. The
+     * catalog service is resolved lazily: it is itself built from this ObjectMapper.
+     */
+    @Bean
+    public SimpleModule cartTallyModule(ObjectProvider<FruitCatalogService> catalogService) {
+        return PricingJson.cartTallyModule(() -> catalogService.getObject().current());
+    }
+
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer moneySerializerCustomizer(
+            @Value("${pricing.json.money-as-number:false}") boolean moneyAsNumber) {
+        return builder -> builder.handlerInstantiator(PricingJson.handlerInstantiator(moneyAsNumber));
+    }
+}
@@ -0,0 +1,94 @@
+package org.shoppingcart.utils;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.shoppingcart.models.CartTally;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link PricingMetrics} on Micrometer. Every meter is registered up front and held in a field,
+ * so recording is a clock read and a few striped adds, with no registry lookup or tag
+ * allocation per bill:
+ * <ul>
+ *     <li>{@code pricing.bill}: time to bill one cart, bill cache included (histogram)</li>
+ *     <li>{@code pricing.cart.lines} / {@code pricing.cart.units}: distinct SKUs and units per cart</li>
+ *     <li>{@code pricing.offer.lines}: lines priced, by {@code offer}; cache hits are not repriced
+ *     and not counted</li>
+ *     <li>{@code pricing.errors}: rejected requests, by {@code type}</li>
+ * </ul>
+ * Catalog, bill cache, session and journal meters are bound by {@link PricingMeterBinders}, and
+ * the reactive endpoint binds its own.
+ */
+public class MicrometerPricingMetrics implements PricingMetrics {
+
+    // Powers of two are enough to see the shape of carts, at a fraction of the cost of a percentile histogram
+    private static final double[] CART_SIZE_BUCKETS = {1, 2, 4, 8, 16, 32, 64, 128, 256, 512, 1024, 4096};
+
+    private final MeterRegistry registry;
+    private final Timer billTimer;
+    private final DistributionSummary cartLines;
+    private final DistributionSummary cartUnits;
+    private final Counter[] offerLines;
+
+    public MicrometerPricingMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.billTimer = Timer.builder("pricing.bill")
+                .description("Time to bill one cart, including bill cache lookups")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofNanos(500))
+                .maximumExpectedValue(Duration.ofMillis(100))
+                .register(registry);
+        this.cartLines = cartSummary("pricing.cart.lines", "Distinct SKUs per billed cart", "lines");
+        this.cartUnits = cartSummary("pricing.cart.units", "Units per billed cart", "units");
+
+        OfferType[] offerTypes = OfferType.values();
+        this.offerLines = new Counter[offerTypes.length];
+        for (OfferType offerType : offerTypes) {
+            offerLines[offerType.ordinal()] = Counter.builder("pricing.offer.lines")
+                    .description("Cart lines priced, by offer")
+                    .tag("offer", offerType.getOfferName())
+                    .register(registry);
+        }
+        // Registered at zero so a dashboard sees every type before the first error
+        for (String type : new String[]{UNKNOWN_FRUIT, MALFORMED_BODY, VALIDATION, IO, SESSION_NOT_FOUND,
+                UNKNOWN_TIER, CATALOG_VERSION_NOT_FOUND}) {
+            errorCounter(type);
+        }
+    }
+
+    private DistributionSummary cartSummary(String name, String description, String unit) {
+        return DistributionSummary.builder(name)
+                .description(description)
+                .baseUnit(unit)
+                .serviceLevelObjectives(CART_SIZE_BUCKETS)
+                .register(registry);
+    }
+
+    private Counter errorCounter(String type) {
+        return Counter.builder("pricing.errors")
+                .description("Pricing requests rejected, by error type")
+                .tag("type", type)
+                .register(registry);
+    }
+
+    @Override
+    public void recordBill(CartTally tally, long elapsedNanos) {
+        billTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        cartLines.record(tally.distinctCount());
+        cartUnits.record(tally.totalUnits());
+    }
+
+    @Override
+    public void recordLine(OfferType offerType) {
+        offerLines[(offerType == null ? OfferType.NoOffer : offerType).ordinal()].increment();
+    }
+
+    @Override
+    public void recordError(String type) {
+        errorCounter(type).increment();
+    }
+}
@@ -0,0 +1,96 @@
+package org.shoppingcart.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.shoppingcart.services.BillCache;
+import org.shoppingcart.services.BillJournal;
+import org.shoppingcart.services.BillStreamService;
+import org.shoppingcart.services.FruitBillService;
+import org.shoppingcart.services.FruitCatalogService;
+import org.shoppingcart.services.PricingSessionService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Builds the pricing engine from the shopping-cart-core module as beans, configured from
+ * the application properties. The core classes carry no Spring annotations; the standalone
+ * server builds the same objects by hand.
+ */
+@Configuration
+public class PricingCoreConfig {
+
+    @Bean
+    public FruitLoader fruitLoader(ObjectMapper objectMapper,
+                                   @Value("${catalog.location:" + FruitLoader.DEFAULT_LOCATION + "}") String catalogLocation) {
+        return new FruitLoader(objectMapper, catalogLocation);
+    }
+
+    @Bean(initMethod = "init")
+    public FruitCatalogService fruitCatalogService(FruitLoader fruitLoader,
+                                                   @Value("${catalog.history.size:"
+                                                           + FruitCatalogService.DEFAULT_HISTORY_SIZE + "}") int historySize) {
+        return new FruitCatalogService(fruitLoader, Clock.systemUTC(), historySize);
+    }
+
+    @Bean
+    public PricingMetrics pricingMetrics(MeterRegistry registry) {
+        return new MicrometerPricingMetrics(registry);
+    }
+
+    @Bean
+    public BillCache billCache(@Value("${pricing.cache.enabled:true}") boolean enabled,
+                               @Value("${pricing.cache.maximum-size:10000}") long maximumSize,
+                               @Value("${pricing.cache.expire-after-write:PT10M}") Duration expireAfterWrite) {
+        return new BillCache(enabled, maximumSize, expireAfterWrite);
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    public BillJournal billJournal(@Value("${pricing.journal.enabled:false}") boolean enabled,
+                                   @Value("${pricing.journal.directory:journal}") String directory,
+                                   @Value("${pricing.journal.capacity:8192}") int capacity,
+                                   @Value("${pricing.journal.segment-size:67108864}") long segmentBytes,
+                                   @Value("${pricing.journal.flush-interval:PT0.1S}") Duration flushInterval) {
+        return enabled
+                ? new BillJournal(Path.of(directory), capacity, segmentBytes, flushInterval)
+                : BillJournal.disabled();
+    }
+
+    /**
+     * Prices batches on the pricing pool, or in virtual mode with one virtual thread per
+     * slice of the batch, scheduled with the request threads.
+     */
+    @Bean
+    public FruitBillService fruitBillService(FruitCatalogService catalogService,
+                                             ForkJoinPool pricingPool,
+                                             ExecutionMode executionMode,
+                                             BillCache billCache,
+                                             PricingMetrics metrics,
+                                             BillJournal billJournal) {
+        ExecutorService batchExecutor = executionMode == ExecutionMode.VIRTUAL
+                ? VirtualThreads.newThreadPerTaskExecutor("batch-vt-")
+                : pricingPool;
+        return new FruitBillService(catalogService, batchExecutor, billCache, metrics, billJournal);
+    }
+
+    @Bean
+    public BillStreamService billStreamService(FruitBillService fruitBillService,
+                                               ObjectMapper objectMapper,
+                                               @Value("${pricing.stream.max-line-bytes:1048576}") int maxLineBytes) {
+        return new BillStreamService(fruitBillService, objectMapper, maxLineBytes);
+    }
+
+    @Bean
+    public PricingSessionService pricingSessionService(
+            FruitCatalogService catalogService,
+            @Value("${pricing.session.maximum-size:100000}") long maximumSize,
+            @Value("${pricing.session.expire-after-access:PT30M}") Duration expireAfterAccess) {
+        return new PricingSessionService(catalogService, maximumSize, expireAfterAccess);
+    }
+}
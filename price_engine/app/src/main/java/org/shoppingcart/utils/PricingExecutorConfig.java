@@ -0,0 +1,21 @@
+package org.shoppingcart.utils;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ForkJoinPool;
+
+@Configuration
+public class PricingExecutorConfig {
+
+    /**
+     * Work-stealing pool used for batch pricing. Defaults to one worker per core;
+     * override with {@code pricing.batch.parallelism}.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool pricingPool(@Value("${pricing.batch.parallelism:0}") int parallelism) {
+        int workers = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        return new ForkJoinPool(workers);
+    }
+}
@@ -0,0 +1,87 @@
+package org.shoppingcart.utils;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.shoppingcart.services.BillCache;
+import org.shoppingcart.services.BillJournal;
+import org.shoppingcart.services.FruitCatalogService;
+import org.shoppingcart.services.PricingSessionService;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes the core services' counters through Micrometer; Spring Boot binds every
+ * {@link MeterBinder} bean to the registry:
+ * <ul>
+ *     <li>{@code catalog.version}, {@code catalog.skus}, the duration of the last successful
+ *     load ({@code catalog.load.duration}) and load outcomes ({@code catalog.loads})</li>
+ *     <li>{@code cache.*{cache="bills"}} and {@code cache.*{cache="pricing_sessions"}}: hits,
+ *     misses, evictions and size</li>
+ *     <li>{@code pricing.journal.records}, {@code pricing.journal.dropped} and
+ *     {@code pricing.journal.backlog} when the bill journal is enabled</li>
+ * </ul>
+ */
+@Configuration
+public class PricingMeterBinders {
+
+    @Bean
+    public MeterBinder catalogMeters(FruitCatalogService catalogService) {
+        return registry -> {
+            Gauge.builder("catalog.version", catalogService, service -> service.current().getVersion())
+                    .description("Version of the published catalog snapshot")
+                    .register(registry);
+            Gauge.builder("catalog.skus", catalogService, service -> service.current().size())
+                    .description("SKUs in the published catalog snapshot")
+                    .register(registry);
+            TimeGauge.builder("catalog.load.duration", catalogService, TimeUnit.NANOSECONDS,
+                            FruitCatalogService::lastLoadNanos)
+                    .description("Time the last successful catalog load took")
+                    .register(registry);
+            FunctionCounter.builder("catalog.loads", catalogService, FruitCatalogService::loads)
+                    .description("Catalog loads, by outcome")
+                    .tag("outcome", "success")
+                    .register(registry);
+            FunctionCounter.builder("catalog.loads", catalogService, FruitCatalogService::failedLoads)
+                    .description("Catalog loads, by outcome")
+                    .tag("outcome", "failure")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder billCacheMeters(BillCache billCache) {
+        return registry -> {
+            if (billCache.nativeCache() != null) {
+                CaffeineCacheMetrics.monitor(registry, billCache.nativeCache(), "bills");
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder pricingSessionMeters(PricingSessionService sessionService) {
+        return registry -> CaffeineCacheMetrics.monitor(registry, sessionService.nativeCache(), "pricing_sessions");
+    }
+
+    @Bean
+    public MeterBinder billJournalMeters(BillJournal billJournal) {
+        return registry -> {
+            if (!billJournal.isEnabled()) {
+                return;
+            }
+            FunctionCounter.builder("pricing.journal.records", billJournal, BillJournal::written)
+                    .description("Bills written to the bill journal")
+                    .register(registry);
+            FunctionCounter.builder("pricing.journal.dropped", billJournal, BillJournal::dropped)
+                    .description("Bills left out of the bill journal")
+                    .register(registry);
+            Gauge.builder("pricing.journal.backlog", billJournal, BillJournal::backlog)
+                    .description("Bills queued for the bill journal writer")
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,72 @@
+package org.shoppingcart.utils;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.shoppingcart.controller.ReactiveBillHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.LoopResources;
+
+import java.time.Duration;
+
+/**
+ * Runs a Reactor Netty server next to the embedded web server, serving
+ * {@code POST /api/bill} through {@link ReactiveBillHandler}. Listens on
+ * {@code pricing.reactive.port} (0 picks a free port) with
+ * {@code pricing.reactive.event-loops} event-loop threads (0 means Reactor's default of
+ * one per core, at least four); disable with {@code pricing.reactive.enabled=false}.
+ */
+@Component
+@ConditionalOnProperty(name = "pricing.reactive.enabled", havingValue = "true", matchIfMissing = true)
+public class ReactiveServerLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveServerLifecycle.class);
+
+    private final ReactiveBillHandler billHandler;
+    private final int port;
+    private final int eventLoops;
+    private LoopResources loops;
+    private DisposableServer server;
+
+    @Autowired
+    public ReactiveServerLifecycle(ReactiveBillHandler billHandler,
+                                   @Value("${pricing.reactive.port:8081}") int port,
+                                   @Value("${pricing.reactive.event-loops:0}") int eventLoops) {
+        this.billHandler = billHandler;
+        this.port = port;
+        this.eventLoops = eventLoops;
+    }
+
+    @PostConstruct
+    public void start() {
+        int workers = eventLoops > 0 ? eventLoops : LoopResources.DEFAULT_IO_WORKER_COUNT;
+        loops = LoopResources.create("pricing-rx", workers, true);
+        server = HttpServer.create()
+                .port(port)
+                .runOn(loops)
+                .route(routes -> routes.post("/api/bill", billHandler::bill))
+                .bindNow();
+        log.info("Reactive bill endpoint listening on port {} with {} event loop(s), at most {} bills in flight",
+                server.port(), workers, billHandler.maxInFlight());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (server != null) {
+            server.disposeNow(Duration.ofSeconds(5));
+        }
+        if (loops != null) {
+            loops.disposeLater(Duration.ZERO, Duration.ofSeconds(5)).block(Duration.ofSeconds(5));
+        }
+    }
+
+    public int getPort() {
+        return server.port();
+    }
+}
@@ -0,0 +1,257 @@
+package org.shoppingcart.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.shoppingcart.models.BatchBillResultDTO;
+import org.shoppingcart.models.CartTally;
+import org.shoppingcart.models.Fruit;
+import org.shoppingcart.models.FruitCatalog;
+import org.shoppingcart.models.FruitResponseDTO;
+import org.shoppingcart.services.BillStreamService;
+import org.shoppingcart.services.FruitBillService;
+import org.shoppingcart.utils.FruitLoader;
+import org.shoppingcart.utils.CartTallyDeserializer;
+import org.shoppingcart.utils.GlobalExceptionHandler;
+import org.shoppingcart.utils.OfferType;
+import org.shoppingcart.utils.MicrometerPricingMetrics;
+import org.shoppingcart.utils.CatalogVersionNotFoundException;
+import org.shoppingcart.utils.UnknownTierException;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.OutputStream;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+public class FruitOrderControllerTest {
+
+    private MockMvc mockMvc;
+    private ObjectMapper objectMapper = new ObjectMapper();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Mock
+    private FruitLoader fruitLoader;
+
+    @Mock
+    private FruitBillService fruitBillService;
+
+    @Mock
+    private BillStreamService billStreamService;
+
+    @InjectMocks
+    private FruitOrderController fruitOrderController;
+
+    @BeforeEach
+    void setUp() {
+        // Cart bodies decode against a fixed catalog snapshot, as the app's JacksonConfig does
+        FruitCatalog catalog = FruitCatalog.of(1L, List.of(
+                new Fruit("apple", 0.35, OfferType.NoOffer, null),
+                new Fruit("banana", 0.20, OfferType.NoOffer, null),
+                new Fruit("lime", 0.15, OfferType.ThreeForTwo, null),
+                new Fruit("melon", 0.50, OfferType.BOGO, null)));
+        ObjectMapper requestMapper = new ObjectMapper().registerModule(new SimpleModule()
+                .addDeserializer(CartTally.class, new CartTallyDeserializer(() -> catalog)));
+
+        mockMvc = MockMvcBuilders.standaloneSetup(fruitOrderController)
+                .setControllerAdvice(new GlobalExceptionHandler(new MicrometerPricingMetrics(registry)))
+                .setMessageConverters(new MappingJackson2HttpMessageConverter(requestMapper))
+                .build();
+    }
+
+    @Test
+    void computeBill_ValidRequest_ReturnsCorrectResponse() throws Exception {
+        // Arrange: the body is one name per unit
+        List<String> request = List.of("apple", "apple", "apple", "banana", "banana");
+
+        FruitResponseDTO mockResponse = new FruitResponseDTO();
+        mockResponse.setTotalPrice(5.0);
+
+        ArgumentCaptor<CartTally> tally = ArgumentCaptor.forClass(CartTally.class);
+        when(fruitBillService.billFromTally(tally.capture(), isNull())).thenReturn(mockResponse);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/bill")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalPrice").value("5.00"));
+
+        verify(fruitBillService, times(1)).billFromTally(any(CartTally.class), isNull());
+        assertEquals(2, tally.getValue().distinctCount());
+        assertEquals(5, tally.getValue().totalUnits());
+    }
+
+    @Test
+    void computeBill_EmptyRequest_ReturnsBadRequest() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/api/bill")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isOk()); // or isBadRequest() if you add validation
+
+        verify(fruitBillService, times(1)).billFromTally(any(CartTally.class), isNull());
+    }
+
+
+
+
+    @Test
+    void computeBill_InvalidContentType_ReturnsUnsupportedMediaType() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/api/bill")
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .content("invalid content"))
+                .andExpect(status().isUnsupportedMediaType());
+
+        verify(fruitBillService, never()).billFromTally(any(CartTally.class), isNull());
+    }
+
+    @Test
+    void computeBill_MalformedJson_ReturnsBadRequest() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/api/bill")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{malformed json}"))
+                .andExpect(status().isBadRequest());
+
+        verify(fruitBillService, never()).billFromTally(any(CartTally.class), isNull());
+    }
+
+    @Test
+    void computeBill_NamesDecodedCaseInsensitively_TalliedWithoutList() throws Exception {
+        // Arrange
+        when(fruitBillService.billFromTally(any(CartTally.class), isNull())).thenReturn(new FruitResponseDTO());
+        ArgumentCaptor<CartTally> tally = ArgumentCaptor.forClass(CartTally.class);
+
+        // Act
+        mockMvc.perform(post("/api/bill")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[\"apple\", \"APPLE\", \"Lime\", \"apple\"]"))
+                .andExpect(status().isOk());
+
+        // Assert
+        verify(fruitBillService).billFromTally(tally.capture(), isNull());
+        assertEquals(3, tally.getValue().quantityOf("apple"));
+        assertEquals(1, tally.getValue().quantityOf("lime"));
+        assertEquals(2, tally.getValue().distinctCount());
+    }
+
+    @Test
+    void computeBill_UnknownNames_ReturnsBadRequestListingAll() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/api/bill")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[\"apple\", \"kiwi\", \"mango\"]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.fruits").value("Unknown fruit type(s): kiwi, mango"));
+
+        verify(fruitBillService, never()).billFromTally(any(CartTally.class), isNull());
+        assertEquals(1.0, registry.get("pricing.errors").tag("type", "unknown_fruit").counter().count());
+    }
+
+    @Test
+    void computeBill_UnknownTier_ReturnsBadRequest() throws Exception {
+        // Arrange
+        when(fruitBillService.billFromTally(any(CartTally.class), eq("gold")))
+                .thenThrow(new UnknownTierException("gold"));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/bill")
+                        .param("tier", "gold")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[\"apple\"]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.tier").value("Unknown tier: gold"));
+
+        assertEquals(1.0, registry.get("pricing.errors").tag("type", "unknown_tier").counter().count());
+    }
+
+    @Test
+    void computeBill_ChargeOverflows_ReturnsBadRequest() throws Exception {
+        // Arrange
+        when(fruitBillService.billFromTally(any(CartTally.class), isNull()))
+                .thenThrow(new ArithmeticException("long overflow"));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/bill")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[\"apple\"]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.cart").value("Cart quantities or charges are too large to price"));
+
+        assertEquals(1.0, registry.get("pricing.errors").tag("type", "overflow").counter().count());
+    }
+
+    @Test
+    void computeBill_VersionNoLongerRetained_ReturnsNotFound() throws Exception {
+        // Arrange
+        when(fruitBillService.billAtVersion(any(CartTally.class), eq(3L), isNull()))
+                .thenThrow(new CatalogVersionNotFoundException(3L));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/bill")
+                        .param("version", "3")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[\"apple\"]"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.version").value("Catalog version 3 is not retained"));
+
+        assertEquals(1.0, registry.get("pricing.errors").tag("type", "catalog_version_not_found").counter().count());
+    }
+
+    @Test
+    void computeBatchBill_ValidRequest_ReturnsResultPerCart() throws Exception {
+        // Arrange
+        List<List<String>> request = List.of(List.of("apple", "apple"), List.of("kiwi"));
+        FruitResponseDTO bill = new FruitResponseDTO(List.of(), 2, 0.70);
+        when(fruitBillService.billBatch(request, null)).thenReturn(List.of(
+                BatchBillResultDTO.success(0, bill),
+                BatchBillResultDTO.failure(1, "Unknown fruit type: kiwi")));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/bill/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].index").value(0))
+                .andExpect(jsonPath("$[0].bill.totalQuantity").value(2))
+                .andExpect(jsonPath("$[1].error").value("Unknown fruit type: kiwi"));
+
+        verify(fruitBillService, times(1)).billBatch(request, null);
+    }
+
+    @Test
+    void computeBillStream_NdjsonBody_StreamsThroughService() throws Exception {
+        // Arrange
+        when(billStreamService.stream(any(), any(), isNull())).thenAnswer(inv -> {
+            inv.getArgument(1, OutputStream.class).write("{\"totalQuantity\":1}\n".getBytes());
+            return 1L;
+        });
+
+        // Act & Assert
+        mockMvc.perform(post("/api/bill/stream")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("[\"apple\"]\n"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"totalQuantity\":1}\n"));
+
+        verify(billStreamService, times(1)).stream(any(), any(), isNull());
+    }
+}
@@ -0,0 +1,219 @@
+package org.shoppingcart.controller;
+
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.shoppingcart.grpc.BillRequest;
+import org.shoppingcart.grpc.BillResponse;
+import org.shoppingcart.grpc.CartLine;
+import org.shoppingcart.models.Fruit;
+import org.shoppingcart.models.FruitCatalog;
+import org.shoppingcart.services.BillCache;
+import org.shoppingcart.services.FruitBillService;
+import org.shoppingcart.services.FruitCatalogService;
+import org.shoppingcart.utils.OfferType;
+import org.shoppingcart.utils.PricingMetrics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PricingGrpcServiceTest {
+
+    @Mock
+    private FruitCatalogService catalogService;
+
+    private PricingGrpcService pricingGrpcService;
+
+    @BeforeEach
+    void setUp() {
+        when(catalogService.current()).thenReturn(FruitCatalog.of(1L, List.of(
+                new Fruit("apple", 0.35, OfferType.NoOffer, null),
+                new Fruit("melon", 0.50, OfferType.BOGO, null))));
+        FruitBillService billService = new FruitBillService(catalogService, null, BillCache.disabled(), PricingMetrics.disabled());
+        pricingGrpcService = new PricingGrpcService(billService, catalogService);
+    }
+
+    @Test
+    void bill_KnownSkus_ReturnsPricedLinesInMinorUnits() {
+        // Arrange
+        RecordingObserver responses = new RecordingObserver();
+
+        // Act
+        pricingGrpcService.bill(request("r-1", "apple", 2, "MELON", 3), responses);
+
+        // Assert
+        assertTrue(responses.completed);
+        assertNull(responses.error);
+        BillResponse response = responses.values.get(0);
+        assertEquals("r-1", response.getRequestId());
+        assertEquals(5, response.getTotalQuantity());
+        assertEquals(170L, response.getTotalPriceMinor());
+        assertEquals("BOGO", response.getLines(1).getOffer());
+        assertEquals(100L, response.getLines(1).getChargedMinor());
+    }
+
+    @Test
+    void bill_UnknownSku_FailsWithInvalidArgument() {
+        // Arrange
+        RecordingObserver responses = new RecordingObserver();
+
+        // Act
+        pricingGrpcService.bill(request("r-1", "apple", 1, "kiwi", 1), responses);
+
+        // Assert
+        assertTrue(responses.values.isEmpty());
+        StatusRuntimeException error = assertInstanceOf(StatusRuntimeException.class, responses.error);
+        assertEquals(Status.Code.INVALID_ARGUMENT, error.getStatus().getCode());
+        assertEquals("Unknown fruit type(s): kiwi", error.getStatus().getDescription());
+    }
+
+    @Test
+    void billStream_BadCartInTheMiddle_AnswersEveryCartInOrder() {
+        // Arrange
+        RecordingObserver responses = new RecordingObserver();
+        StreamObserver<BillRequest> requests = pricingGrpcService.billStream(responses);
+
+        // Act
+        responses.onReady.run();
+        requests.onNext(request("a", "apple", 1));
+        requests.onNext(request("b", "apple", 0));
+        requests.onNext(request("c", "melon", 2));
+        requests.onNext(request("d", "apple", Integer.MAX_VALUE, "apple", 1));
+        requests.onCompleted();
+
+        // Assert
+        assertTrue(responses.completed);
+        assertEquals(4, responses.values.size());
+        assertEquals(35L, responses.values.get(0).getTotalPriceMinor());
+        assertEquals("b", responses.values.get(1).getRequestId());
+        assertEquals("Quantity must be greater than zero", responses.values.get(1).getError());
+        assertEquals(50L, responses.values.get(2).getTotalPriceMinor());
+        assertEquals(PricingGrpcService.OVERFLOW_MESSAGE, responses.values.get(3).getError());
+    }
+
+    @Test
+    void billStream_SlowReader_RequestsTheNextCartOnlyOnceReady() {
+        // Arrange
+        RecordingObserver responses = new RecordingObserver();
+        StreamObserver<BillRequest> requests = pricingGrpcService.billStream(responses);
+        responses.onReady.run();
+
+        // Act: the response fills the transport buffer
+        responses.ready = false;
+        requests.onNext(request("a", "apple", 1));
+        int requestedWhileBlocked = responses.requested;
+        responses.ready = true;
+        responses.onReady.run();
+
+        // Assert
+        assertFalse(responses.autoRequest);
+        assertEquals(1, requestedWhileBlocked);
+        assertEquals(2, responses.requested);
+        assertEquals(1, responses.values.size());
+    }
+
+    @Test
+    void bill_QuantityOverflow_FailsWithInvalidArgument() {
+        // Arrange
+        RecordingObserver responses = new RecordingObserver();
+
+        // Act
+        pricingGrpcService.bill(request("r-1", "apple", Integer.MAX_VALUE, "apple", 1), responses);
+
+        // Assert
+        assertTrue(responses.values.isEmpty());
+        StatusRuntimeException error = assertInstanceOf(StatusRuntimeException.class, responses.error);
+        assertEquals(Status.Code.INVALID_ARGUMENT, error.getStatus().getCode());
+        assertEquals(PricingGrpcService.OVERFLOW_MESSAGE, error.getStatus().getDescription());
+    }
+
+    private static BillRequest request(String id, Object... skuQuantityPairs) {
+        BillRequest.Builder request = BillRequest.newBuilder().setRequestId(id);
+        for (int i = 0; i < skuQuantityPairs.length; i += 2) {
+            request.addLines(CartLine.newBuilder()
+                    .setSku((String) skuQuantityPairs[i])
+                    .setQuantity((Integer) skuQuantityPairs[i + 1]));
+        }
+        return request.build();
+    }
+
+    /**
+     * Records responses and stands in for the transport's flow control.
+     */
+    private static class RecordingObserver extends ServerCallStreamObserver<BillResponse> {
+        final List<BillResponse> values = new ArrayList<>();
+        Throwable error;
+        boolean completed;
+        boolean ready = true;
+        boolean autoRequest = true;
+        int requested;
+        Runnable onReady;
+
+        @Override
+        public boolean isReady() {
+            return ready;
+        }
+
+        @Override
+        public void setOnReadyHandler(Runnable onReadyHandler) {
+            onReady = onReadyHandler;
+        }
+
+        @Override
+        public void disableAutoRequest() {
+            autoRequest = false;
+        }
+
+        @Override
+        public void disableAutoInboundFlowControl() {
+            autoRequest = false;
+        }
+
+        @Override
+        public void request(int count) {
+            requested += count;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return false;
+        }
+
+        @Override
+        public void setOnCancelHandler(Runnable onCancelHandler) {
+        }
+
+        @Override
+        public void setCompression(String compression) {
+        }
+
+        @Override
+        public void setMessageCompression(boolean enable) {
+        }
+
+        @Override
+        public void onNext(BillResponse value) {
+            values.add(value);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            error = t;
+        }
+
+        @Override
+        public void onCompleted() {
+            completed = true;
+        }
+    }
+}
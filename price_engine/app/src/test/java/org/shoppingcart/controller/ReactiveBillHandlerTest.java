@@ -0,0 +1,188 @@
+package org.shoppingcart.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.shoppingcart.models.CartTally;
+import org.shoppingcart.models.Fruit;
+import org.shoppingcart.models.FruitCatalog;
+import org.shoppingcart.models.FruitResponseDTO;
+import org.shoppingcart.services.BillCache;
+import org.shoppingcart.services.FruitBillService;
+import org.shoppingcart.services.FruitCatalogService;
+import org.shoppingcart.utils.CartTallyDeserializer;
+import org.shoppingcart.utils.OfferType;
+import org.shoppingcart.utils.ReactiveServerLifecycle;
+import org.shoppingcart.utils.PricingMetrics;
+import reactor.core.publisher.Mono;
+import reactor.netty.ByteBufFlux;
+import reactor.netty.http.client.HttpClient;
+import reactor.util.function.Tuple2;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReactiveBillHandlerTest {
+
+    private final FruitCatalog catalog = FruitCatalog.of(1L, List.of(
+            new Fruit("apple", 0.35, OfferType.NoOffer, null),
+            new Fruit("melon", 0.50, OfferType.BOGO, null)));
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new SimpleModule()
+            .addDeserializer(CartTally.class, new CartTallyDeserializer(() -> catalog)));
+    private final ForkJoinPool pricingPool = new ForkJoinPool(2);
+
+    private static final int MAX_BODY_BYTES = 64;
+
+    private ReactiveServerLifecycle server;
+    private HttpClient client;
+
+    @BeforeEach
+    void setUp() {
+        FruitCatalogService catalogService = mock(FruitCatalogService.class);
+        when(catalogService.current()).thenReturn(catalog);
+        start(new FruitBillService(catalogService, pricingPool, BillCache.disabled(), PricingMetrics.disabled()), 16,
+                Duration.ofSeconds(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop();
+        pricingPool.shutdown();
+    }
+
+    private ReactiveBillHandler start(FruitBillService billService, int maxInFlight, Duration receiveTimeout) {
+        if (server != null) {
+            server.stop();
+        }
+        ReactiveBillHandler handler = new ReactiveBillHandler(billService, objectMapper, pricingPool, maxInFlight,
+                MAX_BODY_BYTES, receiveTimeout);
+        server = new ReactiveServerLifecycle(handler, 0, 1);
+        server.start();
+        client = HttpClient.create().baseUrl("http://localhost:" + server.getPort());
+        return handler;
+    }
+
+    private Mono<Tuple2<Integer, String>> post(String body) {
+        return client.post()
+                .uri("/api/bill")
+                .send(ByteBufFlux.fromString(Mono.just(body)))
+                .responseSingle((response, content) -> Mono.just(response.status().code())
+                        .zipWith(content.asString().defaultIfEmpty("")));
+    }
+
+    @Test
+    void bill_KnownFruits_ReturnsBill() throws Exception {
+        // Act
+        Tuple2<Integer, String> response = post("[\"apple\", \"melon\", \"MELON\"]").block(Duration.ofSeconds(5));
+
+        // Assert
+        assertEquals(200, response.getT1());
+        JsonNode bill = objectMapper.readTree(response.getT2());
+        assertEquals(3, bill.get("totalQuantity").asInt());
+        assertEquals("0.85", bill.get("totalPrice").asText());
+        assertEquals("melon", bill.get("fruits").get(1).get("fruit").asText());
+    }
+
+    @Test
+    void bill_UnknownFruit_ReturnsBadRequest() {
+        // Act
+        Tuple2<Integer, String> response = post("[\"apple\", \"kiwi\"]").block(Duration.ofSeconds(5));
+
+        // Assert
+        assertEquals(400, response.getT1());
+        assertEquals("{\"fruits\":\"Unknown fruit type(s): kiwi\"}", response.getT2());
+    }
+
+    @Test
+    void bill_MalformedBody_ReturnsBadRequest() {
+        // Act
+        Tuple2<Integer, String> response = post("[\"apple\"").block(Duration.ofSeconds(5));
+
+        // Assert
+        assertEquals(400, response.getT1());
+        assertEquals("{\"body\":\"Malformed request body\"}", response.getT2());
+    }
+
+    @Test
+    void bill_PricingSaturated_RejectsWithServiceUnavailable() throws Exception {
+        // Arrange
+        CountDownLatch pricing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        FruitBillService blockingService = mock(FruitBillService.class);
+        when(blockingService.billFromTally(any(), isNull())).thenAnswer(inv -> {
+            pricing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return FruitResponseDTO.ofMinor(List.of(), 0, 0L);
+        });
+        ReactiveBillHandler handler = start(blockingService, 1, Duration.ofSeconds(5));
+
+        // Act
+        CompletableFuture<Tuple2<Integer, String>> admitted = post("[\"apple\"]").toFuture();
+        assertTrue(pricing.await(5, TimeUnit.SECONDS));
+        Tuple2<Integer, String> rejected = post("[\"apple\"]").block(Duration.ofSeconds(5));
+        release.countDown();
+
+        // Assert
+        assertEquals(503, rejected.getT1());
+        assertEquals(1L, handler.rejectedCount());
+        assertEquals(200, admitted.get(5, TimeUnit.SECONDS).getT1());
+    }
+
+    @Test
+    void bill_BodyOverLimit_ReturnsPayloadTooLarge() {
+        // Arrange
+        String body = "[" + "\"apple\",".repeat(MAX_BODY_BYTES / 8) + "\"apple\"]";
+
+        // Act
+        Tuple2<Integer, String> response = post(body).block(Duration.ofSeconds(5));
+
+        // Assert
+        assertEquals(413, response.getT1());
+        assertEquals("{\"body\":\"Request body exceeds 64 bytes\"}", response.getT2());
+    }
+
+    @Test
+    void bill_BodyNeverArrives_TimesOutWithoutHoldingASlot() throws Exception {
+        // Arrange
+        FruitCatalogService catalogService = mock(FruitCatalogService.class);
+        when(catalogService.current()).thenReturn(catalog);
+        ReactiveBillHandler handler = start(new FruitBillService(catalogService, pricingPool, BillCache.disabled(),
+                PricingMetrics.disabled()), 1, Duration.ofMillis(500));
+
+        try (Socket stalled = new Socket("localhost", server.getPort())) {
+            stalled.setSoTimeout(5_000);
+            stalled.getOutputStream().write(("POST /api/bill HTTP/1.1\r\nHost: localhost\r\n"
+                    + "Content-Type: application/json\r\nContent-Length: 9\r\n\r\n[\"ap")
+                    .getBytes(StandardCharsets.US_ASCII));
+            stalled.getOutputStream().flush();
+
+            // Act
+            Tuple2<Integer, String> admitted = post("[\"apple\"]").block(Duration.ofSeconds(5));
+            String stalledStatus = new BufferedReader(new InputStreamReader(stalled.getInputStream(),
+                    StandardCharsets.US_ASCII)).readLine();
+
+            // Assert
+            assertEquals(200, admitted.getT1());
+            assertEquals("HTTP/1.1 408 Request Timeout", stalledStatus);
+            assertEquals(0, handler.inFlight());
+            assertEquals(0L, handler.rejectedCount());
+        }
+    }
+}
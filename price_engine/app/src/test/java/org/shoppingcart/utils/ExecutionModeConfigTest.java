@@ -0,0 +1,78 @@
+package org.shoppingcart.utils;
+
+import org.apache.coyote.http11.Http11NioProtocol;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class ExecutionModeConfigTest {
+
+    @Test
+    void resolve_Platform_StaysPlatform() {
+        assertEquals(ExecutionMode.PLATFORM, ExecutionModeConfig.resolve(ExecutionMode.PLATFORM));
+    }
+
+    @Test
+    void resolve_Virtual_FallsBackToPlatformWithoutVirtualThreads() {
+        // Act
+        ExecutionMode resolved = ExecutionModeConfig.resolve(ExecutionMode.VIRTUAL);
+
+        // Assert
+        assertEquals(VirtualThreads.isSupported() ? ExecutionMode.VIRTUAL : ExecutionMode.PLATFORM, resolved);
+    }
+
+    @Test
+    void newThreadPerTaskExecutor_MatchesRuntimeSupport() throws Exception {
+        if (!VirtualThreads.isSupported()) {
+            assertThrows(UnsupportedOperationException.class, () -> VirtualThreads.newThreadPerTaskExecutor("vt-"));
+            return;
+        }
+
+        // Arrange
+        ExecutorService executor = VirtualThreads.newThreadPerTaskExecutor("vt-");
+
+        // Act
+        String threadName = executor.submit(() -> Thread.currentThread().getName()).get();
+        executor.shutdown();
+
+        // Assert
+        assertEquals("vt-0", threadName);
+    }
+
+    @Test
+    void requestThreadsCustomizer_Virtual_HandsTomcatAVirtualThreadPerTask() throws Exception {
+        assumeTrue(VirtualThreads.isSupported(), "virtual threads need Java 21+");
+
+        // Arrange
+        Http11NioProtocol protocol = new Http11NioProtocol();
+
+        // Act
+        new ExecutionModeConfig(ExecutionMode.VIRTUAL).requestThreadsCustomizer().customize(protocol);
+
+        // Assert
+        Executor executor = protocol.getExecutor();
+        CompletableFuture<Thread> handler = new CompletableFuture<>();
+        executor.execute(() -> handler.complete(Thread.currentThread()));
+        Thread thread = handler.get();
+        assertTrue((Boolean) Thread.class.getMethod("isVirtual").invoke(thread));
+        assertEquals("http-vt-0", thread.getName());
+        ((ExecutorService) executor).shutdown();
+    }
+
+    @Test
+    void requestThreadsCustomizer_Platform_KeepsTomcatsPool() {
+        // Arrange
+        Http11NioProtocol protocol = new Http11NioProtocol();
+
+        // Act
+        new ExecutionModeConfig(ExecutionMode.PLATFORM).requestThreadsCustomizer().customize(protocol);
+
+        // Assert: Tomcat creates its own worker pool when it starts
+        assertNull(protocol.getExecutor());
+    }
+}
@@ -0,0 +1,40 @@
+package org.shoppingcart.utils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.shoppingcart.models.CartTally;
+import org.shoppingcart.models.Fruit;
+import org.shoppingcart.models.FruitCatalog;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MicrometerPricingMetricsTest {
+
+    @Test
+    void record_BillLinesAndErrors_UpdateTheirMeters() {
+        // Arrange
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        MicrometerPricingMetrics metrics = new MicrometerPricingMetrics(registry);
+        FruitCatalog catalog = FruitCatalog.of(1L, List.of(
+                new Fruit("apple", 0.35, OfferType.NoOffer, null),
+                new Fruit("melon", 0.50, OfferType.BOGO, null)));
+        CartTally tally = CartTally.of(catalog, List.of("apple", "apple", "melon", "melon", "melon"));
+
+        // Act
+        metrics.recordBill(tally, 1_000L);
+        metrics.recordLine(OfferType.NoOffer);
+        metrics.recordLine(OfferType.BOGO);
+        metrics.recordError(PricingMetrics.UNKNOWN_FRUIT);
+
+        // Assert
+        assertEquals(1L, registry.get("pricing.bill").timer().count());
+        assertEquals(2.0, registry.get("pricing.cart.lines").summary().totalAmount());
+        assertEquals(5.0, registry.get("pricing.cart.units").summary().totalAmount());
+        assertEquals(1.0, registry.get("pricing.offer.lines").tag("offer", "BOGO").counter().count());
+        assertEquals(1.0, registry.get("pricing.offer.lines").tag("offer", "NoOffer").counter().count());
+        assertEquals(1.0, registry.get("pricing.errors").tag("type", "unknown_fruit").counter().count());
+        assertEquals(0.0, registry.get("pricing.errors").tag("type", "io").counter().count());
+    }
+}
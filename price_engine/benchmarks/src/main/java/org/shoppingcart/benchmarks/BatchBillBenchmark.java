@@ -0,0 +1,82 @@
+package org.shoppingcart.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.shoppingcart.models.BatchBillResultDTO;
+import org.shoppingcart.services.BillCache;
+import org.shoppingcart.services.FruitBillService;
+import org.shoppingcart.utils.PricingMetrics;
+import org.shoppingcart.utils.VirtualThreads;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Batch pricing throughput on the common pool, or with one virtual thread per slice as in
+ * {@code pricing.execution.mode=virtual} (Java 21+), versus pricing the same carts one at a
+ * time. Batches are charged by the vector kernel; pass {@code -jvmArgsAppend -Dscalar} to
+ * replace the module flag and compare with the scalar kernel.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@State(Scope.Benchmark)
+public class BatchBillBenchmark {
+
+    @Param({"1000", "100000"})
+    public int carts;
+
+    @Param({"forkjoin", "virtual"})
+    public String executor;
+
+    private List<List<String>> batch;
+    private ExecutorService batchExecutor;
+    private FruitBillService billService;
+
+    @Setup(Level.Trial)
+    public void setUp(CartShape cart) {
+        batch = Collections.nCopies(carts, cart.units);
+        batchExecutor = executor.equals("virtual")
+                ? VirtualThreads.newThreadPerTaskExecutor("batch-vt-")
+                : ForkJoinPool.commonPool();
+        billService = new FruitBillService(cart.catalogService, batchExecutor, BillCache.disabled(),
+                PricingMetrics.disabled());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (!(batchExecutor instanceof ForkJoinPool)) {
+            batchExecutor.shutdown();
+        }
+    }
+
+    @Benchmark
+    public List<BatchBillResultDTO> parallelBatch() {
+        return billService.billBatch(batch);
+    }
+
+    @Benchmark
+    public int sequentialSingleCarts(CartShape cart) {
+        int priced = 0;
+        for (int i = 0; i < carts; i++) {
+            priced += cart.billService.billCalculator(cart.lines).getTotalQuantity();
+        }
+        return priced;
+    }
+}
@@ -0,0 +1,99 @@
+package org.shoppingcart.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.shoppingcart.models.CartTally;
+import org.shoppingcart.models.FruitCatalog;
+import org.shoppingcart.models.FruitResponseDTO;
+import org.shoppingcart.services.BillCache;
+import org.shoppingcart.services.BillJournal;
+import org.shoppingcart.services.FruitBillService;
+import org.shoppingcart.services.FruitCatalogService;
+import org.shoppingcart.utils.BillJournalFile;
+import org.shoppingcart.utils.PricingMetrics;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Request-thread cost of recording a bill of {@code lines} lines: {@code formatForLog}
+ * builds the string {@code log.info("Bill computed successfully: {}", bill)} used to write,
+ * {@code encodeRecord} builds the journal record alone, and {@code appendToJournal} encodes
+ * it and hands it to a running {@link BillJournal}. The journal's drop count is printed at
+ * the end of each trial; a non-zero count means the writer fell behind.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BillJournalBenchmark {
+
+    @Param({"4", "32"})
+    public int lines;
+
+    FruitResponseDTO bill;
+    Path directory;
+    BillJournal journal;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        FruitCatalog catalog = FruitCatalog.of(1L, CartShape.catalogFor(CartShape.OfferMix.MIXED, lines));
+        FruitBillService billService = new FruitBillService(new FruitCatalogService(null), new ForkJoinPool(1),
+                BillCache.disabled(), PricingMetrics.disabled());
+        CartTally tally = new CartTally(catalog);
+        for (int sku = 0; sku < lines; sku++) {
+            tally.add(sku, 1 + sku % 7);
+        }
+        bill = billService.billFromTally(tally);
+
+        directory = Files.createTempDirectory("bill-journal-benchmark");
+        journal = new BillJournal(directory, 8192, 64L << 20, Duration.ofMillis(100));
+        journal.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        journal.close();
+        System.out.printf("%nJournal: %d written, %d dropped%n", journal.written(), journal.dropped());
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public String formatForLog() {
+        return "Bill computed successfully: " + bill;
+    }
+
+    @Benchmark
+    public ByteBuffer encodeRecord() {
+        return BillJournalFile.encode(bill, System.currentTimeMillis());
+    }
+
+    @Benchmark
+    public boolean appendToJournal() {
+        return journal.append(bill);
+    }
+}
@@ -0,0 +1,31 @@
+package org.shoppingcart.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.shoppingcart.models.CartTally;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full /api/bill request path minus the servlet container: JSON body in,
+ * {@code FruitOrderController.computeBill}, JSON bill out.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BillRequestBenchmark {
+
+    @Benchmark
+    public byte[] computeBillRoundTrip(CartShape cart) throws IOException {
+        CartTally tally = cart.objectMapper.readValue(cart.requestBody, CartTally.class);
+        return cart.objectMapper.writeValueAsBytes(cart.controller.computeBill(tally, null, null).getBody());
+    }
+}
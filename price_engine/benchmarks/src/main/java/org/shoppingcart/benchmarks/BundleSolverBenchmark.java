@@ -0,0 +1,136 @@
+package org.shoppingcart.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.shoppingcart.components.BundleSolver;
+import org.shoppingcart.models.Bundle;
+import org.shoppingcart.models.CartTally;
+import org.shoppingcart.models.Fruit;
+import org.shoppingcart.models.FruitCatalog;
+import org.shoppingcart.models.FruitResponseDTO;
+import org.shoppingcart.services.BillCache;
+import org.shoppingcart.services.FruitBillService;
+import org.shoppingcart.services.FruitCatalogService;
+import org.shoppingcart.utils.PricingMetrics;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cart-level bundle solving on large carts: {@code distinctSkus} lines of
+ * {@code unitsPerSku} units from a {@code catalogSize}-SKU catalog carrying
+ * {@code bundleCount} bundles, half fixed and half mix and match, over random SKUs.
+ * {@code solve} times the solver alone; {@code billWithBundles} and
+ * {@code billWithoutBundles} time the whole bill against the same cart, so their
+ * difference is what bundles add.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BundleSolverBenchmark {
+
+    @Param({"100", "500"})
+    public int distinctSkus;
+
+    @Param({"1", "10"})
+    public int unitsPerSku;
+
+    @Param({"1000"})
+    public int catalogSize;
+
+    @Param({"100", "1000"})
+    public int bundleCount;
+
+    FruitCatalog withBundles;
+    FruitCatalog withoutBundles;
+    CartTally bundledTally;
+    CartTally plainTally;
+    FruitBillService billService;
+    int[] skus;
+    int[] quantities;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        List<Fruit> fruits = CartShape.catalogFor(CartShape.OfferMix.MIXED, catalogSize);
+        withoutBundles = FruitCatalog.of(1L, fruits);
+        withBundles = FruitCatalog.of(1L, fruits, bundles(new Random(42), bundleCount, catalogSize));
+        FruitCatalogService catalogService = new FruitCatalogService(
+                new CartShape.StaticCatalogLoader(new ObjectMapper(), withBundles));
+        catalogService.init();
+        billService = new FruitBillService(catalogService, ForkJoinPool.commonPool(), BillCache.disabled(),
+                PricingMetrics.disabled());
+
+        int lines = Math.min(distinctSkus, catalogSize);
+        List<String> units = new ArrayList<>(lines * unitsPerSku);
+        skus = new int[lines];
+        quantities = new int[lines];
+        for (int line = 0; line < lines; line++) {
+            String sku = CartShape.skuName((int) ((long) line * catalogSize / lines));
+            skus[line] = withBundles.idOf(sku);
+            quantities[line] = unitsPerSku;
+            for (int u = 0; u < unitsPerSku; u++) {
+                units.add(sku);
+            }
+        }
+        bundledTally = CartTally.of(withBundles, units);
+        plainTally = CartTally.of(withoutBundles, units);
+    }
+
+    static List<Bundle> bundles(Random random, int count, int catalogSize) {
+        List<Bundle> bundles = new ArrayList<>(count);
+        for (int b = 0; b < count; b++) {
+            if (b % 2 == 0) {
+                Map<String, Integer> items = new HashMap<>();
+                int members = 2 + random.nextInt(2);
+                while (items.size() < members) {
+                    items.put(CartShape.skuName(random.nextInt(catalogSize)), 1 + random.nextInt(2));
+                }
+                bundles.add(Bundle.fixed("fixed-" + b, 0.40 + random.nextInt(60) / 100.0, items));
+            } else {
+                List<String> skus = new ArrayList<>();
+                int members = 3 + random.nextInt(6);
+                for (int m = 0; m < members; m++) {
+                    skus.add(CartShape.skuName(random.nextInt(catalogSize)));
+                }
+                int quantity = 2 + random.nextInt(3);
+                bundles.add(Bundle.anyOf("pool-" + b, quantity * (0.15 + random.nextInt(20) / 100.0), quantity, skus));
+            }
+        }
+        return bundles;
+    }
+
+    @Benchmark
+    public BundleSolver.Solution solve() {
+        return BundleSolver.solve(withBundles.offers(), withBundles.bundles(), skus, quantities, skus.length);
+    }
+
+    @Benchmark
+    public FruitResponseDTO billWithBundles() {
+        return billService.billFromTally(bundledTally);
+    }
+
+    @Benchmark
+    public FruitResponseDTO billWithoutBundles() {
+        return billService.billFromTally(plainTally);
+    }
+}
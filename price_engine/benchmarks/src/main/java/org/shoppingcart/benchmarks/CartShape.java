@@ -0,0 +1,138 @@
+package org.shoppingcart.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.shoppingcart.controller.FruitOrderController;
+import org.shoppingcart.models.BOGO;
+import org.shoppingcart.models.CartTally;
+import org.shoppingcart.models.Fruit;
+import org.shoppingcart.models.FruitCatalog;
+import org.shoppingcart.models.FruitDTO;
+import org.shoppingcart.models.ThreeForTwo;
+import org.shoppingcart.services.BillCache;
+import org.shoppingcart.services.BillStreamService;
+import org.shoppingcart.services.FruitBillService;
+import org.shoppingcart.services.FruitCatalogService;
+import org.shoppingcart.utils.CartTallyDeserializer;
+import org.shoppingcart.utils.FruitLoader;
+import org.shoppingcart.utils.JacksonConfig;
+import org.shoppingcart.utils.OfferType;
+import org.shoppingcart.utils.MicrometerPricingMetrics;
+import org.shoppingcart.utils.PricingMetrics;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Shared cart fixture. Builds a synthetic catalog of {@code catalogSize} SKUs for the
+ * requested offer mix and a cart with {@code distinctSkus} lines of {@code unitsPerSku}
+ * units each, then wires the engine by hand (no Spring context) so only pricing work
+ * is measured. Cart lines are spread across the catalog rather than taken from its head.
+ */
+@State(Scope.Benchmark)
+public class CartShape {
+
+    public enum OfferMix { NONE, BOGO, THREE_FOR_TWO, MIXED }
+
+    @Param({"1", "2", "4"})
+    public int distinctSkus;
+
+    @Param({"1", "10", "1000"})
+    public int unitsPerSku;
+
+    @Param({"NONE", "BOGO", "THREE_FOR_TWO", "MIXED"})
+    public OfferMix offerMix;
+
+    @Param({"4"})
+    public int catalogSize;
+
+    public ObjectMapper objectMapper;
+    public FruitCatalog catalog;
+    public FruitCatalogService catalogService;
+    public FruitBillService billService;
+    public FruitBillService cachedBillService;
+    public FruitBillService meteredBillService;
+    public FruitOrderController controller;
+    public List<String> units;
+    public List<FruitDTO> lines;
+    public byte[] requestBody;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        catalog = FruitCatalog.of(1L, catalogFor(offerMix, catalogSize));
+        catalogService = new FruitCatalogService(
+                new StaticCatalogLoader(new ObjectMapper(), catalog));
+        catalogService.init();
+
+        objectMapper = new ObjectMapper()
+                .registerModule(new JacksonConfig().javaMoneyModule(false))
+                .registerModule(new SimpleModule()
+                        .addDeserializer(CartTally.class, new CartTallyDeserializer(catalogService::current)));
+
+        billService = new FruitBillService(catalogService, ForkJoinPool.commonPool(), BillCache.disabled(),
+                PricingMetrics.disabled());
+        cachedBillService = new FruitBillService(catalogService, ForkJoinPool.commonPool(),
+                new BillCache(true, 10_000, Duration.ofMinutes(10)), PricingMetrics.disabled());
+        // Same meters the application registers, recorded into the registry it scrapes
+        meteredBillService = new FruitBillService(catalogService, ForkJoinPool.commonPool(), BillCache.disabled(),
+                new MicrometerPricingMetrics(new PrometheusMeterRegistry(PrometheusConfig.DEFAULT)));
+        controller = new FruitOrderController(billService, new BillStreamService(billService, objectMapper, 1 << 20));
+
+        int skus = Math.min(distinctSkus, catalogSize);
+        units = new ArrayList<>(skus * unitsPerSku);
+        lines = new ArrayList<>(skus);
+        for (int i = 0; i < skus; i++) {
+            String sku = skuName((int) ((long) i * catalogSize / skus));
+            lines.add(new FruitDTO(sku, unitsPerSku));
+            for (int u = 0; u < unitsPerSku; u++) {
+                units.add(sku);
+            }
+        }
+        requestBody = objectMapper.writeValueAsBytes(units);
+    }
+
+    static List<Fruit> catalogFor(OfferMix mix, int size) {
+        List<Fruit> fruits = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            OfferMix offer = mix == OfferMix.MIXED ? OfferMix.values()[i % 3] : mix;
+            String sku = skuName(i);
+            fruits.add(switch (offer) {
+                case BOGO -> new Fruit(sku, 0.50, OfferType.BOGO, new BOGO(1, 1));
+                case THREE_FOR_TWO -> new Fruit(sku, 0.15, OfferType.ThreeForTwo, new ThreeForTwo(3, 2));
+                default -> new Fruit(sku, 0.35, OfferType.NoOffer, null);
+            });
+        }
+        return fruits;
+    }
+
+    static String skuName(int i) {
+        return "sku-" + i;
+    }
+
+    /**
+     * Serves a prebuilt catalog instead of reading offer.json.
+     */
+    static class StaticCatalogLoader extends FruitLoader {
+        private final FruitCatalog catalog;
+
+        StaticCatalogLoader(ObjectMapper objectMapper, FruitCatalog catalog) {
+            super(objectMapper, FruitLoader.DEFAULT_LOCATION);
+            this.catalog = catalog;
+        }
+
+        @Override
+        public FruitCatalog loadCatalog(long version) {
+            return catalog;
+        }
+    }
+}
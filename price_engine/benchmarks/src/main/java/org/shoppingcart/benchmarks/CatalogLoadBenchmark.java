@@ -0,0 +1,128 @@
+package org.shoppingcart.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.shoppingcart.components.OfferTable;
+import org.shoppingcart.models.FruitCatalog;
+import org.shoppingcart.models.FruitConfig;
+import org.shoppingcart.utils.CatalogCompiler;
+import org.shoppingcart.utils.FruitLoader;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Catalog load time by catalog size, through {@link FruitLoader} as startup and reload
+ * use it: parsing the JSON catalog versus mapping the same catalog compiled to a
+ * {@code CatalogFile}. {@code mapAndPriceFirstSku} adds the first lookup and charge, which
+ * fault in the pages they touch. {@code chargeParsed} and {@code chargeMapped} then price
+ * the same {@value #LINES} lines spread over each catalog, to show what reading offers in
+ * place costs per line.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CatalogLoadBenchmark {
+
+    private static final int LINES = 4096;
+
+    @Param({"1000", "100000", "1000000"})
+    public int catalogSize;
+
+    private Path directory;
+    private FruitLoader jsonLoader;
+    private FruitLoader compiledLoader;
+    private String lastSku;
+    private FruitCatalog parsed;
+    private FruitCatalog mapped;
+    private int[] skus;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("catalog-load");
+        Path json = directory.resolve("offer.json");
+        Path compiled = directory.resolve("offer.bin");
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        FruitConfig config = new FruitConfig();
+        config.setFruits(CartShape.catalogFor(CartShape.OfferMix.MIXED, catalogSize));
+        objectMapper.writeValue(json.toFile(), config);
+        CatalogCompiler.compile(json, compiled);
+
+        jsonLoader = new FruitLoader(objectMapper, json.toUri().toString());
+        compiledLoader = new FruitLoader(objectMapper, compiled.toUri().toString());
+        lastSku = CartShape.skuName(catalogSize - 1);
+
+        parsed = jsonLoader.loadCatalog(1L);
+        mapped = compiledLoader.loadCatalog(1L);
+        Random random = new Random(7);
+        skus = new int[LINES];
+        for (int line = 0; line < LINES; line++) {
+            skus[line] = random.nextInt(catalogSize);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public FruitCatalog parseJson() throws IOException {
+        return jsonLoader.loadCatalog(1L);
+    }
+
+    @Benchmark
+    public FruitCatalog mapCompiled() throws IOException {
+        return compiledLoader.loadCatalog(1L);
+    }
+
+    @Benchmark
+    public long mapAndPriceFirstSku() throws IOException {
+        FruitCatalog catalog = compiledLoader.loadCatalog(1L);
+        return catalog.offers().charge(catalog.idOf(lastSku), 3);
+    }
+
+    @Benchmark
+    public long chargeParsed() {
+        return chargeLines(parsed);
+    }
+
+    @Benchmark
+    public long chargeMapped() {
+        return chargeLines(mapped);
+    }
+
+    private long chargeLines(FruitCatalog catalog) {
+        OfferTable offers = catalog.offers();
+        long total = 0;
+        for (int line = 0; line < LINES; line++) {
+            total += offers.charge(skus[line], 1 + (line & 15));
+        }
+        return total;
+    }
+}
@@ -0,0 +1,112 @@
+package org.shoppingcart.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.shoppingcart.components.ChargeColumns;
+import org.shoppingcart.components.ChargeKernel;
+import org.shoppingcart.components.ChargeKernels;
+import org.shoppingcart.components.CompiledOffer;
+import org.shoppingcart.components.OfferTable;
+import org.shoppingcart.models.BOGO;
+import org.shoppingcart.models.ThreeForTwo;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Charging {@code rows} cart lines of mixed offers: {@link OfferTable#charge} per line,
+ * and the columnar {@link ChargeKernel}s over the same
+ * lines. {@code fillAndVectorKernel} includes filling the columns from the cart lines
+ * and the offer table, which is what batch pricing pays.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@State(Scope.Thread)
+public class ChargeKernelBenchmark {
+
+    private static final int SKUS = 64;
+
+    @Param({"64", "4096", "65536"})
+    public int rows;
+
+    private OfferTable offers;
+    private int[] skus;
+    private int[] quantities;
+    private long[] charged;
+    private ChargeColumns columns;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if (ChargeKernels.vector() == null) {
+            throw new IllegalStateException("Vector API not available; run with --add-modules jdk.incubator.vector");
+        }
+        OfferTable.Builder builder = OfferTable.builder(SKUS);
+        for (int sku = 0; sku < SKUS; sku++) {
+            long unitPrice = 15L + sku;
+            switch (sku % 3) {
+                case 0 -> builder.put(sku, unitPrice, new BOGO(1, 1).compile(unitPrice));
+                case 1 -> builder.put(sku, unitPrice, new ThreeForTwo(3, 2).compile(unitPrice));
+                default -> builder.put(sku, unitPrice, CompiledOffer.none(unitPrice));
+            }
+        }
+        offers = builder.build();
+
+        Random random = new Random(7);
+        skus = new int[rows];
+        quantities = new int[rows];
+        for (int row = 0; row < rows; row++) {
+            skus[row] = random.nextInt(SKUS);
+            quantities[row] = 1 + random.nextInt(20);
+        }
+        charged = new long[rows];
+        columns = new ChargeColumns(rows);
+        fill();
+    }
+
+    private void fill() {
+        columns.clear();
+        for (int row = 0; row < rows; row++) {
+            columns.add(offers, skus[row], quantities[row]);
+        }
+    }
+
+    @Benchmark
+    public long[] offerTablePerItem() {
+        for (int row = 0; row < rows; row++) {
+            charged[row] = offers.charge(skus[row], quantities[row]);
+        }
+        return charged;
+    }
+
+    @Benchmark
+    public ChargeColumns scalarKernel() {
+        ChargeKernels.scalar().charge(columns);
+        return columns;
+    }
+
+    @Benchmark
+    public ChargeColumns vectorKernel() {
+        ChargeKernels.vector().charge(columns);
+        return columns;
+    }
+
+    @Benchmark
+    public ChargeColumns fillAndVectorKernel() {
+        fill();
+        ChargeKernels.vector().charge(columns);
+        return columns;
+    }
+}
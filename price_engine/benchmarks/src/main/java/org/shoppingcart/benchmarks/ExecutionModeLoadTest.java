@@ -0,0 +1,268 @@
+package org.shoppingcart.benchmarks;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Load comparison of {@code pricing.execution.mode=platform} and {@code virtual}.
+ * <p>
+ * For each mode the application jar is started as a separate process and {@code fast}
+ * clients, each on its own connection, send bills back to back. After {@code warmupSeconds}
+ * their latency is recorded for {@code seconds}. The report gives throughput, p50/p99/max
+ * latency and the server's peak thread count, read from {@code /proc/<pid>/status}
+ * (Linux only).
+ * <p>
+ * Optionally {@code slow} clients upload their bodies one byte per {@code tickMillis},
+ * holding a request thread while the body is read. On JDK 21 this does not favour virtual
+ * mode: Tomcat waits for body bytes inside a monitor, which pins the carrier thread.
+ * <p>
+ * Virtual mode needs the server on Java 21+:
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar org.shoppingcart.benchmarks.ExecutionModeLoadTest \
+ *      jar=app/target/shopping-cart-api-0.0.1-SNAPSHOT-exec.jar java=/path/to/jdk-21/bin/java
+ * </pre>
+ */
+public class ExecutionModeLoadTest {
+
+    private static final byte[] FAST_BODY = "[\"apple\",\"lime\",\"lime\",\"melon\"]".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] SLOW_BODY = "[\"apple\",\"apple\",\"banana\"]".getBytes(StandardCharsets.US_ASCII);
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>(Map.of(
+                "jar", "app/target/shopping-cart-api-0.0.1-SNAPSHOT-exec.jar",
+                "java", Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "port", "18080",
+                "slow", "0",
+                "fast", "256",
+                "seconds", "20",
+                "warmupSeconds", "5",
+                "tickMillis", "200",
+                "modes", "platform,virtual",
+                "jvmArgs", ""));
+        for (String arg : args) {
+            String[] pair = arg.split("=", 2);
+            options.put(pair[0], pair[1]);
+        }
+
+        List<String> report = new ArrayList<>();
+        report.add(String.format("%-9s %10s %10s %10s %10s %8s %13s %13s",
+                "mode", "req/s", "p50 ms", "p99 ms", "max ms", "errors", "peak threads", "slow served"));
+        for (String mode : options.get("modes").split(",")) {
+            report.add(run(mode.trim(), options));
+        }
+        System.out.printf("%nslow=%s fast=%s seconds=%s tickMillis=%s%n",
+                options.get("slow"), options.get("fast"), options.get("seconds"), options.get("tickMillis"));
+        report.forEach(System.out::println);
+    }
+
+    private static String run(String mode, Map<String, String> options) throws Exception {
+        int port = Integer.parseInt(options.get("port"));
+        List<String> command = new ArrayList<>();
+        command.add(options.get("java"));
+        for (String jvmArg : options.get("jvmArgs").split(" ")) {
+            if (!jvmArg.isBlank()) {
+                command.add(jvmArg);
+            }
+        }
+        command.addAll(List.of("-jar", options.get("jar"),
+                "--server.port=" + port,
+                "--grpc.server.enabled=false",
+                "--pricing.cache.enabled=false",
+                "--pricing.execution.mode=" + mode,
+                "--logging.level.root=WARN"));
+        Process server = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.appendTo(
+                        Path.of(options.get("jar")).resolveSibling("load-" + mode + ".log").toFile()))
+                .start();
+        try {
+            URI billUri = URI.create("http://localhost:" + port + "/api/bill");
+            HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+            awaitReady(http, billUri);
+
+            long warmupNanos = Duration.ofSeconds(Long.parseLong(options.get("warmupSeconds"))).toNanos();
+            long durationNanos = Duration.ofSeconds(Long.parseLong(options.get("seconds"))).toNanos();
+            long measureFrom = System.nanoTime() + warmupNanos;
+            long deadline = measureFrom + durationNanos;
+            AtomicInteger peakThreads = new AtomicInteger();
+            Thread sampler = startDaemon("thread-sampler", () -> sampleThreads(server.pid(), deadline, peakThreads));
+            AtomicLong slowServed = new AtomicLong();
+            Thread slow = startDaemon("slow-clients", () -> trickle(port, Integer.parseInt(options.get("slow")),
+                    Long.parseLong(options.get("tickMillis")), deadline, slowServed));
+
+            int fastClients = Integer.parseInt(options.get("fast"));
+            long[][] latencies = new long[fastClients][];
+            AtomicInteger errors = new AtomicInteger();
+            CountDownLatch done = new CountDownLatch(fastClients);
+            HttpRequest request = HttpRequest.newBuilder(billUri)
+                    .header("Content-Type", "application/json")
+                    .timeout(Duration.ofSeconds(30))
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(FAST_BODY))
+                    .build();
+            for (int c = 0; c < fastClients; c++) {
+                int client = c;
+                startDaemon("fast-client-" + c, () -> {
+                    long[] samples = new long[1024];
+                    int n = 0;
+                    while (System.nanoTime() < deadline) {
+                        long t0 = System.nanoTime();
+                        boolean ok;
+                        try {
+                            ok = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+                        } catch (IOException | InterruptedException e) {
+                            ok = false;
+                        }
+                        // Requests started during warmup are not recorded
+                        if (t0 >= measureFrom) {
+                            if (n == samples.length) {
+                                samples = Arrays.copyOf(samples, n * 2);
+                            }
+                            samples[n++] = System.nanoTime() - t0;
+                            if (!ok) {
+                                errors.incrementAndGet();
+                            }
+                        }
+                    }
+                    latencies[client] = Arrays.copyOf(samples, n);
+                    done.countDown();
+                });
+            }
+            done.await();
+            long elapsed = System.nanoTime() - measureFrom;
+            slow.join();
+            sampler.join();
+
+            long[] all = Arrays.stream(latencies).flatMapToLong(Arrays::stream).sorted().toArray();
+            return String.format("%-9s %10.0f %10.2f %10.2f %10.2f %8d %13d %13d",
+                    mode,
+                    all.length / (elapsed / 1e9),
+                    percentile(all, 0.50) / 1e6,
+                    percentile(all, 0.99) / 1e6,
+                    all.length == 0 ? 0 : all[all.length - 1] / 1e6,
+                    errors.get(),
+                    peakThreads.get(),
+                    slowServed.get());
+        } finally {
+            server.destroy();
+            server.waitFor();
+        }
+    }
+
+    private static void awaitReady(HttpClient http, URI billUri) throws InterruptedException {
+        HttpRequest probe = HttpRequest.newBuilder(billUri)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(FAST_BODY))
+                .build();
+        for (int attempt = 0; attempt < 120; attempt++) {
+            try {
+                if (http.send(probe, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // not listening yet
+            }
+            Thread.sleep(500);
+        }
+        throw new IllegalStateException("Server did not start on " + billUri);
+    }
+
+    /**
+     * Drives all slow clients from one thread with non-blocking sockets: headers in one
+     * write, then one body byte per tick. Once any response bytes arrive the connection
+     * is closed and the client starts over. Connects are spread over one body's worth of
+     * ticks; reconnecting all clients in the same tick overflows the accept backlog and
+     * the fast clients' connects then stall in SYN retransmits.
+     */
+    private static void trickle(int port, int clients, long tickMillis, long deadline, AtomicLong served) {
+        byte[] headers = ("POST /api/bill HTTP/1.1\r\nHost: localhost\r\nContent-Type: application/json\r\n"
+                + "Content-Length: " + SLOW_BODY.length + "\r\nConnection: close\r\n\r\n")
+                .getBytes(StandardCharsets.US_ASCII);
+        SocketChannel[] channels = new SocketChannel[clients];
+        int[] sent = new int[clients];
+        ByteBuffer readBuffer = ByteBuffer.allocate(4096);
+        int connectsPerTick = Math.max(1, clients / SLOW_BODY.length);
+        try {
+            while (System.nanoTime() < deadline) {
+                int connects = 0;
+                for (int c = 0; c < clients; c++) {
+                    if (channels[c] == null) {
+                        if (connects++ >= connectsPerTick) {
+                            continue;
+                        }
+                        channels[c] = SocketChannel.open(new InetSocketAddress("localhost", port));
+                        channels[c].write(ByteBuffer.wrap(headers));
+                        channels[c].configureBlocking(false);
+                        sent[c] = 0;
+                    } else if (sent[c] < SLOW_BODY.length) {
+                        channels[c].write(ByteBuffer.wrap(SLOW_BODY, sent[c]++, 1));
+                    } else {
+                        readBuffer.clear();
+                        if (channels[c].read(readBuffer) != 0) {
+                            served.incrementAndGet();
+                            channels[c].close();
+                            channels[c] = null;
+                        }
+                    }
+                }
+                Thread.sleep(tickMillis);
+            }
+        } catch (IOException | InterruptedException e) {
+            System.err.println("slow clients stopped: " + e);
+        } finally {
+            for (SocketChannel channel : channels) {
+                try {
+                    if (channel != null) {
+                        channel.close();
+                    }
+                } catch (IOException ignored) {
+                    // closing anyway
+                }
+            }
+        }
+    }
+
+    private static void sampleThreads(long pid, long deadline, AtomicInteger peak) {
+        Path status = Path.of("/proc", Long.toString(pid), "status");
+        while (System.nanoTime() < deadline) {
+            try {
+                for (String line : Files.readAllLines(status)) {
+                    if (line.startsWith("Threads:")) {
+                        peak.accumulateAndGet(Integer.parseInt(line.substring(8).trim()), Math::max);
+                    }
+                }
+                Thread.sleep(100);
+            } catch (IOException | InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        return sorted.length == 0 ? 0 : sorted[Math.min(sorted.length - 1, (int) Math.ceil(p * sorted.length) - 1)];
+    }
+
+    private static Thread startDaemon(String name, Runnable task) {
+        Thread thread = new Thread(task, name);
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+}
@@ -0,0 +1,49 @@
+package org.shoppingcart.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.shoppingcart.models.CartTally;
+import org.shoppingcart.models.FruitResponseDTO;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FruitBillServiceBenchmark {
+
+    @Benchmark
+    public FruitResponseDTO billCalculator(CartShape cart) {
+        return cart.billService.billCalculator(cart.lines);
+    }
+
+    @Benchmark
+    public FruitResponseDTO tallyAndBill(CartShape cart) {
+        return cart.billService.billFromTally(CartTally.of(cart.catalog, cart.units));
+    }
+
+    /**
+     * {@link #billCalculator} with the production meters recording into a Prometheus
+     * registry; the difference is the cost of instrumentation per bill.
+     */
+    @Benchmark
+    public FruitResponseDTO meteredBillCalculator(CartShape cart) {
+        return cart.meteredBillService.billCalculator(cart.lines);
+    }
+
+    /**
+     * Same cart every time, so after the first call this measures the cache hit path:
+     * tallying, building the canonical key and one lookup.
+     */
+    @Benchmark
+    public FruitResponseDTO cachedBillCalculator(CartShape cart) {
+        return cart.cachedBillService.billCalculator(cart.lines);
+    }
+}
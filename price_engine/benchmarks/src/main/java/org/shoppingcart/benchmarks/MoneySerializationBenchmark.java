@@ -0,0 +1,70 @@
+package org.shoppingcart.benchmarks;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.shoppingcart.utils.MoneySerializer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One bill line's worth of amounts (unit price, charged, average) written the old way,
+ * through {@code String.format("%.2f")}, and through {@link MoneySerializer}.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MoneySerializationBenchmark {
+
+    private final double[] amounts = {0.35, 1.05, 0.35};
+    private final long[] amountsMinor = {35L, 105L, 35L};
+    private JsonGenerator generator;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        generator = new JsonFactory().createGenerator(OutputStream.nullOutputStream());
+        generator.writeStartArray();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        generator.close();
+    }
+
+    @Benchmark
+    public void stringFormat() throws IOException {
+        for (double amount : amounts) {
+            generator.writeString(String.format("%.2f", amount));
+        }
+    }
+
+    @Benchmark
+    public void moneySerializerString() throws IOException {
+        for (long minor : amountsMinor) {
+            MoneySerializer.writeMinor(minor, generator, false);
+        }
+    }
+
+    @Benchmark
+    public void moneySerializerNumber() throws IOException {
+        for (long minor : amountsMinor) {
+            MoneySerializer.writeMinor(minor, generator, true);
+        }
+    }
+}
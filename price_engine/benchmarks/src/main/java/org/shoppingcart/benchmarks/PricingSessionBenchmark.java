@@ -0,0 +1,79 @@
+package org.shoppingcart.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.shoppingcart.models.CartDeltaDTO;
+import org.shoppingcart.models.FruitDTO;
+import org.shoppingcart.models.FruitResponseDTO;
+import org.shoppingcart.models.PricingSessionDTO;
+import org.shoppingcart.services.PricingSessionService;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one item change as the cart grows: a session update reprices the changed line,
+ * while rebuilding the cart reprices every line. Run with a catalog large enough for the
+ * cart, e.g. {@code -p catalogSize=1000 -p distinctSkus=1,10,1000}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PricingSessionBenchmark {
+
+    @State(Scope.Thread)
+    public static class Session {
+
+        PricingSessionService sessionService;
+        String sessionId;
+        List<CartDeltaDTO> add;
+        List<CartDeltaDTO> remove;
+        List<FruitDTO> cartWithItem;
+        List<FruitDTO> cartWithoutItem;
+        boolean added;
+
+        @Setup(Level.Trial)
+        public void open(CartShape cart) {
+            sessionService = new PricingSessionService(cart.catalogService, 1_000, Duration.ofMinutes(30));
+            sessionId = sessionService.open().getSessionId();
+            List<CartDeltaDTO> lines = new ArrayList<>(cart.lines.size());
+            for (FruitDTO line : cart.lines) {
+                lines.add(new CartDeltaDTO(line.getFruit(), line.getQuantity()));
+            }
+            sessionService.apply(sessionId, lines);
+
+            // The change toggles one unit of the first line
+            String sku = cart.lines.get(0).getFruit();
+            add = List.of(new CartDeltaDTO(sku, 1));
+            remove = List.of(new CartDeltaDTO(sku, -1));
+            cartWithoutItem = cart.lines;
+            cartWithItem = new ArrayList<>(cart.lines);
+            cartWithItem.set(0, new FruitDTO(sku, cart.lines.get(0).getQuantity() + 1));
+        }
+    }
+
+    @Benchmark
+    public PricingSessionDTO sessionDelta(Session session) {
+        session.added = !session.added;
+        return session.sessionService.apply(session.sessionId, session.added ? session.add : session.remove);
+    }
+
+    @Benchmark
+    public FruitResponseDTO rebuildAndReprice(CartShape cart, Session session) {
+        session.added = !session.added;
+        return cart.billService.billCalculator(session.added ? session.cartWithItem : session.cartWithoutItem);
+    }
+}
@@ -0,0 +1,46 @@
+package org.shoppingcart.benchmarks;
+
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.profile.InternalProfiler;
+import org.openjdk.jmh.results.AggregationPolicy;
+import org.openjdk.jmh.results.IterationResult;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.ScalarResult;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Reports CPU time consumed by the whole benchmark JVM per operation
+ * ({@code cpu.time.norm}, ns/op). Unlike wall-clock latency this also counts work done
+ * on other threads, e.g. server I/O and worker threads answering the benchmark thread.
+ */
+public class ProcessCpuProfiler implements InternalProfiler {
+
+    private final com.sun.management.OperatingSystemMXBean os =
+            (com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+
+    private long startCpuNanos;
+
+    @Override
+    public String getDescription() {
+        return "Process CPU time per operation";
+    }
+
+    @Override
+    public void beforeIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams) {
+        startCpuNanos = os.getProcessCpuTime();
+    }
+
+    @Override
+    public Collection<? extends Result> afterIteration(BenchmarkParams benchmarkParams,
+                                                       IterationParams iterationParams,
+                                                       IterationResult result) {
+        long cpuNanos = os.getProcessCpuTime() - startCpuNanos;
+        long ops = result.getMetadata().getMeasuredOps();
+        double perOp = ops == 0 ? Double.NaN : (double) cpuNanos / ops;
+        return List.of(new ScalarResult("cpu.time.norm", perOp, "ns/op", AggregationPolicy.AVG));
+    }
+}
@@ -0,0 +1,86 @@
+package org.shoppingcart.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.shoppingcart.components.OfferTable;
+import org.shoppingcart.models.Fruit;
+import org.shoppingcart.models.FruitCatalog;
+import org.shoppingcart.utils.OfferType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of charging through a customer tier's overlay rather than the base offer table:
+ * {@code lines} random SKUs of a {@code catalogSize}-SKU catalog, of which the tier
+ * overrides {@code overridePercent}. {@code chargeBase} and {@code chargeTier} charge the
+ * same lines, so their difference is the overlay lookup.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TierOverlayBenchmark {
+
+    @Param({"1000", "100000"})
+    public int catalogSize;
+
+    @Param({"1", "10"})
+    public int overridePercent;
+
+    @Param({"100"})
+    public int lines;
+
+    OfferTable base;
+    OfferTable tier;
+    int[] skus;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        List<Fruit> overrides = new ArrayList<>();
+        for (int i = 0; i < catalogSize; i++) {
+            if (random.nextInt(100) < overridePercent) {
+                overrides.add(new Fruit(CartShape.skuName(i), 0.05 + random.nextInt(50) / 100.0, OfferType.NoOffer, null));
+            }
+        }
+        FruitCatalog catalog = FruitCatalog.of(1L, CartShape.catalogFor(CartShape.OfferMix.MIXED, catalogSize),
+                List.of(), Map.of("member", overrides));
+        base = catalog.offers();
+        tier = catalog.forTier("member").offers();
+        skus = random.ints(lines, 0, catalogSize).toArray();
+    }
+
+    @Benchmark
+    public long chargeBase() {
+        return charge(base);
+    }
+
+    @Benchmark
+    public long chargeTier() {
+        return charge(tier);
+    }
+
+    private long charge(OfferTable offers) {
+        long total = 0;
+        for (int line = 0; line < skus.length; line++) {
+            total += offers.charge(skus[line], 1 + (line & 7));
+        }
+        return total;
+    }
+}
@@ -0,0 +1,178 @@
+package org.shoppingcart.benchmarks;
+
+import io.grpc.Grpc;
+import io.grpc.InsecureChannelCredentials;
+import io.grpc.ManagedChannel;
+import io.grpc.stub.StreamObserver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.shoppingcart.Main;
+import org.shoppingcart.grpc.BillRequest;
+import org.shoppingcart.grpc.BillResponse;
+import org.shoppingcart.grpc.CartLine;
+import org.shoppingcart.grpc.PricingServiceGrpc;
+import org.shoppingcart.utils.GrpcServerLifecycle;
+import org.shoppingcart.utils.ReactiveServerLifecycle;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Same cart priced over each transport of a running application: JSON over HTTP/1.1
+ * ({@code POST /api/bill} on the servlet port and on the reactive port), gRPC unary
+ * ({@code Bill}) and one request/response turn on a long-lived gRPC stream ({@code BillStream}).
+ * Client and server share the process, so {@code cpu.time.norm} from {@link ProcessCpuProfiler}
+ * is client plus server CPU per call.
+ * <p>
+ * The bill cache is disabled so every call is priced.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransportBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Application {
+
+        // Units per fruit; the REST body lists every unit, the gRPC request one line per fruit
+        @Param({"1", "100"})
+        public int unitsPerSku;
+
+        ConfigurableApplicationContext context;
+        URI billUri;
+        URI reactiveBillUri;
+        int grpcPort;
+        byte[] restBody;
+        BillRequest grpcRequest;
+
+        @Setup(Level.Trial)
+        public void start() {
+            context = SpringApplication.run(Main.class,
+                    "--server.port=0",
+                    "--grpc.server.port=0",
+                    "--pricing.reactive.port=0",
+                    "--pricing.cache.enabled=false",
+                    "--logging.level.root=WARN");
+            int httpPort = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            billUri = URI.create("http://localhost:" + httpPort + "/api/bill");
+            int reactivePort = context.getBean(ReactiveServerLifecycle.class).getPort();
+            reactiveBillUri = URI.create("http://localhost:" + reactivePort + "/api/bill");
+            grpcPort = context.getBean(GrpcServerLifecycle.class).getPort();
+
+            String[] skus = {"apple", "banana", "lime", "melon"};
+            StringBuilder json = new StringBuilder("[");
+            BillRequest.Builder request = BillRequest.newBuilder().setRequestId("bench");
+            for (String sku : skus) {
+                request.addLines(CartLine.newBuilder().setSku(sku).setQuantity(unitsPerSku));
+                for (int u = 0; u < unitsPerSku; u++) {
+                    json.append(json.length() > 1 ? "," : "").append('"').append(sku).append('"');
+                }
+            }
+            restBody = json.append(']').toString().getBytes();
+            grpcRequest = request.build();
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() {
+            context.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Client {
+
+        HttpClient http;
+        HttpRequest restRequest;
+        HttpRequest reactiveRequest;
+        ManagedChannel channel;
+        PricingServiceGrpc.PricingServiceBlockingStub blockingStub;
+        StreamObserver<BillRequest> stream;
+        final BlockingQueue<BillResponse> streamResponses = new ArrayBlockingQueue<>(1);
+
+        @Setup(Level.Trial)
+        public void connect(Application app) {
+            http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+            restRequest = HttpRequest.newBuilder(app.billUri)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(app.restBody))
+                    .build();
+            reactiveRequest = HttpRequest.newBuilder(app.reactiveBillUri)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(app.restBody))
+                    .build();
+
+            channel = Grpc.newChannelBuilderForAddress("localhost", app.grpcPort, InsecureChannelCredentials.create())
+                    .build();
+            blockingStub = PricingServiceGrpc.newBlockingStub(channel);
+            stream = PricingServiceGrpc.newStub(channel).billStream(new StreamObserver<>() {
+                @Override
+                public void onNext(BillResponse value) {
+                    streamResponses.add(value);
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                }
+
+                @Override
+                public void onCompleted() {
+                }
+            });
+        }
+
+        @TearDown(Level.Trial)
+        public void disconnect() throws InterruptedException {
+            stream.onCompleted();
+            channel.shutdown().awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Benchmark
+    public byte[] rest(Client client) throws Exception {
+        return post(client, client.restRequest);
+    }
+
+    @Benchmark
+    public byte[] reactive(Client client) throws Exception {
+        return post(client, client.reactiveRequest);
+    }
+
+    private static byte[] post(Client client, HttpRequest request) throws Exception {
+        HttpResponse<byte[]> response = client.http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("HTTP " + response.statusCode());
+        }
+        return response.body();
+    }
+
+    @Benchmark
+    public BillResponse grpcUnary(Application app, Client client) {
+        return client.blockingStub.bill(app.grpcRequest);
+    }
+
+    @Benchmark
+    public BillResponse grpcStream(Application app, Client client) throws InterruptedException {
+        client.stream.onNext(app.grpcRequest);
+        return client.streamResponses.take();
+    }
+}
@@ -0,0 +1,93 @@
+package org.shoppingcart.components;
+
+import java.util.List;
+
+/**
+ * Lowest charge for every quantity of a SKU that has several offers, so a bill can
+ * combine them: "BOGO or 3 for 2, whichever is cheaper", or tiers such as 3 for 1.00
+ * and 6 for 1.80 on the same SKU.
+ * <p>
+ * Units can be covered by any mix of offer groups and single units at the unit price.
+ * The cheapest mix for a quantity is an unbounded knapsack, solved once per catalog load
+ * by dynamic programming. Only a prefix of the answers is kept: let {@code best} be the
+ * group with the lowest price per unit (a single unit counts as a group of one). Any
+ * {@code best.groupSize()} other groups contain a subset whose units are a whole number
+ * of best groups, and swapping it for those never costs more. So a cheapest mix needs
+ * fewer than {@code best.groupSize()} other groups, and from
+ * {@link #prefixLength} units on, adding {@code best.groupSize()} units adds exactly
+ * {@code best.groupPriceMinor()}. Charging any quantity is then one lookup and a
+ * multiplication.
+ *
+ * @param best    the group with the lowest price per unit
+ * @param charges the lowest charge for each quantity below {@link #prefixLength}
+ */
+public record BestPriceTable(CompiledOffer best, long[] charges) {
+
+    /**
+     * Most quantities a table may hold. A SKU that needs more (very large groups with
+     * a large best group) is rejected when the catalog is loaded.
+     */
+    public static final int MAX_PREFIX = 1 << 16;
+
+    public static BestPriceTable of(long unitPriceMinor, List<CompiledOffer> offers) {
+        if (unitPriceMinor < 0) {
+            throw new IllegalArgumentException("Unit price cannot be negative");
+        }
+        CompiledOffer best = CompiledOffer.none(unitPriceMinor);
+        int largestGroup = 1;
+        for (CompiledOffer offer : offers) {
+            // Lower price per unit, compared without dividing
+            if (Math.multiplyExact(offer.groupPriceMinor(), (long) best.groupSize())
+                    < Math.multiplyExact(best.groupPriceMinor(), (long) offer.groupSize())) {
+                best = offer;
+            }
+            largestGroup = Math.max(largestGroup, offer.groupSize());
+        }
+
+        long prefixLength = (long) (best.groupSize() - 1) * largestGroup + 1;
+        if (prefixLength > MAX_PREFIX) {
+            throw new IllegalArgumentException("Offers need a best-price table of " + prefixLength
+                    + " quantities, more than " + MAX_PREFIX);
+        }
+        long[] charges = new long[(int) prefixLength];
+        for (int quantity = 1; quantity < charges.length; quantity++) {
+            long lowest = Math.addExact(charges[quantity - 1], unitPriceMinor);
+            for (CompiledOffer offer : offers) {
+                if (offer.groupSize() <= quantity) {
+                    lowest = Math.min(lowest, Math.addExact(charges[quantity - offer.groupSize()],
+                            offer.groupPriceMinor()));
+                }
+            }
+            charges[quantity] = lowest;
+        }
+        return new BestPriceTable(best, charges);
+    }
+
+    /**
+     * Quantities whose charge is held in {@link #charges}; from here on the charge grows
+     * by the best group's price every {@code best.groupSize()} units.
+     */
+    public int prefixLength() {
+        return charges.length;
+    }
+
+    public long charge(int quantity) {
+        if (quantity < 0) {
+            throw new IllegalArgumentException("Quantity cannot be negative");
+        }
+        int groups = bestGroups(charges.length, best.groupSize(), quantity);
+        return charge(charges[quantity - groups * best.groupSize()], best.groupPriceMinor(), groups);
+    }
+
+    /**
+     * Best groups to take off {@code quantity} so that the rest falls inside a prefix of
+     * {@code prefixLength} charges.
+     */
+    static int bestGroups(int prefixLength, int groupSize, int quantity) {
+        return quantity < prefixLength ? 0 : (quantity - prefixLength) / groupSize + 1;
+    }
+
+    static long charge(long prefixCharge, long groupPriceMinor, int groups) {
+        return Math.addExact(prefixCharge, Math.multiplyExact(groupPriceMinor, (long) groups));
+    }
+}
@@ -0,0 +1,445 @@
+package org.shoppingcart.components;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Assigns a cart's units to bundles so that the cart costs as little as possible, every
+ * unit left out of a bundle being charged by its own line's offers.
+ * <p>
+ * Choosing bundles exactly is an integer program; carts are priced on a request thread,
+ * so this is greedy with a bounded dynamic program inside each step:
+ * <ol>
+ *     <li>Only bundles with a member on the cart are considered, found through the
+ *     {@link BundleTable}'s SKU index; a fixed bundle needs all its members.</li>
+ *     <li>Every candidate finds its best number of applications {@code k}
+ *     against the units still unassigned: the saving is what its units would have cost
+ *     on their lines, less {@code k} bundle prices. For a fixed bundle each {@code k} up
+ *     to {@value #MAX_APPLICATIONS} is costed directly. For mix and match, a DP over the
+ *     bundle's lines finds the most valuable {@code t} units for every {@code t} up to
+ *     {@value #MAX_POOL_APPLICATIONS} applications' worth, so the choice respects each
+ *     line's own offers (taking the third lime out of a 3-for-2 saves nothing).</li>
+ *     <li>The candidate with the largest saving, kept at the top of a heap, is applied,
+ *     and rounds repeat until no candidate saves anything. Applying a bundle marks the
+ *     candidates sharing its lines, found through a line-to-candidates index, as stale;
+ *     a stale candidate is evaluated again only when it reaches the top of the heap, so
+ *     what is applied is always an up-to-date saving. Larger quantities are covered over
+ *     several rounds.</li>
+ * </ol>
+ * A round costs time proportional to the candidates evaluated again, never to the whole
+ * cart or catalog; a bundle that saves nothing is never applied, so a bill with bundles
+ * never costs more than without them.
+ */
+public final class BundleSolver {
+
+    static final int MAX_APPLICATIONS = 64;
+    static final int MAX_POOL_APPLICATIONS = 8;
+
+    private final OfferTable offers;
+    private final BundleTable bundles;
+    private final int[] skus;
+    private final int[] remaining;
+
+    private BundleSolver(OfferTable offers, BundleTable bundles, int[] skus, int[] quantities, int lines) {
+        this.offers = offers;
+        this.bundles = bundles;
+        this.skus = skus;
+        this.remaining = Arrays.copyOf(quantities, lines);
+    }
+
+    /**
+     * Solves a cart of {@code lines} lines, {@code quantities[line]} units of
+     * {@code skus[line]} each. Returns {@code null} when no bundle touches the cart.
+     */
+    public static Solution solve(OfferTable offers, BundleTable bundles, int[] skus, int[] quantities, int lines) {
+        if (bundles.isEmpty()) {
+            return null;
+        }
+        List<Candidate> candidates = candidates(bundles, skus, lines);
+        if (candidates.isEmpty()) {
+            return null;
+        }
+        return new BundleSolver(offers, bundles, skus, quantities, lines).solve(candidates);
+    }
+
+    private static List<Candidate> candidates(BundleTable bundles, int[] skus, int lines) {
+        Map<Integer, Candidate> byBundle = null;
+        for (int line = 0; line < lines; line++) {
+            int index = bundles.indexOf(skus[line]);
+            if (index < 0) {
+                continue;
+            }
+            if (byBundle == null) {
+                byBundle = new HashMap<>();
+            }
+            for (int position = bundles.bundlesStart(index); position < bundles.bundlesEnd(index); position++) {
+                int bundle = bundles.bundleAt(position);
+                Candidate candidate = byBundle.computeIfAbsent(bundle, b -> new Candidate(bundles, b));
+                for (int member = bundles.memberStart(bundle); member < bundles.memberEnd(bundle); member++) {
+                    if (bundles.memberSku(member) == skus[line]) {
+                        candidate.lines[member - bundles.memberStart(bundle)] = line;
+                    }
+                }
+            }
+        }
+        List<Candidate> candidates = new ArrayList<>(byBundle == null ? 0 : byBundle.size());
+        if (byBundle != null) {
+            for (Candidate candidate : byBundle.values()) {
+                if (candidate.poolSize > 0 || candidate.hasAllMembers()) {
+                    candidates.add(candidate);
+                }
+            }
+            // Bundle order, so equal savings always resolve the same way
+            candidates.sort((a, b) -> Integer.compare(a.bundle, b.bundle));
+        }
+        return candidates;
+    }
+
+    private Solution solve(List<Candidate> candidates) {
+        int[][] byLine = candidatesByLine(candidates);
+        CandidateHeap heap = new CandidateHeap(candidates.size());
+        for (int position = 0; position < candidates.size(); position++) {
+            Candidate candidate = candidates.get(position);
+            candidate.position = position;
+            evaluate(candidate);
+            heap.add(candidate);
+        }
+        while (!heap.isEmpty()) {
+            Candidate best = heap.peek();
+            if (best.bestSaving <= 0) {
+                // A stale saving at or below zero may have grown; stop only once none has
+                if (!refreshStale(candidates, heap)) {
+                    break;
+                }
+            } else if (best.stale) {
+                evaluate(best);
+                heap.update(best);
+            } else {
+                apply(best);
+                for (int line : best.lines) {
+                    if (line >= 0) {
+                        for (int position : byLine[line]) {
+                            candidates.get(position).stale = true;
+                        }
+                    }
+                }
+            }
+        }
+
+        int[] bundled = new int[remaining.length];
+        List<BundleUse> uses = new ArrayList<>();
+        for (Candidate candidate : candidates) {
+            if (candidate.count == 0) {
+                continue;
+            }
+            uses.add(new BundleUse(candidate.bundle, candidate.count, candidate.lines, candidate.taken));
+            for (int member = 0; member < candidate.lines.length; member++) {
+                if (candidate.lines[member] >= 0) {
+                    bundled[candidate.lines[member]] += candidate.taken[member];
+                }
+            }
+        }
+        return new Solution(bundled, uses);
+    }
+
+    /**
+     * Evaluates every stale candidate again, returning whether any of them now saves something.
+     */
+    private boolean refreshStale(List<Candidate> candidates, CandidateHeap heap) {
+        boolean saves = false;
+        for (Candidate candidate : candidates) {
+            if (candidate.stale) {
+                evaluate(candidate);
+                heap.update(candidate);
+                saves |= candidate.bestSaving > 0;
+            }
+        }
+        return saves;
+    }
+
+    /**
+     * Positions in {@code candidates} of the candidates with a member on each line.
+     */
+    private int[][] candidatesByLine(List<Candidate> candidates) {
+        int[] counts = new int[remaining.length];
+        for (Candidate candidate : candidates) {
+            for (int line : candidate.lines) {
+                if (line >= 0) {
+                    counts[line]++;
+                }
+            }
+        }
+        int[][] byLine = new int[remaining.length][];
+        for (int line = 0; line < byLine.length; line++) {
+            byLine[line] = new int[counts[line]];
+            counts[line] = 0;
+        }
+        for (int position = 0; position < candidates.size(); position++) {
+            for (int line : candidates.get(position).lines) {
+                if (line >= 0) {
+                    byLine[line][counts[line]++] = position;
+                }
+            }
+        }
+        return byLine;
+    }
+
+    /**
+     * Sets the candidate's best number of applications against the remaining units, and
+     * what they save.
+     */
+    private void evaluate(Candidate candidate) {
+        candidate.stale = false;
+        candidate.bestSaving = 0;
+        candidate.bestCount = 0;
+        long price = bundles.priceMinor(candidate.bundle);
+        if (candidate.poolSize == 0) {
+            int most = MAX_APPLICATIONS;
+            for (int member = 0; member < candidate.lines.length; member++) {
+                most = Math.min(most, remaining[candidate.lines[member]] / candidate.units[member]);
+            }
+            for (int count = 1; count <= most; count++) {
+                long saving = -price * count;
+                for (int member = 0; member < candidate.lines.length; member++) {
+                    saving += lineSaving(candidate.lines[member], count * candidate.units[member]);
+                }
+                if (saving > candidate.bestSaving) {
+                    candidate.bestSaving = saving;
+                    candidate.bestCount = count;
+                }
+            }
+            return;
+        }
+
+        long[] mostSaved = poolSavings(candidate, null);
+        for (int count = 1; count * candidate.poolSize < mostSaved.length; count++) {
+            long saved = mostSaved[count * candidate.poolSize];
+            if (saved - price * count > candidate.bestSaving) {
+                candidate.bestSaving = saved - price * count;
+                candidate.bestCount = count;
+            }
+        }
+    }
+
+    private void apply(Candidate candidate) {
+        int count = candidate.bestCount;
+        if (candidate.poolSize == 0) {
+            for (int member = 0; member < candidate.lines.length; member++) {
+                int units = count * candidate.units[member];
+                remaining[candidate.lines[member]] -= units;
+                candidate.taken[member] += units;
+            }
+        } else {
+            int[][] choices = new int[candidate.lines.length][];
+            poolSavings(candidate, choices);
+            // Walk the choices back from the last member to find each line's share
+            int units = count * candidate.poolSize;
+            for (int member = candidate.lines.length - 1; member >= 0; member--) {
+                if (choices[member] == null) {
+                    continue;
+                }
+                int taken = choices[member][units];
+                remaining[candidate.lines[member]] -= taken;
+                candidate.taken[member] += taken;
+                units -= taken;
+            }
+        }
+        candidate.count += count;
+    }
+
+    /**
+     * Most a mix-and-match bundle's lines save by giving up {@code t} units, for each
+     * {@code t} up to the bounded pool size or the units there are. With {@code choices}, also records how many units each member gives
+     * up on the way to each {@code t}.
+     */
+    private long[] poolSavings(Candidate candidate, int[][] choices) {
+        int available = 0;
+        for (int member = 0; member < candidate.lines.length; member++) {
+            if (candidate.lines[member] >= 0) {
+                available += remaining[candidate.lines[member]];
+            }
+        }
+        int limit = (int) Math.min(available, (long) candidate.poolSize * MAX_POOL_APPLICATIONS);
+        long[] saved = new long[limit + 1];
+        long[] next = new long[limit + 1];
+        long[] lineSavings = new long[limit + 1];
+        // Any t up to the units of the members so far can be taken
+        int reach = 0;
+        for (int member = 0; member < candidate.lines.length; member++) {
+            int line = candidate.lines[member];
+            if (line < 0 || remaining[line] == 0) {
+                continue;
+            }
+            int most = Math.min(remaining[line], limit);
+            long charged = offers.charge(skus[line], remaining[line]);
+            for (int taken = 1; taken <= most; taken++) {
+                lineSavings[taken] = charged - offers.charge(skus[line], remaining[line] - taken);
+            }
+            int nextReach = Math.min(limit, reach + most);
+            int[] choice = choices == null ? null : new int[limit + 1];
+            for (int t = 0; t <= nextReach; t++) {
+                int fewest = Math.max(0, t - reach);
+                long best = saved[t - fewest] + lineSavings[fewest];
+                int bestTaken = fewest;
+                for (int taken = fewest + 1; taken <= Math.min(most, t); taken++) {
+                    long total = saved[t - taken] + lineSavings[taken];
+                    if (total > best) {
+                        best = total;
+                        bestTaken = taken;
+                    }
+                }
+                next[t] = best;
+                if (choice != null) {
+                    choice[t] = bestTaken;
+                }
+            }
+            long[] swap = saved;
+            saved = next;
+            next = swap;
+            reach = nextReach;
+            if (choices != null) {
+                choices[member] = choice;
+            }
+        }
+        return saved;
+    }
+
+    /**
+     * What the line's charge drops by when {@code units} of its remaining units go into a bundle.
+     */
+    private long lineSaving(int line, int units) {
+        int sku = skus[line];
+        return offers.charge(sku, remaining[line]) - offers.charge(sku, remaining[line] - units);
+    }
+
+    /**
+     * Bundle units assigned, per cart line, and how each used bundle was filled.
+     */
+    public record Solution(int[] bundledUnits, List<BundleUse> uses) {
+    }
+
+    /**
+     * A bundle applied {@code count} times, taking {@code units[member]} units in all from
+     * cart line {@code lines[member]}; a member not on the cart has line {@code -1}.
+     */
+    public record BundleUse(int bundle, int count, int[] lines, int[] units) {
+    }
+
+    private static final class Candidate {
+        final int bundle;
+        final int poolSize;
+        final int[] lines;
+        final int[] units;
+        final int[] taken;
+        int count;
+        long bestSaving;
+        int bestCount;
+        int position;
+        boolean stale;
+
+        Candidate(BundleTable bundles, int bundle) {
+            this.bundle = bundle;
+            this.poolSize = bundles.poolSize(bundle);
+            int members = bundles.memberEnd(bundle) - bundles.memberStart(bundle);
+            this.lines = new int[members];
+            Arrays.fill(lines, -1);
+            this.units = new int[members];
+            for (int member = 0; member < members; member++) {
+                units[member] = bundles.memberUnits(bundles.memberStart(bundle) + member);
+            }
+            this.taken = new int[members];
+        }
+
+        boolean hasAllMembers() {
+            for (int line : lines) {
+                if (line < 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Ahead of {@code other} on the heap: the larger saving, then the lower bundle, so
+         * equal savings always resolve the same way.
+         */
+        boolean before(Candidate other) {
+            return bestSaving != other.bestSaving ? bestSaving > other.bestSaving : bundle < other.bundle;
+        }
+    }
+
+    /**
+     * Binary max-heap of candidates that tracks where each one sits, so a candidate whose
+     * saving changed moves in place rather than being found by a scan.
+     */
+    private static final class CandidateHeap {
+        private final Candidate[] heap;
+        private final int[] slots;
+        private int size;
+
+        CandidateHeap(int capacity) {
+            this.heap = new Candidate[capacity];
+            this.slots = new int[capacity];
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        Candidate peek() {
+            return heap[0];
+        }
+
+        void add(Candidate candidate) {
+            heap[size] = candidate;
+            slots[candidate.position] = size;
+            siftUp(size++);
+        }
+
+        void update(Candidate candidate) {
+            int slot = slots[candidate.position];
+            siftUp(slot);
+            siftDown(slots[candidate.position]);
+        }
+
+        private void siftUp(int slot) {
+            Candidate candidate = heap[slot];
+            while (slot > 0) {
+                int parent = (slot - 1) >>> 1;
+                if (!candidate.before(heap[parent])) {
+                    break;
+                }
+                place(heap[parent], slot);
+                slot = parent;
+            }
+            place(candidate, slot);
+        }
+
+        private void siftDown(int slot) {
+            Candidate candidate = heap[slot];
+            while (true) {
+                int child = 2 * slot + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && heap[child + 1].before(heap[child])) {
+                    child++;
+                }
+                if (!heap[child].before(candidate)) {
+                    break;
+                }
+                place(heap[child], slot);
+                slot = child;
+            }
+            place(candidate, slot);
+        }
+
+        private void place(Candidate candidate, int slot) {
+            heap[slot] = candidate;
+            slots[candidate.position] = slot;
+        }
+    }
+}
@@ -0,0 +1,298 @@
+package org.shoppingcart.components;
+
+import org.shoppingcart.utils.CatalogFile;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Cart-level bundles of a catalog snapshot, compiled to arrays for {@link BundleSolver}.
+ * <p>
+ * Each bundle has a name, a price in minor units and its member SKUs, held back to back
+ * in {@code memberSkus} from {@code memberStarts[bundle]}. A fixed bundle takes
+ * {@code memberUnits} of each member per application; a mix-and-match bundle takes any
+ * {@code poolSize} units of its members. A sparse index from SKU to the bundles it belongs
+ * to lets a bill find the bundles its lines touch without looking at any other: only SKUs
+ * that are members of some bundle are indexed, sorted, and found by binary search.
+ * <p>
+ * Bundles are few next to SKUs, so a table {@link #read} from a {@link CatalogFile} image
+ * is copied onto the heap.
+ */
+public final class BundleTable {
+
+    private static final BundleTable EMPTY = new Builder().build();
+
+    private final String[] names;
+    private final long[] pricesMinor;
+    private final int[] poolSizes;
+    private final int[] memberStarts;
+    private final int[] memberSkus;
+    private final int[] memberUnits;
+    private final int[] indexedSkus;
+    private final int[] skuBundleStarts;
+    private final int[] skuBundles;
+
+    private BundleTable(String[] names, long[] pricesMinor, int[] poolSizes,
+                        int[] memberStarts, int[] memberSkus, int[] memberUnits) {
+        this.names = names;
+        this.pricesMinor = pricesMinor;
+        this.poolSizes = poolSizes;
+        this.memberStarts = memberStarts;
+        this.memberSkus = memberSkus;
+        this.memberUnits = memberUnits;
+
+        // (sku, bundle) pairs packed into longs sort by SKU, then bundle
+        long[] pairs = new long[memberSkus.length];
+        for (int bundle = 0, member = 0; bundle < names.length; bundle++) {
+            for (; member < memberStarts[bundle + 1]; member++) {
+                pairs[member] = (long) memberSkus[member] << 32 | bundle;
+            }
+        }
+        Arrays.sort(pairs);
+        int[] skus = new int[pairs.length];
+        int[] starts = new int[pairs.length + 1];
+        int[] bundles = new int[pairs.length];
+        int indexed = 0;
+        for (int i = 0; i < pairs.length; i++) {
+            int sku = (int) (pairs[i] >>> 32);
+            if (indexed == 0 || skus[indexed - 1] != sku) {
+                skus[indexed] = sku;
+                starts[indexed++] = i;
+            }
+            bundles[i] = (int) pairs[i];
+        }
+        starts[indexed] = pairs.length;
+        this.indexedSkus = Arrays.copyOf(skus, indexed);
+        this.skuBundleStarts = Arrays.copyOf(starts, indexed + 1);
+        this.skuBundles = bundles;
+    }
+
+    public static BundleTable empty() {
+        return EMPTY;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    public boolean isEmpty() {
+        return names.length == 0;
+    }
+
+    public String name(int bundle) {
+        return names[bundle];
+    }
+
+    public long priceMinor(int bundle) {
+        return pricesMinor[bundle];
+    }
+
+    /**
+     * Units per application of a mix-and-match bundle, or 0 for a fixed bundle.
+     */
+    public int poolSize(int bundle) {
+        return poolSizes[bundle];
+    }
+
+    public int memberStart(int bundle) {
+        return memberStarts[bundle];
+    }
+
+    public int memberEnd(int bundle) {
+        return memberStarts[bundle + 1];
+    }
+
+    public int memberSku(int member) {
+        return memberSkus[member];
+    }
+
+    /**
+     * Units of a fixed bundle's member taken per application.
+     */
+    public int memberUnits(int member) {
+        return memberUnits[member];
+    }
+
+    /**
+     * Position of {@code sku} in the SKU index, or a negative number if it is in no bundle.
+     */
+    public int indexOf(int sku) {
+        return Arrays.binarySearch(indexedSkus, sku);
+    }
+
+    public int bundlesStart(int index) {
+        return skuBundleStarts[index];
+    }
+
+    public int bundlesEnd(int index) {
+        return skuBundleStarts[index + 1];
+    }
+
+    public int bundleAt(int position) {
+        return skuBundles[position];
+    }
+
+    /**
+     * Bytes {@link #write} takes.
+     */
+    public long imageBytes() {
+        int members = memberSkus.length;
+        return CatalogFile.sectionBytes(2L * Integer.BYTES)
+                + CatalogFile.sectionBytes((names.length + 1L) * Integer.BYTES)
+                + CatalogFile.sectionBytes(encodedNames().length)
+                + CatalogFile.sectionBytes((long) names.length * Long.BYTES)
+                + CatalogFile.sectionBytes((long) names.length * Integer.BYTES)
+                + CatalogFile.sectionBytes((names.length + 1L) * Integer.BYTES)
+                + 2 * CatalogFile.sectionBytes((long) members * Integer.BYTES);
+    }
+
+    /**
+     * Writes the bundle and member arrays, and the names as UTF-8 after their offsets.
+     */
+    public void write(ByteBuffer image) {
+        int count = names.length;
+        CatalogFile.section(image, 2L * Integer.BYTES).putInt(0, count).putInt(Integer.BYTES, memberSkus.length);
+        byte[] encoded = encodedNames();
+        int[] nameStarts = new int[count + 1];
+        for (int bundle = 0; bundle < count; bundle++) {
+            nameStarts[bundle + 1] = nameStarts[bundle] + names[bundle].getBytes(StandardCharsets.UTF_8).length;
+        }
+        CatalogFile.section(image, (count + 1L) * Integer.BYTES).asIntBuffer().put(nameStarts);
+        CatalogFile.section(image, encoded.length).put(encoded);
+        CatalogFile.section(image, (long) count * Long.BYTES).asLongBuffer().put(pricesMinor);
+        CatalogFile.section(image, (long) count * Integer.BYTES).asIntBuffer().put(poolSizes);
+        CatalogFile.section(image, (count + 1L) * Integer.BYTES).asIntBuffer().put(memberStarts);
+        CatalogFile.section(image, (long) memberSkus.length * Integer.BYTES).asIntBuffer().put(memberSkus);
+        CatalogFile.section(image, (long) memberUnits.length * Integer.BYTES).asIntBuffer().put(memberUnits);
+    }
+
+    /**
+     * Reads a table written by {@link #write} from the image's current position, checking
+     * member SKUs against the {@code skuCount} SKUs of the snapshot.
+     */
+    public static BundleTable read(ByteBuffer image, int skuCount) {
+        ByteBuffer counts = CatalogFile.section(image, 2L * Integer.BYTES);
+        int count = counts.getInt(0);
+        int members = counts.getInt(Integer.BYTES);
+        if (count < 0 || members < 0) {
+            throw new IllegalArgumentException("Catalog image has a negative bundle count");
+        }
+        int[] nameStarts = readInts(image, count + 1);
+        ByteBuffer encoded = CatalogFile.section(image, nameStarts[count]);
+        String[] names = new String[count];
+        for (int bundle = 0; bundle < count; bundle++) {
+            byte[] name = new byte[nameStarts[bundle + 1] - nameStarts[bundle]];
+            encoded.get(nameStarts[bundle], name);
+            names[bundle] = new String(name, StandardCharsets.UTF_8);
+        }
+        long[] pricesMinor = new long[count];
+        CatalogFile.section(image, (long) count * Long.BYTES).asLongBuffer().get(pricesMinor);
+        int[] poolSizes = readInts(image, count);
+        int[] memberStarts = readInts(image, count + 1);
+        int[] memberSkus = readInts(image, members);
+        int[] memberUnits = readInts(image, members);
+        for (int sku : memberSkus) {
+            if (sku < 0 || sku >= skuCount) {
+                throw new IllegalArgumentException("Catalog image has a bundle member outside its " + skuCount + " SKUs");
+            }
+        }
+        return new BundleTable(names, pricesMinor, poolSizes, memberStarts, memberSkus, memberUnits);
+    }
+
+    private static int[] readInts(ByteBuffer image, int count) {
+        int[] values = new int[count];
+        CatalogFile.section(image, (long) count * Integer.BYTES).asIntBuffer().get(values);
+        return values;
+    }
+
+    private byte[] encodedNames() {
+        return String.join("", names).getBytes(StandardCharsets.UTF_8);
+    }
+
+    public static final class Builder {
+
+        private String[] names = new String[0];
+        private long[] pricesMinor = new long[0];
+        private int[] poolSizes = new int[0];
+        private int[] memberStarts = {0};
+        private int[] memberSkus = new int[0];
+        private int[] memberUnits = new int[0];
+        private int count;
+
+        private Builder() {
+        }
+
+        /**
+         * Adds a fixed bundle: {@code units[i]} of {@code skus[i]} for {@code priceMinor}.
+         */
+        public Builder addFixed(String name, long priceMinor, int[] skus, int[] units) {
+            if (skus.length == 0 || skus.length != units.length) {
+                throw new IllegalArgumentException("Bundle " + name + " needs at least one item");
+            }
+            for (int unit : units) {
+                if (unit < 1) {
+                    throw new IllegalArgumentException("Bundle " + name + " needs at least one unit of each item");
+                }
+            }
+            return add(name, priceMinor, 0, skus, units);
+        }
+
+        /**
+         * Adds a mix-and-match bundle: any {@code poolSize} units of {@code skus} for {@code priceMinor}.
+         */
+        public Builder addAnyOf(String name, long priceMinor, int poolSize, int[] skus) {
+            if (skus.length == 0 || poolSize < 1) {
+                throw new IllegalArgumentException("Bundle " + name + " needs SKUs and a quantity of at least 1");
+            }
+            return add(name, priceMinor, poolSize, skus, new int[skus.length]);
+        }
+
+        private Builder add(String name, long priceMinor, int poolSize, int[] skus, int[] units) {
+            if (name == null || name.isBlank()) {
+                throw new IllegalArgumentException("Bundle name is required");
+            }
+            if (priceMinor < 0) {
+                throw new IllegalArgumentException("Bundle " + name + " price cannot be negative");
+            }
+            for (int i = 0; i < skus.length; i++) {
+                for (int j = 0; j < i; j++) {
+                    if (skus[i] == skus[j]) {
+                        throw new IllegalArgumentException("Bundle " + name + " lists a SKU twice");
+                    }
+                }
+            }
+            if (count == names.length) {
+                int capacity = Math.max(4, count * 2);
+                names = Arrays.copyOf(names, capacity);
+                pricesMinor = Arrays.copyOf(pricesMinor, capacity);
+                poolSizes = Arrays.copyOf(poolSizes, capacity);
+                memberStarts = Arrays.copyOf(memberStarts, capacity + 1);
+            }
+            int start = memberStarts[count];
+            int end = Math.addExact(start, skus.length);
+            if (end > memberSkus.length) {
+                memberSkus = Arrays.copyOf(memberSkus, Math.max(end, memberSkus.length * 2));
+                memberUnits = Arrays.copyOf(memberUnits, memberSkus.length);
+            }
+            System.arraycopy(skus, 0, memberSkus, start, skus.length);
+            System.arraycopy(units, 0, memberUnits, start, units.length);
+            names[count] = name;
+            pricesMinor[count] = priceMinor;
+            poolSizes[count] = poolSize;
+            memberStarts[++count] = end;
+            return this;
+        }
+
+        public BundleTable build() {
+            int members = memberStarts[count];
+            return new BundleTable(Arrays.copyOf(names, count), Arrays.copyOf(pricesMinor, count),
+                    Arrays.copyOf(poolSizes, count), Arrays.copyOf(memberStarts, count + 1),
+                    Arrays.copyOf(memberSkus, members), Arrays.copyOf(memberUnits, members));
+        }
+    }
+}
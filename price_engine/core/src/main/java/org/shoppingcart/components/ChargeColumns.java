@@ -0,0 +1,90 @@
+package org.shoppingcart.components;
+
+import java.util.Arrays;
+
+/**
+ * Cart lines laid out column by column for a {@link ChargeKernel}: quantity, unit price,
+ * offer group size and group price per row, and the charge the kernel writes back. Rows
+ * are filled from the {@link OfferTable}'s per-SKU columns, so a kernel only ever reads
+ * contiguous arrays.
+ * <p>
+ * Columns are {@code double[]} so a kernel can load them straight into vector lanes.
+ * Every value is a whole number of units or minor units, which a double holds exactly
+ * below 2<sup>53</sup>; kernels check their results against that bound. The arrays are
+ * reused after {@link #clear()}.
+ */
+public final class ChargeColumns {
+
+    /**
+     * Largest whole number a double holds exactly.
+     */
+    static final double EXACT_LIMIT = 0x1p53;
+
+    double[] quantities;
+    double[] unitPrices;
+    double[] groupSizes;
+    double[] groupPrices;
+    double[] charged;
+    int size;
+
+    public ChargeColumns(int capacity) {
+        int rows = Math.max(capacity, 1);
+        quantities = new double[rows];
+        unitPrices = new double[rows];
+        groupSizes = new double[rows];
+        groupPrices = new double[rows];
+        charged = new double[rows];
+    }
+
+    /**
+     * Appends {@code quantity} units of {@code sku} with the SKU's price and offer.
+     *
+     * @return the row the line was written to
+     */
+    public int add(OfferTable offers, int sku, int quantity) {
+        if (quantity < 0) {
+            throw new IllegalArgumentException("Quantity cannot be negative");
+        }
+        if (size == quantities.length) {
+            grow();
+        }
+        int row = size++;
+        if (offers.hasBestPriceTable(sku)) {
+            // Already one lookup in the SKU's best-price table; the kernel charges it as a single group
+            quantities[row] = 1;
+            unitPrices[row] = 0;
+            groupSizes[row] = 1;
+            groupPrices[row] = offers.charge(sku, quantity);
+            return row;
+        }
+        quantities[row] = quantity;
+        unitPrices[row] = offers.unitPriceColumn(sku);
+        groupSizes[row] = offers.groupSizeColumn(sku);
+        groupPrices[row] = offers.groupPriceColumn(sku);
+        return row;
+    }
+
+    /**
+     * Charge for a row in minor units, once a kernel has run.
+     */
+    public long chargedMinor(int row) {
+        return (long) charged[row];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    private void grow() {
+        int rows = quantities.length * 2;
+        quantities = Arrays.copyOf(quantities, rows);
+        unitPrices = Arrays.copyOf(unitPrices, rows);
+        groupSizes = Arrays.copyOf(groupSizes, rows);
+        groupPrices = Arrays.copyOf(groupPrices, rows);
+        charged = Arrays.copyOf(charged, rows);
+    }
+}
@@ -0,0 +1,14 @@
+package org.shoppingcart.components;
+
+/**
+ * Prices every row of a {@link ChargeColumns} in one pass, with the same result as
+ * {@link OfferTable#charge} row by row: complete offer groups at the group price and the
+ * remaining units at the unit price. Throws {@link ArithmeticException} when a charge
+ * reaches 2<sup>53</sup> minor units.
+ */
+public interface ChargeKernel {
+
+    void charge(ChargeColumns columns);
+
+    String name();
+}
@@ -0,0 +1,74 @@
+package org.shoppingcart.components;
+
+import java.lang.System.Logger.Level;
+
+/**
+ * Picks the {@link ChargeKernel} for this runtime. The vector kernel lives in the
+ * {@code shopping-cart-vector-kernel} module, the only one compiled against the incubating
+ * Vector API, and is used when that module is on the class path and
+ * {@code jdk.incubator.vector} was added to the JVM. It is loaded reflectively so nothing
+ * touches the incubator classes otherwise.
+ */
+public final class ChargeKernels {
+
+    private static final System.Logger log = System.getLogger(ChargeKernels.class.getName());
+
+    private static final ChargeKernel VECTOR = loadVector();
+    private static final ChargeKernel PREFERRED = choosePreferred();
+
+    private ChargeKernels() {
+    }
+
+    /**
+     * The vector kernel when available, otherwise the scalar one.
+     */
+    public static ChargeKernel preferred() {
+        return PREFERRED;
+    }
+
+    public static ChargeKernel scalar() {
+        return ScalarChargeKernel.INSTANCE;
+    }
+
+    /**
+     * The vector kernel, or {@code null} without {@code --add-modules jdk.incubator.vector}
+     * or the vector kernel module.
+     */
+    public static ChargeKernel vector() {
+        return VECTOR;
+    }
+
+    /**
+     * Whether batch pricing runs on the vector kernel.
+     */
+    public static boolean isVectorized() {
+        return PREFERRED != ScalarChargeKernel.INSTANCE;
+    }
+
+    private static ChargeKernel loadVector() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            log.log(Level.INFO, "Vector API not enabled; add --add-modules jdk.incubator.vector for SIMD batch pricing");
+            return null;
+        }
+        try {
+            return (ChargeKernel) Class.forName(ChargeKernels.class.getPackageName() + ".VectorChargeKernel")
+                    .getDeclaredConstructor()
+                    .newInstance();
+        } catch (ClassNotFoundException e) {
+            log.log(Level.INFO, "Vector API present but shopping-cart-vector-kernel is not on the class path");
+            return null;
+        } catch (ReflectiveOperationException | LinkageError e) {
+            log.log(Level.WARNING, "Vector API present but unusable", e);
+            return null;
+        }
+    }
+
+    private static ChargeKernel choosePreferred() {
+        if (VECTOR == null) {
+            log.log(Level.INFO, "Batch pricing uses the scalar kernel");
+            return ScalarChargeKernel.INSTANCE;
+        }
+        log.log(Level.INFO, "Batch pricing uses the {0} kernel", VECTOR.name());
+        return VECTOR;
+    }
+}
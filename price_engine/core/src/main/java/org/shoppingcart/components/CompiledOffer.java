@@ -0,0 +1,24 @@
+package org.shoppingcart.components;
+
+/**
+ * An offer reduced to its pricing parameters: every complete group of {@code groupSize}
+ * units costs {@code groupPriceMinor}, and the remaining units cost the unit price.
+ * <p>
+ * "Buy N get M free", "N for the price of M" and "N for X" all reduce to this shape,
+ * so a new offer of any of these kinds is a catalog change, not a code change.
+ */
+public record CompiledOffer(int groupSize, long groupPriceMinor) {
+
+    public CompiledOffer {
+        if (groupSize < 1) {
+            throw new IllegalArgumentException("Offer group size must be at least 1");
+        }
+        if (groupPriceMinor < 0) {
+            throw new IllegalArgumentException("Offer group price cannot be negative");
+        }
+    }
+
+    public static CompiledOffer none(long unitPriceMinor) {
+        return new CompiledOffer(1, unitPriceMinor);
+    }
+}
@@ -0,0 +1,574 @@
+package org.shoppingcart.components;
+
+import org.shoppingcart.utils.CatalogFile;
+
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.util.Arrays;
+
+/**
+ * Dispatch table of compiled offers indexed by SKU.
+ * <p>
+ * Each SKU occupies {@value #STRIDE} consecutive slots of one {@code long[]}: unit price,
+ * group size and group price, all in minor units. Pricing a line is one array lookup
+ * and a few integer operations, with no virtual call and no branch on the offer kind.
+ * <p>
+ * The same three values are also kept column by column as doubles, indexed by SKU, for
+ * {@link ChargeColumns} to copy into the rows a {@link ChargeKernel} reads. Amounts are
+ * whole minor units, exact in a double below 2<sup>53</sup>.
+ * <p>
+ * A SKU with several offers is charged from its {@link BestPriceTable} instead: the table's
+ * charges are appended to one shared {@code long[]}, each run preceded by its length, and
+ * the SKU's slots hold its unit price and best group. SKUs without a table cost one extra
+ * array read and a branch.
+ * <p>
+ * A table {@link #read} from a {@link CatalogFile} image has the same layout but stays in
+ * the image. It is a separate implementation so tables built on the heap keep plain
+ * array access; a process normally uses only one kind, and the call sites stay
+ * monomorphic.
+ * <p>
+ * An {@link #overlay} prices a few SKUs differently on top of a shared base table, for
+ * customer tiers: an {@link OverlayIndex} finds a SKU's overriding row in at most two
+ * array reads, and every other SKU is charged by the base. Nothing of the base is copied
+ * until the overlay is written as a table of its own.
+ */
+public abstract sealed class OfferTable permits OfferTable.OnHeap, OfferTable.Mapped, OfferTable.Overlay {
+
+    private static final int STRIDE = 3;
+    private static final int UNIT_PRICE = 0;
+    private static final int GROUP_SIZE = 1;
+    private static final int GROUP_PRICE = 2;
+    private static final int NO_TABLE = -1;
+
+    public static Builder builder(int size) {
+        return new Builder(size);
+    }
+
+    /**
+     * A table that charges the SKUs of {@code index} by the rows of {@code overrides} in
+     * their slots, and every other SKU by {@code base}.
+     */
+    public static OfferTable overlay(OfferTable base, OverlayIndex index, OfferTable overrides) {
+        if (overrides.size() != index.capacity()) {
+            throw new IllegalArgumentException("Overlay has " + overrides.size() + " rows for "
+                    + index.capacity() + " slots");
+        }
+        return new Overlay(base, index, overrides);
+    }
+
+    /**
+     * The table this one charges the SKUs it does not override by: an overlay's base,
+     * or the table itself.
+     */
+    public OfferTable base() {
+        return this;
+    }
+
+    /**
+     * Reads a table of {@code size} SKUs written by {@link #write} from the image's
+     * current position, in place.
+     */
+    public static OfferTable read(ByteBuffer image, int size) {
+        LongBuffer entries = CatalogFile.section(image, entryBytes(size)).asLongBuffer();
+        DoubleBuffer[] columns = new DoubleBuffer[STRIDE];
+        for (int column = 0; column < STRIDE; column++) {
+            columns[column] = CatalogFile.section(image, columnBytes(size)).asDoubleBuffer();
+        }
+        IntBuffer tableStarts = CatalogFile.section(image, tableStartBytes(size)).asIntBuffer();
+        long tableChargeCount = CatalogFile.section(image, Long.BYTES).getLong(0);
+        LongBuffer tableCharges = CatalogFile.section(image, tableChargeBytes(tableChargeCount)).asLongBuffer();
+        return new Mapped(size, entries, columns[UNIT_PRICE], columns[GROUP_SIZE], columns[GROUP_PRICE],
+                tableStarts, tableCharges);
+    }
+
+    /**
+     * Charged amount in minor units for {@code quantity} units of {@code sku}.
+     */
+    public abstract long charge(int sku, int quantity);
+
+    public abstract long unitPriceMinor(int sku);
+
+    /**
+     * Group size of the SKU's offer; for a SKU with a {@link BestPriceTable}, of its best group.
+     */
+    public abstract int groupSize(int sku);
+
+    public abstract long groupPriceMinor(int sku);
+
+    /**
+     * Whether the SKU is charged from a {@link BestPriceTable} rather than by its one offer.
+     */
+    public abstract boolean hasBestPriceTable(int sku);
+
+    public abstract int size();
+
+    abstract double unitPriceColumn(int sku);
+
+    abstract double groupSizeColumn(int sku);
+
+    abstract double groupPriceColumn(int sku);
+
+    /**
+     * The entries, and each column, as buffers positioned at zero for {@link #write}.
+     */
+    abstract LongBuffer entries();
+
+    abstract DoubleBuffer column(int column);
+
+    abstract IntBuffer tableStarts();
+
+    abstract LongBuffer tableCharges();
+
+    /**
+     * Bytes {@link #write} takes.
+     */
+    public long imageBytes() {
+        return CatalogFile.sectionBytes(entryBytes(size())) + STRIDE * CatalogFile.sectionBytes(columnBytes(size()))
+                + CatalogFile.sectionBytes(tableStartBytes(size())) + CatalogFile.sectionBytes(Long.BYTES)
+                + CatalogFile.sectionBytes(tableChargeBytes(tableCharges().remaining()));
+    }
+
+    public void write(ByteBuffer image) {
+        CatalogFile.section(image, entryBytes(size())).asLongBuffer().put(entries());
+        for (int column = 0; column < STRIDE; column++) {
+            CatalogFile.section(image, columnBytes(size())).asDoubleBuffer().put(column(column));
+        }
+        CatalogFile.section(image, tableStartBytes(size())).asIntBuffer().put(tableStarts());
+        LongBuffer tableCharges = tableCharges();
+        CatalogFile.section(image, Long.BYTES).putLong(0, tableCharges.remaining());
+        CatalogFile.section(image, tableChargeBytes(tableCharges.remaining())).asLongBuffer().put(tableCharges);
+    }
+
+    private static long entryBytes(int size) {
+        return (long) size * STRIDE * Long.BYTES;
+    }
+
+    private static long columnBytes(int size) {
+        return (long) size * Double.BYTES;
+    }
+
+    private static long tableStartBytes(int size) {
+        return (long) size * Integer.BYTES;
+    }
+
+    private static long tableChargeBytes(long count) {
+        return count * Long.BYTES;
+    }
+
+    static long charge(long unitPriceMinor, int groupSize, long groupPriceMinor, int quantity) {
+        checkQuantity(quantity);
+        // One 32-bit division; the remainder falls out of it
+        int groups = quantity / groupSize;
+        int rest = quantity - groups * groupSize;
+
+        return Math.addExact(
+                Math.multiplyExact(groupPriceMinor, (long) groups),
+                Math.multiplyExact(unitPriceMinor, (long) rest));
+    }
+
+    static void checkQuantity(int quantity) {
+        if (quantity < 0) {
+            throw new IllegalArgumentException("Quantity cannot be negative");
+        }
+    }
+
+    static final class OnHeap extends OfferTable {
+
+        private final long[] entries;
+        private final double[] unitPriceColumn;
+        private final double[] groupSizeColumn;
+        private final double[] groupPriceColumn;
+        private final int[] tableStarts;
+        private final long[] tableCharges;
+
+        private OnHeap(long[] entries, int[] tableStarts, long[] tableCharges) {
+            this.entries = entries;
+            this.tableStarts = tableStarts;
+            this.tableCharges = tableCharges;
+            int size = entries.length / STRIDE;
+            unitPriceColumn = new double[size];
+            groupSizeColumn = new double[size];
+            groupPriceColumn = new double[size];
+            for (int sku = 0; sku < size; sku++) {
+                unitPriceColumn[sku] = entries[sku * STRIDE + UNIT_PRICE];
+                groupSizeColumn[sku] = entries[sku * STRIDE + GROUP_SIZE];
+                groupPriceColumn[sku] = entries[sku * STRIDE + GROUP_PRICE];
+            }
+        }
+
+        @Override
+        public long charge(int sku, int quantity) {
+            int base = sku * STRIDE;
+            int table = tableStarts[sku];
+            if (table == NO_TABLE) {
+                return charge(entries[base + UNIT_PRICE], (int) entries[base + GROUP_SIZE],
+                        entries[base + GROUP_PRICE], quantity);
+            }
+            checkQuantity(quantity);
+            int groupSize = (int) entries[base + GROUP_SIZE];
+            int groups = BestPriceTable.bestGroups((int) tableCharges[table], groupSize, quantity);
+            return BestPriceTable.charge(tableCharges[table + 1 + quantity - groups * groupSize],
+                    entries[base + GROUP_PRICE], groups);
+        }
+
+        @Override
+        public long unitPriceMinor(int sku) {
+            return entries[sku * STRIDE + UNIT_PRICE];
+        }
+
+        @Override
+        public int groupSize(int sku) {
+            return (int) entries[sku * STRIDE + GROUP_SIZE];
+        }
+
+        @Override
+        public long groupPriceMinor(int sku) {
+            return entries[sku * STRIDE + GROUP_PRICE];
+        }
+
+        @Override
+        public boolean hasBestPriceTable(int sku) {
+            return tableStarts[sku] != NO_TABLE;
+        }
+
+        @Override
+        public int size() {
+            return entries.length / STRIDE;
+        }
+
+        @Override
+        double unitPriceColumn(int sku) {
+            return unitPriceColumn[sku];
+        }
+
+        @Override
+        double groupSizeColumn(int sku) {
+            return groupSizeColumn[sku];
+        }
+
+        @Override
+        double groupPriceColumn(int sku) {
+            return groupPriceColumn[sku];
+        }
+
+        @Override
+        LongBuffer entries() {
+            return LongBuffer.wrap(entries);
+        }
+
+        @Override
+        DoubleBuffer column(int column) {
+            return DoubleBuffer.wrap(switch (column) {
+                case UNIT_PRICE -> unitPriceColumn;
+                case GROUP_SIZE -> groupSizeColumn;
+                default -> groupPriceColumn;
+            });
+        }
+
+        @Override
+        IntBuffer tableStarts() {
+            return IntBuffer.wrap(tableStarts);
+        }
+
+        @Override
+        LongBuffer tableCharges() {
+            return LongBuffer.wrap(tableCharges);
+        }
+    }
+
+    static final class Mapped extends OfferTable {
+
+        private final int size;
+        private final LongBuffer entries;
+        private final DoubleBuffer unitPriceColumn;
+        private final DoubleBuffer groupSizeColumn;
+        private final DoubleBuffer groupPriceColumn;
+        private final IntBuffer tableStarts;
+        private final LongBuffer tableCharges;
+
+        private Mapped(int size, LongBuffer entries,
+                       DoubleBuffer unitPriceColumn, DoubleBuffer groupSizeColumn, DoubleBuffer groupPriceColumn,
+                       IntBuffer tableStarts, LongBuffer tableCharges) {
+            this.size = size;
+            this.entries = entries;
+            this.unitPriceColumn = unitPriceColumn;
+            this.groupSizeColumn = groupSizeColumn;
+            this.groupPriceColumn = groupPriceColumn;
+            this.tableStarts = tableStarts;
+            this.tableCharges = tableCharges;
+        }
+
+        @Override
+        public long charge(int sku, int quantity) {
+            int base = sku * STRIDE;
+            int table = tableStarts.get(sku);
+            if (table == NO_TABLE) {
+                return charge(entries.get(base + UNIT_PRICE), (int) entries.get(base + GROUP_SIZE),
+                        entries.get(base + GROUP_PRICE), quantity);
+            }
+            checkQuantity(quantity);
+            int groupSize = (int) entries.get(base + GROUP_SIZE);
+            int groups = BestPriceTable.bestGroups((int) tableCharges.get(table), groupSize, quantity);
+            return BestPriceTable.charge(tableCharges.get(table + 1 + quantity - groups * groupSize),
+                    entries.get(base + GROUP_PRICE), groups);
+        }
+
+        @Override
+        public long unitPriceMinor(int sku) {
+            return entries.get(sku * STRIDE + UNIT_PRICE);
+        }
+
+        @Override
+        public int groupSize(int sku) {
+            return (int) entries.get(sku * STRIDE + GROUP_SIZE);
+        }
+
+        @Override
+        public long groupPriceMinor(int sku) {
+            return entries.get(sku * STRIDE + GROUP_PRICE);
+        }
+
+        @Override
+        public boolean hasBestPriceTable(int sku) {
+            return tableStarts.get(sku) != NO_TABLE;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        double unitPriceColumn(int sku) {
+            return unitPriceColumn.get(sku);
+        }
+
+        @Override
+        double groupSizeColumn(int sku) {
+            return groupSizeColumn.get(sku);
+        }
+
+        @Override
+        double groupPriceColumn(int sku) {
+            return groupPriceColumn.get(sku);
+        }
+
+        @Override
+        LongBuffer entries() {
+            return entries.duplicate().clear();
+        }
+
+        @Override
+        DoubleBuffer column(int column) {
+            DoubleBuffer buffer = switch (column) {
+                case UNIT_PRICE -> unitPriceColumn;
+                case GROUP_SIZE -> groupSizeColumn;
+                default -> groupPriceColumn;
+            };
+            return buffer.duplicate().clear();
+        }
+
+        @Override
+        IntBuffer tableStarts() {
+            return tableStarts.duplicate().clear();
+        }
+
+        @Override
+        LongBuffer tableCharges() {
+            return tableCharges.duplicate().clear();
+        }
+    }
+
+    /**
+     * A base table with a sparse layer of overriding rows. The catalog that owns it writes
+     * the rows only; written on its own, it is merged into one table first.
+     */
+    static final class Overlay extends OfferTable {
+
+        private final OfferTable base;
+        private final OverlayIndex index;
+        private final OfferTable overrides;
+
+        private Overlay(OfferTable base, OverlayIndex index, OfferTable overrides) {
+            this.base = base;
+            this.index = index;
+            this.overrides = overrides;
+        }
+
+        @Override
+        public long charge(int sku, int quantity) {
+            int slot = index.slotOf(sku);
+            return slot == OverlayIndex.NOT_FOUND ? base.charge(sku, quantity) : overrides.charge(slot, quantity);
+        }
+
+        @Override
+        public long unitPriceMinor(int sku) {
+            int slot = index.slotOf(sku);
+            return slot == OverlayIndex.NOT_FOUND ? base.unitPriceMinor(sku) : overrides.unitPriceMinor(slot);
+        }
+
+        @Override
+        public int groupSize(int sku) {
+            int slot = index.slotOf(sku);
+            return slot == OverlayIndex.NOT_FOUND ? base.groupSize(sku) : overrides.groupSize(slot);
+        }
+
+        @Override
+        public long groupPriceMinor(int sku) {
+            int slot = index.slotOf(sku);
+            return slot == OverlayIndex.NOT_FOUND ? base.groupPriceMinor(sku) : overrides.groupPriceMinor(slot);
+        }
+
+        @Override
+        public boolean hasBestPriceTable(int sku) {
+            int slot = index.slotOf(sku);
+            return slot == OverlayIndex.NOT_FOUND ? base.hasBestPriceTable(sku) : overrides.hasBestPriceTable(slot);
+        }
+
+        @Override
+        public OfferTable base() {
+            return base;
+        }
+
+        @Override
+        public int size() {
+            return base.size();
+        }
+
+        @Override
+        double unitPriceColumn(int sku) {
+            int slot = index.slotOf(sku);
+            return slot == OverlayIndex.NOT_FOUND ? base.unitPriceColumn(sku) : overrides.unitPriceColumn(slot);
+        }
+
+        @Override
+        double groupSizeColumn(int sku) {
+            int slot = index.slotOf(sku);
+            return slot == OverlayIndex.NOT_FOUND ? base.groupSizeColumn(sku) : overrides.groupSizeColumn(slot);
+        }
+
+        @Override
+        double groupPriceColumn(int sku) {
+            int slot = index.slotOf(sku);
+            return slot == OverlayIndex.NOT_FOUND ? base.groupPriceColumn(sku) : overrides.groupPriceColumn(slot);
+        }
+
+        @Override
+        LongBuffer entries() {
+            return merged().entries();
+        }
+
+        @Override
+        DoubleBuffer column(int column) {
+            return merged().column(column);
+        }
+
+        @Override
+        IntBuffer tableStarts() {
+            return merged().tableStarts();
+        }
+
+        @Override
+        LongBuffer tableCharges() {
+            return merged().tableCharges();
+        }
+
+        @Override
+        public long imageBytes() {
+            return merged().imageBytes();
+        }
+
+        @Override
+        public void write(ByteBuffer image) {
+            merged().write(image);
+        }
+
+        /**
+         * The table this overlay prices as, each SKU's row and charges taken from the
+         * overrides or the base; built afresh on every call.
+         */
+        private OfferTable merged() {
+            int size = size();
+            LongBuffer baseEntries = base.entries();
+            IntBuffer baseStarts = base.tableStarts();
+            LongBuffer baseCharges = base.tableCharges();
+            LongBuffer overrideEntries = overrides.entries();
+            IntBuffer overrideStarts = overrides.tableStarts();
+            LongBuffer overrideCharges = overrides.tableCharges();
+            long[] entries = new long[size * STRIDE];
+            int[] tableStarts = new int[size];
+            long[] tableCharges = new long[baseCharges.remaining() + overrideCharges.remaining()];
+            int tableChargeCount = 0;
+            for (int sku = 0; sku < size; sku++) {
+                int slot = index.slotOf(sku);
+                boolean overridden = slot != OverlayIndex.NOT_FOUND;
+                int row = overridden ? slot : sku;
+                (overridden ? overrideEntries : baseEntries).get(row * STRIDE, entries, sku * STRIDE, STRIDE);
+                int table = (overridden ? overrideStarts : baseStarts).get(row);
+                if (table == NO_TABLE) {
+                    tableStarts[sku] = NO_TABLE;
+                    continue;
+                }
+                LongBuffer charges = overridden ? overrideCharges : baseCharges;
+                int length = 1 + (int) charges.get(table);
+                charges.get(table, tableCharges, tableChargeCount, length);
+                tableStarts[sku] = tableChargeCount;
+                tableChargeCount += length;
+            }
+            return new OnHeap(entries, tableStarts, Arrays.copyOf(tableCharges, tableChargeCount));
+        }
+    }
+
+    public static final class Builder {
+
+        private final long[] entries;
+        private final int[] tableStarts;
+        private long[] tableCharges = new long[0];
+        private int tableChargeCount;
+
+        private Builder(int size) {
+            entries = new long[size * STRIDE];
+            tableStarts = new int[size];
+            Arrays.fill(tableStarts, NO_TABLE);
+            // Unset SKUs price as plain units of zero cost; callers skip them anyway
+            for (int sku = 0; sku < size; sku++) {
+                entries[sku * STRIDE + GROUP_SIZE] = 1;
+            }
+        }
+
+        public Builder put(int sku, long unitPriceMinor, CompiledOffer offer) {
+            if (unitPriceMinor < 0) {
+                throw new IllegalArgumentException("Unit price cannot be negative");
+            }
+            int base = sku * STRIDE;
+            entries[base + UNIT_PRICE] = unitPriceMinor;
+            entries[base + GROUP_SIZE] = offer.groupSize();
+            entries[base + GROUP_PRICE] = offer.groupPriceMinor();
+            tableStarts[sku] = NO_TABLE;
+            return this;
+        }
+
+        /**
+         * Charges {@code sku} from {@code table}; a SKU with one offer is cheaper to
+         * {@link #put(int, long, CompiledOffer) put} with it directly.
+         */
+        public Builder put(int sku, long unitPriceMinor, BestPriceTable table) {
+            put(sku, unitPriceMinor, table.best());
+            int needed = tableChargeCount + 1 + table.prefixLength();
+            if (needed > tableCharges.length) {
+                tableCharges = Arrays.copyOf(tableCharges, Math.max(needed, tableCharges.length * 2));
+            }
+            tableStarts[sku] = tableChargeCount;
+            tableCharges[tableChargeCount] = table.prefixLength();
+            System.arraycopy(table.charges(), 0, tableCharges, tableChargeCount + 1, table.prefixLength());
+            tableChargeCount = needed;
+            return this;
+        }
+
+        public OfferTable build() {
+            return new OnHeap(entries.clone(), tableStarts.clone(), Arrays.copyOf(tableCharges, tableChargeCount));
+        }
+    }
+}
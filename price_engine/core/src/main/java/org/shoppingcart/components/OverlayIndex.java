@@ -0,0 +1,186 @@
+package org.shoppingcart.components;
+
+import org.shoppingcart.utils.CatalogFile;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Cuckoo hash set of the SKU ids an overlay overrides, mapping each to a slot.
+ * <p>
+ * Every id has two candidate slots, one per hash function, and is stored in one of them,
+ * so {@link #slotOf} reads at most two array elements, hit or miss, with no probe chain.
+ * The table is kept at most half full; a build that cannot place every id within a
+ * bounded number of evictions retries with another seed, and then with twice the slots.
+ * Slots are dense from zero, so an overlay keeps its overriding rows in arrays indexed by
+ * the same slot.
+ */
+public final class OverlayIndex {
+
+    public static final int NOT_FOUND = -1;
+
+    private static final int EMPTY = -1;
+    private static final int SEEDS_PER_SIZE = 8;
+
+    private final int[] keys;
+    private final int mask;
+    private final int seed;
+    private final int count;
+
+    private OverlayIndex(int[] keys, int seed, int count) {
+        this.keys = keys;
+        this.mask = keys.length - 1;
+        this.seed = seed;
+        this.count = count;
+    }
+
+    /**
+     * Indexes the distinct, non-negative ids in {@code skus}.
+     */
+    public static OverlayIndex of(int[] skus) {
+        int[] distinct = Arrays.stream(skus).distinct().toArray();
+        for (int sku : distinct) {
+            if (sku < 0) {
+                throw new IllegalArgumentException("Invalid SKU id: " + sku);
+            }
+        }
+        int capacity = Math.max(2, Integer.highestOneBit(Math.max(1, distinct.length * 2 - 1)) << 1);
+        int maxKicks = 16 + 2 * Integer.numberOfTrailingZeros(capacity);
+        for (int seed = 0; ; seed++) {
+            if (seed > 0 && seed % SEEDS_PER_SIZE == 0) {
+                capacity <<= 1;
+            }
+            int[] keys = new int[capacity];
+            Arrays.fill(keys, EMPTY);
+            if (placeAll(keys, seed, distinct, maxKicks)) {
+                return new OverlayIndex(keys, seed, distinct.length);
+            }
+        }
+    }
+
+    private static boolean placeAll(int[] keys, int seed, int[] skus, int maxKicks) {
+        int mask = keys.length - 1;
+        for (int sku : skus) {
+            int first = hash1(sku, seed) & mask;
+            int second = hash2(sku, seed) & mask;
+            if (keys[first] == EMPTY) {
+                keys[first] = sku;
+                continue;
+            }
+            if (keys[second] == EMPTY) {
+                keys[second] = sku;
+                continue;
+            }
+            // Evict the occupant into its other slot, and so on down the chain
+            int key = sku;
+            int slot = first;
+            boolean placed = false;
+            for (int kick = 0; kick < maxKicks && !placed; kick++) {
+                int evicted = keys[slot];
+                keys[slot] = key;
+                key = evicted;
+                int keyFirst = hash1(key, seed) & mask;
+                slot = keyFirst == slot ? hash2(key, seed) & mask : keyFirst;
+                if (keys[slot] == EMPTY) {
+                    keys[slot] = key;
+                    placed = true;
+                }
+            }
+            if (!placed) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Slot holding {@code sku}, or {@link #NOT_FOUND} if the overlay does not override it.
+     */
+    public int slotOf(int sku) {
+        int slot = hash1(sku, seed) & mask;
+        if (keys[slot] == sku) {
+            return slot;
+        }
+        slot = hash2(sku, seed) & mask;
+        return keys[slot] == sku ? slot : NOT_FOUND;
+    }
+
+    /**
+     * SKU id held in {@code slot}, or {@link #NOT_FOUND} for an empty slot.
+     */
+    public int skuAt(int slot) {
+        return keys[slot];
+    }
+
+    /**
+     * Number of slots; the overriding rows of an overlay are indexed up to this.
+     */
+    public int capacity() {
+        return keys.length;
+    }
+
+    /**
+     * Number of SKUs overridden.
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Bytes {@link #write} takes.
+     */
+    public long imageBytes() {
+        return CatalogFile.sectionBytes(3L * Integer.BYTES) + CatalogFile.sectionBytes((long) keys.length * Integer.BYTES);
+    }
+
+    public void write(ByteBuffer image) {
+        CatalogFile.section(image, 3L * Integer.BYTES)
+                .putInt(0, keys.length).putInt(Integer.BYTES, seed).putInt(2 * Integer.BYTES, count);
+        CatalogFile.section(image, (long) keys.length * Integer.BYTES).asIntBuffer().put(keys);
+    }
+
+    /**
+     * Reads an index written by {@link #write} from the image's current position, checking
+     * that every id is below {@code skuCount} and sits in one of its two slots. Overlays are
+     * sparse, so the slots are copied onto the heap.
+     */
+    public static OverlayIndex read(ByteBuffer image, int skuCount) {
+        ByteBuffer header = CatalogFile.section(image, 3L * Integer.BYTES);
+        int capacity = header.getInt(0);
+        int seed = header.getInt(Integer.BYTES);
+        int count = header.getInt(2 * Integer.BYTES);
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Overlay index has " + capacity + " slots");
+        }
+        int[] keys = new int[capacity];
+        CatalogFile.section(image, (long) capacity * Integer.BYTES).asIntBuffer().get(keys);
+        OverlayIndex index = new OverlayIndex(keys, seed, count);
+        int stored = 0;
+        for (int slot = 0; slot < capacity; slot++) {
+            int sku = keys[slot];
+            if (sku == EMPTY) {
+                continue;
+            }
+            if (sku < 0 || sku >= skuCount || index.slotOf(sku) != slot) {
+                throw new IllegalArgumentException("Overlay index has a misplaced SKU id " + sku);
+            }
+            stored++;
+        }
+        if (stored != count) {
+            throw new IllegalArgumentException("Overlay index holds " + stored + " SKUs, not " + count);
+        }
+        return index;
+    }
+
+    private static int hash1(int sku, int seed) {
+        int h = (sku ^ seed) * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static int hash2(int sku, int seed) {
+        int h = (sku + seed) * 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,41 @@
+package org.shoppingcart.components;
+
+/**
+ * One row at a time in exact long arithmetic. Used where the Vector API is not available,
+ * and by {@link VectorChargeKernel} for loop tails and rows too large for a double.
+ */
+final class ScalarChargeKernel implements ChargeKernel {
+
+    static final ScalarChargeKernel INSTANCE = new ScalarChargeKernel();
+
+    @Override
+    public void charge(ChargeColumns columns) {
+        chargeRows(columns, 0, columns.size);
+    }
+
+    static void chargeRows(ChargeColumns columns, int from, int to) {
+        double[] quantities = columns.quantities;
+        double[] unitPrices = columns.unitPrices;
+        double[] groupSizes = columns.groupSizes;
+        double[] groupPrices = columns.groupPrices;
+        double[] charged = columns.charged;
+        for (int row = from; row < to; row++) {
+            int quantity = (int) quantities[row];
+            int groupSize = (int) groupSizes[row];
+            int groups = quantity / groupSize;
+            int rest = quantity - groups * groupSize;
+            long chargedMinor = Math.addExact(
+                    Math.multiplyExact((long) groupPrices[row], (long) groups),
+                    Math.multiplyExact((long) unitPrices[row], (long) rest));
+            if (chargedMinor >= ChargeColumns.EXACT_LIMIT) {
+                throw new ArithmeticException("Charge too large for batch pricing: " + chargedMinor);
+            }
+            charged[row] = chargedMinor;
+        }
+    }
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+}
@@ -0,0 +1,41 @@
+package org.shoppingcart.models;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.*;
+import org.shoppingcart.components.CompiledOffer;
+import org.shoppingcart.utils.OfferType;
+
+@Data
+@EqualsAndHashCode(callSuper = false)
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class BOGO extends OfferDetails {
+     @JsonProperty("buy")
+     private Integer buy;
+     @JsonProperty("free")
+     private Integer free;
+
+     /**
+      * Buy {@code buy}, get {@code free} more free: groups of buy + free cost buy units.
+      */
+     @Override
+     public CompiledOffer compile(long unitPriceMinor) {
+          int paid = valueOrDefault(buy, 1);
+          int groupSize = Math.addExact(paid, valueOrDefault(free, 1));
+          return new CompiledOffer(groupSize, Math.multiplyExact(unitPriceMinor, paid));
+     }
+
+     @Override
+     public OfferType offerType() {
+          return OfferType.BOGO;
+     }
+
+     public String toString() {
+          return String.format(
+                  "{\"buy\": \"%s\", \"free\": %s}",
+                  buy,
+                  free
+          );
+     }
+}
@@ -0,0 +1,28 @@
+package org.shoppingcart.models;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one cart in a batch: either {@code bill} or {@code error} is set.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchBillResultDTO {
+
+    private Integer index;
+    private FruitResponseDTO bill;
+    private String error;
+
+    public static BatchBillResultDTO success(int index, FruitResponseDTO bill) {
+        return new BatchBillResultDTO(index, bill, null);
+    }
+
+    public static BatchBillResultDTO failure(int index, String error) {
+        return new BatchBillResultDTO(index, null, error);
+    }
+}
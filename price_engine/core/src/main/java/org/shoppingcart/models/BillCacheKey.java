@@ -0,0 +1,59 @@
+package org.shoppingcart.models;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Canonical identity of a cart for bill caching: the catalog version and customer tier
+ * plus the cart's lines as a sorted vector of {@code (skuId << 32) | quantity}. Two carts
+ * with the same contents get equal keys whatever order their units arrived in, and a
+ * catalog reload changes the version, so a key never matches a bill priced against older
+ * prices or another tier's.
+ */
+public final class BillCacheKey {
+
+    private final long catalogVersion;
+    private final String tier;
+    private final long[] lines;
+    private final int hash;
+
+    private BillCacheKey(long catalogVersion, String tier, long[] lines) {
+        this.catalogVersion = catalogVersion;
+        this.tier = tier;
+        this.lines = lines;
+        this.hash = 31 * (31 * Long.hashCode(catalogVersion) + Objects.hashCode(tier)) + Arrays.hashCode(lines);
+    }
+
+    public static BillCacheKey of(CartTally tally) {
+        long[] lines = new long[tally.distinctCount()];
+        for (int line = 0; line < lines.length; line++) {
+            // Quantities are positive ints, so the low word never sign-extends into the SKU id
+            lines[line] = ((long) tally.skuAt(line) << 32) | tally.quantityAt(line);
+        }
+        Arrays.sort(lines);
+        return new BillCacheKey(tally.catalog().getVersion(), tally.catalog().getTier(), lines);
+    }
+
+    public long getCatalogVersion() {
+        return catalogVersion;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof BillCacheKey other)) {
+            return false;
+        }
+        return hash == other.hash
+                && catalogVersion == other.catalogVersion
+                && Objects.equals(tier, other.tier)
+                && Arrays.equals(lines, other.lines);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+}
@@ -0,0 +1,28 @@
+package org.shoppingcart.models;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BillCacheStatsDTO {
+    private boolean enabled;
+    private long size;
+    private long maximumSize;
+    private long hits;
+    private long misses;
+    private double hitRate;
+    private long evictions;
+
+    public static BillCacheStatsDTO from(CacheStats stats, long size, long maximumSize) {
+        return new BillCacheStatsDTO(true, size, maximumSize, stats.hitCount(), stats.missCount(),
+                stats.hitRate(), stats.evictionCount());
+    }
+
+    public static BillCacheStatsDTO disabled() {
+        return new BillCacheStatsDTO(false, 0L, 0L, 0L, 0L, 0.0, 0L);
+    }
+}
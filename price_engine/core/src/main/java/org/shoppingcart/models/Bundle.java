@@ -0,0 +1,41 @@
+package org.shoppingcart.models;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A cart-level offer spanning several SKUs, listed under {@code bundles} in the catalog.
+ * Either a fixed bundle, {@code items} of each named SKU for {@code price}
+ * ("melon + 2 limes for 0.60"), or mix and match, any {@code quantity} units of the
+ * SKUs in {@code anyOf} for {@code price} ("any 3 of apple/banana/lime for 0.50").
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class Bundle {
+    @JsonProperty("name")
+    private String name;
+    @JsonProperty("price")
+    private Double price;
+    @JsonProperty("items")
+    private Map<String, Integer> items;
+    @JsonProperty("anyOf")
+    private List<String> anyOf;
+    @JsonProperty("quantity")
+    private Integer quantity;
+
+    public static Bundle fixed(String name, double price, Map<String, Integer> items) {
+        return new Bundle(name, price, items, null, null);
+    }
+
+    public static Bundle anyOf(String name, double price, int quantity, List<String> skus) {
+        return new Bundle(name, price, null, skus, quantity);
+    }
+}
@@ -0,0 +1,38 @@
+package org.shoppingcart.models;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import lombok.Data;
+import org.shoppingcart.utils.MoneySerializer;
+
+import java.util.Map;
+
+/**
+ * A bundle on a bill: applied {@code count} times at {@code price} each, with the units
+ * of each fruit that went into it. Those units are left out of their lines' charges.
+ */
+@Data
+@JsonPropertyOrder({"bundle", "count", "price", "charged", "items"})
+public class BundlePriceDTO {
+
+    private String bundle;
+    private Integer count;
+    @JsonProperty("price")
+    @JsonSerialize(using = MoneySerializer.class)
+    private long priceMinor;
+    @JsonProperty("charged")
+    @JsonSerialize(using = MoneySerializer.class)
+    private long chargedMinor;
+    private Map<String, Integer> items;
+
+    public static BundlePriceDTO of(String bundle, int count, long priceMinor, Map<String, Integer> items) {
+        BundlePriceDTO line = new BundlePriceDTO();
+        line.setBundle(bundle);
+        line.setCount(count);
+        line.setPriceMinor(priceMinor);
+        line.setChargedMinor(Math.multiplyExact(priceMinor, (long) count));
+        line.setItems(items);
+        return line;
+    }
+}
@@ -0,0 +1,25 @@
+package org.shoppingcart.models;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A change to one line of a pricing session: a positive quantity adds units, a negative
+ * one removes them.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CartDeltaDTO {
+
+    @NotNull(message = "Fruit type is required")
+    @JsonProperty("name")
+    private String fruit;
+
+    @NotNull(message = "Quantity is required")
+    @JsonProperty("quantity")
+    private Integer quantity;
+}
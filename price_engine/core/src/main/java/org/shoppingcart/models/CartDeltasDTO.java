@@ -0,0 +1,21 @@
+package org.shoppingcart.models;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Body of a session update; the deltas are applied together, in order.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CartDeltasDTO {
+
+    @NotEmpty(message = "At least one delta is required")
+    private List<@Valid CartDeltaDTO> deltas;
+}
@@ -0,0 +1,212 @@
+package org.shoppingcart.models;
+
+import org.shoppingcart.utils.CartTallyDeserializer;
+import org.shoppingcart.utils.SkuDictionary;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Per-cart unit counts keyed by the SKU ids of one catalog snapshot.
+ * <p>
+ * Lines are held in parallel primitive arrays in the order they were first seen, with a
+ * small open-addressing index from SKU id to line. Space is proportional to the distinct
+ * SKUs in the cart rather than to the size of the catalog, and counting a unit allocates
+ * nothing once the arrays have grown to fit the cart.
+ * <p>
+ * Request bodies bind straight into a tally through {@link CartTallyDeserializer}, so the
+ * per-unit list is never materialized. Names that are not in the catalog are collected
+ * rather than thrown, and can be reported together once the body is consumed. The tally
+ * keeps the snapshot its ids came from, and must be priced against that snapshot.
+ */
+public final class CartTally {
+
+    private static final int INITIAL_LINES = 8;
+
+    private final FruitCatalog catalog;
+    private int[] skuIds = new int[INITIAL_LINES];
+    private int[] quantities = new int[INITIAL_LINES];
+    // line + 1 per slot, 0 = empty; kept at most half full
+    private int[] index = new int[INITIAL_LINES * 2];
+    private int distinctCount;
+    private int totalUnits;
+    private List<String> unknownNames;
+
+    public CartTally(FruitCatalog catalog) {
+        if (catalog == null) {
+            throw new IllegalArgumentException("Catalog is required");
+        }
+        this.catalog = catalog;
+    }
+
+    /**
+     * This tally's lines against {@code other}. A snapshot with the same SKU ids, such as
+     * one of this snapshot's tier views, takes copies of the lines; any other snapshot,
+     * such as an earlier catalog version, is tallied again by name, and names it does not
+     * carry are collected as unknown. The tally itself is left unchanged.
+     */
+    public CartTally withCatalog(FruitCatalog other) {
+        if (other == catalog) {
+            return this;
+        }
+        if (other == null) {
+            throw new IllegalArgumentException("Catalog is required");
+        }
+        CartTally tally = new CartTally(other);
+        if (other.skus() != catalog.skus()) {
+            for (int line = 0; line < distinctCount; line++) {
+                String name = catalog.skus().name(skuIds[line]);
+                int skuId = other.idOf(name);
+                if (skuId == SkuDictionary.NOT_FOUND) {
+                    tally.addUnknown(name);
+                } else {
+                    tally.add(skuId, quantities[line]);
+                }
+            }
+            for (String name : getUnknownNames()) {
+                tally.addUnknown(name);
+            }
+            return tally;
+        }
+        tally.skuIds = skuIds.clone();
+        tally.quantities = quantities.clone();
+        tally.index = index.clone();
+        tally.distinctCount = distinctCount;
+        tally.totalUnits = totalUnits;
+        tally.unknownNames = unknownNames == null ? null : new ArrayList<>(unknownNames);
+        return tally;
+    }
+
+    /**
+     * Tallies one unit per name. Throws on the first name the catalog does not know.
+     */
+    public static CartTally of(FruitCatalog catalog, List<String> names) {
+        CartTally tally = new CartTally(catalog);
+        for (int i = 0, n = names.size(); i < n; i++) {
+            tally.add(names.get(i));
+        }
+        return tally;
+    }
+
+    public void add(String name) {
+        add(name, 1);
+    }
+
+    public void add(String name, int quantity) {
+        if (name == null) {
+            throw new IllegalArgumentException("Fruit type is required");
+        }
+        int skuId = catalog.idOf(name);
+        if (skuId == SkuDictionary.NOT_FOUND) {
+            throw new IllegalArgumentException("Unknown fruit type: " + name);
+        }
+        add(skuId, quantity);
+    }
+
+    public void add(int skuId, int quantity) {
+        if (skuId < 0 || skuId >= catalog.size()) {
+            throw new IllegalArgumentException("Unknown SKU id: " + skuId);
+        }
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be greater than zero");
+        }
+        int slot = slotOf(skuId);
+        int line = index[slot] - 1;
+        if (line < 0) {
+            line = appendLine(skuId);
+        }
+        quantities[line] = Math.addExact(quantities[line], quantity);
+        totalUnits = Math.addExact(totalUnits, quantity);
+    }
+
+    public void addUnknown(String name) {
+        if (unknownNames == null) {
+            unknownNames = new ArrayList<>(2);
+        }
+        unknownNames.add(name);
+    }
+
+    public boolean hasUnknownNames() {
+        return unknownNames != null;
+    }
+
+    public List<String> getUnknownNames() {
+        return unknownNames == null ? Collections.emptyList() : Collections.unmodifiableList(unknownNames);
+    }
+
+    public FruitCatalog catalog() {
+        return catalog;
+    }
+
+    public int skuAt(int line) {
+        return skuIds[line];
+    }
+
+    public int quantityAt(int line) {
+        return quantities[line];
+    }
+
+    public int quantityOf(int skuId) {
+        int line = index[slotOf(skuId)] - 1;
+        return line < 0 ? 0 : quantities[line];
+    }
+
+    public int quantityOf(String name) {
+        int skuId = catalog.idOf(name);
+        return skuId == SkuDictionary.NOT_FOUND ? 0 : quantityOf(skuId);
+    }
+
+    public int distinctCount() {
+        return distinctCount;
+    }
+
+    public int totalUnits() {
+        return totalUnits;
+    }
+
+    public boolean isEmpty() {
+        return distinctCount == 0;
+    }
+
+    private int appendLine(int skuId) {
+        if (distinctCount == skuIds.length) {
+            skuIds = Arrays.copyOf(skuIds, distinctCount * 2);
+            quantities = Arrays.copyOf(quantities, distinctCount * 2);
+        }
+        int line = distinctCount++;
+        skuIds[line] = skuId;
+        if (distinctCount * 2 > index.length) {
+            reindex(index.length * 2);
+        } else {
+            index[slotOf(skuId)] = line + 1;
+        }
+        return line;
+    }
+
+    /**
+     * Slot holding {@code skuId}, or the empty slot where it would go.
+     */
+    private int slotOf(int skuId) {
+        int mask = index.length - 1;
+        int slot = mix(skuId) & mask;
+        int entry;
+        while ((entry = index[slot]) != 0 && skuIds[entry - 1] != skuId) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void reindex(int size) {
+        index = new int[size];
+        for (int line = 0; line < distinctCount; line++) {
+            index[slotOf(skuIds[line])] = line + 1;
+        }
+    }
+
+    private static int mix(int skuId) {
+        int h = skuId * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
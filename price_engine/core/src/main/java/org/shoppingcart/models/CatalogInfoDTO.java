@@ -0,0 +1,25 @@
+package org.shoppingcart.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.Set;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CatalogInfoDTO {
+
+    private Long version;
+    private Integer fruitCount;
+    private Instant loadedAt;
+    private Instant activeUntil;
+    private Set<String> tiers;
+
+    public static CatalogInfoDTO from(FruitCatalog catalog) {
+        return new CatalogInfoDTO(catalog.getVersion(), catalog.size(), catalog.getLoadedAt(),
+                catalog.getActiveUntil(), catalog.tierNames());
+    }
+}
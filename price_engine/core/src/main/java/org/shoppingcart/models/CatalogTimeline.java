@@ -0,0 +1,53 @@
+package org.shoppingcart.models;
+
+import java.util.Arrays;
+
+/**
+ * The snapshots one catalog load compiles for the time windows of its promotions, in
+ * order. Snapshot {@code i} applies from {@code boundaries[i - 1]} until
+ * {@code boundaries[i]} (epoch milliseconds); the first has no start and the last no end.
+ * Snapshots share the load's SKU dictionary, bundles and offer table; each overlays the
+ * entries promoted during its window.
+ */
+final class CatalogTimeline {
+
+    private final long[] boundaries;
+    private final FruitCatalog[] segments;
+
+    CatalogTimeline(long[] boundaries) {
+        this.boundaries = boundaries;
+        this.segments = new FruitCatalog[boundaries.length + 1];
+    }
+
+    int size() {
+        return segments.length;
+    }
+
+    long[] boundaries() {
+        return boundaries;
+    }
+
+    long start(int segment) {
+        return segment == 0 ? Long.MIN_VALUE : boundaries[segment - 1];
+    }
+
+    long end(int segment) {
+        return segment == boundaries.length ? Long.MAX_VALUE : boundaries[segment];
+    }
+
+    FruitCatalog segment(int segment) {
+        return segments[segment];
+    }
+
+    void set(int segment, FruitCatalog catalog) {
+        segments[segment] = catalog;
+    }
+
+    /**
+     * The snapshot that applies at {@code epochMilli}.
+     */
+    FruitCatalog at(long epochMilli) {
+        int index = Arrays.binarySearch(boundaries, epochMilli);
+        return segments[index >= 0 ? index + 1 : -index - 1];
+    }
+}
@@ -5,31 +5,46 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import org.shoppingcart.utils.FruitType;
 import org.shoppingcart.utils.OfferType;
 
+import java.util.List;
+
 @Data
 @JsonIgnoreProperties(ignoreUnknown = true)
 @AllArgsConstructor
 @NoArgsConstructor
 public class Fruit {
     @JsonProperty("name")
-    private FruitType name;
+    private String name;
     @JsonProperty("price")
     private Double price;
     @JsonProperty("type")
     private OfferType offerType = OfferType.NoOffer;  // Matches JSON field "type"
     @JsonProperty("offer")
     private OfferDetails offerDetails; // Polymorphic field
+    @JsonProperty("offers")
+    private List<OfferDetails> offers; // Further offers; the bill takes the cheapest mix of all of them
+    @JsonProperty("promotions")
+    private List<Promotion> promotions; // Prices and offers that apply for a time window
+
+    public Fruit(String name, Double price, OfferType offerType, OfferDetails offerDetails) {
+        this(name, price, offerType, offerDetails, null, null);
+    }
+
+    public Fruit(String name, Double price, OfferType offerType, OfferDetails offerDetails, List<OfferDetails> offers) {
+        this(name, price, offerType, offerDetails, offers, null);
+    }
 
     @Override
     public String toString() {
         return String.format(
-                "{\"name\": \"%s\", \"price\": %.2f, \"offerType\": \"%s\", \"offerDetails\": %s}",
+                "{\"name\": \"%s\", \"price\": %.2f, \"offerType\": \"%s\", \"offerDetails\": %s, \"offers\": %s, \"promotions\": %s}",
                 name,
                 price,
                 offerType,
-                offerDetails != null ? offerDetails.toString() : "null"
+                offerDetails != null ? offerDetails.toString() : "null",
+                offers != null ? offers.toString() : "null",
+                promotions != null ? promotions.toString() : "null"
         );
     }
 }
@@ -0,0 +1,903 @@
+package org.shoppingcart.models;
+
+import org.shoppingcart.components.BestPriceTable;
+import org.shoppingcart.components.BundleTable;
+import org.shoppingcart.components.CompiledOffer;
+import org.shoppingcart.components.OfferTable;
+import org.shoppingcart.components.OverlayIndex;
+import org.shoppingcart.utils.CatalogFile;
+import org.shoppingcart.utils.Money;
+import org.shoppingcart.utils.OfferType;
+import org.shoppingcart.utils.SkuDictionary;
+import org.shoppingcart.utils.UnknownTierException;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.LongStream;
+
+/**
+ * Immutable, pre-indexed snapshot of the offer catalog.
+ * <p>
+ * A snapshot is built once per load and never changes afterwards, so it can be
+ * shared by any number of concurrent bills without locking. SKU names are mapped
+ * to dense int ids by a {@link SkuDictionary}, and everything else is held in arrays
+ * indexed by those ids: the catalog entries, and an {@link OfferTable} with unit
+ * prices in minor units and each entry's compiled offer. Billing never looks at
+ * {@link OfferDetails} or hashes a name again. An entry that also lists {@code offers}
+ * is compiled into a {@link BestPriceTable}, and reported as its one offer's type or as
+ * {@link OfferType#BestPrice}. Cart-level {@link Bundle}s are compiled into a
+ * {@link BundleTable} over the same ids.
+ * <p>
+ * Ids are only meaningful against the snapshot that assigned them; a reload may
+ * renumber every SKU.
+ * <p>
+ * An entry's {@link Promotion}s change its price or offers for a time window. A load
+ * with promotions compiles one snapshot per stretch of time between their starts and
+ * ends, each with the next version number, and links them into a {@link CatalogTimeline}:
+ * {@link #isActiveAt} tells whether a snapshot is still in effect with two comparisons,
+ * and {@link #activeAt} finds the one that is. The snapshots share the SKU dictionary,
+ * so ids are the same in all of them, and the offer table compiled from the entries
+ * without their promotions; each holds only the entries promoted during its window,
+ * through an {@link OverlayIndex} as tiers do, so a long timeline costs memory in
+ * proportion to its promotions rather than to its snapshots times the SKUs.
+ * <p>
+ * Customer tiers such as member, wholesale or staff pricing override a few entries'
+ * prices or offers. Each tier is a view {@link #forTier} returns: it shares this
+ * snapshot's dictionary, bundles and offer table, and holds only its overridden entries,
+ * found through an {@link OverlayIndex} in at most two array reads. A tier overrides
+ * whatever the timeline has in effect, so each snapshot of a timeline has its own views.
+ * <p>
+ * A snapshot {@link #read} from a {@link CatalogFile} keeps its dictionary and offer
+ * table in the mapped file and builds a catalog entry only when a bill first asks for
+ * it. Such entries carry the name, unit price and offer type; their offer details were
+ * already compiled into the offer table.
+ */
+public final class FruitCatalog {
+
+    private final long version;
+    private final Instant loadedAt;
+    private final SkuDictionary skus;
+    private final Fruit[] fruitsById;
+    private final MappedFruits mappedFruits;
+    private final OfferTable offers;
+    private final BundleTable bundles;
+    private final CatalogTimeline timeline;
+    private final long activeFrom;
+    private final long activeUntil;
+    private final Map<String, FruitCatalog> tiers;
+    // Set on tier views only
+    private final FruitCatalog base;
+    private final String tier;
+    // Set on tier views, and on the snapshots of a timeline
+    private final OverlayIndex overlay;
+    private final Fruit[] overlayFruits;
+    private final OfferTable overrides;
+
+    private FruitCatalog(long version,
+                         Instant loadedAt,
+                         SkuDictionary skus,
+                         Fruit[] fruitsById,
+                         MappedFruits mappedFruits,
+                         OfferTable offers,
+                         BundleTable bundles,
+                         CatalogTimeline timeline,
+                         int segment) {
+        this(version, loadedAt, skus, fruitsById, mappedFruits, offers, bundles, timeline, segment, null, null, null);
+    }
+
+    /**
+     * A snapshot whose entries in the slots of {@code overlay}, if any, are
+     * {@code overlayFruits} and charged by the rows of {@code overrides}, over the shared
+     * {@code offers}.
+     */
+    private FruitCatalog(long version,
+                         Instant loadedAt,
+                         SkuDictionary skus,
+                         Fruit[] fruitsById,
+                         MappedFruits mappedFruits,
+                         OfferTable offers,
+                         BundleTable bundles,
+                         CatalogTimeline timeline,
+                         int segment,
+                         OverlayIndex overlay,
+                         Fruit[] overlayFruits,
+                         OfferTable overrides) {
+        this.version = version;
+        this.loadedAt = loadedAt;
+        this.skus = skus;
+        this.fruitsById = fruitsById;
+        this.mappedFruits = mappedFruits;
+        this.offers = overlay == null || overlay.size() == 0 ? offers : OfferTable.overlay(offers, overlay, overrides);
+        this.bundles = bundles;
+        this.timeline = timeline;
+        this.activeFrom = timeline == null ? Long.MIN_VALUE : timeline.start(segment);
+        this.activeUntil = timeline == null ? Long.MAX_VALUE : timeline.end(segment);
+        this.tiers = new HashMap<>();
+        this.base = null;
+        this.tier = null;
+        this.overlay = overlay;
+        this.overlayFruits = overlayFruits;
+        this.overrides = overrides;
+    }
+
+    /**
+     * A tier view over {@code base}; {@code overlayFruits} and the rows of
+     * {@code overrides} are indexed by the slots of {@code overlay}.
+     */
+    private FruitCatalog(FruitCatalog base, String tier, OverlayIndex overlay, Fruit[] overlayFruits,
+                         OfferTable overrides) {
+        this.version = base.version;
+        this.loadedAt = base.loadedAt;
+        this.skus = base.skus;
+        this.fruitsById = null;
+        this.mappedFruits = null;
+        this.offers = OfferTable.overlay(base.offers, overlay, overrides);
+        this.bundles = base.bundles;
+        this.timeline = base.timeline;
+        this.activeFrom = base.activeFrom;
+        this.activeUntil = base.activeUntil;
+        this.tiers = base.tiers;
+        this.base = base;
+        this.tier = tier;
+        this.overlay = overlay;
+        this.overlayFruits = overlayFruits;
+        this.overrides = overrides;
+    }
+
+    public static FruitCatalog of(long version, Collection<Fruit> fruits) {
+        return of(version, fruits, Collections.emptyList());
+    }
+
+    public static FruitCatalog of(long version, Collection<Fruit> fruits, Collection<Bundle> bundles) {
+        return of(version, fruits, bundles, Collections.emptyMap());
+    }
+
+    /**
+     * Builds a snapshot with customer tiers: each tier's entries name a SKU of
+     * {@code fruits} and give the price, offers or both that members of the tier pay
+     * instead. A tier entry without a price keeps the SKU's price, and one without
+     * {@code type}, {@code offer} or {@code offers} keeps its offers.
+     */
+    public static FruitCatalog of(long version, Collection<Fruit> fruits, Collection<Bundle> bundles,
+                                  Map<String, ? extends Collection<Fruit>> tiers) {
+        SkuDictionary.Builder dictionary = SkuDictionary.builder(fruits.size());
+        Fruit[] byId = new Fruit[fruits.size()];
+
+        // A later entry for the same SKU replaces the earlier one
+        for (Fruit fruit : fruits) {
+            if (fruit == null || fruit.getName() == null || fruit.getName().isBlank()) {
+                continue;
+            }
+            if (fruit.getPrice() == null) {
+                throw new IllegalArgumentException("Price is required for " + fruit.getName());
+            }
+            byId[dictionary.add(fruit.getName())] = fruit;
+        }
+
+        SkuDictionary skus = dictionary.build();
+        Fruit[] entries = Arrays.copyOf(byId, skus.size());
+        BundleTable bundleTable = compileBundles(skus, bundles);
+        Instant loadedAt = Instant.now();
+        Window[][] windows = promotionWindows(entries);
+        long[] boundaries = boundaries(windows);
+        Map<String, Map<Integer, Fruit>> tierOverrides = tierOverrides(skus, tiers);
+        OfferTable offers = compile(entries);
+        if (boundaries.length == 0) {
+            FruitCatalog catalog = new FruitCatalog(version, loadedAt, skus, entries, null, offers, bundleTable, null, 0);
+            compileTiers(catalog, tierOverrides);
+            return catalog;
+        }
+
+        CatalogTimeline timeline = new CatalogTimeline(boundaries);
+        for (int segment = 0; segment < timeline.size(); segment++) {
+            Map<Integer, Fruit> promoted = promotedAt(windows, timeline.start(segment));
+            OverlayIndex index = OverlayIndex.of(promoted.keySet().stream().mapToInt(Integer::intValue).toArray());
+            OfferTable.Builder rows = OfferTable.builder(index.capacity());
+            Fruit[] promotedFruits = new Fruit[index.capacity()];
+            for (int slot = 0; slot < index.capacity(); slot++) {
+                int id = index.skuAt(slot);
+                if (id != OverlayIndex.NOT_FOUND) {
+                    promotedFruits[slot] = compileEntry(rows, slot, promoted.get(id));
+                }
+            }
+            timeline.set(segment, new FruitCatalog(version + segment, loadedAt, skus, entries, null, offers,
+                    bundleTable, timeline, segment, index, promotedFruits, rows.build()));
+            compileTiers(timeline.segment(segment), tierOverrides);
+        }
+        return timeline.segment(0);
+    }
+
+    /**
+     * Compiles the offer table of {@code byId}, replacing an entry whose reported offer
+     * type differs from the one it names.
+     */
+    private static OfferTable compile(Fruit[] byId) {
+        OfferTable.Builder offers = OfferTable.builder(byId.length);
+        for (int id = 0; id < byId.length; id++) {
+            byId[id] = compileEntry(offers, id, byId[id]);
+        }
+        return offers.build();
+    }
+
+    /**
+     * Compiles one entry into row {@code row} of {@code offers}, returning the entry as
+     * it is reported.
+     */
+    private static Fruit compileEntry(OfferTable.Builder offers, int row, Fruit fruit) {
+        long unitPriceMinor = Money.toMinor(fruit.getPrice());
+        if (fruit.getOffers() == null || fruit.getOffers().isEmpty()) {
+            offers.put(row, unitPriceMinor, compileOffer(fruit, unitPriceMinor));
+            return fruit;
+        }
+
+        List<OfferDetails> all = allOffers(fruit);
+        List<CompiledOffer> compiled = new ArrayList<>(all.size());
+        for (OfferDetails details : all) {
+            compiled.add(details.compile(unitPriceMinor));
+        }
+        try {
+            switch (compiled.size()) {
+                case 0 -> offers.put(row, unitPriceMinor, CompiledOffer.none(unitPriceMinor));
+                case 1 -> offers.put(row, unitPriceMinor, compiled.get(0));
+                default -> offers.put(row, unitPriceMinor, BestPriceTable.of(unitPriceMinor, compiled));
+            }
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(e.getMessage() + " for " + fruit.getName(), e);
+        }
+        OfferType reported = switch (all.size()) {
+            case 0 -> OfferType.NoOffer;
+            case 1 -> all.get(0).offerType();
+            default -> OfferType.BestPrice;
+        };
+        return reported == fruit.getOfferType() ? fruit
+                : new Fruit(fruit.getName(), fruit.getPrice(), reported, fruit.getOfferDetails(), fruit.getOffers());
+    }
+
+    /**
+     * Each tier's overriding entries by SKU id, under its normalized name. A later entry
+     * for the same SKU replaces the earlier one; an entry naming a SKU the catalog does
+     * not carry fails the load.
+     */
+    private static Map<String, Map<Integer, Fruit>> tierOverrides(SkuDictionary skus,
+                                                                 Map<String, ? extends Collection<Fruit>> tiers) {
+        Map<String, Map<Integer, Fruit>> byTier = new LinkedHashMap<>();
+        if (tiers == null) {
+            return byTier;
+        }
+        for (Map.Entry<String, ? extends Collection<Fruit>> tier : tiers.entrySet()) {
+            if (tier.getKey() == null || tier.getKey().isBlank()) {
+                throw new IllegalArgumentException("Tier name is required");
+            }
+            String name = tierName(tier.getKey());
+            if (byTier.containsKey(name)) {
+                throw new IllegalArgumentException("Tier " + name + " is listed twice");
+            }
+            Map<Integer, Fruit> overrides = new LinkedHashMap<>();
+            if (tier.getValue() != null) {
+                for (Fruit fruit : tier.getValue()) {
+                    if (fruit == null || fruit.getName() == null || fruit.getName().isBlank()) {
+                        continue;
+                    }
+                    int id = skus.idOf(fruit.getName());
+                    if (id == SkuDictionary.NOT_FOUND) {
+                        throw new IllegalArgumentException("Tier " + name + " names unknown SKU " + fruit.getName());
+                    }
+                    overrides.put(id, fruit);
+                }
+            }
+            byTier.put(name, overrides);
+        }
+        return byTier;
+    }
+
+    /**
+     * Builds {@code catalog}'s view for each tier, over the entries in effect in it.
+     */
+    private static void compileTiers(FruitCatalog catalog, Map<String, Map<Integer, Fruit>> tierOverrides) {
+        for (Map.Entry<String, Map<Integer, Fruit>> tier : tierOverrides.entrySet()) {
+            Map<Integer, Fruit> overridden = tier.getValue();
+            OverlayIndex index = OverlayIndex.of(overridden.keySet().stream().mapToInt(Integer::intValue).toArray());
+            OfferTable.Builder rows = OfferTable.builder(index.capacity());
+            Fruit[] fruits = new Fruit[index.capacity()];
+            for (int slot = 0; slot < index.capacity(); slot++) {
+                int id = index.skuAt(slot);
+                if (id != OverlayIndex.NOT_FOUND) {
+                    fruits[slot] = compileEntry(rows, slot, overridden(catalog.get(id), overridden.get(id)));
+                }
+            }
+            catalog.tiers.put(tier.getKey(), new FruitCatalog(catalog, tier.getKey(), index, fruits, rows.build()));
+        }
+    }
+
+    /**
+     * The entry as a tier sees it: the override's price if it has one, and its offers if
+     * it names any.
+     */
+    private static Fruit overridden(Fruit entry, Fruit override) {
+        Double price = override.getPrice() != null ? override.getPrice() : entry.getPrice();
+        if (override.getOfferType() == null && override.getOfferDetails() == null && override.getOffers() == null) {
+            return new Fruit(entry.getName(), price, entry.getOfferType(), entry.getOfferDetails(), entry.getOffers());
+        }
+        OfferType type = override.getOfferType() != null ? override.getOfferType()
+                : override.getOfferDetails() != null ? override.getOfferDetails().offerType() : OfferType.NoOffer;
+        return new Fruit(entry.getName(), price, type, override.getOfferDetails(), override.getOffers());
+    }
+
+    private static String tierName(String tier) {
+        return tier.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * A promotion's window in epoch milliseconds, and the entry as it stands during it.
+     */
+    private record Window(long start, long end, Fruit promoted) {
+    }
+
+    /**
+     * Each entry's promotion windows, in start order; {@code null} for an entry without
+     * promotions. Windows of one entry may not overlap.
+     */
+    private static Window[][] promotionWindows(Fruit[] entries) {
+        Window[][] windows = null;
+        for (int id = 0; id < entries.length; id++) {
+            List<Promotion> promotions = entries[id].getPromotions();
+            if (promotions == null || promotions.isEmpty()) {
+                continue;
+            }
+            String name = entries[id].getName();
+            List<Window> entryWindows = new ArrayList<>(promotions.size());
+            for (Promotion promotion : promotions) {
+                if (promotion == null) {
+                    continue;
+                }
+                if (promotion.getStart() == null && promotion.getEnd() == null) {
+                    throw new IllegalArgumentException("Promotion for " + name + " needs a start or an end");
+                }
+                long start = promotion.startMillis();
+                long end = promotion.endMillis();
+                if (start >= end) {
+                    throw new IllegalArgumentException("Promotion for " + name + " ends before it starts");
+                }
+                entryWindows.add(new Window(start, end, promotion.applyTo(entries[id])));
+            }
+            entryWindows.sort(Comparator.comparingLong(Window::start));
+            for (int i = 1; i < entryWindows.size(); i++) {
+                if (entryWindows.get(i).start() < entryWindows.get(i - 1).end()) {
+                    throw new IllegalArgumentException("Promotions for " + name + " overlap");
+                }
+            }
+            if (windows == null) {
+                windows = new Window[entries.length][];
+            }
+            windows[id] = entryWindows.toArray(new Window[0]);
+        }
+        return windows;
+    }
+
+    /**
+     * Every instant some promotion starts or ends, sorted and without repeats.
+     */
+    private static long[] boundaries(Window[][] windows) {
+        if (windows == null) {
+            return new long[0];
+        }
+        LongStream.Builder instants = LongStream.builder();
+        for (Window[] entryWindows : windows) {
+            if (entryWindows == null) {
+                continue;
+            }
+            for (Window window : entryWindows) {
+                if (window.start() != Long.MIN_VALUE) {
+                    instants.add(window.start());
+                }
+                if (window.end() != Long.MAX_VALUE) {
+                    instants.add(window.end());
+                }
+            }
+        }
+        return instants.build().sorted().distinct().toArray();
+    }
+
+    /**
+     * The promoted form of each entry that one of its windows covers at
+     * {@code epochMilli}, by SKU id.
+     */
+    private static Map<Integer, Fruit> promotedAt(Window[][] windows, long epochMilli) {
+        Map<Integer, Fruit> promoted = new LinkedHashMap<>();
+        for (int id = 0; id < windows.length; id++) {
+            if (windows[id] == null) {
+                continue;
+            }
+            for (Window window : windows[id]) {
+                if (window.start() <= epochMilli && epochMilli < window.end()) {
+                    promoted.put(id, window.promoted());
+                    break;
+                }
+            }
+        }
+        return promoted;
+    }
+
+    /**
+     * Resolves each bundle's SKU names to ids; a bundle naming a SKU the catalog does not
+     * carry fails the load.
+     */
+    private static BundleTable compileBundles(SkuDictionary skus, Collection<Bundle> bundles) {
+        if (bundles == null || bundles.isEmpty()) {
+            return BundleTable.empty();
+        }
+        BundleTable.Builder table = BundleTable.builder();
+        for (Bundle bundle : bundles) {
+            if (bundle == null) {
+                continue;
+            }
+            String name = bundle.getName();
+            if (bundle.getPrice() == null) {
+                throw new IllegalArgumentException("Price is required for bundle " + name);
+            }
+            long priceMinor = Money.toMinor(bundle.getPrice());
+            boolean fixed = bundle.getItems() != null && !bundle.getItems().isEmpty();
+            boolean anyOf = bundle.getAnyOf() != null && !bundle.getAnyOf().isEmpty();
+            if (fixed == anyOf) {
+                throw new IllegalArgumentException("Bundle " + name + " needs either items or anyOf");
+            }
+            if (fixed) {
+                int[] ids = new int[bundle.getItems().size()];
+                int[] units = new int[ids.length];
+                int member = 0;
+                for (Map.Entry<String, Integer> item : bundle.getItems().entrySet()) {
+                    ids[member] = bundleMember(skus, name, item.getKey());
+                    units[member++] = item.getValue() == null ? 0 : item.getValue();
+                }
+                table.addFixed(name, priceMinor, ids, units);
+            } else {
+                if (bundle.getQuantity() == null) {
+                    throw new IllegalArgumentException("Bundle " + name + " needs a quantity for anyOf");
+                }
+                int[] ids = bundle.getAnyOf().stream().mapToInt(sku -> bundleMember(skus, name, sku)).distinct().toArray();
+                table.addAnyOf(name, priceMinor, bundle.getQuantity(), ids);
+            }
+        }
+        return table.build();
+    }
+
+    private static int bundleMember(SkuDictionary skus, String bundle, String name) {
+        int id = name == null ? SkuDictionary.NOT_FOUND : skus.idOf(name);
+        if (id == SkuDictionary.NOT_FOUND) {
+            throw new IllegalArgumentException("Bundle " + bundle + " names unknown SKU " + name);
+        }
+        return id;
+    }
+
+    /**
+     * Reads a snapshot written by {@link #write} from the image's current position, in
+     * place: nothing is copied out of the image, whatever the number of SKUs. An image
+     * with a timeline returns its first snapshot, linked to the others. Timeline and tier
+     * overlays are small and their entries are built as they are read.
+     */
+    public static FruitCatalog read(long version, ByteBuffer image) {
+        int size = image.getInt();
+        int segments = image.getInt();
+        if (segments < 1) {
+            throw new IllegalArgumentException("Catalog image has " + segments + " snapshots");
+        }
+        ByteBuffer offerTypes = CatalogFile.section(image, size);
+        SkuDictionary skus = SkuDictionary.read(image);
+        OfferTable offers = OfferTable.read(image, size);
+        if (skus.size() != size) {
+            throw new IllegalArgumentException("Catalog image has " + skus.size() + " names for " + size + " SKUs");
+        }
+        BundleTable bundles = BundleTable.read(image, size);
+        Instant loadedAt = Instant.now();
+        if (segments == 1) {
+            FruitCatalog catalog = new FruitCatalog(version, loadedAt, skus, null,
+                    new MappedFruits(skus, offers, offerTypes), offers, bundles, null, 0);
+            readTiers(image, new FruitCatalog[]{catalog});
+            return catalog;
+        }
+
+        long[] boundaries = new long[segments - 1];
+        CatalogFile.section(image, (long) boundaries.length * Long.BYTES).asLongBuffer().get(boundaries);
+        for (int i = 1; i < boundaries.length; i++) {
+            if (boundaries[i] <= boundaries[i - 1]) {
+                throw new IllegalArgumentException("Catalog image has unordered timeline boundaries");
+            }
+        }
+        CatalogTimeline timeline = new CatalogTimeline(boundaries);
+        MappedFruits entries = new MappedFruits(skus, offers, offerTypes);
+        for (int segment = 0; segment < segments; segment++) {
+            OverlayIndex index = OverlayIndex.read(image, size);
+            ByteBuffer promotedTypes = CatalogFile.section(image, index.capacity());
+            OfferTable rows = OfferTable.read(image, index.capacity());
+            timeline.set(segment, new FruitCatalog(version + segment, loadedAt, skus, null, entries, offers, bundles,
+                    timeline, segment, index, overlayFruits(skus, index, promotedTypes, rows), rows));
+        }
+        FruitCatalog[] snapshots = new FruitCatalog[segments];
+        for (int segment = 0; segment < segments; segment++) {
+            snapshots[segment] = timeline.segment(segment);
+        }
+        readTiers(image, snapshots);
+        return timeline.segment(0);
+    }
+
+    /**
+     * Reads the tiers {@link #write} appends and adds each one's views to {@code snapshots}.
+     */
+    private static void readTiers(ByteBuffer image, FruitCatalog[] snapshots) {
+        int count = CatalogFile.section(image, Integer.BYTES).getInt(0);
+        SkuDictionary skus = snapshots[0].skus;
+        for (int t = 0; t < count; t++) {
+            byte[] encoded = new byte[CatalogFile.section(image, Integer.BYTES).getInt(0)];
+            CatalogFile.section(image, encoded.length).get(encoded);
+            String name = new String(encoded, StandardCharsets.UTF_8);
+            OverlayIndex index = OverlayIndex.read(image, skus.size());
+            for (FruitCatalog snapshot : snapshots) {
+                ByteBuffer offerTypes = CatalogFile.section(image, index.capacity());
+                OfferTable rows = OfferTable.read(image, index.capacity());
+                snapshot.tiers.put(name, new FruitCatalog(snapshot, name, index,
+                        overlayFruits(skus, index, offerTypes, rows), rows));
+            }
+        }
+    }
+
+    /**
+     * The entries of an overlay read from an image, by slot.
+     */
+    private static Fruit[] overlayFruits(SkuDictionary skus, OverlayIndex index, ByteBuffer offerTypes,
+                                         OfferTable rows) {
+        Fruit[] fruits = new Fruit[index.capacity()];
+        for (int slot = 0; slot < fruits.length; slot++) {
+            int id = index.skuAt(slot);
+            if (id != OverlayIndex.NOT_FOUND) {
+                fruits[slot] = new Fruit(skus.name(id), Money.toMajor(rows.unitPriceMinor(slot)),
+                        MappedFruits.OFFER_TYPES[offerTypes.get(slot)], null);
+            }
+        }
+        return fruits;
+    }
+
+    /**
+     * Bytes {@link #write} takes.
+     */
+    public long imageBytes() {
+        if (base != null) {
+            return base.imageBytes();
+        }
+        long bytes;
+        if (timeline == null) {
+            bytes = 2L * Integer.BYTES + CatalogFile.sectionBytes(size()) + skus.imageBytes() + offers.imageBytes()
+                    + bundles.imageBytes();
+        } else {
+            bytes = 2L * Integer.BYTES + CatalogFile.sectionBytes(size()) + skus.imageBytes()
+                    + offers.base().imageBytes() + bundles.imageBytes()
+                    + CatalogFile.sectionBytes((timeline.size() - 1L) * Long.BYTES);
+            for (int segment = 0; segment < timeline.size(); segment++) {
+                FruitCatalog snapshot = timeline.segment(segment);
+                bytes += snapshot.overlay.imageBytes() + CatalogFile.sectionBytes(snapshot.overlay.capacity())
+                        + snapshot.overrides.imageBytes();
+            }
+        }
+        bytes += CatalogFile.sectionBytes(Integer.BYTES);
+        for (String name : tiers.keySet()) {
+            OverlayIndex index = tiers.get(name).overlay;
+            bytes += CatalogFile.sectionBytes(Integer.BYTES)
+                    + CatalogFile.sectionBytes(name.getBytes(StandardCharsets.UTF_8).length) + index.imageBytes();
+            for (FruitCatalog snapshot : snapshots()) {
+                bytes += CatalogFile.sectionBytes(index.capacity()) + snapshot.tiers.get(name).overrides.imageBytes();
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Writes this snapshot as a {@link CatalogFile} image: the offer type of every SKU,
+     * then the dictionary, the offer table and the bundles. A snapshot with a timeline
+     * writes all of it, with the entries and offer table its snapshots share: the
+     * boundaries follow, then each snapshot's overlay index, offer types and promoted
+     * rows. The tiers come last, each as its name and overlay index followed by the offer
+     * types and overriding rows it has in every snapshot. A tier view writes the snapshot
+     * it is a view of.
+     */
+    public void write(ByteBuffer image) {
+        if (base != null) {
+            base.write(image);
+            return;
+        }
+        image.putInt(size()).putInt(timeline == null ? 1 : timeline.size());
+        ByteBuffer offerTypes = CatalogFile.section(image, size());
+        for (int id = 0; id < size(); id++) {
+            offerTypes.put(id, (byte) offerTypeOf(entry(id)).ordinal());
+        }
+        skus.write(image);
+        offers.base().write(image);
+        bundles.write(image);
+        if (timeline != null) {
+            CatalogFile.section(image, (timeline.size() - 1L) * Long.BYTES).asLongBuffer().put(timeline.boundaries());
+            for (int segment = 0; segment < timeline.size(); segment++) {
+                FruitCatalog snapshot = timeline.segment(segment);
+                snapshot.overlay.write(image);
+                snapshot.writeOverlay(image);
+            }
+        }
+        CatalogFile.section(image, Integer.BYTES).putInt(0, tiers.size());
+        for (String name : tiers.keySet()) {
+            byte[] encoded = name.getBytes(StandardCharsets.UTF_8);
+            CatalogFile.section(image, Integer.BYTES).putInt(0, encoded.length);
+            CatalogFile.section(image, encoded.length).put(encoded);
+            tiers.get(name).overlay.write(image);
+            for (FruitCatalog snapshot : snapshots()) {
+                FruitCatalog view = snapshot.tiers.get(name);
+                view.writeOverlay(image);
+            }
+        }
+    }
+
+    /**
+     * Writes the offer types and rows of this snapshot's overlay, slot by slot.
+     */
+    private void writeOverlay(ByteBuffer image) {
+        ByteBuffer offerTypes = CatalogFile.section(image, overlay.capacity());
+        for (int slot = 0; slot < overlayFruits.length; slot++) {
+            if (overlayFruits[slot] != null) {
+                offerTypes.put(slot, (byte) offerTypeOf(overlayFruits[slot]).ordinal());
+            }
+        }
+        overrides.write(image);
+    }
+
+    /**
+     * Every snapshot of this load, in timeline order; for a tier view, the snapshots it
+     * is a view of.
+     */
+    public List<FruitCatalog> snapshots() {
+        if (base != null) {
+            return base.snapshots();
+        }
+        if (timeline == null) {
+            return List.of(this);
+        }
+        List<FruitCatalog> snapshots = new ArrayList<>(timeline.size());
+        for (int segment = 0; segment < timeline.size(); segment++) {
+            snapshots.add(timeline.segment(segment));
+        }
+        return snapshots;
+    }
+
+    private static OfferType offerTypeOf(Fruit fruit) {
+        return fruit.getOfferType() == null ? OfferType.NoOffer : fruit.getOfferType();
+    }
+
+    /**
+     * Compiles the fruit's offer details, falling back to the standard parameters of its
+     * offer type when the catalog entry names a type without details.
+     */
+    private static CompiledOffer compileOffer(Fruit fruit, long unitPriceMinor) {
+        OfferDetails details = offerDetailsOf(fruit);
+        return details == null ? CompiledOffer.none(unitPriceMinor) : details.compile(unitPriceMinor);
+    }
+
+    private static OfferDetails offerDetailsOf(Fruit fruit) {
+        OfferDetails details = fruit.getOfferDetails();
+        if (details != null) {
+            return details;
+        }
+        return switch (offerTypeOf(fruit)) {
+            case BOGO -> new BOGO();
+            case ThreeForTwo -> new ThreeForTwo();
+            case MultiPrice -> throw new IllegalArgumentException(
+                    "MultiPrice offer needs details for " + fruit.getName());
+            case NoOffer, BestPrice -> null;
+        };
+    }
+
+    /**
+     * The entry's {@code type}/{@code offer}, if any, followed by each of its {@code offers}.
+     */
+    private static List<OfferDetails> allOffers(Fruit fruit) {
+        List<OfferDetails> all = new ArrayList<>();
+        OfferDetails details = offerDetailsOf(fruit);
+        if (details != null) {
+            all.add(details);
+        }
+        for (OfferDetails offer : fruit.getOffers()) {
+            if (offer != null) {
+                all.add(offer);
+            }
+        }
+        return all;
+    }
+
+    public static FruitCatalog empty() {
+        return of(0L, Collections.emptyList());
+    }
+
+    /**
+     * Id of the named SKU in this snapshot, or {@link SkuDictionary#NOT_FOUND}.
+     */
+    public int idOf(String name) {
+        return skus.idOf(name);
+    }
+
+    public int idOf(CharSequence text, int offset, int length) {
+        return skus.idOf(text, offset, length);
+    }
+
+    public Fruit get(int id) {
+        if (overlay != null) {
+            int slot = overlay.slotOf(id);
+            if (slot != OverlayIndex.NOT_FOUND) {
+                return overlayFruits[slot];
+            }
+        }
+        return base != null ? base.get(id) : entry(id);
+    }
+
+    /**
+     * The entry as the load has it, before any promotion.
+     */
+    private Fruit entry(int id) {
+        return fruitsById != null ? fruitsById[id] : mappedFruits.get(id);
+    }
+
+    public Fruit get(String name) {
+        int id = skus.idOf(name);
+        return id == SkuDictionary.NOT_FOUND ? null : get(id);
+    }
+
+    public long unitPriceMinor(int id) {
+        return offers.unitPriceMinor(id);
+    }
+
+    public OfferTable offers() {
+        return offers;
+    }
+
+    public BundleTable bundles() {
+        return bundles;
+    }
+
+    public SkuDictionary skus() {
+        return skus;
+    }
+
+    public int size() {
+        return skus.size();
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public Instant getLoadedAt() {
+        return loadedAt;
+    }
+
+    /**
+     * Whether this snapshot is the one in effect at {@code epochMilli}.
+     */
+    public boolean isActiveAt(long epochMilli) {
+        return epochMilli >= activeFrom && epochMilli < activeUntil;
+    }
+
+    /**
+     * The snapshot of this load in effect at {@code epochMilli}: this one, or the one the
+     * timeline has for that instant.
+     */
+    public FruitCatalog activeAt(long epochMilli) {
+        return timeline == null || isActiveAt(epochMilli) ? this : timeline.at(epochMilli).forTier(tier);
+    }
+
+    /**
+     * The snapshot of this load numbered {@code version}, seen by this one's tier, or
+     * {@code null} if the load has no such version.
+     */
+    public FruitCatalog forVersion(long version) {
+        FruitCatalog first = timeline != null ? timeline.segment(0) : base != null ? base : this;
+        long offset = version - first.version;
+        if (offset < 0 || offset >= (timeline == null ? 1 : timeline.size())) {
+            return null;
+        }
+        return (timeline == null ? first : timeline.segment((int) offset)).forTier(tier);
+    }
+
+    /**
+     * This snapshot as members of {@code tier} see it; the snapshot itself for a
+     * {@code null} or blank tier. Tier names are matched ignoring case.
+     *
+     * @throws UnknownTierException if the catalog has no such tier
+     */
+    public FruitCatalog forTier(String tier) {
+        if (tier == null || tier.isBlank()) {
+            return base != null ? base : this;
+        }
+        FruitCatalog view = tiers.get(tierName(tier));
+        if (view == null) {
+            throw new UnknownTierException(tier);
+        }
+        return view;
+    }
+
+    /**
+     * The tier this view prices for, or {@code null} for the snapshot itself.
+     */
+    public String getTier() {
+        return tier;
+    }
+
+    /**
+     * Names of the tiers this snapshot has views for, sorted.
+     */
+    public Set<String> tierNames() {
+        return Collections.unmodifiableSet(new TreeSet<>(tiers.keySet()));
+    }
+
+    /**
+     * When the next snapshot of the timeline takes over, or {@code null} if none does.
+     */
+    public Instant getActiveUntil() {
+        return activeUntil == Long.MAX_VALUE ? null : Instant.ofEpochMilli(activeUntil);
+    }
+
+    /**
+     * The highest version among this load's snapshots.
+     */
+    public long lastVersion() {
+        return timeline == null ? version : timeline.segment(timeline.size() - 1).version;
+    }
+
+    /**
+     * Catalog entries of a mapped snapshot, built on first use and kept in pages that are
+     * allocated as they are touched, so mapping a large catalog allocates almost nothing.
+     */
+    private static final class MappedFruits {
+
+        private static final int PAGE_BITS = 10;
+        private static final int PAGE_MASK = (1 << PAGE_BITS) - 1;
+        static final OfferType[] OFFER_TYPES = OfferType.values();
+
+        private final SkuDictionary skus;
+        private final OfferTable offers;
+        private final ByteBuffer offerTypes;
+        private final AtomicReferenceArray<AtomicReferenceArray<Fruit>> pages;
+
+        MappedFruits(SkuDictionary skus, OfferTable offers, ByteBuffer offerTypes) {
+            this.skus = skus;
+            this.offers = offers;
+            this.offerTypes = offerTypes;
+            this.pages = new AtomicReferenceArray<>((skus.size() + PAGE_MASK) >>> PAGE_BITS);
+        }
+
+        Fruit get(int id) {
+            Objects.checkIndex(id, skus.size());
+            int index = id >>> PAGE_BITS;
+            AtomicReferenceArray<Fruit> page = pages.get(index);
+            if (page == null) {
+                pages.compareAndSet(index, null, new AtomicReferenceArray<>(1 << PAGE_BITS));
+                page = pages.get(index);
+            }
+            Fruit fruit = page.get(id & PAGE_MASK);
+            if (fruit == null) {
+                // Two threads may both build an entry; they are equal, and either may win
+                fruit = new Fruit(skus.name(id), Money.toMajor(offers.unitPriceMinor(id)),
+                        OFFER_TYPES[offerTypes.get(id)], null);
+                page.set(id & PAGE_MASK, fruit);
+            }
+            return fruit;
+        }
+    }
+}
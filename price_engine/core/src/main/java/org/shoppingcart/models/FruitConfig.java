@@ -5,6 +5,7 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Data;
 
 import java.util.List;
+import java.util.Map;
 
 @Data
 @JsonIgnoreProperties(ignoreUnknown = true)
@@ -13,4 +14,10 @@ public class FruitConfig {
     @JsonProperty("fruits")
     private List<Fruit> fruits;
 
+    @JsonProperty("bundles")
+    private List<Bundle> bundles;
+
+    @JsonProperty("tiers")
+    private Map<String, List<Fruit>> tiers;
+
 }
\ No newline at end of file
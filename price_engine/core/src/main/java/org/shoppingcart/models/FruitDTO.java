@@ -5,7 +5,6 @@ import jakarta.validation.constraints.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import org.shoppingcart.utils.FruitType;
 import org.shoppingcart.utils.OfferType;
 
 @Data
@@ -15,7 +14,7 @@ public class FruitDTO {
 
     @NotNull(message = "Fruit type is required")
     @JsonProperty("name")
-    private FruitType fruit;
+    private String fruit;
 
     @NotNull(message = "Quantity is required")
     @Positive(message = "Quantity must be greater than zero")
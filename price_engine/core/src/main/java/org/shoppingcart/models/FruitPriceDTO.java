@@ -0,0 +1,101 @@
+package org.shoppingcart.models;
+
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+import org.shoppingcart.utils.Money;
+import org.shoppingcart.utils.MoneySerializer;
+import org.shoppingcart.utils.OfferType;
+
+import java.math.RoundingMode;
+
+/**
+ * One priced line of a bill. Amounts are held in minor units and written to JSON
+ * by {@link MoneySerializer}; the {@code Double} accessors are a convenience view.
+ * When some of the line's units went into bundles, {@code bundled} counts them and
+ * {@code charged} and {@code avgPrice} cover the rest.
+ */
+@Data
+@JsonPropertyOrder({"fruit", "offer", "unitPrice", "quantity", "bundled", "charged", "avgPrice"})
+public class FruitPriceDTO {
+
+    private String fruit;
+    private OfferType offer;
+    @JsonProperty("unitPrice")
+    @JsonSerialize(using = MoneySerializer.class)
+    private long unitPriceMinor;
+    private Integer quantity;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer bundled;
+    @JsonProperty("charged")
+    @JsonSerialize(using = MoneySerializer.class)
+    private long chargedMinor;
+    @JsonProperty("avgPrice")
+    @JsonSerialize(using = MoneySerializer.class)
+    private long avgPriceMinor;
+
+    /**
+     * A priced line; the average unit price is derived from the charge, rounded half up.
+     */
+    public static FruitPriceDTO of(Fruit fruit, long unitPriceMinor, int quantity, long chargedMinor) {
+        FruitPriceDTO line = new FruitPriceDTO();
+        line.setFruit(fruit.getName());
+        line.setQuantity(quantity);
+        line.setUnitPriceMinor(unitPriceMinor);
+        line.setOffer(fruit.getOfferType());
+        line.setChargedMinor(chargedMinor);
+        line.setAvgPriceMinor(quantity == 0 ? 0L : Money.divide(chargedMinor, quantity, RoundingMode.HALF_UP));
+        return line;
+    }
+
+    /**
+     * A line of which {@code bundled} units were priced in bundles and the rest charged
+     * {@code chargedMinor}.
+     */
+    public static FruitPriceDTO of(Fruit fruit, long unitPriceMinor, int quantity, int bundled, long chargedMinor) {
+        if (bundled == 0) {
+            return of(fruit, unitPriceMinor, quantity, chargedMinor);
+        }
+        FruitPriceDTO line = of(fruit, unitPriceMinor, quantity - bundled, chargedMinor);
+        line.setQuantity(quantity);
+        line.setBundled(bundled);
+        return line;
+    }
+
+    @JsonIgnore
+    public Double getUnitPrice() {
+        return Money.toMajor(unitPriceMinor);
+    }
+
+    @JsonIgnore
+    public void setUnitPrice(Double unitPrice) {
+        this.unitPriceMinor = unitPrice == null ? 0L : Money.toMinor(unitPrice);
+    }
+
+    @JsonIgnore
+    public Double getCharged() {
+        return Money.toMajor(chargedMinor);
+    }
+
+    @JsonIgnore
+    public void setCharged(Double charged) {
+        this.chargedMinor = charged == null ? 0L : Money.toMinor(charged);
+    }
+
+    @JsonIgnore
+    public Double getAvgPrice() {
+        return Money.toMajor(avgPriceMinor);
+    }
+
+    @JsonIgnore
+    public void setAvgPrice(Double avgPrice) {
+        this.avgPriceMinor = avgPrice == null ? 0L : Money.toMinor(avgPrice);
+    }
+}
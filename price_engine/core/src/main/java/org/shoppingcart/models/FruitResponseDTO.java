@@ -0,0 +1,68 @@
+package org.shoppingcart.models;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.shoppingcart.utils.Money;
+import org.shoppingcart.utils.MoneySerializer;
+
+import java.util.List;
+
+/**
+ * A computed bill. The total is held in minor units and written by {@link MoneySerializer}.
+ * {@code bundles} lists the catalog bundles the cart was priced with, and is left out of
+ * the JSON when there are none. {@code catalogVersion} and {@code tier} record the prices
+ * that produced the bill, so it can be priced again against the same version later.
+ */
+@Data
+@NoArgsConstructor
+@JsonPropertyOrder({"fruits", "bundles", "catalogVersion", "tier", "totalQuantity", "totalPrice"})
+public class FruitResponseDTO {
+
+    List<FruitPriceDTO> fruits;
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    List<BundlePriceDTO> bundles;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    Long catalogVersion;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    String tier;
+    Integer totalQuantity;
+    @JsonProperty("totalPrice")
+    @JsonSerialize(using = MoneySerializer.class)
+    long totalPriceMinor;
+
+    public FruitResponseDTO(List<FruitPriceDTO> fruits, Integer totalQuantity, Double totalPrice) {
+        this.fruits = fruits;
+        this.totalQuantity = totalQuantity;
+        setTotalPrice(totalPrice);
+    }
+
+    public static FruitResponseDTO ofMinor(List<FruitPriceDTO> fruits, int totalQuantity, long totalPriceMinor) {
+        FruitResponseDTO response = new FruitResponseDTO();
+        response.setFruits(fruits);
+        response.setTotalQuantity(totalQuantity);
+        response.setTotalPriceMinor(totalPriceMinor);
+        return response;
+    }
+
+    public static FruitResponseDTO ofMinor(List<FruitPriceDTO> fruits, List<BundlePriceDTO> bundles,
+                                           int totalQuantity, long totalPriceMinor) {
+        FruitResponseDTO response = ofMinor(fruits, totalQuantity, totalPriceMinor);
+        response.setBundles(bundles);
+        return response;
+    }
+
+    @JsonIgnore
+    public Double getTotalPrice() {
+        return Money.toMajor(totalPriceMinor);
+    }
+
+    @JsonIgnore
+    public void setTotalPrice(Double totalPrice) {
+        this.totalPriceMinor = totalPrice == null ? 0L : Money.toMinor(totalPrice);
+    }
+}
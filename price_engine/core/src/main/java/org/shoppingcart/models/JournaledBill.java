@@ -0,0 +1,20 @@
+package org.shoppingcart.models;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A bill read back from the bill journal, with the time it was recorded in epoch
+ * milliseconds.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonPropertyOrder({"recordedAt", "bill"})
+public class JournaledBill {
+
+    private long recordedAt;
+    private FruitResponseDTO bill;
+}
@@ -0,0 +1,44 @@
+package org.shoppingcart.models;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.*;
+import org.shoppingcart.components.CompiledOffer;
+import org.shoppingcart.utils.Money;
+import org.shoppingcart.utils.OfferType;
+
+/**
+ * "N for X": every {@code quantity} units cost {@code price} together.
+ */
+@Data
+@EqualsAndHashCode(callSuper = false)
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class MultiPrice extends OfferDetails {
+    @JsonProperty("quantity")
+    private Integer quantity;
+    @JsonProperty("price")
+    private Double price;
+
+    @Override
+    public CompiledOffer compile(long unitPriceMinor) {
+        if (quantity == null || price == null) {
+            throw new IllegalArgumentException("MultiPrice offer needs quantity and price");
+        }
+        return new CompiledOffer(quantity, Money.toMinor(price));
+    }
+
+    @Override
+    public OfferType offerType() {
+        return OfferType.MultiPrice;
+    }
+
+    public String toString() {
+        return String.format(
+                "{\"quantity\": %s, \"price\": %s}",
+                quantity,
+                price
+        );
+    }
+}
@@ -0,0 +1,36 @@
+package org.shoppingcart.models;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import org.shoppingcart.components.CompiledOffer;
+import org.shoppingcart.utils.OfferType;
+
+@JsonTypeInfo(
+        use = JsonTypeInfo.Id.NAME,
+        include = JsonTypeInfo.As.PROPERTY,
+        property = "type"
+)
+@JsonSubTypes({
+        @JsonSubTypes.Type(value = BOGO.class, name = "BOGO"),
+        @JsonSubTypes.Type(value = ThreeForTwo.class, name = "ThreeForTwo"),
+        @JsonSubTypes.Type(value = MultiPrice.class, name = "MultiPrice")
+})
+@JsonIgnoreProperties(ignoreUnknown = true)
+public abstract class OfferDetails {
+
+    /**
+     * Reduces this offer's parameters to a group size and group price for the given unit price.
+     * Called once per catalog load, never while billing.
+     */
+    public abstract CompiledOffer compile(long unitPriceMinor);
+
+    /**
+     * The offer type this kind of offer is reported as on a bill.
+     */
+    public abstract OfferType offerType();
+
+    static int valueOrDefault(Integer value, int defaultValue) {
+        return value == null ? defaultValue : value;
+    }
+}
@@ -0,0 +1,324 @@
+package org.shoppingcart.models;
+
+import org.shoppingcart.components.BundleSolver;
+import org.shoppingcart.components.BundleTable;
+import org.shoppingcart.components.OfferTable;
+import org.shoppingcart.utils.Money;
+import org.shoppingcart.utils.SkuDictionary;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A cart that stays priced while it changes.
+ * <p>
+ * Every line keeps its quantity and its charge, and the cart keeps running totals. A
+ * delta reprices only the line it touches and moves the totals by the difference, so an
+ * update costs the same for a cart of one line as for a cart of a thousand. Lines keep
+ * the order they were first added in; a line whose quantity reaches zero is dropped.
+ * <p>
+ * A delta to a SKU that is in a catalog bundle changes which units are cheaper in
+ * bundles, so {@link BundleSolver} solves the whole cart again, as a bill would; such an
+ * update costs time in proportion to the cart. The session is priced exactly as
+ * {@code FruitBillService} bills the same contents against the same snapshot, tier
+ * included.
+ * <p>
+ * Prices come from one catalog snapshot, which may be a tier view, until {@link #rebase}
+ * moves the session to a newer one. Not thread-safe: callers serialize access to a session.
+ */
+public final class PricingSession {
+
+    private final String id;
+    private FruitCatalog catalog;
+    private Map<Integer, Line> lines = new LinkedHashMap<>();
+    private List<BundlePriceDTO> bundles = List.of();
+    private int totalQuantity;
+    private long totalPriceMinor;
+
+    public PricingSession(String id, FruitCatalog catalog) {
+        if (catalog == null) {
+            throw new IllegalArgumentException("Catalog is required");
+        }
+        this.id = id;
+        this.catalog = catalog;
+    }
+
+    /**
+     * Adds {@code delta} units of {@code skuId} (removes them when negative) and returns
+     * the line as it now stands. Removing more units than the cart holds empties the line,
+     * which comes back with a quantity of zero.
+     */
+    public FruitPriceDTO apply(int skuId, int delta) {
+        return apply(new int[]{skuId}, new int[]{delta}).get(0);
+    }
+
+    /**
+     * Applies {@code deltas[i]} units of {@code skuIds[i]} in order and returns the lines
+     * as they now stand, one per SKU touched in the order first touched; when the bundles
+     * were solved again, lines whose bundled units changed follow them.
+     * <p>
+     * Every delta is checked and priced before any is applied, so one that is out of range
+     * or overflows leaves the session as it was.
+     */
+    public List<FruitPriceDTO> apply(int[] skuIds, int[] deltas) {
+        if (skuIds.length != deltas.length) {
+            throw new IllegalArgumentException("Every SKU id needs a delta");
+        }
+        Map<Integer, Integer> touched = new LinkedHashMap<>();
+        boolean rebundle = false;
+        for (int i = 0; i < skuIds.length; i++) {
+            int skuId = skuIds[i];
+            if (skuId < 0 || skuId >= catalog.size()) {
+                throw new IllegalArgumentException("Unknown SKU id: " + skuId);
+            }
+            Integer pending = touched.get(skuId);
+            int before = pending != null ? pending : quantityOf(skuId);
+            touched.put(skuId, Math.max(0, Math.addExact(before, deltas[i])));
+        }
+        for (Map.Entry<Integer, Integer> entry : touched.entrySet()) {
+            if (entry.getValue() != quantityOf(entry.getKey()) && catalog.bundles().indexOf(entry.getKey()) >= 0) {
+                rebundle = true;
+                break;
+            }
+        }
+        return rebundle ? applyRebundling(touched) : applyToLines(touched);
+    }
+
+    /**
+     * Reprices only the lines touched; none of them is in a bundle, so no other line moves.
+     */
+    private List<FruitPriceDTO> applyToLines(Map<Integer, Integer> touched) {
+        OfferTable offers = catalog.offers();
+        long[] charges = new long[touched.size()];
+        int quantity = totalQuantity;
+        long priceMinor = totalPriceMinor;
+        int i = 0;
+        for (Map.Entry<Integer, Integer> entry : touched.entrySet()) {
+            Line line = lines.get(entry.getKey());
+            int after = entry.getValue();
+            if (line != null && line.quantity == after) {
+                charges[i++] = line.chargedMinor;
+                continue;
+            }
+            charges[i] = offers.charge(entry.getKey(), after);
+            quantity = Math.addExact(quantity, after - (line == null ? 0 : line.quantity));
+            priceMinor = Money.add(priceMinor, charges[i] - (line == null ? 0L : line.chargedMinor));
+            i++;
+        }
+
+        List<FruitPriceDTO> changed = new ArrayList<>(touched.size());
+        i = 0;
+        for (Map.Entry<Integer, Integer> entry : touched.entrySet()) {
+            int skuId = entry.getKey();
+            int after = entry.getValue();
+            Line line = lines.get(skuId);
+            if (line != null && line.quantity == after) {
+                changed.add(priced(skuId, after, line.bundled, line.chargedMinor));
+                i++;
+                continue;
+            }
+            if (after == 0) {
+                lines.remove(skuId);
+            } else {
+                if (line == null) {
+                    line = new Line();
+                    lines.put(skuId, line);
+                }
+                line.quantity = after;
+                line.chargedMinor = charges[i];
+            }
+            changed.add(priced(skuId, after, 0, charges[i]));
+            i++;
+        }
+        totalQuantity = quantity;
+        totalPriceMinor = priceMinor;
+        return changed;
+    }
+
+    /**
+     * Prices the cart as it will stand after {@code touched} from scratch, bundles
+     * included, and only then replaces the session's lines.
+     */
+    private List<FruitPriceDTO> applyRebundling(Map<Integer, Integer> touched) {
+        int size = lines.size() + touched.size();
+        int[] skus = new int[size];
+        int[] quantities = new int[size];
+        int n = 0;
+        for (Map.Entry<Integer, Line> entry : lines.entrySet()) {
+            Integer after = touched.get(entry.getKey());
+            skus[n] = entry.getKey();
+            quantities[n++] = after != null ? after : entry.getValue().quantity;
+        }
+        for (Map.Entry<Integer, Integer> entry : touched.entrySet()) {
+            if (!lines.containsKey(entry.getKey())) {
+                skus[n] = entry.getKey();
+                quantities[n++] = entry.getValue();
+            }
+        }
+        Map<Integer, Line> before = lines;
+        reprice(skus, quantities, n);
+
+        List<FruitPriceDTO> changed = new ArrayList<>(touched.size());
+        for (int skuId : touched.keySet()) {
+            Line line = lines.get(skuId);
+            changed.add(line == null ? priced(skuId, 0, 0, 0L) : priced(skuId, line.quantity, line.bundled, line.chargedMinor));
+        }
+        for (Map.Entry<Integer, Line> entry : lines.entrySet()) {
+            Line was = before.get(entry.getKey());
+            Line line = entry.getValue();
+            if (!touched.containsKey(entry.getKey()) && was != null && was.bundled != line.bundled) {
+                changed.add(priced(entry.getKey(), line.quantity, line.bundled, line.chargedMinor));
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Moves the session onto a newer catalog snapshot, repricing every line by name. SKUs
+     * the new snapshot no longer carries are dropped and their names returned.
+     */
+    public List<String> rebase(FruitCatalog newer) {
+        List<String> dropped = new ArrayList<>(0);
+        int[] skus = new int[lines.size()];
+        int[] quantities = new int[lines.size()];
+        int n = 0;
+        for (Map.Entry<Integer, Line> entry : lines.entrySet()) {
+            String name = catalog.get(entry.getKey()).getName();
+            int skuId = newer.idOf(name);
+            if (skuId == SkuDictionary.NOT_FOUND) {
+                dropped.add(name);
+                continue;
+            }
+            skus[n] = skuId;
+            quantities[n++] = entry.getValue().quantity;
+        }
+        FruitCatalog older = catalog;
+        catalog = newer;
+        try {
+            reprice(skus, quantities, n);
+        } catch (RuntimeException e) {
+            catalog = older;
+            throw e;
+        }
+        return dropped;
+    }
+
+    /**
+     * Prices {@code n} lines against the session's catalog, solving bundles when any
+     * line is in one, and replaces the lines and totals once everything is priced.
+     */
+    private void reprice(int[] skus, int[] quantities, int n) {
+        OfferTable offers = catalog.offers();
+        BundleTable bundleTable = catalog.bundles();
+        BundleSolver.Solution bundling = touchesBundles(bundleTable, skus, n)
+                ? BundleSolver.solve(offers, bundleTable, skus, quantities, n)
+                : null;
+
+        Map<Integer, Line> repriced = new LinkedHashMap<>();
+        int quantity = 0;
+        long priceMinor = 0L;
+        for (int i = 0; i < n; i++) {
+            if (quantities[i] == 0) {
+                continue;
+            }
+            Line line = new Line();
+            line.quantity = quantities[i];
+            line.bundled = bundling == null ? 0 : bundling.bundledUnits()[i];
+            line.chargedMinor = offers.charge(skus[i], line.quantity - line.bundled);
+            repriced.put(skus[i], line);
+            quantity = Math.addExact(quantity, line.quantity);
+            priceMinor = Money.add(priceMinor, line.chargedMinor);
+        }
+        List<BundlePriceDTO> bundleLines = List.of();
+        if (bundling != null && !bundling.uses().isEmpty()) {
+            bundleLines = new ArrayList<>(bundling.uses().size());
+            for (BundleSolver.BundleUse use : bundling.uses()) {
+                BundlePriceDTO bundleLine = priceBundle(use, skus);
+                bundleLines.add(bundleLine);
+                priceMinor = Money.add(priceMinor, bundleLine.getChargedMinor());
+            }
+        }
+
+        lines = repriced;
+        bundles = bundleLines;
+        totalQuantity = quantity;
+        totalPriceMinor = priceMinor;
+    }
+
+    private static boolean touchesBundles(BundleTable bundles, int[] skus, int n) {
+        if (bundles.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < n; i++) {
+            if (bundles.indexOf(skus[i]) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private BundlePriceDTO priceBundle(BundleSolver.BundleUse use, int[] skus) {
+        Map<String, Integer> items = new LinkedHashMap<>();
+        for (int member = 0; member < use.lines().length; member++) {
+            if (use.lines()[member] >= 0 && use.units()[member] > 0) {
+                items.put(catalog.get(skus[use.lines()[member]]).getName(), use.units()[member]);
+            }
+        }
+        BundleTable table = catalog.bundles();
+        return BundlePriceDTO.of(table.name(use.bundle()), use.count(), table.priceMinor(use.bundle()), items);
+    }
+
+    /**
+     * Every line of the cart, priced. Nothing is recomputed; this only copies the lines out.
+     */
+    public List<FruitPriceDTO> lines() {
+        List<FruitPriceDTO> priced = new ArrayList<>(lines.size());
+        lines.forEach((skuId, line) -> priced.add(priced(skuId, line.quantity, line.bundled, line.chargedMinor)));
+        return priced;
+    }
+
+    /**
+     * The bundles the cart's units are priced in; empty when none applies.
+     */
+    public List<BundlePriceDTO> bundles() {
+        return bundles;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public FruitCatalog catalog() {
+        return catalog;
+    }
+
+    public int distinctCount() {
+        return lines.size();
+    }
+
+    public int totalQuantity() {
+        return totalQuantity;
+    }
+
+    public long totalPriceMinor() {
+        return totalPriceMinor;
+    }
+
+    private int quantityOf(int skuId) {
+        Line line = lines.get(skuId);
+        return line == null ? 0 : line.quantity;
+    }
+
+    private FruitPriceDTO priced(int skuId, int quantity, int bundled, long chargedMinor) {
+        OfferTable offers = catalog.offers();
+        return FruitPriceDTO.of(catalog.get(skuId), offers.unitPriceMinor(skuId), quantity, bundled, chargedMinor);
+    }
+
+    private static final class Line {
+        int quantity;
+        int bundled;
+        long chargedMinor;
+    }
+}
@@ -0,0 +1,42 @@
+package org.shoppingcart.models;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.shoppingcart.utils.MoneySerializer;
+
+import java.util.List;
+
+/**
+ * State of a pricing session. After an update {@code fruits} holds only the lines the
+ * update touched (a removed line with a quantity of zero); when the session is read it
+ * holds every line. {@code bundles} lists the bundles the cart is priced with, and
+ * {@code tier} the customer tier whose prices the session uses; each is left out when
+ * there is none. The totals always cover the whole cart.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonPropertyOrder({"sessionId", "fruits", "bundles", "tier", "totalQuantity", "totalPrice"})
+public class PricingSessionDTO {
+
+    private String sessionId;
+    private List<FruitPriceDTO> fruits;
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private List<BundlePriceDTO> bundles;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String tier;
+    private Integer totalQuantity;
+    @JsonProperty("totalPrice")
+    @JsonSerialize(using = MoneySerializer.class)
+    private long totalPriceMinor;
+
+    public static PricingSessionDTO of(PricingSession session, List<FruitPriceDTO> fruits) {
+        return new PricingSessionDTO(session.getId(), fruits, session.bundles(), session.catalog().getTier(),
+                session.totalQuantity(), session.totalPriceMinor());
+    }
+}
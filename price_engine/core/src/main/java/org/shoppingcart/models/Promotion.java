@@ -0,0 +1,73 @@
+package org.shoppingcart.models;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.shoppingcart.utils.OfferType;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * A price or offer that applies to a catalog entry from {@code start} until {@code end},
+ * ISO-8601 instants such as {@code 2024-11-29T00:00:00Z}. Either end may be left open.
+ * While it applies, {@code price} replaces the entry's price, and {@code type},
+ * {@code offer} and {@code offers}, when any of them is given, replace its offers.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class Promotion {
+    @JsonProperty("start")
+    private String start;
+    @JsonProperty("end")
+    private String end;
+    @JsonProperty("price")
+    private Double price;
+    @JsonProperty("type")
+    private OfferType offerType;
+    @JsonProperty("offer")
+    private OfferDetails offerDetails;
+    @JsonProperty("offers")
+    private List<OfferDetails> offers;
+
+    /**
+     * First millisecond the promotion applies, or {@link Long#MIN_VALUE} if it has no start.
+     */
+    public long startMillis() {
+        return start == null ? Long.MIN_VALUE : epochMillis(start);
+    }
+
+    /**
+     * First millisecond the promotion no longer applies, or {@link Long#MAX_VALUE} if it has no end.
+     */
+    public long endMillis() {
+        return end == null ? Long.MAX_VALUE : epochMillis(end);
+    }
+
+    /**
+     * The entry as it stands while this promotion applies.
+     */
+    public Fruit applyTo(Fruit fruit) {
+        Double promotedPrice = price != null ? price : fruit.getPrice();
+        if (offerType == null && offerDetails == null && offers == null) {
+            return new Fruit(fruit.getName(), promotedPrice, fruit.getOfferType(), fruit.getOfferDetails(),
+                    fruit.getOffers());
+        }
+        OfferType promotedType = offerType != null ? offerType
+                : offerDetails != null ? offerDetails.offerType() : OfferType.NoOffer;
+        return new Fruit(fruit.getName(), promotedPrice, promotedType, offerDetails, offers);
+    }
+
+    private static long epochMillis(String instant) {
+        try {
+            return Instant.parse(instant).toEpochMilli();
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Promotion time " + instant + " is not an ISO-8601 instant", e);
+        }
+    }
+}
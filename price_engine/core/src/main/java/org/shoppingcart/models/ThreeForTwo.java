@@ -0,0 +1,44 @@
+package org.shoppingcart.models;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.*;
+import org.shoppingcart.components.CompiledOffer;
+import org.shoppingcart.utils.OfferType;
+
+@Data
+@EqualsAndHashCode(callSuper = false)
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ThreeForTwo extends OfferDetails {
+    @JsonProperty("buy")
+    private Integer buy;
+    @JsonProperty("payFor")
+    private Integer payFor;
+
+    /**
+     * Buy {@code buy}, pay for {@code payFor}: groups of buy units cost payFor units.
+     */
+    @Override
+    public CompiledOffer compile(long unitPriceMinor) {
+        int groupSize = valueOrDefault(buy, 3);
+        int paid = valueOrDefault(payFor, 2);
+        if (paid > groupSize) {
+            throw new IllegalArgumentException("ThreeForTwo offer cannot pay for more than it buys");
+        }
+        return new CompiledOffer(groupSize, Math.multiplyExact(unitPriceMinor, paid));
+    }
+
+    @Override
+    public OfferType offerType() {
+        return OfferType.ThreeForTwo;
+    }
+
+    public String toString() {
+        return String.format(
+                "{\"buy\": \"%s\", \"free\": %s}",
+                buy,
+                payFor
+        );
+    }
+}
\ No newline at end of file
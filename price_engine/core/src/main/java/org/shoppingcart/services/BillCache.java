@@ -0,0 +1,89 @@
+package org.shoppingcart.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.shoppingcart.models.BillCacheKey;
+import org.shoppingcart.models.BillCacheStatsDTO;
+import org.shoppingcart.models.CartTally;
+import org.shoppingcart.models.FruitResponseDTO;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded in-process cache of priced bills, keyed by {@link BillCacheKey}.
+ * <p>
+ * Entries are evicted by size (W-TinyLFU) and by age since they were written. Keys carry
+ * the catalog version, so a bill priced against an older snapshot can never be served.
+ * The first lookup after the catalog service publishes a new snapshot, as counted by
+ * {@link FruitCatalogService#generation()}, also drops everything cached so far rather
+ * than letting it age out. Versions are not compared for this: a bill priced at a version
+ * scheduled for later must not hide the reload or schedule change that publishes it.
+ * Cached bills are shared and must not be modified by callers.
+ */
+public class BillCache {
+
+    private final Cache<BillCacheKey, FruitResponseDTO> cache;
+    private final long maximumSize;
+    private final AtomicLong catalogGeneration = new AtomicLong(Long.MIN_VALUE);
+
+    public BillCache(boolean enabled, long maximumSize, Duration expireAfterWrite) {
+        this.maximumSize = maximumSize;
+        this.cache = enabled
+                ? Caffeine.newBuilder()
+                        .maximumSize(maximumSize)
+                        .expireAfterWrite(expireAfterWrite)
+                        .recordStats()
+                        .build()
+                : null;
+    }
+
+    public static BillCache disabled() {
+        return new BillCache(false, 0L, Duration.ZERO);
+    }
+
+    /**
+     * Returns the cached bill for the tally's contents, pricing it with {@code pricer}
+     * on a miss. Concurrent misses for the same key price the cart once.
+     * {@code catalogGeneration} reads the catalog service's {@link FruitCatalogService#generation()}.
+     */
+    public FruitResponseDTO get(CartTally tally, LongSupplier catalogGeneration,
+                                Function<CartTally, FruitResponseDTO> pricer) {
+        if (cache == null) {
+            return pricer.apply(tally);
+        }
+        invalidateIfStale(catalogGeneration.getAsLong());
+        return cache.get(BillCacheKey.of(tally), k -> pricer.apply(tally));
+    }
+
+    public void invalidateAll() {
+        if (cache != null) {
+            cache.invalidateAll();
+        }
+    }
+
+    /**
+     * The underlying Caffeine cache, for binding its statistics to a metrics registry, or
+     * {@code null} when caching is disabled.
+     */
+    public Cache<?, ?> nativeCache() {
+        return cache;
+    }
+
+    public BillCacheStatsDTO stats() {
+        if (cache == null) {
+            return BillCacheStatsDTO.disabled();
+        }
+        return BillCacheStatsDTO.from(cache.stats(), cache.estimatedSize(), maximumSize);
+    }
+
+    private void invalidateIfStale(long generation) {
+        long seen = catalogGeneration.get();
+        // A caller that read the generation just before a publish is behind, not newer
+        if (generation > seen && catalogGeneration.compareAndSet(seen, generation) && seen != Long.MIN_VALUE) {
+            cache.invalidateAll();
+        }
+    }
+}
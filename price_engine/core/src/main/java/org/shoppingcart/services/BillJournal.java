@@ -0,0 +1,311 @@
+package org.shoppingcart.services;
+
+import org.shoppingcart.models.FruitResponseDTO;
+import org.shoppingcart.utils.BillJournalFile;
+
+import java.io.IOException;
+import java.lang.System.Logger.Level;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only record of every bill priced, written to memory-mapped segments in the
+ * {@link BillJournalFile} format.
+ * <p>
+ * {@link #append} encodes the bill on the calling thread and hands the record to a
+ * bounded ring: a slot is claimed with one compare-and-set, so request threads never
+ * lock, and never wait for the disk. A single writer thread drains the ring into the
+ * current segment, forces it to disk at most every {@code pricing.journal.flush-interval},
+ * and moves to a new segment once {@code pricing.journal.segment-size} is reached. The
+ * writer sleeps while the ring is empty and is woken when it is half full. When the ring
+ * is full, or the journal has failed, the record is dropped and counted rather than
+ * holding up the bill.
+ * <p>
+ * {@link #close} marks the ring closed in the same word a slot is claimed from, so every
+ * append either claimed its slot before close, and is written before the writer stops, or
+ * is dropped; a record left in the ring by a failed writer is counted as dropped too.
+ * <p>
+ * Each start opens a new segment after the ones already in the directory. A segment the
+ * writer has moved on from is forced to disk but stays mapped until the garbage collector
+ * reclaims its buffer, as Java offers no way to unmap one; its pages are clean and backed
+ * by the file, so they cost address space rather than memory. Records written, drops and
+ * the ring's backlog are counted for whatever hosts the journal to publish.
+ */
+public class BillJournal implements AutoCloseable {
+
+    private static final System.Logger log = System.getLogger(BillJournal.class.getName());
+
+    public static final long MIN_SEGMENT_BYTES = 4096;
+
+    // Set on tail by close; no slot is claimed after it
+    private static final long CLOSED = Long.MIN_VALUE;
+
+    private final Path directory;
+    private final long segmentBytes;
+    private final long flushNanos;
+    private final AtomicReferenceArray<ByteBuffer> slots;
+    private final int mask;
+    // Next sequence to claim, and next to write; tail - head is the backlog, less CLOSED
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+    private final CRC32C crc = new CRC32C();
+
+    private volatile Thread writer;
+    private volatile boolean closed;
+    private volatile boolean failed;
+
+    // Writer thread only
+    private long segmentIndex;
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+    private int position;
+    private boolean dirty;
+
+    /**
+     * A journal writing to {@code directory}, holding up to {@code capacity} records
+     * (rounded up to a power of two) between flushes. Nothing is written until
+     * {@link #start}.
+     */
+    public BillJournal(Path directory, int capacity, long segmentBytes, Duration flushInterval) {
+        if (capacity < 2) {
+            throw new IllegalArgumentException("Journal capacity must be at least 2");
+        }
+        if (segmentBytes < MIN_SEGMENT_BYTES || segmentBytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Journal segment size must be between "
+                    + MIN_SEGMENT_BYTES + " and " + Integer.MAX_VALUE + " bytes");
+        }
+        if (flushInterval.isNegative() || flushInterval.isZero()) {
+            throw new IllegalArgumentException("Journal flush interval must be positive");
+        }
+        int slotCount = Integer.highestOneBit(capacity - 1) << 1;
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.flushNanos = flushInterval.toNanos();
+        this.slots = new AtomicReferenceArray<>(slotCount);
+        this.mask = slotCount - 1;
+    }
+
+    private BillJournal() {
+        this.directory = null;
+        this.segmentBytes = 0L;
+        this.flushNanos = 0L;
+        this.slots = null;
+        this.mask = 0;
+    }
+
+    /**
+     * A journal that records nothing.
+     */
+    public static BillJournal disabled() {
+        return new BillJournal();
+    }
+
+    public boolean isEnabled() {
+        return slots != null;
+    }
+
+    /**
+     * Opens the first segment and starts the writer thread.
+     */
+    public synchronized void start() throws IOException {
+        if (!isEnabled() || writer != null) {
+            return;
+        }
+        Files.createDirectories(directory);
+        List<Path> existing = BillJournalFile.segments(directory);
+        segmentIndex = existing.isEmpty() ? 0L : BillJournalFile.segmentIndex(existing.get(existing.size() - 1));
+        openSegment();
+        Thread thread = new Thread(this::runWriter, "bill-journal-writer");
+        thread.setDaemon(true);
+        writer = thread;
+        thread.start();
+        log.log(Level.INFO, "Journaling bills to {0}", BillJournalFile.segmentPath(directory, segmentIndex));
+    }
+
+    /**
+     * Queues {@code bill} for the journal, returning {@code false} if it was dropped.
+     */
+    public boolean append(FruitResponseDTO bill) {
+        if (!isEnabled() || bill == null || closed || failed) {
+            return drop();
+        }
+        ByteBuffer record;
+        try {
+            record = BillJournalFile.encode(bill, System.currentTimeMillis());
+        } catch (IllegalArgumentException e) {
+            return drop();
+        }
+        if (BillJournalFile.recordBytes(record.remaining()) > segmentBytes - BillJournalFile.HEADER_BYTES) {
+            return drop();
+        }
+
+        long sequence;
+        do {
+            sequence = tail.get();
+            if (sequence < 0 || sequence - head.get() > mask) {
+                return drop();
+            }
+        } while (!tail.compareAndSet(sequence, sequence + 1));
+        slots.setRelease((int) (sequence & mask), record);
+        if (sequence - head.get() == (mask + 1) >> 1) {
+            LockSupport.unpark(writer);
+        }
+        return true;
+    }
+
+    private boolean drop() {
+        if (isEnabled()) {
+            dropped.increment();
+        }
+        return false;
+    }
+
+    private void runWriter() {
+        long lastForce = System.nanoTime();
+        try {
+            while (true) {
+                // Read before draining, so a record queued before close is still written
+                boolean stopping = closed;
+                int drained = drain();
+                if (stopping) {
+                    // Appends that claimed a slot before close may still be filling it
+                    long end = tail.get() & ~CLOSED;
+                    while (head.get() != end) {
+                        Thread.yield();
+                        drain();
+                    }
+                }
+                long now = System.nanoTime();
+                if (dirty && (stopping || now - lastForce >= flushNanos)) {
+                    segment.force();
+                    dirty = false;
+                    lastForce = now;
+                }
+                if (stopping) {
+                    break;
+                }
+                if (drained == 0) {
+                    LockSupport.parkNanos(this, flushNanos);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            failed = true;
+            log.log(Level.ERROR, "Bill journal failed; bills are no longer journaled", e);
+        } finally {
+            closeSegment();
+        }
+    }
+
+    private int drain() throws IOException {
+        int drained = 0;
+        long next = head.get();
+        while (true) {
+            int slot = (int) (next & mask);
+            ByteBuffer record = slots.getAcquire(slot);
+            if (record == null) {
+                // Empty, or claimed and not yet filled; picked up on the next pass
+                break;
+            }
+            write(record);
+            slots.setRelease(slot, null);
+            head.setRelease(++next);
+            drained++;
+        }
+        return drained;
+    }
+
+    private void write(ByteBuffer record) throws IOException {
+        int recordBytes = BillJournalFile.recordBytes(record.remaining());
+        if (position + recordBytes > segmentBytes) {
+            segment.force();
+            closeSegment();
+            openSegment();
+        }
+        BillJournalFile.writeRecord(segment, position, record, crc);
+        position += recordBytes;
+        dirty = true;
+        written.incrementAndGet();
+    }
+
+    private void openSegment() throws IOException {
+        segmentIndex++;
+        channel = FileChannel.open(BillJournalFile.segmentPath(directory, segmentIndex),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+        segment.order(BillJournalFile.ORDER);
+        BillJournalFile.writeHeader(segment, segmentIndex, System.currentTimeMillis());
+        position = BillJournalFile.HEADER_BYTES;
+        dirty = true;
+    }
+
+    private void closeSegment() {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            log.log(Level.WARNING, "Could not close bill journal segment", e);
+        }
+        channel = null;
+    }
+
+    /**
+     * Stops taking bills, writes and forces those already queued, and stops the writer.
+     * Bills the writer could not write, because it failed or never started, are counted
+     * as dropped.
+     */
+    @Override
+    public synchronized void close() {
+        if (closed || !isEnabled()) {
+            return;
+        }
+        tail.getAndAccumulate(CLOSED, (sequence, bit) -> sequence | bit);
+        closed = true;
+        Thread thread = writer;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        dropped.add(backlog());
+    }
+
+    /**
+     * Bills written to the journal so far.
+     */
+    public long written() {
+        return written.get();
+    }
+
+    /**
+     * Bills dropped because the ring was full, the record too large or the journal closed.
+     */
+    public long dropped() {
+        return dropped.sum();
+    }
+
+    /**
+     * Bills queued for the writer.
+     */
+    public long backlog() {
+        return (tail.get() & ~CLOSED) - head.get();
+    }
+}
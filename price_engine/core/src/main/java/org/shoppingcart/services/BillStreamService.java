@@ -0,0 +1,157 @@
+package org.shoppingcart.services;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.shoppingcart.models.CartTally;
+import org.shoppingcart.models.FruitResponseDTO;
+import org.shoppingcart.utils.UnknownFruitException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Prices a stream of newline-delimited JSON carts, one {@code ["apple", "lime", ...]}
+ * per line, writing one line per cart in input order: the {@link FruitResponseDTO} for a
+ * cart that could be priced, or {@code {"index": n, "error": "..."}} for one that
+ * could not, shaped like a failed {@link org.shoppingcart.models.BatchBillResultDTO}. Blank
+ * lines are skipped and do not count as carts.
+ * <p>
+ * Memory does not grow with the stream: input is read in fixed chunks into one reusable
+ * line buffer (capped at {@code pricing.stream.max-line-bytes}), and bills are written
+ * through a single generator as they are priced. Output is flushed whenever the next read
+ * could block, so an interactive client sees each bill as soon as its cart is in, while a
+ * bulk upload is answered in large writes.
+ */
+public class BillStreamService {
+
+    private static final int CHUNK_BYTES = 8192;
+
+    private final FruitBillService fruitBillService;
+    private final ObjectReader cartReader;
+    private final ObjectWriter lineWriter;
+    private final int maxLineBytes;
+
+    public BillStreamService(FruitBillService fruitBillService, ObjectMapper objectMapper, int maxLineBytes) {
+        this.fruitBillService = fruitBillService;
+        this.cartReader = objectMapper.readerFor(CartTally.class);
+        this.lineWriter = objectMapper.writer()
+                .withRootValueSeparator("")
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.maxLineBytes = maxLineBytes;
+    }
+
+    /**
+     * Prices every cart in {@code in} and writes the results to {@code out}. Neither
+     * stream is closed.
+     *
+     * @return the number of carts answered
+     */
+    public long stream(InputStream in, OutputStream out) throws IOException {
+        return stream(in, out, null);
+    }
+
+    /**
+     * Prices every cart in {@code in} at the prices of a customer tier, as
+     * {@link #stream(InputStream, OutputStream)} does at the base prices. An unknown tier
+     * fails the whole stream before anything is read.
+     *
+     * @throws org.shoppingcart.utils.UnknownTierException if the catalog has no such tier
+     */
+    public long stream(InputStream in, OutputStream out, String tier) throws IOException {
+        fruitBillService.requireTier(tier);
+        byte[] chunk = new byte[CHUNK_BYTES];
+        byte[] line = new byte[Math.min(CHUNK_BYTES, maxLineBytes)];
+        int lineLength = 0;
+        boolean overlong = false;
+        long carts = 0;
+
+        try (JsonGenerator generator = lineWriter.createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            int read;
+            while ((read = readChunk(in, chunk, generator)) != -1) {
+                for (int i = 0; i < read; i++) {
+                    byte b = chunk[i];
+                    if (b == '\n') {
+                        if (overlong) {
+                            writeError(generator, carts++, "Cart exceeds " + maxLineBytes + " bytes");
+                        } else if (!isBlank(line, lineLength)) {
+                            writeBill(generator, carts++, line, lineLength, tier);
+                        }
+                        lineLength = 0;
+                        overlong = false;
+                    } else if (!overlong) {
+                        if (lineLength == maxLineBytes) {
+                            // Drop the rest of the line; it is answered with an error at its newline
+                            overlong = true;
+                        } else {
+                            if (lineLength == line.length) {
+                                line = Arrays.copyOf(line, (int) Math.min((long) line.length * 2, maxLineBytes));
+                            }
+                            line[lineLength++] = b;
+                        }
+                    }
+                }
+            }
+
+            // The last cart need not end with a newline
+            if (overlong) {
+                writeError(generator, carts++, "Cart exceeds " + maxLineBytes + " bytes");
+            } else if (!isBlank(line, lineLength)) {
+                writeBill(generator, carts++, line, lineLength, tier);
+            }
+        }
+        return carts;
+    }
+
+    private static int readChunk(InputStream in, byte[] chunk, JsonGenerator generator) throws IOException {
+        if (in.available() == 0) {
+            // About to wait for the client: let it have every bill priced so far
+            generator.flush();
+        }
+        return in.read(chunk);
+    }
+
+    private void writeBill(JsonGenerator generator, long index, byte[] line, int length, String tier)
+            throws IOException {
+        FruitResponseDTO bill;
+        try {
+            CartTally tally = cartReader.readValue(line, 0, length);
+            if (tally.hasUnknownNames()) {
+                throw new UnknownFruitException(tally.getUnknownNames());
+            }
+            bill = fruitBillService.billFromTally(tally, tier);
+        } catch (JsonProcessingException e) {
+            writeError(generator, index, "Malformed cart");
+            return;
+        } catch (RuntimeException e) {
+            writeError(generator, index, e.getMessage());
+            return;
+        }
+        lineWriter.writeValue(generator, bill);
+        generator.writeRaw('\n');
+    }
+
+    private static void writeError(JsonGenerator generator, long index, String message) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("index", index);
+        generator.writeStringField("error", message);
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    private static boolean isBlank(byte[] line, int length) {
+        for (int i = 0; i < length; i++) {
+            byte b = line[i];
+            if (b != ' ' && b != '\t' && b != '\r') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,429 @@
+package org.shoppingcart.services;
+
+import org.shoppingcart.components.BundleSolver;
+import org.shoppingcart.components.BundleTable;
+import org.shoppingcart.components.ChargeColumns;
+import org.shoppingcart.components.ChargeKernels;
+import org.shoppingcart.components.OfferTable;
+import org.shoppingcart.models.*;
+import org.shoppingcart.utils.CatalogVersionNotFoundException;
+import org.shoppingcart.utils.Money;
+import org.shoppingcart.utils.PricingMetrics;
+import org.shoppingcart.utils.SkuDictionary;
+import org.shoppingcart.utils.UnknownFruitException;
+
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+public class FruitBillService {
+
+    // Carts priced one after another by one worker of a batch
+    private static final int BATCH_SLICE = 64;
+
+    private final FruitCatalogService catalogService;
+    private final ExecutorService batchExecutor;
+    private final BillCache billCache;
+    private final PricingMetrics metrics;
+    private final BillJournal billJournal;
+    // Read by the bill cache only when it is enabled
+    private final LongSupplier catalogGeneration;
+
+    public FruitBillService(FruitCatalogService catalogService,
+                            ExecutorService batchExecutor,
+                            BillCache billCache,
+                            PricingMetrics metrics) {
+        this(catalogService, batchExecutor, billCache, metrics, BillJournal.disabled());
+    }
+
+    /**
+     * A service that prices batches on {@code batchExecutor}: a {@link ForkJoinPool} splits
+     * each batch by halves among its workers, and any other executor, such as one virtual
+     * thread per task, gets one task per slice of {@value #BATCH_SLICE} carts.
+     */
+    public FruitBillService(FruitCatalogService catalogService,
+                            ExecutorService batchExecutor,
+                            BillCache billCache,
+                            PricingMetrics metrics,
+                            BillJournal billJournal) {
+        this.catalogService = catalogService;
+        this.batchExecutor = batchExecutor;
+        this.billCache = billCache;
+        this.metrics = metrics;
+        this.billJournal = billJournal;
+        this.catalogGeneration = catalogService::generation;
+    }
+
+    public FruitResponseDTO billCalculator(List<FruitDTO> fruitDTOList) {
+        // Validate input
+        if (fruitDTOList == null || fruitDTOList.isEmpty()) {
+            return createEmptyResponse();
+        }
+
+        // One snapshot per bill, so a concurrent reload cannot mix prices from two versions
+        FruitCatalog catalog = catalogService.current();
+        CartTally tally = new CartTally(catalog);
+        for (FruitDTO fruitDTO : fruitDTOList) {
+            int skuId = catalog.idOf(fruitDTO.getFruit());
+            // Lines for SKUs the catalog does not carry are left off the bill
+            if (skuId != SkuDictionary.NOT_FOUND) {
+                tally.add(skuId, fruitDTO.getQuantity());
+            }
+        }
+        return billFromTally(tally);
+    }
+
+    /**
+     * Bills a tally, serving the bill from {@link BillCache} when the same contents were
+     * priced against the same catalog version before. Every transport bills through here,
+     * so this is where bill time and cart size are recorded, and each bill is journaled.
+     */
+    public FruitResponseDTO billFromTally(CartTally tally) {
+        return bill(tally, this::priceTally);
+    }
+
+    /**
+     * Bills a tally at the prices of a customer tier; a {@code null} or blank tier bills
+     * at the base prices.
+     *
+     * @throws org.shoppingcart.utils.UnknownTierException if the catalog has no such tier
+     */
+    public FruitResponseDTO billFromTally(CartTally tally, String tier) {
+        if (tally == null) {
+            return createEmptyResponse();
+        }
+        return billFromTally(tally.withCatalog(tally.catalog().forTier(tier)));
+    }
+
+    /**
+     * Bills a tally against a retained catalog {@code version}, at the prices of
+     * {@code tier}, to check a bill priced earlier. The tally may come from another
+     * version; its lines are matched by name.
+     *
+     * @throws CatalogVersionNotFoundException if that version is not retained
+     * @throws UnknownFruitException if the cart names SKUs that version did not carry
+     * @throws org.shoppingcart.utils.UnknownTierException if that version has no such tier
+     */
+    public FruitResponseDTO billAtVersion(CartTally tally, long version, String tier) {
+        FruitCatalog catalog = catalogService.atVersion(version).forTier(tier);
+        if (tally == null) {
+            return createEmptyResponse();
+        }
+        CartTally repriced = tally.withCatalog(catalog);
+        if (repriced.hasUnknownNames()) {
+            throw new UnknownFruitException(repriced.getUnknownNames());
+        }
+        return billFromTally(repriced);
+    }
+
+    /**
+     * Checks that the current catalog has {@code tier}, so a request can be refused before
+     * any of it is priced. A {@code null} or blank tier always passes.
+     *
+     * @throws org.shoppingcart.utils.UnknownTierException if the catalog has no such tier
+     */
+    public void requireTier(String tier) {
+        catalogService.current().forTier(tier);
+    }
+
+    private FruitResponseDTO bill(CartTally tally, Function<CartTally, FruitResponseDTO> pricer) {
+        if (tally == null) {
+            return createEmptyResponse();
+        }
+        if (tally.isEmpty()) {
+            return tagged(createEmptyResponse(), tally.catalog());
+        }
+        long start = System.nanoTime();
+        // Tagged before it is cached; the cache key holds the same version and tier
+        FruitResponseDTO bill = billCache.get(tally, catalogGeneration, t -> tagged(pricer.apply(t), t.catalog()));
+        metrics.recordBill(tally, System.nanoTime() - start);
+        billJournal.append(bill);
+        return bill;
+    }
+
+    /**
+     * Prices a tally line by line against the catalog snapshot its SKU ids came from.
+     * Each line is priced by id; the only allocations are the response and its line items.
+     * When the cart touches catalog bundles, {@link BundleSolver} first takes the units
+     * that are cheaper in bundles off their lines.
+     */
+    private FruitResponseDTO priceTally(CartTally tally) {
+        List<FruitPriceDTO> fruitPriceDTOList = new ArrayList<>(tally.distinctCount());
+        FruitCatalog catalog = tally.catalog();
+        BundleSolver.Solution bundling = solveBundles(tally);
+        long cumulativeSumMinor = 0L;
+        int cumulativeQuantity = 0;
+
+        for (int line = 0, n = tally.distinctCount(); line < n; line++) {
+            int skuId = tally.skuAt(line);
+            int quantity = tally.quantityAt(line);
+            Fruit fruit = catalog.get(skuId);
+            FruitPriceDTO pricedFruit = bundling == null
+                    ? priceLine(fruit, catalog.offers(), skuId, quantity)
+                    : priceLine(fruit, catalog.offers(), skuId, quantity, bundling.bundledUnits()[line]);
+            metrics.recordLine(fruit.getOfferType());
+            fruitPriceDTOList.add(pricedFruit);
+            cumulativeSumMinor = Money.add(cumulativeSumMinor, pricedFruit.getChargedMinor());
+            cumulativeQuantity += quantity;
+        }
+
+        if (bundling == null) {
+            return FruitResponseDTO.ofMinor(fruitPriceDTOList, cumulativeQuantity, cumulativeSumMinor);
+        }
+        List<BundlePriceDTO> bundleLines = new ArrayList<>(bundling.uses().size());
+        for (BundleSolver.BundleUse use : bundling.uses()) {
+            BundlePriceDTO bundleLine = priceBundle(catalog, tally, use);
+            bundleLines.add(bundleLine);
+            cumulativeSumMinor = Money.add(cumulativeSumMinor, bundleLine.getChargedMinor());
+        }
+        return FruitResponseDTO.ofMinor(fruitPriceDTOList, bundleLines, cumulativeQuantity, cumulativeSumMinor);
+    }
+
+    private static BundleSolver.Solution solveBundles(CartTally tally) {
+        FruitCatalog catalog = tally.catalog();
+        if (!touchesBundles(catalog.bundles(), tally)) {
+            return null;
+        }
+        int lines = tally.distinctCount();
+        int[] skus = new int[lines];
+        int[] quantities = new int[lines];
+        for (int line = 0; line < lines; line++) {
+            skus[line] = tally.skuAt(line);
+            quantities[line] = tally.quantityAt(line);
+        }
+        return BundleSolver.solve(catalog.offers(), catalog.bundles(), skus, quantities, lines);
+    }
+
+    private static boolean touchesBundles(BundleTable bundles, CartTally tally) {
+        if (bundles.isEmpty()) {
+            return false;
+        }
+        for (int line = 0, n = tally.distinctCount(); line < n; line++) {
+            if (bundles.indexOf(tally.skuAt(line)) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static BundlePriceDTO priceBundle(FruitCatalog catalog, CartTally tally, BundleSolver.BundleUse use) {
+        Map<String, Integer> items = new LinkedHashMap<>();
+        for (int member = 0; member < use.lines().length; member++) {
+            if (use.lines()[member] >= 0 && use.units()[member] > 0) {
+                items.put(catalog.get(tally.skuAt(use.lines()[member])).getName(), use.units()[member]);
+            }
+        }
+        BundleTable bundles = catalog.bundles();
+        return BundlePriceDTO.of(bundles.name(use.bundle()), use.count(), bundles.priceMinor(use.bundle()), items);
+    }
+
+    /**
+     * Prices many carts in parallel on the batch executor. Each cart is a list of fruit
+     * names, one entry per unit. Results come back in input order; a cart that cannot
+     * be priced gets an error entry instead of failing the whole batch.
+     */
+    public List<BatchBillResultDTO> billBatch(List<List<String>> carts) {
+        return billBatch(carts, null);
+    }
+
+    /**
+     * Prices a batch at the prices of a customer tier, as {@link #billBatch(List)} does at
+     * the base prices.
+     *
+     * @throws org.shoppingcart.utils.UnknownTierException if the catalog has no such tier
+     */
+    public List<BatchBillResultDTO> billBatch(List<List<String>> carts, String tier) {
+        if (carts == null || carts.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        BatchBillResultDTO[] results = new BatchBillResultDTO[carts.size()];
+        // The whole batch is priced against one snapshot
+        FruitCatalog catalog = catalogService.current().forTier(tier);
+        if (batchExecutor instanceof ForkJoinPool pricingPool) {
+            pricingPool.invoke(new BatchPricingTask(catalog, carts, results, 0, carts.size()));
+        } else {
+            priceBatchSlices(catalog, carts, results);
+        }
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Submits one task per slice of the batch and waits for all of them. Each slice writes
+     * into its own range of the shared result array.
+     */
+    private void priceBatchSlices(FruitCatalog catalog, List<List<String>> carts, BatchBillResultDTO[] results) {
+        List<Future<?>> slices = new ArrayList<>((carts.size() + BATCH_SLICE - 1) / BATCH_SLICE);
+        for (int from = 0; from < carts.size(); from += BATCH_SLICE) {
+            int sliceFrom = from;
+            int sliceTo = Math.min(from + BATCH_SLICE, carts.size());
+            slices.add(batchExecutor.submit(() -> priceBatchSlice(catalog, carts, results, sliceFrom, sliceTo)));
+        }
+        try {
+            for (Future<?> slice : slices) {
+                slice.get();
+            }
+        } catch (InterruptedException e) {
+            slices.forEach(slice -> slice.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while pricing a batch", e);
+        } catch (ExecutionException e) {
+            // A slice reports a cart's error in its result; anything else is a bug
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw (RuntimeException) e.getCause();
+        }
+    }
+
+    /**
+     * Prices a slice of a batch on one worker. With the vector kernel, the lines of every
+     * cart in the slice are laid out in columns and charged in one SIMD pass, then each
+     * cart's bill is assembled from its rows; otherwise, or if a charge overflows, each cart
+     * is priced on its own, so only the offending cart reports the error. A cart that
+     * touches a bundle is always priced on its own.
+     */
+    private void priceBatchSlice(FruitCatalog catalog, List<List<String>> carts, BatchBillResultDTO[] results,
+                                 int from, int to) {
+        boolean columnar = ChargeKernels.isVectorized();
+        CartTally[] tallies = new CartTally[to - from];
+        ChargeColumns columns = new ChargeColumns(columnar ? (to - from) * 4 : 0);
+        for (int i = from; i < to; i++) {
+            try {
+                CartTally tally = tallyBatchEntry(catalog, carts.get(i));
+                for (int line = 0, n = columnar ? tally.distinctCount() : 0; line < n; line++) {
+                    columns.add(catalog.offers(), tally.skuAt(line), tally.quantityAt(line));
+                }
+                tallies[i - from] = tally;
+            } catch (RuntimeException e) {
+                results[i] = BatchBillResultDTO.failure(i, e.getMessage());
+            }
+        }
+
+        if (columnar) {
+            try {
+                ChargeKernels.preferred().charge(columns);
+            } catch (ArithmeticException e) {
+                columnar = false;
+            }
+        }
+
+        int row = 0;
+        for (int i = from; i < to; i++) {
+            CartTally tally = tallies[i - from];
+            if (tally == null) {
+                continue;
+            }
+            if (columnar) {
+                int firstRow = row;
+                row += tally.distinctCount();
+                results[i] = touchesBundles(catalog.bundles(), tally)
+                        ? billBatchEntry(i, tally, this::priceTally)
+                        : billBatchEntry(i, tally, t -> assembleTally(t, columns, firstRow));
+            } else {
+                results[i] = billBatchEntry(i, tally, this::priceTally);
+            }
+        }
+    }
+
+    private static CartTally tallyBatchEntry(FruitCatalog catalog, List<String> cart) {
+        if (cart == null) {
+            throw new IllegalArgumentException("Cart cannot be null");
+        }
+        return CartTally.of(catalog, cart);
+    }
+
+    private BatchBillResultDTO billBatchEntry(int index, CartTally tally, Function<CartTally, FruitResponseDTO> pricer) {
+        try {
+            return BatchBillResultDTO.success(index, bill(tally, pricer));
+        } catch (RuntimeException e) {
+            return BatchBillResultDTO.failure(index, e.getMessage());
+        }
+    }
+
+    /**
+     * Builds a tally's bill from charges a kernel already computed, starting at {@code firstRow}.
+     */
+    private FruitResponseDTO assembleTally(CartTally tally, ChargeColumns columns, int firstRow) {
+        List<FruitPriceDTO> fruitPriceDTOList = new ArrayList<>(tally.distinctCount());
+        FruitCatalog catalog = tally.catalog();
+        long cumulativeSumMinor = 0L;
+
+        for (int line = 0, n = tally.distinctCount(); line < n; line++) {
+            int skuId = tally.skuAt(line);
+            Fruit fruit = catalog.get(skuId);
+            long chargedMinor = columns.chargedMinor(firstRow + line);
+            fruitPriceDTOList.add(FruitPriceDTO.of(fruit, catalog.unitPriceMinor(skuId), tally.quantityAt(line), chargedMinor));
+            metrics.recordLine(fruit.getOfferType());
+            cumulativeSumMinor = Money.add(cumulativeSumMinor, chargedMinor);
+        }
+
+        return FruitResponseDTO.ofMinor(fruitPriceDTOList, tally.totalUnits(), cumulativeSumMinor);
+    }
+
+    /**
+     * Splits the batch in halves until a slice is small enough to price on one worker.
+     * Each slice writes into its own range of the shared result array.
+     */
+    private class BatchPricingTask extends RecursiveAction {
+
+        private final FruitCatalog catalog;
+        private final List<List<String>> carts;
+        private final BatchBillResultDTO[] results;
+        private final int from;
+        private final int to;
+
+        BatchPricingTask(FruitCatalog catalog, List<List<String>> carts, BatchBillResultDTO[] results,
+                         int from, int to) {
+            this.catalog = catalog;
+            this.carts = carts;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= BATCH_SLICE) {
+                priceBatchSlice(catalog, carts, results, from, to);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new BatchPricingTask(catalog, carts, results, from, mid),
+                    new BatchPricingTask(catalog, carts, results, mid, to));
+        }
+    }
+
+    public FruitPriceDTO processFruitItem(FruitDTO fruitDTO, FruitCatalog catalog) {
+        int skuId = catalog.idOf(fruitDTO.getFruit());
+        if (skuId == SkuDictionary.NOT_FOUND) {
+            return null;
+        }
+
+        return priceLine(catalog.get(skuId), catalog.offers(), skuId, fruitDTO.getQuantity());
+    }
+
+    private FruitPriceDTO priceLine(Fruit fruit, OfferTable offers, int sku, int quantity) {
+        return FruitPriceDTO.of(fruit, offers.unitPriceMinor(sku), quantity, offers.charge(sku, quantity));
+    }
+
+    private FruitPriceDTO priceLine(Fruit fruit, OfferTable offers, int sku, int quantity, int bundled) {
+        return FruitPriceDTO.of(fruit, offers.unitPriceMinor(sku), quantity, bundled,
+                offers.charge(sku, quantity - bundled));
+    }
+
+    private static FruitResponseDTO tagged(FruitResponseDTO bill, FruitCatalog catalog) {
+        bill.setCatalogVersion(catalog.getVersion());
+        bill.setTier(catalog.getTier());
+        return bill;
+    }
+
+    private FruitResponseDTO createEmptyResponse() {
+        return FruitResponseDTO.ofMinor(Collections.emptyList(), 0, 0L);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,200 @@
+package org.shoppingcart.services;
+
+import org.shoppingcart.models.FruitCatalog;
+import org.shoppingcart.utils.CatalogVersionNotFoundException;
+import org.shoppingcart.utils.FruitLoader;
+
+import java.io.IOException;
+import java.lang.System.Logger.Level;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Publishes the current {@link FruitCatalog} snapshot.
+ * <p>
+ * The catalog is parsed once at startup. Reloads build a complete new snapshot
+ * off to the side and swap it in with a single reference write, so bills in
+ * flight keep pricing against the snapshot they started with and never wait.
+ * <p>
+ * A load with promotions is a timeline of snapshots (see {@link FruitCatalog}). Each
+ * read checks the clock against the published snapshot's window, and the first read
+ * past a boundary swaps in the next snapshot with a compare-and-set. Scheduled prices
+ * take effect at their boundary with no reload and no timer thread.
+ * <p>
+ * The loads a reload replaces are kept, up to {@code historySize} of them, so a cart can
+ * be repriced {@link #atVersion at the version} that billed it. They are published as an
+ * immutable list in one reference, written before the new snapshot, so a reader that sees
+ * a new version also finds the one it replaced.
+ * <p>
+ * Counts load outcomes and times the last successful load, for whatever hosts the service
+ * to publish, and numbers each snapshot it publishes with a {@link #generation}.
+ */
+public class FruitCatalogService {
+
+    private static final System.Logger log = System.getLogger(FruitCatalogService.class.getName());
+
+    public static final int DEFAULT_HISTORY_SIZE = 8;
+
+    private final FruitLoader fruitLoader;
+    private final Clock clock;
+    private final int historySize;
+    private final AtomicReference<FruitCatalog> current = new AtomicReference<>(FruitCatalog.empty());
+    // Replaced loads, newest first
+    private final AtomicReference<List<FruitCatalog>> history = new AtomicReference<>(List.of());
+    private final AtomicLong lastLoadNanos = new AtomicLong();
+    private final AtomicLong loads = new AtomicLong();
+    private final AtomicLong failedLoads = new AtomicLong();
+    private final AtomicLong generation = new AtomicLong();
+
+    public FruitCatalogService(FruitLoader fruitLoader) {
+        this(fruitLoader, Clock.systemUTC());
+    }
+
+    public FruitCatalogService(FruitLoader fruitLoader, Clock clock) {
+        this(fruitLoader, clock, DEFAULT_HISTORY_SIZE);
+    }
+
+    public FruitCatalogService(FruitLoader fruitLoader, Clock clock, int historySize) {
+        if (historySize < 0) {
+            throw new IllegalArgumentException("Catalog history size cannot be negative");
+        }
+        this.fruitLoader = fruitLoader;
+        this.clock = clock;
+        this.historySize = historySize;
+    }
+
+    /**
+     * Publishes the first snapshot. Whatever hosts the service calls this once at startup.
+     */
+    public void init() throws IOException {
+        reload();
+    }
+
+    /**
+     * The snapshot in effect now.
+     */
+    public FruitCatalog current() {
+        while (true) {
+            FruitCatalog catalog = current.get();
+            long now = clock.millis();
+            if (catalog.isActiveAt(now)) {
+                return catalog;
+            }
+            FruitCatalog next = catalog.activeAt(now);
+            if (current.compareAndSet(catalog, next)) {
+                generation.incrementAndGet();
+                log.log(Level.INFO, "Catalog version {0} took effect on schedule after version {1}",
+                        next.getVersion(), catalog.getVersion());
+                return next;
+            }
+        }
+    }
+
+    /**
+     * The snapshot numbered {@code version}, from the load in effect or one of the
+     * retained loads before it. Versions of a load's timeline that have not taken effect
+     * yet are found too.
+     *
+     * @throws CatalogVersionNotFoundException if no retained load has that version
+     */
+    public FruitCatalog atVersion(long version) {
+        FruitCatalog found = current().forVersion(version);
+        if (found != null) {
+            return found;
+        }
+        for (FruitCatalog load : history.get()) {
+            found = load.forVersion(version);
+            if (found != null) {
+                return found;
+            }
+        }
+        throw new CatalogVersionNotFoundException(version);
+    }
+
+    /**
+     * Every retained snapshot, newest version first: those of the load in effect, then
+     * those of the loads it replaced.
+     */
+    public List<FruitCatalog> versions() {
+        List<FruitCatalog> versions = new ArrayList<>(current().snapshots());
+        for (FruitCatalog load : history.get()) {
+            versions.addAll(load.snapshots());
+        }
+        versions.sort((a, b) -> Long.compare(b.getVersion(), a.getVersion()));
+        return versions;
+    }
+
+    /**
+     * Re-reads the catalog and publishes it as a new version, or the snapshot of its
+     * timeline in effect now. Concurrent reloads are serialized; readers are never
+     * blocked. On failure the previous snapshot stays live.
+     */
+    public synchronized FruitCatalog reload() throws IOException {
+        long nextVersion = current.get().lastVersion() + 1;
+        long start = System.nanoTime();
+        FruitCatalog catalog;
+        try {
+            catalog = fruitLoader.loadCatalog(nextVersion);
+        } catch (IOException | RuntimeException e) {
+            failedLoads.incrementAndGet();
+            throw e;
+        }
+        lastLoadNanos.set(System.nanoTime() - start);
+        loads.incrementAndGet();
+        catalog = catalog.activeAt(clock.millis());
+        retain(current.get());
+        current.set(catalog);
+        generation.incrementAndGet();
+        log.log(Level.INFO, "Published catalog version {0} with {1} fruits", catalog.getVersion(), catalog.size());
+        return catalog;
+    }
+
+    private void retain(FruitCatalog replaced) {
+        // The empty catalog before the first load has nothing worth repricing against
+        if (historySize == 0 || replaced.getVersion() == 0L) {
+            return;
+        }
+        List<FruitCatalog> retained = new ArrayList<>(historySize);
+        retained.add(replaced);
+        for (FruitCatalog load : history.get()) {
+            if (retained.size() == historySize) {
+                break;
+            }
+            retained.add(load);
+        }
+        history.set(List.copyOf(retained));
+    }
+
+    /**
+     * Snapshots published so far, by a reload or by a timeline taking its next snapshot on
+     * schedule. It only grows, and unlike a version it never moves when a retained or
+     * scheduled snapshot is looked up {@link #atVersion by version}.
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Successful loads so far, the first one included.
+     */
+    public long loads() {
+        return loads.get();
+    }
+
+    /**
+     * Loads that failed and left the published snapshot in place.
+     */
+    public long failedLoads() {
+        return failedLoads.get();
+    }
+
+    /**
+     * Nanoseconds the last successful load took.
+     */
+    public long lastLoadNanos() {
+        return lastLoadNanos.get();
+    }
+}
@@ -0,0 +1,152 @@
+package org.shoppingcart.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.shoppingcart.models.CartDeltaDTO;
+import org.shoppingcart.models.FruitCatalog;
+import org.shoppingcart.models.PricingSession;
+import org.shoppingcart.models.PricingSessionDTO;
+import org.shoppingcart.utils.SessionNotFoundException;
+import org.shoppingcart.utils.SkuDictionary;
+import org.shoppingcart.utils.UnknownFruitException;
+import org.shoppingcart.utils.UnknownTierException;
+
+import java.lang.System.Logger.Level;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Holds live {@link PricingSession}s so a cart can be priced once and then kept priced
+ * as items are added and removed, instead of being rebuilt and repriced on every change.
+ * <p>
+ * Sessions expire after {@code pricing.session.expire-after-access} without a read or an
+ * update, and the least valuable are evicted once {@code pricing.session.maximum-size}
+ * are open. When the catalog has been reloaded since a session was last touched, the
+ * session is repriced against the new snapshot before the next delta is applied. A
+ * session opened for a customer tier keeps that tier's prices across reloads, and is
+ * closed if a reload drops the tier.
+ */
+public class PricingSessionService {
+
+    private static final System.Logger log = System.getLogger(PricingSessionService.class.getName());
+
+    private final FruitCatalogService catalogService;
+    private final Cache<String, PricingSession> sessions;
+
+    public PricingSessionService(FruitCatalogService catalogService, long maximumSize, Duration expireAfterAccess) {
+        this.catalogService = catalogService;
+        this.sessions = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(expireAfterAccess)
+                .recordStats()
+                .build();
+    }
+
+    public PricingSessionDTO open() {
+        return open(null);
+    }
+
+    /**
+     * Opens a session priced for {@code tier}; a {@code null} or blank tier prices at the
+     * base prices.
+     *
+     * @throws UnknownTierException if the catalog has no such tier
+     */
+    public PricingSessionDTO open(String tier) {
+        PricingSession session = new PricingSession(UUID.randomUUID().toString(),
+                catalogService.current().forTier(tier));
+        sessions.put(session.getId(), session);
+        return PricingSessionDTO.of(session, List.of());
+    }
+
+    /**
+     * Applies the deltas in order and returns the lines they touched with the new cart
+     * totals. Names are resolved and every delta priced before anything is applied, so a
+     * delta for an unknown fruit, or one that overflows, leaves the session unchanged.
+     */
+    public PricingSessionDTO apply(String sessionId, List<CartDeltaDTO> deltas) {
+        PricingSession session = find(sessionId);
+        synchronized (session) {
+            refresh(session);
+            FruitCatalog catalog = session.catalog();
+            int[] skuIds = new int[deltas.size()];
+            int[] quantities = new int[deltas.size()];
+            List<String> unknownNames = null;
+            for (int i = 0; i < skuIds.length; i++) {
+                String name = deltas.get(i).getFruit();
+                quantities[i] = deltas.get(i).getQuantity();
+                skuIds[i] = catalog.idOf(name);
+                if (skuIds[i] == SkuDictionary.NOT_FOUND) {
+                    if (unknownNames == null) {
+                        unknownNames = new ArrayList<>(2);
+                    }
+                    unknownNames.add(name);
+                }
+            }
+            if (unknownNames != null) {
+                throw new UnknownFruitException(unknownNames);
+            }
+
+            return PricingSessionDTO.of(session, session.apply(skuIds, quantities));
+        }
+    }
+
+    /**
+     * Every line of the session with the cart totals.
+     */
+    public PricingSessionDTO view(String sessionId) {
+        PricingSession session = find(sessionId);
+        synchronized (session) {
+            refresh(session);
+            return PricingSessionDTO.of(session, session.lines());
+        }
+    }
+
+    public void close(String sessionId) {
+        if (sessions.asMap().remove(sessionId) == null) {
+            throw new SessionNotFoundException(sessionId);
+        }
+    }
+
+    public long openSessions() {
+        return sessions.estimatedSize();
+    }
+
+    /**
+     * The Caffeine cache holding the sessions, for binding its statistics to a metrics
+     * registry.
+     */
+    public Cache<?, ?> nativeCache() {
+        return sessions;
+    }
+
+    private PricingSession find(String sessionId) {
+        PricingSession session = sessionId == null ? null : sessions.getIfPresent(sessionId);
+        if (session == null) {
+            throw new SessionNotFoundException(sessionId);
+        }
+        return session;
+    }
+
+    private void refresh(PricingSession session) {
+        FruitCatalog current = catalogService.current();
+        if (current.getVersion() != session.catalog().getVersion()) {
+            String tier = session.catalog().getTier();
+            try {
+                current = current.forTier(tier);
+            } catch (UnknownTierException e) {
+                sessions.invalidate(session.getId());
+                log.log(Level.INFO, "Session {0} closed; catalog version {1} has no tier {2}",
+                        session.getId(), current.getVersion(), tier);
+                throw new SessionNotFoundException(session.getId());
+            }
+            List<String> dropped = session.rebase(current);
+            if (!dropped.isEmpty()) {
+                log.log(Level.INFO, "Session {0} dropped {1} no longer in catalog version {2}",
+                        session.getId(), dropped, current.getVersion());
+            }
+        }
+    }
+}
@@ -0,0 +1,343 @@
+package org.shoppingcart.utils;
+
+import org.shoppingcart.models.BundlePriceDTO;
+import org.shoppingcart.models.FruitPriceDTO;
+import org.shoppingcart.models.FruitResponseDTO;
+import org.shoppingcart.models.JournaledBill;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Binary form of the bill journal {@link org.shoppingcart.services.BillJournal} writes.
+ * <p>
+ * A journal is a directory of segments named {@code bills-<index>.journal}, numbered in
+ * the order they were written. A segment is a {@value #HEADER_BYTES}-byte header (magic,
+ * format version, segment index, creation time) followed by records, each an {@code int}
+ * payload length, the payload's CRC-32C and the payload, padded to 8 bytes,
+ * little-endian. The rest of a segment is zeros, so a zero length ends it. Segments are
+ * created at full size and filled through a memory mapping; the unwritten tail is sparse.
+ * <p>
+ * A payload is one bill: the time it was recorded, its catalog version and tier, totals,
+ * then its lines and bundles. Strings are UTF-8 behind an unsigned 16-bit length, and
+ * amounts are minor units.
+ */
+public final class BillJournalFile {
+
+    public static final int MAGIC = 0x4C4E4A42; // "BJNL" in little-endian byte order
+    public static final int FORMAT_VERSION = 1;
+    public static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+    public static final int HEADER_BYTES = 32;
+    public static final int RECORD_HEADER_BYTES = 8;
+
+    private static final int ALIGNMENT = 8;
+    private static final String PREFIX = "bills-";
+    private static final String SUFFIX = ".journal";
+    private static final int MAX_STRING_BYTES = 0xFFFF;
+
+    private BillJournalFile() {
+    }
+
+    public static Path segmentPath(Path directory, long index) {
+        return directory.resolve(String.format("%s%012d%s", PREFIX, index, SUFFIX));
+    }
+
+    /**
+     * Index of a segment file, or {@code -1} if {@code file} is not named like one.
+     */
+    public static long segmentIndex(Path file) {
+        String name = file.getFileName().toString();
+        if (!name.startsWith(PREFIX) || !name.endsWith(SUFFIX)) {
+            return -1L;
+        }
+        try {
+            return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1L;
+        }
+    }
+
+    /**
+     * The segments in {@code directory}, oldest first.
+     */
+    public static List<Path> segments(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> segmentIndex(file) >= 0)
+                    .sorted((a, b) -> Long.compare(segmentIndex(a), segmentIndex(b)))
+                    .toList();
+        }
+    }
+
+    /**
+     * Bytes a record with a {@code payloadBytes}-byte payload takes in a segment.
+     */
+    public static int recordBytes(int payloadBytes) {
+        return (RECORD_HEADER_BYTES + payloadBytes + ALIGNMENT - 1) & -ALIGNMENT;
+    }
+
+    public static void writeHeader(ByteBuffer segment, long index, long createdAt) {
+        segment.putInt(0, MAGIC)
+                .putInt(4, FORMAT_VERSION)
+                .putLong(8, index)
+                .putLong(16, createdAt)
+                .putLong(24, 0L);
+    }
+
+    /**
+     * Frames {@code payload} as a record at {@code offset}. The length goes in last, so a
+     * record is not seen until it is complete.
+     */
+    public static void writeRecord(ByteBuffer segment, int offset, ByteBuffer payload, CRC32C crc) {
+        int length = payload.remaining();
+        crc.reset();
+        crc.update(payload.duplicate());
+        segment.put(offset + RECORD_HEADER_BYTES, payload, payload.position(), length);
+        segment.putInt(offset + Integer.BYTES, (int) crc.getValue());
+        segment.putInt(offset, length);
+    }
+
+    /**
+     * Encodes a bill recorded at {@code recordedAt} as a record payload, positioned at
+     * zero with its length as the limit.
+     *
+     * @throws IllegalArgumentException if a name does not fit in 65535 UTF-8 bytes
+     */
+    public static ByteBuffer encode(FruitResponseDTO bill, long recordedAt) {
+        List<FruitPriceDTO> lines = bill.getFruits() == null ? List.of() : bill.getFruits();
+        List<BundlePriceDTO> bundles = bill.getBundles() == null ? List.of() : bill.getBundles();
+        // Sized exactly, so a record waiting for the writer holds no slack
+        int size = 2 * Long.BYTES + stringBytes(bill.getTier()) + Integer.BYTES + Long.BYTES + 2 * Short.BYTES;
+        for (FruitPriceDTO line : lines) {
+            size += stringBytes(line.getFruit()) + stringBytes(line.getOffer() == null ? null : line.getOffer().name())
+                    + 2 * Integer.BYTES + 3 * Long.BYTES;
+        }
+        for (BundlePriceDTO bundle : bundles) {
+            size += stringBytes(bundle.getBundle()) + Integer.BYTES + 2 * Long.BYTES + Short.BYTES;
+            if (bundle.getItems() != null) {
+                for (String item : bundle.getItems().keySet()) {
+                    size += stringBytes(item) + Integer.BYTES;
+                }
+            }
+        }
+
+        ByteBuffer payload = ByteBuffer.allocate(size).order(ORDER);
+        payload.putLong(recordedAt);
+        payload.putLong(bill.getCatalogVersion() == null ? 0L : bill.getCatalogVersion());
+        putString(payload, bill.getTier());
+        payload.putInt(bill.getTotalQuantity() == null ? 0 : bill.getTotalQuantity());
+        payload.putLong(bill.getTotalPriceMinor());
+        payload.putShort(count(lines.size()));
+        for (FruitPriceDTO line : lines) {
+            putString(payload, line.getFruit());
+            putString(payload, line.getOffer() == null ? null : line.getOffer().name());
+            payload.putLong(line.getUnitPriceMinor());
+            payload.putInt(line.getQuantity() == null ? 0 : line.getQuantity());
+            payload.putInt(line.getBundled() == null ? 0 : line.getBundled());
+            payload.putLong(line.getChargedMinor());
+            payload.putLong(line.getAvgPriceMinor());
+        }
+        payload.putShort(count(bundles.size()));
+        for (BundlePriceDTO bundle : bundles) {
+            Map<String, Integer> items = bundle.getItems() == null ? Map.of() : bundle.getItems();
+            putString(payload, bundle.getBundle());
+            payload.putInt(bundle.getCount() == null ? 0 : bundle.getCount());
+            payload.putLong(bundle.getPriceMinor());
+            payload.putLong(bundle.getChargedMinor());
+            payload.putShort(count(items.size()));
+            for (Map.Entry<String, Integer> item : items.entrySet()) {
+                putString(payload, item.getKey());
+                payload.putInt(item.getValue() == null ? 0 : item.getValue());
+            }
+        }
+        return payload.flip();
+    }
+
+    /**
+     * Decodes a payload {@link #encode} produced.
+     */
+    public static JournaledBill decode(ByteBuffer payload) {
+        payload.order(ORDER);
+        long recordedAt = payload.getLong();
+        long catalogVersion = payload.getLong();
+        String tier = getString(payload);
+        int totalQuantity = payload.getInt();
+        long totalPriceMinor = payload.getLong();
+        int lineCount = Short.toUnsignedInt(payload.getShort());
+        List<FruitPriceDTO> lines = new ArrayList<>(lineCount);
+        for (int i = 0; i < lineCount; i++) {
+            FruitPriceDTO line = new FruitPriceDTO();
+            line.setFruit(getString(payload));
+            String offer = getString(payload);
+            line.setOffer(offer == null ? null : OfferType.valueOf(offer));
+            line.setUnitPriceMinor(payload.getLong());
+            line.setQuantity(payload.getInt());
+            int bundled = payload.getInt();
+            line.setBundled(bundled == 0 ? null : bundled);
+            line.setChargedMinor(payload.getLong());
+            line.setAvgPriceMinor(payload.getLong());
+            lines.add(line);
+        }
+        int bundleCount = Short.toUnsignedInt(payload.getShort());
+        List<BundlePriceDTO> bundles = new ArrayList<>(bundleCount);
+        for (int i = 0; i < bundleCount; i++) {
+            BundlePriceDTO bundle = new BundlePriceDTO();
+            bundle.setBundle(getString(payload));
+            bundle.setCount(payload.getInt());
+            bundle.setPriceMinor(payload.getLong());
+            bundle.setChargedMinor(payload.getLong());
+            int itemCount = Short.toUnsignedInt(payload.getShort());
+            Map<String, Integer> items = new LinkedHashMap<>();
+            for (int item = 0; item < itemCount; item++) {
+                items.put(getString(payload), payload.getInt());
+            }
+            bundle.setItems(items);
+            bundles.add(bundle);
+        }
+
+        FruitResponseDTO bill = FruitResponseDTO.ofMinor(lines, bundles, totalQuantity, totalPriceMinor);
+        bill.setCatalogVersion(catalogVersion == 0L ? null : catalogVersion);
+        bill.setTier(tier);
+        return new JournaledBill(recordedAt, bill);
+    }
+
+    /**
+     * Reads the bills of one segment in the order they were written, and returns how many
+     * were read. Reading stops at the end of the written records, or at a record that is
+     * torn or fails its checksum, as the last one may be after a crash.
+     *
+     * @throws IOException if the file is not a bill journal segment
+     */
+    public static long read(Path segment, Consumer<JournaledBill> bills) throws IOException {
+        MappedByteBuffer image;
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES || size > Integer.MAX_VALUE) {
+                throw new IOException(segment + " is not a bill journal segment (" + size + " bytes)");
+            }
+            image = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+        image.order(ORDER);
+        if (image.getInt(0) != MAGIC) {
+            throw new IOException(segment + " is not a bill journal segment");
+        }
+        if (image.getInt(4) != FORMAT_VERSION) {
+            throw new IOException(segment + " has journal format " + image.getInt(4) + ", expected " + FORMAT_VERSION);
+        }
+
+        CRC32C crc = new CRC32C();
+        long count = 0;
+        int offset = HEADER_BYTES;
+        while (offset + RECORD_HEADER_BYTES <= image.limit()) {
+            int length = image.getInt(offset);
+            if (length <= 0 || length > image.limit() - offset - RECORD_HEADER_BYTES) {
+                break;
+            }
+            ByteBuffer payload = image.slice(offset + RECORD_HEADER_BYTES, length).order(ORDER);
+            crc.reset();
+            crc.update(payload.duplicate());
+            if ((int) crc.getValue() != image.getInt(offset + Integer.BYTES)) {
+                break;
+            }
+            JournaledBill bill;
+            try {
+                bill = decode(payload);
+            } catch (BufferUnderflowException | IllegalArgumentException e) {
+                break;
+            }
+            bills.accept(bill);
+            count++;
+            offset += recordBytes(length);
+        }
+        return count;
+    }
+
+    /**
+     * Bytes {@link #putString} takes for {@code value}: its UTF-8 length and the length
+     * prefix.
+     */
+    private static int stringBytes(String value) {
+        if (value == null) {
+            return Short.BYTES;
+        }
+        int bytes = 0;
+        for (int i = 0, n = value.length(); i < n; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                bytes++;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < n && Character.isLowSurrogate(value.charAt(i + 1))) {
+                bytes += 4;
+                i++;
+            } else {
+                bytes += 3;
+            }
+        }
+        if (bytes > MAX_STRING_BYTES) {
+            throw new IllegalArgumentException("Name too long for a journal record: " + bytes + " bytes");
+        }
+        return Short.BYTES + bytes;
+    }
+
+    private static short count(int size) {
+        if (size > 0xFFFF) {
+            throw new IllegalArgumentException("Too many entries for a journal record: " + size);
+        }
+        return (short) size;
+    }
+
+    private static void putString(ByteBuffer payload, String value) {
+        if (value == null) {
+            payload.putShort((short) 0);
+            return;
+        }
+        int lengthAt = payload.position();
+        payload.putShort((short) 0);
+        int start = payload.position();
+        // Catalog names are ASCII; anything else goes through the charset
+        boolean ascii = true;
+        for (int i = 0, n = value.length(); i < n && ascii; i++) {
+            ascii = value.charAt(i) < 0x80;
+        }
+        if (ascii) {
+            for (int i = 0, n = value.length(); i < n; i++) {
+                payload.put((byte) value.charAt(i));
+            }
+        } else {
+            payload.put(value.getBytes(StandardCharsets.UTF_8));
+        }
+        payload.putShort(lengthAt, (short) (payload.position() - start));
+    }
+
+    /**
+     * A string {@link #putString} wrote; an empty one reads back as {@code null}, as names
+     * on a bill are never empty.
+     */
+    private static String getString(ByteBuffer payload) {
+        int length = Short.toUnsignedInt(payload.getShort());
+        if (length == 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        payload.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
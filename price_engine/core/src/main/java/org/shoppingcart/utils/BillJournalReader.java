@@ -0,0 +1,75 @@
+package org.shoppingcart.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Decodes bill journal segments to newline-delimited JSON, one
+ * {@code {"recordedAt": <epoch millis>, "bill": {...}}} per line, for audits and analytics:
+ * <pre>
+ * java -cp shopping-cart-server.jar org.shoppingcart.utils.BillJournalReader journal/ > bills.ndjson
+ * </pre>
+ * Each argument is a segment or a journal directory, whose segments are read oldest
+ * first. Bills are written as the HTTP API writes them; a count per segment goes to
+ * standard error.
+ */
+public final class BillJournalReader {
+
+    private BillJournalReader() {
+    }
+
+    /**
+     * Writes the bills of {@code segments} to {@code out} as NDJSON, returning how many.
+     */
+    public static long toJson(List<Path> segments, OutputStream out, ObjectMapper objectMapper) throws IOException {
+        long total = 0;
+        for (Path segment : segments) {
+            long count;
+            try {
+                count = BillJournalFile.read(segment, bill -> {
+                    try {
+                        out.write(objectMapper.writeValueAsBytes(bill));
+                        out.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            System.err.printf("%s: %d bills%n", segment, count);
+            total += count;
+        }
+        out.flush();
+        return total;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: BillJournalReader <journal-dir | segment>...");
+            System.exit(2);
+        }
+        List<Path> segments = new ArrayList<>();
+        for (String arg : args) {
+            Path path = Path.of(arg);
+            if (Files.isDirectory(path)) {
+                segments.addAll(BillJournalFile.segments(path));
+            } else {
+                segments.add(path);
+            }
+        }
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.setHandlerInstantiator(PricingJson.handlerInstantiator(false));
+        OutputStream out = new BufferedOutputStream(System.out);
+        long total = toJson(segments, out, objectMapper);
+        System.err.printf("%d bills in %d segments%n", total, segments.size());
+    }
+}
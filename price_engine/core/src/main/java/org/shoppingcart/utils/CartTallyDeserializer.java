@@ -0,0 +1,104 @@
+package org.shoppingcart.utils;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import org.shoppingcart.models.CartTally;
+import org.shoppingcart.models.FruitCatalog;
+
+import java.io.IOException;
+import java.util.function.Supplier;
+
+/**
+ * Token-level decoder for a cart body of the form {@code ["apple", "lime", ...]}.
+ * <p>
+ * Each name is resolved to its SKU id straight from the parser's character buffer
+ * through the current catalog's {@link SkuDictionary}, and counted into the tally as it
+ * is read, so no {@code String} per unit is ever created. Unknown names, and numbers or
+ * literals in place of a name, are recorded on the tally instead of failing the parse; an
+ * object or array in place of a name fails it with a {@code MismatchedInputException}.
+ * <p>
+ * Ids depend on the catalog snapshot, so the deserializer is registered with a supplier
+ * of the current snapshot (see {@link PricingJson#cartTallyModule}) rather than bound by annotation.
+ */
+public class CartTallyDeserializer extends JsonDeserializer<CartTally> {
+
+    private final Supplier<FruitCatalog> catalogs;
+
+    public CartTallyDeserializer(Supplier<FruitCatalog> catalogs) {
+        this.catalogs = catalogs;
+    }
+
+    @Override
+    public CartTally deserialize(JsonParser parser, DeserializationContext ctxt) throws IOException {
+        if (!parser.isExpectedStartArrayToken()) {
+            return (CartTally) ctxt.handleUnexpectedToken(CartTally.class, parser);
+        }
+
+        FruitCatalog catalog = catalogs.get();
+        CartTally tally = new CartTally(catalog);
+        TokenText text = new TokenText();
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token == null) {
+                return (CartTally) ctxt.handleUnexpectedToken(CartTally.class, parser);
+            }
+            if (token.isStructStart()) {
+                // An object or array has no name to report; the body is not a cart
+                return (CartTally) ctxt.handleUnexpectedToken(CartTally.class, token, parser,
+                        "Expected a fruit name, got %s", token == JsonToken.START_OBJECT
+                                ? "an object" : "an array");
+            }
+            if (token != JsonToken.VALUE_STRING) {
+                tally.addUnknown(parser.getText());
+                continue;
+            }
+
+            text.reset(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+            int skuId = catalog.idOf(text, 0, text.length());
+            if (skuId != SkuDictionary.NOT_FOUND) {
+                tally.add(skuId, 1);
+            } else {
+                tally.addUnknown(text.toString());
+            }
+        }
+        return tally;
+    }
+
+    /**
+     * Reusable view over the parser's current token buffer.
+     */
+    private static final class TokenText implements CharSequence {
+
+        private char[] buffer;
+        private int offset;
+        private int length;
+
+        void reset(char[] buffer, int offset, int length) {
+            this.buffer = buffer;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return buffer[offset + index];
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return new String(buffer, offset + start, end - start);
+        }
+
+        @Override
+        public String toString() {
+            return new String(buffer, offset, length);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package org.shoppingcart.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.shoppingcart.models.FruitCatalog;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Compiles a JSON catalog into a {@link CatalogFile}:
+ * <pre>
+ * java -cp shopping-cart-server.jar org.shoppingcart.utils.CatalogCompiler offer.json offer.bin
+ * </pre>
+ * The JSON is parsed and validated exactly as a load would, so a file that compiles
+ * loads. Point {@code catalog.location} at the output to serve it.
+ */
+public final class CatalogCompiler {
+
+    private CatalogCompiler() {
+    }
+
+    public static FruitCatalog compile(Path json, Path target) throws IOException {
+        FruitCatalog catalog;
+        try (InputStream inputStream = Files.newInputStream(json)) {
+            catalog = FruitLoader.readCatalog(new ObjectMapper(), inputStream, 0L);
+        }
+        CatalogFile.write(catalog, target);
+        return catalog;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: CatalogCompiler <catalog.json> <catalog.bin>");
+            System.exit(2);
+        }
+        long start = System.nanoTime();
+        FruitCatalog catalog = compile(Path.of(args[0]), Path.of(args[1]));
+        System.out.printf("Compiled %d SKUs into %s in %d ms%n",
+                catalog.size(), args[1], (System.nanoTime() - start) / 1_000_000);
+    }
+}
@@ -0,0 +1,134 @@
+package org.shoppingcart.utils;
+
+import org.shoppingcart.models.FruitCatalog;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Compiled, binary form of a catalog snapshot, read in place through a memory mapping.
+ * <p>
+ * The file is a {@value #HEADER_BYTES}-byte header (magic, format version, body length)
+ * followed by the image {@link FruitCatalog#write} produces: the SKU dictionary's hash
+ * table and names, the offer table, its columns and best-price tables, the bundles, and
+ * for a catalog with promotions the timeline and each snapshot's promoted rows, then the
+ * overriding rows of each customer tier, each in its own 8-byte aligned section,
+ * little-endian. {@link #map} checks the header and wraps those
+ * sections as buffer views without reading them, so loading costs the same for four SKUs
+ * as for a million. Pages are faulted in as bills touch them.
+ * <p>
+ * A mapping stays valid after the file is replaced by a rename, which is how
+ * {@link #write} publishes it; rewriting a mapped file in place is not safe.
+ */
+public final class CatalogFile {
+
+    public static final int MAGIC = 0x54414346; // "FCAT" in little-endian byte order
+    public static final int FORMAT_VERSION = 6;
+    public static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    private static final int HEADER_BYTES = 16;
+    private static final int ALIGNMENT = 8;
+
+    private CatalogFile() {
+    }
+
+    /**
+     * Whether {@code file} starts with the catalog file magic.
+     */
+    public static boolean isCatalogFile(Path file) throws IOException {
+        if (!Files.isRegularFile(file) || Files.size(file) < HEADER_BYTES) {
+            return false;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer magic = ByteBuffer.allocate(Integer.BYTES).order(ORDER);
+            return channel.read(magic) == Integer.BYTES && magic.getInt(0) == MAGIC;
+        }
+    }
+
+    /**
+     * Writes {@code catalog} to {@code target}: to a temporary file next to it first, then
+     * moved into place, so a process that has the old file mapped keeps reading it.
+     */
+    public static void write(FruitCatalog catalog, Path target) throws IOException {
+        long bodyBytes = catalog.imageBytes();
+        if (HEADER_BYTES + bodyBytes > Integer.MAX_VALUE) {
+            throw new IOException("Catalog too large for one file: " + bodyBytes + " bytes");
+        }
+        ByteBuffer image = ByteBuffer.allocate((int) (HEADER_BYTES + bodyBytes)).order(ORDER);
+        image.putInt(MAGIC).putInt(FORMAT_VERSION).putLong(bodyBytes);
+        catalog.write(image);
+        image.flip();
+
+        Path temp = target.resolveSibling(target.getFileName() + "." + ProcessHandle.current().pid() + ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                while (image.hasRemaining()) {
+                    channel.write(image);
+                }
+                channel.force(true);
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Maps a compiled catalog file as a snapshot tagged with {@code version}.
+     */
+    public static FruitCatalog map(Path file, long version) throws IOException {
+        ByteBuffer image;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES || size > Integer.MAX_VALUE) {
+                throw new IOException("Not a catalog file: " + file);
+            }
+            image = channel.map(FileChannel.MapMode.READ_ONLY, 0, size).order(ORDER);
+        }
+
+        if (image.getInt() != MAGIC) {
+            throw new IOException("Not a catalog file: " + file);
+        }
+        int formatVersion = image.getInt();
+        if (formatVersion != FORMAT_VERSION) {
+            throw new IOException("Catalog file " + file + " has format version " + formatVersion
+                    + ", expected " + FORMAT_VERSION + "; recompile it");
+        }
+        if (image.getLong() != image.remaining()) {
+            throw new IOException("Catalog file " + file + " has the wrong length");
+        }
+        try {
+            return FruitCatalog.read(version, image);
+        } catch (IllegalArgumentException | BufferUnderflowException e) {
+            throw new IOException("Catalog file " + file + " is corrupt", e);
+        }
+    }
+
+    /**
+     * Bytes a section of {@code bytes} bytes takes in the image, padding included.
+     */
+    public static long sectionBytes(long bytes) {
+        return (bytes + ALIGNMENT - 1) & -ALIGNMENT;
+    }
+
+    /**
+     * The next section of {@code image}: a view of its next {@code bytes} bytes in the
+     * image's byte order. Advances the image past the section and its padding.
+     */
+    public static ByteBuffer section(ByteBuffer image, long bytes) {
+        long padded = sectionBytes(bytes);
+        if (bytes < 0 || padded > image.remaining()) {
+            throw new IllegalArgumentException("Catalog image section of " + bytes + " bytes overruns the image");
+        }
+        ByteBuffer section = image.slice(image.position(), (int) bytes).order(image.order());
+        image.position(image.position() + (int) padded);
+        return section;
+    }
+}
@@ -0,0 +1,20 @@
+package org.shoppingcart.utils;
+
+/**
+ * Raised when a bill asks for a catalog version that was never published or is no longer
+ * retained. Like {@link UnknownFruitException} it is an expected outcome, so no stack
+ * trace is captured.
+ */
+public class CatalogVersionNotFoundException extends RuntimeException {
+
+    private final long version;
+
+    public CatalogVersionNotFoundException(long version) {
+        super("Catalog version " + version + " is not retained", null, false, false);
+        this.version = version;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+}
@@ -1,11 +1,9 @@
 package org.shoppingcart.utils;
 
 interface Constants {
-    String APPLE = "apple";
-    String BANANA = "banana";
-    String LIME = "lime";
-    String MELON = "melon";
     String BOGO = "BOGO";
     String THREE4TWO = "ThreeForTwo";
+    String MULTI_PRICE = "MultiPrice";
     String NoOffer = "NoOffer";
+    String BEST_PRICE = "BestPrice";
 }
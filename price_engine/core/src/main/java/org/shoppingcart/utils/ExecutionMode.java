@@ -0,0 +1,14 @@
+package org.shoppingcart.utils;
+
+/**
+ * How request handling threads are provided, set with {@code pricing.execution.mode}.
+ */
+public enum ExecutionMode {
+    /**
+     * Bounded pool of platform threads: {@code server.tomcat.threads.max} in the Spring
+     * application, {@code server.threads} in the standalone server.
+     */
+    PLATFORM,
+    /** A new virtual thread per request. Needs a Java 21+ runtime. */
+    VIRTUAL
+}
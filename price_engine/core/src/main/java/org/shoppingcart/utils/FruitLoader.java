@@ -0,0 +1,110 @@
+package org.shoppingcart.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.shoppingcart.models.FruitCatalog;
+import org.shoppingcart.models.FruitConfig;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+
+/**
+ * Loads the catalog named by {@code catalog.location}: either the JSON catalog, parsed
+ * into a new snapshot, or a {@link CatalogFile} compiled from it by {@link CatalogCompiler},
+ * which is mapped and read in place. Compiled files are recognized by their header,
+ * whatever their name, and must be on the file system to be mapped.
+ * <p>
+ * The location is {@code classpath:} followed by a resource name, a URL such as
+ * {@code file:/etc/pricing/offer.bin}, or a plain file system path.
+ */
+public class FruitLoader {
+
+    public static final String DEFAULT_LOCATION = "classpath:offer.json";
+
+    private static final String CLASSPATH_PREFIX = "classpath:";
+
+    private final ObjectMapper objectMapper;
+    private final String catalogLocation;
+
+    public FruitLoader(ObjectMapper objectMapper, String catalogLocation) {
+        this.objectMapper = objectMapper;
+        this.catalogLocation = catalogLocation;
+    }
+
+    /**
+     * Reads the catalog file and builds an immutable snapshot tagged with the given version.
+     */
+    public FruitCatalog loadCatalog(long version) throws IOException {
+        URL url = resolve();
+        Path file = toPath(url);
+        if (file != null) {
+            if (CatalogFile.isCatalogFile(file)) {
+                return CatalogFile.map(file, version);
+            }
+            try (InputStream inputStream = Files.newInputStream(file)) {
+                return readCatalog(objectMapper, inputStream, version);
+            }
+        }
+        try (InputStream inputStream = url.openStream()) {
+            return readCatalog(objectMapper, inputStream, version);
+        }
+    }
+
+    public String getCatalogLocation() {
+        return catalogLocation;
+    }
+
+    /**
+     * The catalog's path when the location is on the file system, otherwise {@code null}.
+     */
+    public Path getCatalogFile() throws IOException {
+        return toPath(resolve());
+    }
+
+    static FruitCatalog readCatalog(ObjectMapper objectMapper, InputStream inputStream, long version)
+            throws IOException {
+        FruitConfig fruitConfig = objectMapper.readValue(inputStream, FruitConfig.class);
+        return FruitCatalog.of(version,
+                fruitConfig.getFruits() == null ? Collections.emptyList() : fruitConfig.getFruits(),
+                fruitConfig.getBundles(), fruitConfig.getTiers());
+    }
+
+    private URL resolve() throws IOException {
+        if (catalogLocation.startsWith(CLASSPATH_PREFIX)) {
+            String name = catalogLocation.substring(CLASSPATH_PREFIX.length());
+            URL url = FruitLoader.class.getClassLoader().getResource(name.startsWith("/") ? name.substring(1) : name);
+            if (url == null) {
+                throw new FileNotFoundException("No catalog on the class path at " + name);
+            }
+            return url;
+        }
+        try {
+            URI uri = new URI(catalogLocation);
+            // One-letter schemes are Windows drive letters
+            if (uri.getScheme() != null && uri.getScheme().length() > 1) {
+                return uri.toURL();
+            }
+        } catch (URISyntaxException | MalformedURLException | IllegalArgumentException e) {
+            // Not a URL; read it as a path
+        }
+        return Path.of(catalogLocation).toUri().toURL();
+    }
+
+    private static Path toPath(URL url) throws IOException {
+        if (!"file".equals(url.getProtocol())) {
+            return null;
+        }
+        try {
+            return Path.of(url.toURI());
+        } catch (URISyntaxException e) {
+            throw new IOException("Bad catalog location " + url, e);
+        }
+    }
+}
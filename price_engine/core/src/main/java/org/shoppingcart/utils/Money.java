@@ -0,0 +1,72 @@
+package org.shoppingcart.utils;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Fixed-point money held as a {@code long} count of minor units (cents).
+ * <p>
+ * All pricing arithmetic runs on minor units, so sums are exact and nothing is
+ * allocated. Conversions from decimal prices happen once, when the catalog is
+ * built; conversions back to {@code double} only at the JSON edge. Every place
+ * that can lose precision takes an explicit {@link RoundingMode}.
+ */
+public final class Money {
+
+    public static final int SCALE = 2;
+    public static final long MINOR_PER_MAJOR = 100L;
+
+    private Money() {
+    }
+
+    public static long toMinor(double major, RoundingMode rounding) {
+        if (Double.isNaN(major) || Double.isInfinite(major)) {
+            throw new IllegalArgumentException("Amount must be a finite number");
+        }
+        return BigDecimal.valueOf(major).setScale(SCALE, rounding).unscaledValue().longValueExact();
+    }
+
+    public static long toMinor(double major) {
+        return toMinor(major, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Closest {@code double} to the amount; exact when printed with two decimals.
+     */
+    public static double toMajor(long minor) {
+        return minor / (double) MINOR_PER_MAJOR;
+    }
+
+    public static long multiply(long minor, long factor) {
+        return Math.multiplyExact(minor, factor);
+    }
+
+    public static long add(long left, long right) {
+        return Math.addExact(left, right);
+    }
+
+    /**
+     * Divides an amount by a positive divisor, rounding the remainder as requested.
+     */
+    public static long divide(long minor, long divisor, RoundingMode rounding) {
+        if (divisor <= 0) {
+            throw new IllegalArgumentException("Divisor must be greater than zero");
+        }
+        long quotient = Math.floorDiv(minor, divisor);
+        long remainder = Math.floorMod(minor, divisor);
+        if (remainder == 0) {
+            return quotient;
+        }
+
+        // remainder is in (0, divisor): compare twice the remainder with the divisor to find the half
+        long twice = remainder * 2;
+        return switch (rounding) {
+            case FLOOR, DOWN -> minor >= 0 || rounding == RoundingMode.FLOOR ? quotient : quotient + 1;
+            case CEILING, UP -> minor >= 0 || rounding == RoundingMode.CEILING ? quotient + 1 : quotient;
+            case HALF_UP -> twice > divisor || (twice == divisor && minor >= 0) ? quotient + 1 : quotient;
+            case HALF_DOWN -> twice > divisor || (twice == divisor && minor < 0) ? quotient + 1 : quotient;
+            case HALF_EVEN -> twice > divisor || (twice == divisor && (quotient & 1) == 1) ? quotient + 1 : quotient;
+            case UNNECESSARY -> throw new ArithmeticException("Rounding necessary");
+        };
+    }
+}
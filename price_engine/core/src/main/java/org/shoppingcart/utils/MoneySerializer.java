@@ -0,0 +1,76 @@
+package org.shoppingcart.utils;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Writes a minor-unit amount ({@code long} cents) as a two-decimal value, e.g. {@code 35 -> "0.35"}.
+ * <p>
+ * Digits are produced with integer arithmetic into a per-thread scratch buffer and handed
+ * to the generator as a char range, so no {@code Formatter}, pattern or intermediate
+ * {@code String} is created. Amounts are written as JSON strings by default; set
+ * {@code pricing.json.money-as-number=true} to write them as JSON numbers instead.
+ * <p>
+ * {@link PricingJson#handlerInstantiator} builds this serializer in the configured mode,
+ * so the property applies wherever it is referenced from {@code @JsonSerialize}.
+ */
+public class MoneySerializer extends StdSerializer<Long> {
+
+    // Sign, 19 digits of a long and the decimal point
+    private static final int MAX_LENGTH = 21;
+    private static final ThreadLocal<char[]> SCRATCH = ThreadLocal.withInitial(() -> new char[MAX_LENGTH]);
+
+    private final boolean asNumber;
+
+    public MoneySerializer() {
+        this(false);
+    }
+
+    public MoneySerializer(boolean asNumber) {
+        super(Long.class);
+        this.asNumber = asNumber;
+    }
+
+    @Override
+    public void serialize(Long value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        writeMinor(value, gen, asNumber);
+    }
+
+    public static void writeMinor(long minor, JsonGenerator gen, boolean asNumber) throws IOException {
+        char[] buffer = SCRATCH.get();
+        int start = format(minor, buffer);
+        if (asNumber) {
+            gen.writeNumber(buffer, start, MAX_LENGTH - start);
+        } else {
+            gen.writeString(buffer, start, MAX_LENGTH - start);
+        }
+    }
+
+    /**
+     * Formats {@code minor} right-aligned into {@code buffer} and returns the start offset.
+     */
+    static int format(long minor, char[] buffer) {
+        boolean negative = minor < 0;
+        // Work on the negative magnitude so Long.MIN_VALUE does not overflow
+        long remaining = negative ? minor : -minor;
+        int pos = MAX_LENGTH;
+
+        for (int i = 0; i < Money.SCALE; i++) {
+            buffer[--pos] = (char) ('0' - remaining % 10);
+            remaining /= 10;
+        }
+        buffer[--pos] = '.';
+        do {
+            buffer[--pos] = (char) ('0' - remaining % 10);
+            remaining /= 10;
+        } while (remaining != 0);
+
+        if (negative) {
+            buffer[--pos] = '-';
+        }
+        return pos;
+    }
+}
@@ -6,7 +6,10 @@ import com.fasterxml.jackson.annotation.JsonValue;
 public enum OfferType {
     BOGO(Constants.BOGO),
     ThreeForTwo(Constants.THREE4TWO),
-    NoOffer(Constants.NoOffer);
+    MultiPrice(Constants.MULTI_PRICE),
+    NoOffer(Constants.NoOffer),
+    // Several offers, combined for the lowest price. Declared last: compiled catalogs store ordinals
+    BestPrice(Constants.BEST_PRICE);
 
     private final String offerName;
 
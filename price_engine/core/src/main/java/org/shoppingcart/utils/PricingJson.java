@@ -0,0 +1,134 @@
+package org.shoppingcart.utils;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.KeyDeserializer;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.cfg.HandlerInstantiator;
+import com.fasterxml.jackson.databind.cfg.MapperConfig;
+import com.fasterxml.jackson.databind.introspect.Annotated;
+import com.fasterxml.jackson.databind.jsontype.TypeIdResolver;
+import com.fasterxml.jackson.databind.jsontype.TypeResolverBuilder;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.shoppingcart.models.CartTally;
+import org.shoppingcart.models.FruitCatalog;
+
+import java.io.IOException;
+import java.math.RoundingMode;
+import java.util.function.Supplier;
+
+/**
+ * Jackson setup shared by every host of the pricing engine, so the Spring application and
+ * the standalone server read carts and write bills alike. Each host registers the modules
+ * and the handler instantiator on its own {@code ObjectMapper}; {@code moneyAsNumber} is
+ * the {@code pricing.json.money-as-number} property.
+ */
+public final class PricingJson {
+
+    private PricingJson() {
+    }
+
+    /**
+     * Writes {@code Double} amounts with two decimals, see {@link DoubleSerializer}.
+     */
+    public static SimpleModule moneyModule(boolean moneyAsNumber) {
+        SimpleModule module = new SimpleModule("money");
+        module.addSerializer(Double.class, new DoubleSerializer(moneyAsNumber));
+        return module;
+    }
+
+    /**
+     * Decodes cart bodies into a {@link CartTally} against the snapshot {@code catalogs}
+     * supplies at decode time.
+     */
+    public static SimpleModule cartTallyModule(Supplier<FruitCatalog> catalogs) {
+        SimpleModule module = new SimpleModule("cartTally");
+        module.addDeserializer(CartTally.class, new CartTallyDeserializer(catalogs));
+        return module;
+    }
+
+    /**
+     * Builds the {@link MoneySerializer} that bill DTOs name in {@code @JsonSerialize} in
+     * the configured mode; every other handler is built by Jackson as usual.
+     */
+    public static HandlerInstantiator handlerInstantiator(boolean moneyAsNumber) {
+        MoneySerializer moneySerializer = new MoneySerializer(moneyAsNumber);
+        return new HandlerInstantiator() {
+            @Override
+            public JsonSerializer<?> serializerInstance(SerializationConfig config, Annotated annotated,
+                                                        Class<?> serClass) {
+                return serClass == MoneySerializer.class ? moneySerializer : null;
+            }
+
+            @Override
+            public JsonDeserializer<?> deserializerInstance(DeserializationConfig config, Annotated annotated,
+                                                            Class<?> deserClass) {
+                return null;
+            }
+
+            @Override
+            public KeyDeserializer keyDeserializerInstance(DeserializationConfig config, Annotated annotated,
+                                                           Class<?> keyDeserClass) {
+                return null;
+            }
+
+            @Override
+            public TypeResolverBuilder<?> typeResolverBuilderInstance(MapperConfig<?> config, Annotated annotated,
+                                                                      Class<?> builderClass) {
+                return null;
+            }
+
+            @Override
+            public TypeIdResolver typeIdResolverInstance(MapperConfig<?> config, Annotated annotated,
+                                                         Class<?> resolverClass) {
+                return null;
+            }
+        };
+    }
+
+    /**
+     * Writes doubles with two decimals, rounding like {@code String.format("%.2f")}.
+     * Values that are already a whole number of cents (the common case) go straight
+     * through {@link MoneySerializer} without any formatting machinery.
+     */
+    public static class DoubleSerializer extends JsonSerializer<Double> {
+
+        // Below this magnitude value * 100 is exact enough to recover the cents by rounding
+        private static final double FAST_PATH_LIMIT = 1e13;
+
+        private final boolean asNumber;
+
+        public DoubleSerializer() {
+            this(false);
+        }
+
+        public DoubleSerializer(boolean asNumber) {
+            this.asNumber = asNumber;
+        }
+
+        @Override
+        public void serialize(Double value, JsonGenerator gen, SerializerProvider provider)
+                throws IOException {
+            if (value == null) {
+                gen.writeNull();
+            } else if (Math.abs(value) < FAST_PATH_LIMIT) {
+                long minor = Math.round(value * Money.MINOR_PER_MAJOR);
+                if (minor / (double) Money.MINOR_PER_MAJOR != value) {
+                    // Not a whole number of cents: round the decimal value half up, as %.2f does
+                    minor = Money.toMinor(value, RoundingMode.HALF_UP);
+                }
+                MoneySerializer.writeMinor(minor, gen, asNumber);
+            } else {
+                String formatted = String.format("%.2f", value);
+                if (asNumber && Double.isFinite(value)) {
+                    gen.writeNumber(formatted);
+                } else {
+                    gen.writeString(formatted);
+                }
+            }
+        }
+    }
+}
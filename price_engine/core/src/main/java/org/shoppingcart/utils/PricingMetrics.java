@@ -0,0 +1,56 @@
+package org.shoppingcart.utils;
+
+import org.shoppingcart.models.CartTally;
+
+/**
+ * What the pricing hot path reports: each bill's time and cart size, each line priced by
+ * offer, and each rejected request by error type. Core records through this interface
+ * and depends on no metrics library; whatever hosts it supplies the meters, and
+ * {@link #disabled()} records nothing.
+ */
+public interface PricingMetrics {
+
+    String UNKNOWN_FRUIT = "unknown_fruit";
+    String MALFORMED_BODY = "malformed_body";
+    String VALIDATION = "validation";
+    String IO = "io";
+    String SESSION_NOT_FOUND = "session_not_found";
+    String UNKNOWN_TIER = "unknown_tier";
+    String CATALOG_VERSION_NOT_FOUND = "catalog_version_not_found";
+    String OVERFLOW = "overflow";
+
+    /**
+     * One cart billed in {@code elapsedNanos}, bill cache included.
+     */
+    void recordBill(CartTally tally, long elapsedNanos);
+
+    /**
+     * One line priced; lines of bills served from the cache are not repriced or recorded.
+     */
+    void recordLine(OfferType offerType);
+
+    /**
+     * One request rejected, {@code type} being one of the constants above.
+     */
+    void recordError(String type);
+
+    /**
+     * Metrics that record into nothing, for the standalone server, tests and benchmarks of
+     * the uninstrumented path.
+     */
+    static PricingMetrics disabled() {
+        return new PricingMetrics() {
+            @Override
+            public void recordBill(CartTally tally, long elapsedNanos) {
+            }
+
+            @Override
+            public void recordLine(OfferType offerType) {
+            }
+
+            @Override
+            public void recordError(String type) {
+            }
+        };
+    }
+}
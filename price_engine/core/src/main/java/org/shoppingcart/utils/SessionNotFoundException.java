@@ -0,0 +1,12 @@
+package org.shoppingcart.utils;
+
+/**
+ * Raised for a pricing session id that was never issued or has expired. Like
+ * {@link UnknownFruitException} it is an expected outcome, so no stack trace is captured.
+ */
+public class SessionNotFoundException extends RuntimeException {
+
+    public SessionNotFoundException(String sessionId) {
+        super("Unknown or expired session: " + sessionId, null, false, false);
+    }
+}
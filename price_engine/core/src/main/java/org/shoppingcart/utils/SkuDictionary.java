@@ -0,0 +1,331 @@
+package org.shoppingcart.utils;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+
+/**
+ * Immutable mapping from SKU names to dense int ids {@code 0..size()-1}, built once per
+ * catalog load. Everything downstream of decoding (prices, offers, tallies) is indexed
+ * by these ids, so pricing never hashes a string.
+ * <p>
+ * Names are matched case-insensitively through an open-addressing table of
+ * {@code id + 1} entries (0 marks an empty slot) kept at most half full. Each id's
+ * folded hash is stored alongside its name, so a probe compares characters only on a
+ * full hash match.
+ * <p>
+ * A dictionary {@link #read} from a {@link CatalogFile} image probes the same table in
+ * place, with the names stored as one run of characters and a start offset per id.
+ */
+public abstract sealed class SkuDictionary permits SkuDictionary.OnHeap, SkuDictionary.Mapped {
+
+    public static final int NOT_FOUND = -1;
+
+    private static final int MIN_TABLE_SIZE = 16;
+
+    public static Builder builder(int expectedSize) {
+        return new Builder(expectedSize);
+    }
+
+    public static SkuDictionary of(String... names) {
+        Builder builder = builder(names.length);
+        for (String name : names) {
+            builder.add(name);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Reads a dictionary written by {@link #write} from the image's current position,
+     * in place: the returned dictionary is a set of views of the image.
+     */
+    public static SkuDictionary read(ByteBuffer image) {
+        int size = image.getInt();
+        int tableSize = image.getInt();
+        int charCount = image.getInt();
+        image.getInt();
+        if (size < 0 || charCount < 0 || Integer.bitCount(tableSize) != 1 || tableSize < size) {
+            throw new IllegalArgumentException("Bad SKU dictionary header");
+        }
+        IntBuffer hashes = CatalogFile.section(image, (long) size * Integer.BYTES).asIntBuffer();
+        IntBuffer slots = CatalogFile.section(image, (long) tableSize * Integer.BYTES).asIntBuffer();
+        IntBuffer nameStarts = CatalogFile.section(image, (size + 1L) * Integer.BYTES).asIntBuffer();
+        CharBuffer nameChars = CatalogFile.section(image, (long) charCount * Character.BYTES).asCharBuffer();
+        return new Mapped(size, hashes, slots, nameStarts, nameChars);
+    }
+
+    public int idOf(String name) {
+        return name == null ? NOT_FOUND : idOf(name, 0, name.length());
+    }
+
+    /**
+     * Case-insensitive lookup of a name held in a character buffer, e.g. a parser's
+     * token buffer. Returns {@link #NOT_FOUND} for unknown names and allocates nothing.
+     */
+    public abstract int idOf(CharSequence text, int offset, int length);
+
+    public abstract String name(int id);
+
+    public abstract int size();
+
+    /**
+     * The folded hash of every id, and the probe table, as buffers positioned at zero
+     * for {@link #write}.
+     */
+    abstract IntBuffer hashes();
+
+    abstract IntBuffer slots();
+
+    /**
+     * Bytes {@link #write} takes.
+     */
+    public long imageBytes() {
+        return 4L * Integer.BYTES
+                + CatalogFile.sectionBytes((long) size() * Integer.BYTES)
+                + CatalogFile.sectionBytes((long) slots().capacity() * Integer.BYTES)
+                + CatalogFile.sectionBytes((size() + 1L) * Integer.BYTES)
+                + CatalogFile.sectionBytes(nameChars() * Character.BYTES);
+    }
+
+    public void write(ByteBuffer image) {
+        int size = size();
+        long nameChars = nameChars();
+        IntBuffer slots = slots();
+        image.putInt(size).putInt(slots.capacity()).putInt((int) nameChars).putInt(0);
+        CatalogFile.section(image, (long) size * Integer.BYTES).asIntBuffer().put(hashes());
+        CatalogFile.section(image, (long) slots.capacity() * Integer.BYTES).asIntBuffer().put(slots);
+        IntBuffer nameStarts = CatalogFile.section(image, (size + 1L) * Integer.BYTES).asIntBuffer();
+        CharBuffer chars = CatalogFile.section(image, nameChars * Character.BYTES).asCharBuffer();
+        nameStarts.put(0);
+        for (int id = 0; id < size; id++) {
+            chars.put(name(id));
+            nameStarts.put(chars.position());
+        }
+    }
+
+    private long nameChars() {
+        long chars = 0;
+        for (int id = 0, size = size(); id < size; id++) {
+            chars += name(id).length();
+        }
+        return chars;
+    }
+
+    private static int foldedHash(CharSequence text, int offset, int length) {
+        int hash = 0;
+        for (int i = 0; i < length; i++) {
+            hash = 31 * hash + Character.toLowerCase(text.charAt(offset + i));
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    private static int tableSizeFor(int entries) {
+        int size = MIN_TABLE_SIZE;
+        while (size < entries * 2) {
+            size <<= 1;
+        }
+        return size;
+    }
+
+    static final class OnHeap extends SkuDictionary {
+
+        private final String[] names;
+        private final int[] hashes;
+        private final int[] slots;
+
+        private OnHeap(String[] names, int[] hashes, int[] slots) {
+            this.names = names;
+            this.hashes = hashes;
+            this.slots = slots;
+        }
+
+        @Override
+        public int idOf(CharSequence text, int offset, int length) {
+            return find(slots, names, hashes, text, offset, length, foldedHash(text, offset, length));
+        }
+
+        @Override
+        public String name(int id) {
+            return names[id];
+        }
+
+        @Override
+        public int size() {
+            return names.length;
+        }
+
+        @Override
+        IntBuffer hashes() {
+            return IntBuffer.wrap(hashes);
+        }
+
+        @Override
+        IntBuffer slots() {
+            return IntBuffer.wrap(slots);
+        }
+
+        private static int find(int[] slots, String[] names, int[] hashes,
+                                CharSequence text, int offset, int length, int hash) {
+            int mask = slots.length - 1;
+            int slot = hash & mask;
+            int entry;
+            while ((entry = slots[slot]) != 0) {
+                int id = entry - 1;
+                if (hashes[id] == hash && matches(names[id], text, offset, length)) {
+                    return id;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return NOT_FOUND;
+        }
+
+        private static boolean matches(String name, CharSequence text, int offset, int length) {
+            if (name.length() != length) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (Character.toLowerCase(text.charAt(offset + i)) != Character.toLowerCase(name.charAt(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    static final class Mapped extends SkuDictionary {
+
+        private final int size;
+        private final IntBuffer hashes;
+        private final IntBuffer slots;
+        private final IntBuffer nameStarts;
+        private final CharBuffer nameChars;
+
+        private Mapped(int size, IntBuffer hashes, IntBuffer slots, IntBuffer nameStarts, CharBuffer nameChars) {
+            this.size = size;
+            this.hashes = hashes;
+            this.slots = slots;
+            this.nameStarts = nameStarts;
+            this.nameChars = nameChars;
+        }
+
+        @Override
+        public int idOf(CharSequence text, int offset, int length) {
+            int hash = foldedHash(text, offset, length);
+            int mask = slots.capacity() - 1;
+            int slot = hash & mask;
+            int entry;
+            while ((entry = slots.get(slot)) != 0) {
+                int id = entry - 1;
+                if (hashes.get(id) == hash && matches(id, text, offset, length)) {
+                    return id;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return NOT_FOUND;
+        }
+
+        @Override
+        public String name(int id) {
+            return nameChars.subSequence(nameStarts.get(id), nameStarts.get(id + 1)).toString();
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        IntBuffer hashes() {
+            return hashes.duplicate().clear();
+        }
+
+        @Override
+        IntBuffer slots() {
+            return slots.duplicate().clear();
+        }
+
+        private boolean matches(int id, CharSequence text, int offset, int length) {
+            int start = nameStarts.get(id);
+            if (nameStarts.get(id + 1) - start != length) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (Character.toLowerCase(text.charAt(offset + i)) != Character.toLowerCase(nameChars.get(start + i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    public static final class Builder {
+
+        private String[] names;
+        private int[] hashes;
+        private int[] slots;
+        private int size;
+
+        private Builder(int expectedSize) {
+            int capacity = Math.max(expectedSize, 1);
+            names = new String[capacity];
+            hashes = new int[capacity];
+            slots = new int[tableSizeFor(capacity)];
+        }
+
+        /**
+         * Returns the id for {@code name}, assigning the next free id if the name is new.
+         * Names differing only in case share one id.
+         */
+        public int add(String name) {
+            if (name == null || name.isBlank()) {
+                throw new IllegalArgumentException("SKU name is required");
+            }
+            int hash = foldedHash(name, 0, name.length());
+            int existing = OnHeap.find(slots, names, hashes, name, 0, name.length(), hash);
+            if (existing != NOT_FOUND) {
+                return existing;
+            }
+
+            if (size == names.length) {
+                names = Arrays.copyOf(names, size * 2);
+                hashes = Arrays.copyOf(hashes, size * 2);
+            }
+            int id = size++;
+            names[id] = name;
+            hashes[id] = hash;
+            if (size * 2 > slots.length) {
+                rehash(slots.length * 2);
+            } else {
+                insert(slots, id, hash);
+            }
+            return id;
+        }
+
+        public SkuDictionary build() {
+            String[] finalNames = Arrays.copyOf(names, size);
+            int[] finalHashes = Arrays.copyOf(hashes, size);
+            int[] finalSlots = new int[tableSizeFor(size)];
+            for (int id = 0; id < size; id++) {
+                insert(finalSlots, id, finalHashes[id]);
+            }
+            return new OnHeap(finalNames, finalHashes, finalSlots);
+        }
+
+        private void rehash(int tableSize) {
+            slots = new int[tableSize];
+            for (int id = 0; id < size; id++) {
+                insert(slots, id, hashes[id]);
+            }
+        }
+
+        private static void insert(int[] slots, int id, int hash) {
+            int mask = slots.length - 1;
+            int slot = hash & mask;
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = id + 1;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package org.shoppingcart.utils;
+
+import java.util.List;
+
+/**
+ * Raised when a cart names fruits that are not in the catalog. Carries the names
+ * only; the stack trace is not captured since this is an expected validation outcome.
+ */
+public class UnknownFruitException extends RuntimeException {
+
+    private final List<String> unknownNames;
+
+    public UnknownFruitException(List<String> unknownNames) {
+        super("Unknown fruit type(s): " + String.join(", ", unknownNames), null, false, false);
+        this.unknownNames = List.copyOf(unknownNames);
+    }
+
+    public List<String> getUnknownNames() {
+        return unknownNames;
+    }
+}
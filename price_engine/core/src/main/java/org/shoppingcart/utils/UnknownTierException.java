@@ -0,0 +1,20 @@
+package org.shoppingcart.utils;
+
+/**
+ * Raised when a request asks for a customer tier the catalog has no prices for. Carries
+ * the tier only; the stack trace is not captured since this is an expected validation
+ * outcome.
+ */
+public class UnknownTierException extends RuntimeException {
+
+    private final String tier;
+
+    public UnknownTierException(String tier) {
+        super("Unknown tier: " + tier, null, false, false);
+        this.tier = tier;
+    }
+
+    public String getTier() {
+        return tier;
+    }
+}
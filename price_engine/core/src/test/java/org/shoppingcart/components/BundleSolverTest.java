@@ -0,0 +1,179 @@
+package org.shoppingcart.components;
+
+import org.junit.jupiter.api.Test;
+import org.shoppingcart.models.BOGO;
+import org.shoppingcart.models.Bundle;
+import org.shoppingcart.models.Fruit;
+import org.shoppingcart.models.FruitCatalog;
+import org.shoppingcart.models.ThreeForTwo;
+import org.shoppingcart.utils.OfferType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BundleSolverTest {
+
+    private static final List<Fruit> FRUITS = List.of(
+            new Fruit("apple", 0.35, OfferType.NoOffer, null),
+            new Fruit("banana", 0.20, OfferType.NoOffer, null),
+            new Fruit("melon", 0.50, OfferType.BOGO, new BOGO(1, 1)),
+            new Fruit("lime", 0.15, OfferType.ThreeForTwo, new ThreeForTwo(3, 2)));
+
+    private static int[] skus(FruitCatalog catalog, String... names) {
+        int[] skus = new int[names.length];
+        for (int line = 0; line < names.length; line++) {
+            skus[line] = catalog.idOf(names[line]);
+        }
+        return skus;
+    }
+
+    private static BundleSolver.Solution solve(FruitCatalog catalog, int[] skus, int... quantities) {
+        return BundleSolver.solve(catalog.offers(), catalog.bundles(), skus, quantities, skus.length);
+    }
+
+    private static long total(FruitCatalog catalog, int[] skus, int[] quantities, BundleSolver.Solution solution) {
+        long total = 0;
+        for (int line = 0; line < skus.length; line++) {
+            int bundled = solution == null ? 0 : solution.bundledUnits()[line];
+            total += catalog.offers().charge(skus[line], quantities[line] - bundled);
+        }
+        if (solution != null) {
+            for (BundleSolver.BundleUse use : solution.uses()) {
+                total += use.count() * catalog.bundles().priceMinor(use.bundle());
+            }
+        }
+        return total;
+    }
+
+    @Test
+    void solve_MixAndMatch_TakesTheMostValuableUnits() {
+        // Arrange: any 3 of apple/banana/lime for 0.50
+        FruitCatalog catalog = FruitCatalog.of(1L, FRUITS,
+                List.of(Bundle.anyOf("any-3", 0.50, 3, List.of("apple", "banana", "lime"))));
+
+        int[] skus = skus(catalog, "apple", "banana", "lime");
+
+        // Act: 2 apples, 1 banana, 3 limes cost 1.20 on their lines
+        BundleSolver.Solution solution = solve(catalog, skus, 2, 1, 3);
+
+        // Assert: apples and the banana go in the bundle; the limes keep their 3 for 2
+        assertEquals(1, solution.uses().size());
+        assertEquals(1, solution.uses().get(0).count());
+        assertArrayEquals(new int[]{2, 1, 0}, solution.bundledUnits());
+        assertEquals(80L, total(catalog, skus, new int[]{2, 1, 3}, solution));
+    }
+
+    @Test
+    void solve_MixAndMatch_SkipsUnitsTheLineOfferMakesFree() {
+        // Arrange: any 2 for 0.30; the third of 3 limes costs nothing on its line
+        FruitCatalog catalog = FruitCatalog.of(1L, FRUITS,
+                List.of(Bundle.anyOf("any-2", 0.30, 2, List.of("apple", "lime"))));
+        int[] skus = skus(catalog, "apple", "lime");
+
+        // Act
+        BundleSolver.Solution solution = solve(catalog, skus, 1, 3);
+
+        // Assert: the apple and one lime go in, saving 0.05; two limes would cost more than the 0.15 they save
+        assertArrayEquals(new int[]{1, 1}, solution.bundledUnits());
+        assertEquals(60L, total(catalog, skus, new int[]{1, 3}, solution));
+    }
+
+    @Test
+    void solve_LineOffersMakeTheBundleDearer_LeavesUnitsOnTheirLines() {
+        // Arrange: a melon and a lime for 0.55
+        FruitCatalog catalog = FruitCatalog.of(1L, FRUITS,
+                List.of(Bundle.fixed("melon-lime", 0.55, Map.of("melon", 1, "lime", 1))));
+
+        // Act
+        int[] skus = skus(catalog, "melon", "lime");
+        BundleSolver.Solution single = solve(catalog, skus, 1, 1);
+        BundleSolver.Solution pairs = solve(catalog, skus, 2, 3);
+
+        // Assert: one of each saves 0.10; with BOGO melons and 3-for-2 limes the bundle saves nothing
+        assertEquals(1, single.uses().size());
+        assertArrayEquals(new int[]{1, 1}, single.bundledUnits());
+        assertTrue(pairs.uses().isEmpty());
+        assertArrayEquals(new int[]{0, 0}, pairs.bundledUnits());
+    }
+
+    @Test
+    void solve_NoBundleOnTheCart_ReturnsNull() {
+        FruitCatalog catalog = FruitCatalog.of(1L, FRUITS,
+                List.of(Bundle.fixed("melon-lime", 0.55, Map.of("melon", 1, "lime", 1))));
+
+        assertNull(solve(catalog, skus(catalog, "apple"), 3));
+        // A fixed bundle needs every member on the cart
+        assertNull(solve(catalog, skus(catalog, "melon"), 3));
+    }
+
+    @Test
+    void solve_RandomCartsAndBundles_NeverCostMoreAndAccountForEveryUnit() {
+        // Arrange
+        Random random = new Random(11);
+        List<Fruit> fruits = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            fruits.add(new Fruit("sku-" + i, 0.05 + random.nextInt(100) / 100.0,
+                    i % 3 == 0 ? OfferType.ThreeForTwo : OfferType.NoOffer, null));
+        }
+        List<Bundle> bundles = new ArrayList<>();
+        for (int b = 0; b < 15; b++) {
+            bundles.add(b % 2 == 0
+                    ? Bundle.anyOf("pool-" + b, 0.50 + random.nextInt(100) / 100.0, 2 + random.nextInt(3),
+                    List.of("sku-" + random.nextInt(40), "sku-" + random.nextInt(40), "sku-" + random.nextInt(40)))
+                    : Bundle.fixed("fixed-" + b, 0.30 + random.nextInt(100) / 100.0,
+                    Map.of("sku-" + b, 1 + random.nextInt(2), "sku-" + (b + 20), 1)));
+        }
+        FruitCatalog catalog = FruitCatalog.of(1L, fruits, bundles);
+
+        for (int cart = 0; cart < 200; cart++) {
+            int lines = 1 + random.nextInt(20);
+            int[] skus = random.ints(0, 40).distinct().limit(lines).toArray();
+            int[] quantities = random.ints(lines, 1, 12).toArray();
+
+            // Act
+            BundleSolver.Solution solution = BundleSolver.solve(catalog.offers(), catalog.bundles(), skus, quantities, lines);
+
+            // Assert
+            assertTrue(total(catalog, skus, quantities, solution) <= total(catalog, skus, quantities, null));
+            if (solution == null) {
+                continue;
+            }
+            int[] fromUses = new int[lines];
+            for (BundleSolver.BundleUse use : solution.uses()) {
+                BundleTable table = catalog.bundles();
+                int units = 0;
+                for (int member = 0; member < use.lines().length; member++) {
+                    if (use.lines()[member] >= 0) {
+                        fromUses[use.lines()[member]] += use.units()[member];
+                    }
+                    units += use.units()[member];
+                    if (table.poolSize(use.bundle()) == 0) {
+                        assertEquals(use.count() * table.memberUnits(table.memberStart(use.bundle()) + member),
+                                use.units()[member]);
+                    }
+                }
+                if (table.poolSize(use.bundle()) > 0) {
+                    assertEquals(use.count() * table.poolSize(use.bundle()), units);
+                }
+            }
+            assertArrayEquals(fromUses, solution.bundledUnits());
+            for (int line = 0; line < lines; line++) {
+                assertTrue(solution.bundledUnits()[line] <= quantities[line]);
+            }
+        }
+    }
+
+    @Test
+    void catalog_InvalidBundles_FailTheLoad() {
+        assertThrows(IllegalArgumentException.class, () -> FruitCatalog.of(1L, FRUITS,
+                List.of(Bundle.fixed("kiwi-lime", 0.30, Map.of("kiwi", 1, "lime", 1)))));
+        assertThrows(IllegalArgumentException.class, () -> FruitCatalog.of(1L, FRUITS,
+                List.of(new Bundle("both", 0.30, Map.of("lime", 1), List.of("apple"), 2))));
+        assertThrows(IllegalArgumentException.class, () -> FruitCatalog.of(1L, FRUITS,
+                List.of(Bundle.anyOf("none", 0.30, 0, List.of("apple")))));
+    }
+}
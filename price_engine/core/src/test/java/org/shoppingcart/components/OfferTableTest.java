@@ -0,0 +1,243 @@
+package org.shoppingcart.components;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.shoppingcart.models.BOGO;
+import org.shoppingcart.models.MultiPrice;
+import org.shoppingcart.models.ThreeForTwo;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OfferTableTest {
+
+    @ParameterizedTest(name = "{0} units → {1}, {2}, {3}")
+    @CsvSource({
+            "0, 0, 0, 0",
+            "1, 35, 50, 15",
+            "2, 70, 50, 30",
+            "3, 105, 100, 30",
+            "4, 140, 100, 45",
+            "7, 245, 200, 75",
+            "100, 3500, 2500, 1005"
+    })
+    void charge_StandardOffers_ChargeExactMinorUnits(int quantity, long none, long bogo, long threeForTwo) {
+        // Arrange
+        OfferTable table = OfferTable.builder(3)
+                .put(0, 35L, CompiledOffer.none(35L))
+                .put(1, 50L, new BOGO(1, 1).compile(50L))
+                .put(2, 15L, new ThreeForTwo(3, 2).compile(15L))
+                .build();
+
+        // Act & Assert
+        assertEquals(none, table.charge(0, quantity));
+        assertEquals(bogo, table.charge(1, quantity));
+        assertEquals(threeForTwo, table.charge(2, quantity));
+    }
+
+    @ParameterizedTest(name = "buy {0} get {1} free x {2} → {3}")
+    @CsvSource({
+            "2, 1, 3, 200",   // one full group
+            "2, 1, 5, 400",   // group + 2 paid
+            "3, 2, 10, 600",  // two full groups
+            "1, 2, 4, 200"    // group + 1 paid
+    })
+    void charge_BuyNGetM_UsesCatalogParameters(int buy, int free, int quantity, long expected) {
+        // Arrange
+        OfferTable table = OfferTable.builder(1).put(0, 100L, new BOGO(buy, free).compile(100L)).build();
+
+        // Act & Assert
+        assertEquals(expected, table.charge(0, quantity));
+    }
+
+    @Test
+    void charge_MultiPrice_ChargesGroupPriceThenUnits() {
+        // Arrange: 3 for 1.00 at 0.45 each
+        OfferTable table = OfferTable.builder(1).put(0, 45L, new MultiPrice(3, 1.00).compile(45L)).build();
+
+        // Act & Assert
+        assertEquals(90L, table.charge(0, 2));
+        assertEquals(100L, table.charge(0, 3));
+        assertEquals(245L, table.charge(0, 7));
+    }
+
+    @Test
+    void compile_MissingParameters_UsesStandardOffers() {
+        assertEquals(new CompiledOffer(2, 50L), new BOGO().compile(50L));
+        assertEquals(new CompiledOffer(3, 30L), new ThreeForTwo().compile(15L));
+    }
+
+    @Test
+    void compile_InvalidParameters_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> new BOGO(0, 0).compile(10L));
+        assertThrows(IllegalArgumentException.class, () -> new ThreeForTwo(2, 3).compile(10L));
+        assertThrows(IllegalArgumentException.class, () -> new MultiPrice(null, 1.0).compile(10L));
+    }
+
+    @Test
+    void charge_NegativeQuantity_Throws() {
+        OfferTable table = OfferTable.builder(1).put(0, 10L, CompiledOffer.none(10L)).build();
+
+        assertThrows(IllegalArgumentException.class, () -> table.charge(0, -1));
+    }
+
+    private static long cheapestBySearch(long unitPriceMinor, List<CompiledOffer> offers, int quantity) {
+        long[] cheapest = new long[quantity + 1];
+        for (int q = 1; q <= quantity; q++) {
+            cheapest[q] = cheapest[q - 1] + unitPriceMinor;
+            for (CompiledOffer offer : offers) {
+                if (offer.groupSize() <= q) {
+                    cheapest[q] = Math.min(cheapest[q], cheapest[q - offer.groupSize()] + offer.groupPriceMinor());
+                }
+            }
+        }
+        return cheapest[quantity];
+    }
+
+    @Test
+    void charge_SeveralOffers_MatchesCheapestMixFoundBySearch() {
+        // Arrange: BOGO or 3 for 2; tiers; a best group that is not the largest; an offer worse than units
+        List<List<CompiledOffer>> offerSets = List.of(
+                List.of(new BOGO(1, 1).compile(100L), new ThreeForTwo(3, 2).compile(100L)),
+                List.of(new MultiPrice(3, 1.00).compile(45L), new MultiPrice(6, 1.80).compile(45L)),
+                List.of(new CompiledOffer(7, 500L), new CompiledOffer(4, 250L), new CompiledOffer(10, 760L)),
+                List.of(new CompiledOffer(5, 600L), new CompiledOffer(2, 190L)));
+        OfferTable.Builder builder = OfferTable.builder(offerSets.size());
+        for (int sku = 0; sku < offerSets.size(); sku++) {
+            builder.put(sku, sku == 1 ? 45L : 100L, BestPriceTable.of(sku == 1 ? 45L : 100L, offerSets.get(sku)));
+        }
+        OfferTable table = builder.build();
+
+        // Act & Assert: well past every table's prefix
+        for (int sku = 0; sku < offerSets.size(); sku++) {
+            assertTrue(table.hasBestPriceTable(sku));
+            long unitPriceMinor = table.unitPriceMinor(sku);
+            for (int quantity = 0; quantity <= 300; quantity++) {
+                assertEquals(cheapestBySearch(unitPriceMinor, offerSets.get(sku), quantity), table.charge(sku, quantity),
+                        "sku " + sku + " x " + quantity);
+            }
+        }
+    }
+
+    @Test
+    void charge_TieredMultiPrice_PicksTheCheapestSplit() {
+        // Arrange: 3 for 1.00 and 6 for 1.80 at 0.45 each
+        BestPriceTable tiers = BestPriceTable.of(45L, List.of(
+                new MultiPrice(3, 1.00).compile(45L), new MultiPrice(6, 1.80).compile(45L)));
+        OfferTable table = OfferTable.builder(2)
+                .put(0, 10L, CompiledOffer.none(10L))
+                .put(1, 45L, tiers)
+                .build();
+
+        // Act & Assert
+        assertFalse(table.hasBestPriceTable(0));
+        assertEquals(new CompiledOffer(6, 180L), tiers.best());
+        assertEquals(190L, table.charge(1, 5));    // 1.00 + 2 x 0.45
+        assertEquals(280L, table.charge(1, 9));    // 1.80 + 1.00
+        assertEquals(180_000L, table.charge(1, 6_000));
+        assertEquals(6, table.groupSize(1));
+        assertThrows(IllegalArgumentException.class, () -> table.charge(1, -1));
+    }
+
+    @Test
+    void bestPriceTable_TooManyQuantities_Throws() {
+        // The prefix needs (best group - 1) x largest group + 1 quantities
+        List<CompiledOffer> offers = List.of(new CompiledOffer(1_000, 1L), new CompiledOffer(999, 1_000L));
+
+        assertThrows(IllegalArgumentException.class, () -> BestPriceTable.of(100L, offers));
+    }
+
+    @Test
+    void overlay_OverriddenSkus_ChargeFromTheirRowsAndTheRestFromTheBase() {
+        // Arrange: SKU 2 becomes BOGO at 0.12 over a base of plain units
+        OfferTable.Builder baseRows = OfferTable.builder(4);
+        for (int sku = 0; sku < 4; sku++) {
+            baseRows.put(sku, 10L * (sku + 1), CompiledOffer.none(10L * (sku + 1)));
+        }
+        OfferTable base = baseRows.build();
+        OverlayIndex index = OverlayIndex.of(new int[]{2});
+        OfferTable overrides = OfferTable.builder(index.capacity())
+                .put(index.slotOf(2), 12L, new BOGO(1, 1).compile(12L))
+                .build();
+
+        // Act
+        OfferTable overlay = OfferTable.overlay(base, index, overrides);
+
+        // Assert
+        assertEquals(4, overlay.size());
+        assertEquals(24L, overlay.charge(2, 4));
+        assertEquals(12L, overlay.unitPriceMinor(2));
+        assertEquals(2, overlay.groupSize(2));
+        for (int sku : new int[]{0, 1, 3}) {
+            assertEquals(base.charge(sku, 4), overlay.charge(sku, 4));
+        }
+        assertEquals(120L, base.charge(2, 4));
+    }
+
+    @Test
+    void overlay_WrittenOnItsOwn_ReadsBackAsTheMergedTable() {
+        // Arrange: best-price tables on both sides, one of them replaced and one added
+        BestPriceTable tiers = BestPriceTable.of(45L, List.of(
+                new MultiPrice(3, 1.00).compile(45L), new MultiPrice(6, 1.80).compile(45L)));
+        OfferTable base = OfferTable.builder(4)
+                .put(0, 45L, tiers)
+                .put(1, 20L, CompiledOffer.none(20L))
+                .put(2, 100L, BestPriceTable.of(100L, List.of(new BOGO(1, 1).compile(100L),
+                        new ThreeForTwo(3, 2).compile(100L))))
+                .put(3, 30L, new ThreeForTwo(3, 2).compile(30L))
+                .build();
+        OverlayIndex index = OverlayIndex.of(new int[]{0, 1});
+        OfferTable overrides = OfferTable.builder(index.capacity())
+                .put(index.slotOf(0), 40L, CompiledOffer.none(40L))
+                .put(index.slotOf(1), 20L, tiers)
+                .build();
+        OfferTable overlay = OfferTable.overlay(base, index, overrides);
+        ByteBuffer image = ByteBuffer.allocate((int) overlay.imageBytes());
+
+        // Act
+        overlay.write(image);
+        OfferTable read = OfferTable.read(image.flip(), overlay.size());
+
+        // Assert
+        assertFalse(image.hasRemaining());
+        for (int sku = 0; sku < overlay.size(); sku++) {
+            assertEquals(overlay.hasBestPriceTable(sku), read.hasBestPriceTable(sku));
+            assertEquals(overlay.groupPriceColumn(sku), read.groupPriceColumn(sku));
+            for (int quantity = 0; quantity <= 20; quantity++) {
+                assertEquals(overlay.charge(sku, quantity), read.charge(sku, quantity), "sku " + sku + " x " + quantity);
+            }
+        }
+        assertEquals(160L, read.charge(0, 4));
+        assertTrue(read.hasBestPriceTable(1));
+        assertEquals(base.charge(2, 7), read.charge(2, 7));
+    }
+
+    @Test
+    void overlayIndex_RandomSkus_FindsEachInOneOfTwoSlots() {
+        // Arrange
+        Random random = new Random(7);
+        int[] skus = random.ints(5_000, 0, 1_000_000).distinct().toArray();
+
+        // Act
+        OverlayIndex index = OverlayIndex.of(skus);
+
+        // Assert
+        assertEquals(skus.length, index.size());
+        boolean[] used = new boolean[index.capacity()];
+        for (int sku : skus) {
+            int slot = index.slotOf(sku);
+            assertNotEquals(OverlayIndex.NOT_FOUND, slot);
+            assertEquals(sku, index.skuAt(slot));
+            assertFalse(used[slot]);
+            used[slot] = true;
+        }
+        for (int sku = 1_000_000; sku < 1_001_000; sku++) {
+            assertEquals(OverlayIndex.NOT_FOUND, index.slotOf(sku));
+        }
+        assertEquals(OverlayIndex.NOT_FOUND, OverlayIndex.of(new int[0]).slotOf(0));
+    }
+}
@@ -0,0 +1,127 @@
+package org.shoppingcart.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.shoppingcart.models.BillCacheStatsDTO;
+import org.shoppingcart.models.CartTally;
+import org.shoppingcart.models.Fruit;
+import org.shoppingcart.models.FruitCatalog;
+import org.shoppingcart.models.FruitResponseDTO;
+import org.shoppingcart.utils.OfferType;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BillCacheTest {
+
+    private static final List<Fruit> FRUITS = List.of(
+            new Fruit("apple", 0.35, OfferType.NoOffer, null),
+            new Fruit("lime", 0.15, OfferType.ThreeForTwo, null));
+
+    private BillCache billCache;
+    private AtomicInteger pricings;
+    private Function<CartTally, FruitResponseDTO> pricer;
+
+    @BeforeEach
+    void setUp() {
+        billCache = new BillCache(true, 100, Duration.ofMinutes(10));
+        pricings = new AtomicInteger();
+        pricer = tally -> {
+            pricings.incrementAndGet();
+            return FruitResponseDTO.ofMinor(List.of(), tally.totalUnits(), 0L);
+        };
+    }
+
+    @Test
+    void get_SameContentsInAnyOrder_PricedOnce() {
+        // Arrange
+        FruitCatalog catalog = FruitCatalog.of(1L, FRUITS);
+
+        // Act
+        FruitResponseDTO first = billCache.get(CartTally.of(catalog, List.of("apple", "lime", "apple")), () -> 1L, pricer);
+        FruitResponseDTO second = billCache.get(CartTally.of(catalog, List.of("LIME", "apple", "apple")), () -> 1L, pricer);
+
+        // Assert
+        assertSame(first, second);
+        assertEquals(1, pricings.get());
+        BillCacheStatsDTO stats = billCache.stats();
+        assertEquals(1L, stats.getHits());
+        assertEquals(1L, stats.getMisses());
+    }
+
+    @Test
+    void get_DifferentQuantities_PricedSeparately() {
+        FruitCatalog catalog = FruitCatalog.of(1L, FRUITS);
+
+        billCache.get(CartTally.of(catalog, List.of("apple", "lime")), () -> 1L, pricer);
+        billCache.get(CartTally.of(catalog, List.of("apple", "lime", "lime")), () -> 1L, pricer);
+
+        assertEquals(2, pricings.get());
+    }
+
+    @Test
+    void get_NewCatalogGeneration_RepricesAndDropsOlderEntries() {
+        // Arrange
+        List<String> cart = List.of("apple", "lime");
+        billCache.get(CartTally.of(FruitCatalog.of(1L, FRUITS), cart), () -> 1L, pricer);
+
+        // Act
+        billCache.get(CartTally.of(FruitCatalog.of(2L, FRUITS), cart), () -> 2L, pricer);
+
+        // Assert
+        assertEquals(2, pricings.get());
+        assertEquals(0L, billCache.stats().getHits());
+        assertEquals(1L, billCache.stats().getSize());
+    }
+
+    @Test
+    void get_ScheduledVersionPricedEarly_StillDroppedWhenItIsPublished() {
+        // Arrange: version 2 is priced by version before it takes effect
+        List<String> cart = List.of("apple", "lime");
+        billCache.get(CartTally.of(FruitCatalog.of(1L, FRUITS), cart), () -> 1L, pricer);
+        billCache.get(CartTally.of(FruitCatalog.of(2L, FRUITS), List.of("apple")), () -> 1L, pricer);
+        long sizeBeforePublish = billCache.stats().getSize();
+
+        // Act: version 2 is published
+        billCache.get(CartTally.of(FruitCatalog.of(2L, FRUITS), cart), () -> 2L, pricer);
+
+        // Assert
+        assertEquals(2L, sizeBeforePublish);
+        assertEquals(1L, billCache.stats().getSize());
+    }
+
+    @Test
+    void get_CallerBehindTheLatestGeneration_DoesNotDropEntriesAgain() {
+        // Arrange
+        List<String> cart = List.of("apple", "lime");
+        billCache.get(CartTally.of(FruitCatalog.of(1L, FRUITS), cart), () -> 1L, pricer);
+        billCache.get(CartTally.of(FruitCatalog.of(2L, FRUITS), cart), () -> 2L, pricer);
+
+        // Act
+        billCache.get(CartTally.of(FruitCatalog.of(1L, FRUITS), cart), () -> 1L, pricer);
+        billCache.get(CartTally.of(FruitCatalog.of(2L, FRUITS), cart), () -> 2L, pricer);
+
+        // Assert
+        assertEquals(3, pricings.get());
+        assertEquals(1L, billCache.stats().getHits());
+    }
+
+    @Test
+    void get_Disabled_AlwaysPrices() {
+        // Arrange
+        BillCache disabled = BillCache.disabled();
+        FruitCatalog catalog = FruitCatalog.of(1L, FRUITS);
+
+        // Act
+        disabled.get(CartTally.of(catalog, List.of("apple")), () -> 1L, pricer);
+        disabled.get(CartTally.of(catalog, List.of("apple")), () -> 1L, pricer);
+
+        // Assert
+        assertEquals(2, pricings.get());
+        assertFalse(disabled.stats().isEnabled());
+    }
+}
@@ -0,0 +1,244 @@
+package org.shoppingcart.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.shoppingcart.models.BundlePriceDTO;
+import org.shoppingcart.models.Fruit;
+import org.shoppingcart.models.FruitPriceDTO;
+import org.shoppingcart.models.FruitResponseDTO;
+import org.shoppingcart.models.JournaledBill;
+import org.shoppingcart.utils.BillJournalFile;
+import org.shoppingcart.utils.BillJournalReader;
+import org.shoppingcart.utils.OfferType;
+import org.shoppingcart.utils.PricingJson;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BillJournalTest {
+
+    @TempDir
+    Path directory;
+
+    private BillJournal journal;
+
+    @AfterEach
+    void tearDown() {
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    private static FruitResponseDTO bill(long totalPriceMinor) {
+        FruitPriceDTO apple = FruitPriceDTO.of(new Fruit("apple", 0.35, OfferType.NoOffer, null), 35L, 2, 70L);
+        FruitPriceDTO lime = FruitPriceDTO.of(new Fruit("lime", 0.15, OfferType.ThreeForTwo, null), 15L, 4, 1, 30L);
+        BundlePriceDTO bundle = BundlePriceDTO.of("lime-apple", 1, 40L, Map.of("lime", 1));
+        FruitResponseDTO bill = FruitResponseDTO.ofMinor(List.of(apple, lime), List.of(bundle), 6, totalPriceMinor);
+        bill.setCatalogVersion(3L);
+        bill.setTier("member");
+        return bill;
+    }
+
+    private static List<JournaledBill> readAll(Path directory) throws IOException {
+        List<JournaledBill> bills = new ArrayList<>();
+        for (Path segment : BillJournalFile.segments(directory)) {
+            BillJournalFile.read(segment, bills::add);
+        }
+        return bills;
+    }
+
+    @Test
+    void append_ThenClose_ReadsBackEveryBillInOrder() throws IOException {
+        // Arrange
+        journal = new BillJournal(directory, 16, 1 << 16, Duration.ofMillis(10));
+        journal.start();
+        long before = System.currentTimeMillis();
+
+        // Act
+        for (int i = 0; i < 3; i++) {
+            assertTrue(journal.append(bill(140L + i)));
+        }
+        journal.close();
+
+        // Assert
+        List<JournaledBill> bills = readAll(directory);
+        assertEquals(3, bills.size());
+        assertEquals(bill(140L), bills.get(0).getBill());
+        assertEquals(142L, bills.get(2).getBill().getTotalPriceMinor());
+        assertTrue(bills.get(0).getRecordedAt() >= before);
+        assertEquals(3L, journal.written());
+        assertFalse(journal.append(bill(1L)));
+        assertEquals(1L, journal.dropped());
+    }
+
+    @Test
+    void append_PastTheSegmentSize_RotatesToNumberedSegments() throws IOException {
+        // Arrange: a few dozen records fit in one segment
+        journal = new BillJournal(directory, 1024, BillJournal.MIN_SEGMENT_BYTES, Duration.ofMillis(10));
+        journal.start();
+
+        // Act
+        for (int i = 0; i < 500; i++) {
+            assertTrue(journal.append(bill(i)));
+        }
+        journal.close();
+
+        // Assert
+        List<Path> segments = BillJournalFile.segments(directory);
+        assertTrue(segments.size() > 1, segments.toString());
+        for (int i = 0; i < segments.size(); i++) {
+            assertEquals(i + 1L, BillJournalFile.segmentIndex(segments.get(i)));
+        }
+        List<JournaledBill> bills = readAll(directory);
+        assertEquals(500, bills.size());
+        for (int i = 0; i < bills.size(); i++) {
+            assertEquals(i, bills.get(i).getBill().getTotalPriceMinor());
+        }
+    }
+
+    @Test
+    void close_WhileAppending_WritesOrDropsEveryBill() throws Exception {
+        // Arrange: producers still appending when close runs
+        journal = new BillJournal(directory, 64, 1 << 20, Duration.ofMillis(1));
+        journal.start();
+        int producers = 4;
+        int perProducer = 2_000;
+        AtomicLong accepted = new AtomicLong();
+        CountDownLatch running = new CountDownLatch(producers);
+        ExecutorService pool = Executors.newFixedThreadPool(producers);
+        for (int p = 0; p < producers; p++) {
+            pool.submit(() -> {
+                running.countDown();
+                for (int i = 0; i < perProducer; i++) {
+                    if (journal.append(bill(i))) {
+                        accepted.incrementAndGet();
+                    }
+                }
+            });
+        }
+        running.await();
+
+        // Act
+        journal.close();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+
+        // Assert
+        assertEquals((long) producers * perProducer, journal.written() + journal.dropped());
+        assertEquals(accepted.get(), journal.written());
+        assertEquals(journal.written(), readAll(directory).size());
+        assertEquals(0L, journal.backlog());
+    }
+
+    @Test
+    void append_RingFull_DropsInsteadOfWaiting() throws IOException {
+        // Arrange: nothing drains the ring until the writer starts
+        journal = new BillJournal(directory, 2, BillJournal.MIN_SEGMENT_BYTES, Duration.ofMillis(10));
+
+        // Act
+        boolean first = journal.append(bill(1L));
+        boolean second = journal.append(bill(2L));
+        boolean third = journal.append(bill(3L));
+        journal.start();
+        journal.close();
+
+        // Assert
+        assertTrue(first && second);
+        assertFalse(third);
+        assertEquals(1L, journal.dropped());
+        assertEquals(List.of(1L, 2L), readAll(directory).stream().map(b -> b.getBill().getTotalPriceMinor()).toList());
+    }
+
+    @Test
+    void start_AfterAnEarlierRun_OpensTheNextSegment() throws IOException {
+        // Arrange
+        BillJournal earlier = new BillJournal(directory, 16, BillJournal.MIN_SEGMENT_BYTES, Duration.ofMillis(10));
+        earlier.start();
+        earlier.append(bill(1L));
+        earlier.close();
+
+        // Act
+        journal = new BillJournal(directory, 16, BillJournal.MIN_SEGMENT_BYTES, Duration.ofMillis(10));
+        journal.start();
+        journal.append(bill(2L));
+        journal.close();
+
+        // Assert
+        assertEquals(List.of(1L, 2L), BillJournalFile.segments(directory).stream().map(BillJournalFile::segmentIndex).toList());
+        assertEquals(List.of(1L, 2L), readAll(directory).stream().map(b -> b.getBill().getTotalPriceMinor()).toList());
+    }
+
+    @Test
+    void read_TornLastRecord_StopsAfterTheRecordsBeforeIt() throws IOException {
+        // Arrange
+        journal = new BillJournal(directory, 16, BillJournal.MIN_SEGMENT_BYTES, Duration.ofMillis(10));
+        journal.start();
+        for (int i = 0; i < 3; i++) {
+            journal.append(bill(i));
+        }
+        journal.close();
+        Path segment = BillJournalFile.segments(directory).get(0);
+        int recordBytes = BillJournalFile.recordBytes(BillJournalFile.encode(bill(0L), 0L).remaining());
+        byte[] image = Files.readAllBytes(segment);
+        image[BillJournalFile.HEADER_BYTES + 2 * recordBytes + BillJournalFile.RECORD_HEADER_BYTES + 3] ^= 0x5A;
+        Files.write(segment, image);
+
+        // Act
+        List<JournaledBill> bills = new ArrayList<>();
+        long count = BillJournalFile.read(segment, bills::add);
+
+        // Assert
+        assertEquals(2L, count);
+        assertEquals(bill(1L), bills.get(1).getBill());
+    }
+
+    @Test
+    void reader_WritesOneJsonBillPerLine() throws IOException {
+        // Arrange
+        journal = new BillJournal(directory, 16, BillJournal.MIN_SEGMENT_BYTES, Duration.ofMillis(10));
+        journal.start();
+        journal.append(bill(140L));
+        journal.append(bill(141L));
+        journal.close();
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.setHandlerInstantiator(PricingJson.handlerInstantiator(false));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long count = BillJournalReader.toJson(BillJournalFile.segments(directory), out, objectMapper);
+
+        // Assert
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2L, count);
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("{\"recordedAt\":"), lines[0]);
+        assertTrue(lines[0].contains("\"catalogVersion\":3,\"tier\":\"member\",\"totalQuantity\":6,\"totalPrice\":\"1.40\"}}"),
+                lines[0]);
+    }
+
+    @Test
+    void disabled_RecordsNothing() throws IOException {
+        BillJournal disabled = BillJournal.disabled();
+        disabled.start();
+
+        assertFalse(disabled.append(bill(1L)));
+        assertEquals(0L, disabled.dropped());
+        disabled.close();
+    }
+}
@@ -0,0 +1,134 @@
+package org.shoppingcart.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.shoppingcart.models.CartTally;
+import org.shoppingcart.models.Fruit;
+import org.shoppingcart.models.FruitCatalog;
+import org.shoppingcart.utils.CartTallyDeserializer;
+import org.shoppingcart.utils.OfferType;
+import org.shoppingcart.utils.PricingMetrics;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BillStreamServiceTest {
+
+    private final FruitCatalog catalog = FruitCatalog.of(1L, List.of(
+            new Fruit("apple", 0.35, OfferType.NoOffer, null),
+            new Fruit("melon", 0.50, OfferType.BOGO, null)));
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new SimpleModule()
+            .addDeserializer(CartTally.class, new CartTallyDeserializer(() -> catalog)));
+
+    private FruitBillService fruitBillService;
+
+    @BeforeEach
+    void setUp() {
+        FruitCatalogService catalogService = mock(FruitCatalogService.class);
+        when(catalogService.current()).thenReturn(catalog);
+        fruitBillService = new FruitBillService(catalogService, null, BillCache.disabled(), PricingMetrics.disabled());
+    }
+
+    private List<JsonNode> stream(BillStreamService service, String body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.stream(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), out);
+        String output = out.toString(StandardCharsets.UTF_8);
+        assertTrue(output.isEmpty() || output.endsWith("\n"));
+        return output.lines().map(line -> {
+            try {
+                return objectMapper.readTree(line);
+            } catch (IOException e) {
+                throw new AssertionError(line, e);
+            }
+        }).toList();
+    }
+
+    @Test
+    void stream_MixedCarts_AnswersEachCartInOrder() throws IOException {
+        // Arrange
+        BillStreamService service = new BillStreamService(fruitBillService, objectMapper, 1024);
+        String body = "[\"apple\", \"melon\", \"melon\"]\n"
+                + "\r\n"
+                + "[\"apple\", \"kiwi\"]\n"
+                + "[\"apple\"\n"
+                + "[\"apple\"]";
+
+        // Act
+        List<JsonNode> lines = stream(service, body);
+
+        // Assert
+        assertEquals(4, lines.size());
+        assertEquals("0.85", lines.get(0).get("totalPrice").asText());
+        assertEquals(3, lines.get(0).get("totalQuantity").asInt());
+        assertEquals(1, lines.get(1).get("index").asInt());
+        assertEquals("Unknown fruit type(s): kiwi", lines.get(1).get("error").asText());
+        assertEquals(2, lines.get(2).get("index").asInt());
+        assertEquals("Malformed cart", lines.get(2).get("error").asText());
+        assertEquals("0.35", lines.get(3).get("totalPrice").asText());
+    }
+
+    @Test
+    void stream_CartLongerThanLimit_ReportsErrorAndContinues() throws IOException {
+        // Arrange
+        BillStreamService service = new BillStreamService(fruitBillService, objectMapper, 16);
+
+        // Act
+        List<JsonNode> lines = stream(service, "[\"apple\", \"apple\", \"apple\"]\n[\"melon\"]\n");
+
+        // Assert
+        assertEquals(2, lines.size());
+        assertEquals("Cart exceeds 16 bytes", lines.get(0).get("error").asText());
+        assertEquals("0.50", lines.get(1).get("totalPrice").asText());
+    }
+
+    @Test
+    void stream_EmptyBody_WritesNothing() throws IOException {
+        BillStreamService service = new BillStreamService(fruitBillService, objectMapper, 1024);
+
+        assertTrue(stream(service, "").isEmpty());
+    }
+
+    @Test
+    void stream_ManyCarts_PricesEveryCartWithoutHoldingTheStream() throws IOException {
+        // Arrange
+        int carts = 200_000;
+        byte[] cart = "[\"apple\", \"melon\"]\n".getBytes(StandardCharsets.UTF_8);
+        InputStream in = new InputStream() {
+            private long position;
+
+            @Override
+            public int read() {
+                return position == (long) carts * cart.length ? -1 : cart[(int) (position++ % cart.length)];
+            }
+        };
+        long[] newlines = new long[1];
+        OutputStream out = new OutputStream() {
+            @Override
+            public void write(int b) {
+                if (b == '\n') {
+                    newlines[0]++;
+                }
+            }
+        };
+        BillStreamService service = new BillStreamService(fruitBillService, objectMapper, 1024);
+
+        // Act
+        long answered = service.stream(in, out);
+
+        // Assert
+        assertEquals(carts, answered);
+        assertEquals(carts, newlines[0]);
+    }
+}
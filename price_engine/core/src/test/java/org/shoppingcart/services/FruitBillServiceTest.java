@@ -0,0 +1,379 @@
+package org.shoppingcart.services;
+
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.shoppingcart.models.*;
+import org.shoppingcart.utils.OfferType;
+import org.shoppingcart.utils.PricingMetrics;
+import org.shoppingcart.utils.UnknownFruitException;
+import org.shoppingcart.utils.UnknownTierException;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FruitBillServiceTest {
+
+    @Mock
+    private FruitCatalogService catalogService;
+
+    @Spy
+    private BillCache billCache = BillCache.disabled();
+
+    @Spy
+    private PricingMetrics metrics = PricingMetrics.disabled();
+
+    @Spy
+    private BillJournal billJournal = BillJournal.disabled();
+
+    @InjectMocks
+    private FruitBillService fruitBillService;
+
+    private Map<String, Fruit> testFruitMap;
+
+    @BeforeEach
+    void setUp() {
+        testFruitMap = new HashMap<>();
+
+        OfferDetails offerDetails = new BOGO(1, 1);
+        Fruit fruit = new Fruit();
+
+        fruit.setName("apple");
+        fruit.setPrice(0.60);
+        fruit.setOfferType(OfferType.NoOffer);
+
+        testFruitMap.put("APPLE", fruit);
+
+        fruit.setName("banana");
+        fruit.setPrice(0.20);
+        fruit.setOfferType(OfferType.NoOffer);
+
+
+        testFruitMap.put("BANANA", fruit);
+
+        fruit.setName("melon");
+        fruit.setPrice(0.20);
+        fruit.setOfferType(OfferType.BOGO);
+        fruit.setOfferDetails(offerDetails);
+
+        testFruitMap.put("MELON", fruit);
+
+        offerDetails = new ThreeForTwo(1, 1);
+
+        fruit.setName("lime");
+        fruit.setPrice(0.20);
+        fruit.setOfferType(OfferType.ThreeForTwo);
+        fruit.setOfferDetails(offerDetails);
+        testFruitMap.put("LIME", fruit);
+    }
+
+    @Test
+    void billCalculator_EmptyList_ReturnsEmptyResponse() throws IOException {
+        // Act
+        FruitResponseDTO response = fruitBillService.billCalculator(Collections.emptyList());
+
+        // Assert
+        assertNotNull(response);
+        assertEquals(0, response.getTotalQuantity());
+        assertEquals(0.0, response.getTotalPrice());
+        assertTrue(response.getFruits().isEmpty());
+    }
+
+    @Test
+    void billCalculator_NullList_ReturnsEmptyResponse() throws IOException {
+        // Act
+        FruitResponseDTO response = fruitBillService.billCalculator(null);
+
+        // Assert
+        assertNotNull(response);
+        assertEquals(0, response.getTotalQuantity());
+        assertEquals(0.0, response.getTotalPrice());
+        assertTrue(response.getFruits().isEmpty());
+    }
+
+    @Test
+    void billCalculator_RecordsBillTimeCartSizeAndOfferLines() {
+        // Arrange
+        when(catalogService.current()).thenReturn(FruitCatalog.of(1L, List.of(
+                new Fruit("apple", 0.35, OfferType.NoOffer, null),
+                new Fruit("melon", 0.50, OfferType.BOGO, null))));
+
+        // Act
+        FruitResponseDTO bill = fruitBillService.billCalculator(List.of(new FruitDTO("apple", 2), new FruitDTO("melon", 3)));
+
+        // Assert
+        verify(billJournal).append(bill);
+        ArgumentCaptor<CartTally> tally = ArgumentCaptor.forClass(CartTally.class);
+        verify(metrics).recordBill(tally.capture(), anyLong());
+        assertEquals(2, tally.getValue().distinctCount());
+        assertEquals(5, tally.getValue().totalUnits());
+        verify(metrics).recordLine(OfferType.BOGO);
+        verify(metrics).recordLine(OfferType.NoOffer);
+    }
+
+    @Test
+    void billCalculator_UnknownFruit_ReturnsNullForThatItem() throws IOException {
+        // Arrange
+        List<FruitDTO> input = List.of(new FruitDTO("lime", 2));
+        when(catalogService.current()).thenReturn(FruitCatalog.empty());
+
+        // Act
+        FruitResponseDTO response = fruitBillService.billCalculator(input);
+
+        // Assert
+        assertNotNull(response);
+        assertEquals(0, response.getTotalQuantity());
+        assertEquals(0.0, response.getTotalPrice());
+        assertTrue(response.getFruits().isEmpty());
+    }
+
+    @Test
+    void billCalculator_KnownFruit_PricesAgainstPublishedSnapshot() {
+        // Arrange
+        Fruit apple = new Fruit("apple", 0.35, OfferType.NoOffer, null);
+        when(catalogService.current()).thenReturn(FruitCatalog.of(1L, List.of(apple)));
+
+        // Act
+        FruitResponseDTO response = fruitBillService.billCalculator(List.of(new FruitDTO("apple", 2)));
+
+        // Assert
+        assertEquals(2, response.getTotalQuantity());
+        assertEquals(0.70, response.getTotalPrice(), 0.001);
+        assertEquals(1, response.getFruits().size());
+        verify(catalogService, times(1)).current();
+    }
+
+
+    @Test
+    void billCalculator_OfferParameters_PriceFromCatalogNotFixedRules() {
+        // Arrange: buy 2 get 1 free, and 4 for 1.00 - neither matches a hard-coded rule
+        when(catalogService.current()).thenReturn(FruitCatalog.of(1L, List.of(
+                new Fruit("melon", 0.50, OfferType.BOGO, new BOGO(2, 1)),
+                new Fruit("lime", 0.30, OfferType.MultiPrice, new MultiPrice(4, 1.00)))));
+
+        // Act
+        FruitResponseDTO response = fruitBillService.billCalculator(List.of(
+                new FruitDTO("melon", 7),
+                new FruitDTO("lime", 6)));
+
+        // Assert: melons 2 * (2 * 0.50) + 0.50 = 2.50, limes 1.00 + 2 * 0.30 = 1.60
+        Map<String, Long> charged = new HashMap<>();
+        response.getFruits().forEach(line -> charged.put(line.getFruit(), line.getChargedMinor()));
+        assertEquals(250L, charged.get("melon"));
+        assertEquals(160L, charged.get("lime"));
+        assertEquals(410L, response.getTotalPriceMinor());
+    }
+
+    @Test
+    void billCalculator_SeveralOffers_ChargesCheapestMixAndReportsBestPrice() {
+        // Arrange: BOGO or 3 for 2 on melons, and a single extra offer on limes
+        when(catalogService.current()).thenReturn(FruitCatalog.of(1L, List.of(
+                new Fruit("melon", 0.50, OfferType.BOGO, null, List.of(new ThreeForTwo(3, 2))),
+                new Fruit("lime", 0.30, null, null, List.of(new MultiPrice(4, 1.00))))));
+
+        // Act
+        FruitResponseDTO response = fruitBillService.billCalculator(List.of(
+                new FruitDTO("melon", 5),
+                new FruitDTO("lime", 6)));
+
+        // Assert: melons 2 BOGO pairs + 1 = 1.50, limes 1.00 + 2 * 0.30 = 1.60
+        Map<String, FruitPriceDTO> lines = new HashMap<>();
+        response.getFruits().forEach(line -> lines.put(line.getFruit(), line));
+        assertEquals(150L, lines.get("melon").getChargedMinor());
+        assertEquals(OfferType.BestPrice, lines.get("melon").getOffer());
+        assertEquals(160L, lines.get("lime").getChargedMinor());
+        assertEquals(OfferType.MultiPrice, lines.get("lime").getOffer());
+    }
+
+    @Test
+    void billCalculator_Bundle_ChargesBundledUnitsOnceAndListsTheBundle() {
+        // Arrange: a melon and 2 limes for 0.60
+        when(catalogService.current()).thenReturn(FruitCatalog.of(1L, List.of(
+                        new Fruit("apple", 0.35, OfferType.NoOffer, null),
+                        new Fruit("melon", 0.50, OfferType.BOGO, null),
+                        new Fruit("lime", 0.15, OfferType.ThreeForTwo, null)),
+                List.of(Bundle.fixed("melon-limes", 0.60, Map.of("melon", 1, "lime", 2)))));
+
+        // Act
+        FruitResponseDTO response = fruitBillService.billCalculator(List.of(
+                new FruitDTO("melon", 1),
+                new FruitDTO("lime", 3),
+                new FruitDTO("apple", 1)));
+
+        // Assert: bundle 0.60 + the third lime 0.15 + apple 0.35, against 1.15 on lines alone
+        Map<String, FruitPriceDTO> lines = new HashMap<>();
+        response.getFruits().forEach(line -> lines.put(line.getFruit(), line));
+        assertEquals(1, lines.get("melon").getBundled());
+        assertEquals(0L, lines.get("melon").getChargedMinor());
+        assertEquals(2, lines.get("lime").getBundled());
+        assertEquals(3, lines.get("lime").getQuantity());
+        assertEquals(15L, lines.get("lime").getChargedMinor());
+        assertNull(lines.get("apple").getBundled());
+        assertEquals(1, response.getBundles().size());
+        BundlePriceDTO bundle = response.getBundles().get(0);
+        assertEquals("melon-limes", bundle.getBundle());
+        assertEquals(1, bundle.getCount());
+        assertEquals(60L, bundle.getChargedMinor());
+        assertEquals(Map.of("melon", 1, "lime", 2), bundle.getItems());
+        assertEquals(5, response.getTotalQuantity());
+        assertEquals(110L, response.getTotalPriceMinor());
+    }
+
+    @Test
+    void billCalculator_Tally_PricesEachKnownLineOnce() {
+        // Arrange
+        FruitCatalog catalog = FruitCatalog.of(1L, List.of(new Fruit("apple", 0.35, OfferType.NoOffer, null)));
+        CartTally tally = CartTally.of(catalog, List.of("apple", "apple", "apple"));
+        tally.addUnknown("lime");
+
+        // Act
+        FruitResponseDTO response = fruitBillService.billFromTally(tally);
+
+        // Assert
+        assertEquals(1, response.getFruits().size());
+        assertEquals("apple", response.getFruits().get(0).getFruit());
+        assertEquals(3, response.getTotalQuantity());
+        assertEquals(1.05, response.getTotalPrice(), 0.001);
+        // Priced against the snapshot the tally was built from
+        verifyNoInteractions(catalogService);
+    }
+
+    @Test
+    void billFromTally_Tier_ChargesItsOverridesAndBasePricesForTheRest() {
+        // Arrange: members pay 0.30 for apples and get limes BOGO
+        FruitCatalog catalog = FruitCatalog.of(1L, List.of(
+                        new Fruit("apple", 0.35, OfferType.NoOffer, null),
+                        new Fruit("lime", 0.15, OfferType.ThreeForTwo, null),
+                        new Fruit("melon", 0.50, OfferType.BOGO, null)),
+                List.of(),
+                Map.of("Member", List.of(
+                        new Fruit("apple", 0.30, null, null),
+                        new Fruit("lime", null, OfferType.BOGO, null))));
+        CartTally tally = CartTally.of(catalog, List.of("apple", "lime", "lime", "lime", "lime", "melon", "melon"));
+
+        // Act
+        FruitResponseDTO member = fruitBillService.billFromTally(tally, "member");
+        FruitResponseDTO base = fruitBillService.billFromTally(tally, null);
+
+        // Assert: 0.30 + 2 x 0.15 + 0.50 for members, 0.35 + 3 x 0.15 + 0.50 otherwise
+        Map<String, FruitPriceDTO> lines = new HashMap<>();
+        member.getFruits().forEach(line -> lines.put(line.getFruit(), line));
+        assertEquals(30L, lines.get("apple").getChargedMinor());
+        assertEquals(OfferType.BOGO, lines.get("lime").getOffer());
+        assertEquals(30L, lines.get("lime").getChargedMinor());
+        assertEquals(50L, lines.get("melon").getChargedMinor());
+        assertEquals(110L, member.getTotalPriceMinor());
+        assertEquals(130L, base.getTotalPriceMinor());
+        assertSame(catalog, tally.catalog());
+        assertThrows(UnknownTierException.class, () -> fruitBillService.billFromTally(tally, "gold"));
+    }
+
+    @Test
+    void billBatch_Tier_PricesEveryCartAtTheTier() {
+        // Arrange
+        FruitBillService batchService = new FruitBillService(catalogService, new ForkJoinPool(2), BillCache.disabled(), PricingMetrics.disabled());
+        when(catalogService.current()).thenReturn(FruitCatalog.of(1L,
+                List.of(new Fruit("apple", 0.35, OfferType.NoOffer, null)),
+                List.of(),
+                Map.of("wholesale", List.of(new Fruit("apple", 0.25, null, null)))));
+
+        // Act
+        List<BatchBillResultDTO> results = batchService.billBatch(List.of(List.of("apple", "apple")), "wholesale");
+
+        // Assert
+        assertEquals(50L, results.get(0).getBill().getTotalPriceMinor());
+        assertThrows(UnknownTierException.class, () -> batchService.billBatch(List.of(List.of("apple")), "staff"));
+    }
+
+    @Test
+    void billAtVersion_PastVersion_RepricesByNameAndTagsTheBill() {
+        // Arrange: version 1 sold apples at 0.35, version 2 at 0.40 and added pears first
+        FruitCatalog previous = FruitCatalog.of(1L, List.of(
+                new Fruit("apple", 0.35, OfferType.NoOffer, null),
+                new Fruit("lime", 0.15, OfferType.NoOffer, null)));
+        FruitCatalog current = FruitCatalog.of(2L, List.of(
+                new Fruit("pear", 0.60, OfferType.NoOffer, null),
+                new Fruit("lime", 0.15, OfferType.NoOffer, null),
+                new Fruit("apple", 0.40, OfferType.NoOffer, null)));
+        when(catalogService.atVersion(1L)).thenReturn(previous);
+        CartTally tally = CartTally.of(current, List.of("apple", "apple", "lime"));
+
+        // Act
+        FruitResponseDTO now = fruitBillService.billFromTally(tally, null);
+        FruitResponseDTO then = fruitBillService.billAtVersion(tally, 1L, null);
+
+        // Assert
+        assertEquals(95L, now.getTotalPriceMinor());
+        assertEquals(2L, now.getCatalogVersion());
+        assertEquals(85L, then.getTotalPriceMinor());
+        assertEquals(1L, then.getCatalogVersion());
+        assertNull(then.getTier());
+        CartTally withPear = CartTally.of(current, List.of("apple", "pear"));
+        assertThrows(UnknownFruitException.class, () -> fruitBillService.billAtVersion(withPear, 1L, null));
+    }
+
+    @Test
+    void billCalculator_CentAmounts_SumWithoutDrift() {
+        // Arrange: 0.10 + 0.20 drifts in double arithmetic (0.30000000000000004)
+        when(catalogService.current()).thenReturn(FruitCatalog.of(1L, List.of(
+                new Fruit("apple", 0.10, OfferType.NoOffer, null),
+                new Fruit("banana", 0.20, OfferType.NoOffer, null))));
+
+        // Act
+        FruitResponseDTO response = fruitBillService.billCalculator(List.of(
+                new FruitDTO("apple", 1),
+                new FruitDTO("banana", 1)));
+
+        // Assert
+        assertEquals(30L, response.getTotalPriceMinor());
+        assertEquals(0.30, response.getTotalPrice());
+    }
+
+    @ParameterizedTest(name = "fork/join pool: {0}")
+    @ValueSource(booleans = {true, false})
+    void billBatch_MixedCarts_ReturnsResultsInInputOrderWithPerCartErrors(boolean forkJoin) {
+        // Arrange: the pricing pool, or a thread per slice as in virtual mode
+        ExecutorService executor = forkJoin ? new ForkJoinPool(2) : Executors.newCachedThreadPool();
+        FruitBillService batchService = new FruitBillService(catalogService, executor, BillCache.disabled(), PricingMetrics.disabled());
+        Fruit apple = new Fruit("apple", 0.35, OfferType.NoOffer, null);
+        when(catalogService.current()).thenReturn(FruitCatalog.of(1L, List.of(apple)));
+
+        List<List<String>> carts = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            carts.add(Collections.nCopies(i % 5 + 1, "apple"));
+        }
+        carts.set(7, List.of("apple", "kiwi"));
+
+        // Act
+        List<BatchBillResultDTO> results = batchService.billBatch(carts);
+
+        // Assert
+        assertEquals(200, results.size());
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(i, results.get(i).getIndex());
+            if (i == 7) {
+                assertNull(results.get(i).getBill());
+                assertEquals("Unknown fruit type: kiwi", results.get(i).getError());
+            } else {
+                assertNull(results.get(i).getError());
+                assertEquals(i % 5 + 1, results.get(i).getBill().getTotalQuantity());
+            }
+        }
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,205 @@
+package org.shoppingcart.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.shoppingcart.models.Fruit;
+import org.shoppingcart.models.FruitCatalog;
+import org.shoppingcart.models.MultiPrice;
+import org.shoppingcart.models.Promotion;
+import org.shoppingcart.utils.CatalogVersionNotFoundException;
+import org.shoppingcart.utils.FruitLoader;
+import org.shoppingcart.utils.OfferType;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FruitCatalogServiceTest {
+
+    @Mock
+    private FruitLoader fruitLoader;
+
+    @Mock
+    private Clock clock;
+
+    private FruitCatalogService catalogService;
+
+    @BeforeEach
+    void setUp() {
+        catalogService = new FruitCatalogService(fruitLoader, clock, 2);
+    }
+
+    @Test
+    void current_BeforeInit_ReturnsEmptyCatalog() {
+        assertEquals(0, catalogService.current().size());
+        assertEquals(0L, catalogService.current().getVersion());
+    }
+
+    @Test
+    void reload_PublishesNewSnapshotWithNextVersion() throws IOException {
+        // Arrange
+        Fruit apple = new Fruit("apple", 0.35, OfferType.NoOffer, null);
+        when(fruitLoader.loadCatalog(anyLong()))
+                .thenAnswer(inv -> FruitCatalog.of(inv.getArgument(0), List.of(apple)));
+
+        // Act
+        catalogService.init();
+        FruitCatalog first = catalogService.current();
+        catalogService.reload();
+        FruitCatalog second = catalogService.current();
+
+        // Assert
+        assertEquals(1L, first.getVersion());
+        assertEquals(2L, second.getVersion());
+        assertNotSame(first, second);
+        assertSame(apple, second.get("apple"));
+    }
+
+    @Test
+    void reload_LoaderFails_KeepsPreviousSnapshot() throws IOException {
+        // Arrange
+        when(fruitLoader.loadCatalog(1L)).thenReturn(FruitCatalog.of(1L, List.of()));
+        when(fruitLoader.loadCatalog(2L)).thenThrow(new IOException("File error"));
+        catalogService.init();
+        FruitCatalog published = catalogService.current();
+
+        // Act & Assert
+        assertThrows(IOException.class, () -> catalogService.reload());
+        assertSame(published, catalogService.current());
+    }
+
+    @Test
+    void current_PromotionWindow_SwitchesAtItsBoundariesWithoutReloading() throws IOException {
+        // Arrange: 3 for 1.00 and a 0.30 price for apples during one day
+        long start = Instant.parse("2024-11-29T00:00:00Z").toEpochMilli();
+        long end = Instant.parse("2024-11-30T00:00:00Z").toEpochMilli();
+        Fruit apple = new Fruit("apple", 0.35, OfferType.NoOffer, null, null, List.of(new Promotion(
+                "2024-11-29T00:00:00Z", "2024-11-30T00:00:00Z", 0.30, OfferType.MultiPrice, new MultiPrice(3, 1.00), null)));
+        when(fruitLoader.loadCatalog(anyLong()))
+                .thenAnswer(inv -> FruitCatalog.of(inv.getArgument(0), List.of(apple)));
+        when(clock.millis()).thenReturn(start - 1);
+        catalogService.init();
+
+        // Act
+        FruitCatalog before = catalogService.current();
+        when(clock.millis()).thenReturn(start);
+        FruitCatalog during = catalogService.current();
+        when(clock.millis()).thenReturn(end);
+        FruitCatalog after = catalogService.current();
+
+        // Assert
+        assertEquals(105L, before.offers().charge(before.idOf("apple"), 3));
+        assertEquals(Instant.ofEpochMilli(start), before.getActiveUntil());
+        assertEquals(100L, during.offers().charge(during.idOf("apple"), 3));
+        assertEquals(30L, during.unitPriceMinor(during.idOf("apple")));
+        assertEquals(OfferType.MultiPrice, during.get("apple").getOfferType());
+        assertEquals(105L, after.offers().charge(after.idOf("apple"), 3));
+        assertNull(after.getActiveUntil());
+        assertEquals(List.of(1L, 2L, 3L), List.of(before.getVersion(), during.getVersion(), after.getVersion()));
+        verify(fruitLoader, times(1)).loadCatalog(anyLong());
+    }
+
+    @Test
+    void reload_DuringAPromotion_PublishesTheActiveSnapshotAndNumbersAfterTheTimeline() throws IOException {
+        // Arrange
+        Fruit apple = new Fruit("apple", 0.35, OfferType.NoOffer, null, null,
+                List.of(new Promotion("2024-11-29T00:00:00Z", null, 0.30, null, null, null)));
+        when(fruitLoader.loadCatalog(anyLong()))
+                .thenAnswer(inv -> FruitCatalog.of(inv.getArgument(0), List.of(apple)));
+        when(clock.millis()).thenReturn(Instant.parse("2024-12-01T00:00:00Z").toEpochMilli());
+
+        // Act
+        catalogService.init();
+        FruitCatalog first = catalogService.current();
+        FruitCatalog second = catalogService.reload();
+
+        // Assert: each load compiles two snapshots, before and after the start
+        assertEquals(2L, first.getVersion());
+        assertEquals(30L, first.unitPriceMinor(first.idOf("apple")));
+        assertEquals(4L, second.getVersion());
+        assertSame(second, catalogService.current());
+    }
+
+    @Test
+    void generation_CountsPublishedSnapshotsButNotLookupsByVersion() throws IOException {
+        // Arrange: apples are 0.30 from a later date, a second snapshot on the timeline
+        long start = Instant.parse("2024-11-29T00:00:00Z").toEpochMilli();
+        Fruit apple = new Fruit("apple", 0.35, OfferType.NoOffer, null, null,
+                List.of(new Promotion("2024-11-29T00:00:00Z", null, 0.30, null, null, null)));
+        when(fruitLoader.loadCatalog(anyLong()))
+                .thenAnswer(inv -> FruitCatalog.of(inv.getArgument(0), List.of(apple)));
+        when(clock.millis()).thenReturn(start - 1);
+        catalogService.init();
+
+        // Act
+        long loaded = catalogService.generation();
+        catalogService.atVersion(2L);
+        long afterLookup = catalogService.generation();
+        when(clock.millis()).thenReturn(start);
+        catalogService.current();
+        long afterSchedule = catalogService.generation();
+        catalogService.reload();
+
+        // Assert
+        assertEquals(List.of(1L, 1L, 2L, 3L),
+                List.of(loaded, afterLookup, afterSchedule, catalogService.generation()));
+    }
+
+        @Test
+    void atVersion_ReplacedLoad_IsRetainedWithItsOwnPrices() throws IOException {
+        // Arrange: apples go up from 0.35 to 0.40 between loads
+        when(fruitLoader.loadCatalog(1L)).thenReturn(FruitCatalog.of(1L, List.of(new Fruit("apple", 0.35, OfferType.NoOffer, null))));
+        when(fruitLoader.loadCatalog(2L)).thenReturn(FruitCatalog.of(2L, List.of(new Fruit("apple", 0.40, OfferType.NoOffer, null))));
+        catalogService.init();
+        catalogService.reload();
+
+        // Act
+        FruitCatalog first = catalogService.atVersion(1L);
+        FruitCatalog second = catalogService.atVersion(2L);
+
+        // Assert
+        assertEquals(35L, first.unitPriceMinor(first.idOf("apple")));
+        assertEquals(40L, second.unitPriceMinor(second.idOf("apple")));
+        assertSame(catalogService.current(), second);
+        assertEquals(List.of(2L, 1L), catalogService.versions().stream().map(FruitCatalog::getVersion).toList());
+    }
+
+    @Test
+    void atVersion_BeyondTheHistorySize_IsEvicted() throws IOException {
+        // Arrange: the current load plus two replaced ones are kept
+        when(fruitLoader.loadCatalog(anyLong()))
+                .thenAnswer(inv -> FruitCatalog.of(inv.getArgument(0), List.of(new Fruit("apple", 0.35, OfferType.NoOffer, null))));
+        catalogService.init();
+        catalogService.reload();
+        catalogService.reload();
+        catalogService.reload();
+
+        // Act & Assert
+        CatalogVersionNotFoundException e = assertThrows(CatalogVersionNotFoundException.class,
+                () -> catalogService.atVersion(1L));
+        assertEquals(1L, e.getVersion());
+        assertThrows(CatalogVersionNotFoundException.class, () -> catalogService.atVersion(5L));
+        assertEquals(2L, catalogService.atVersion(2L).getVersion());
+        assertEquals(List.of(4L, 3L, 2L), catalogService.versions().stream().map(FruitCatalog::getVersion).toList());
+    }
+
+    @Test
+    void load_InvalidPromotions_Fail() {
+        Fruit apple = new Fruit("apple", 0.35, OfferType.NoOffer, null, null, List.of(
+                new Promotion("2024-11-29T00:00:00Z", "2024-12-02T00:00:00Z", 0.30, null, null, null),
+                new Promotion("2024-12-01T00:00:00Z", null, 0.25, null, null, null)));
+        Fruit lime = new Fruit("lime", 0.15, OfferType.NoOffer, null, null,
+                List.of(new Promotion("next friday", null, 0.10, null, null, null)));
+
+        assertThrows(IllegalArgumentException.class, () -> FruitCatalog.of(1L, List.of(apple)));
+        assertThrows(IllegalArgumentException.class, () -> FruitCatalog.of(1L, List.of(lime)));
+    }
+}
@@ -0,0 +1,211 @@
+package org.shoppingcart.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.shoppingcart.models.Bundle;
+import org.shoppingcart.models.CartDeltaDTO;
+import org.shoppingcart.models.CartTally;
+import org.shoppingcart.models.Fruit;
+import org.shoppingcart.models.FruitCatalog;
+import org.shoppingcart.models.FruitDTO;
+import org.shoppingcart.models.FruitPriceDTO;
+import org.shoppingcart.models.FruitResponseDTO;
+import org.shoppingcart.models.PricingSessionDTO;
+import org.shoppingcart.utils.OfferType;
+import org.shoppingcart.utils.PricingMetrics;
+import org.shoppingcart.utils.SessionNotFoundException;
+import org.shoppingcart.utils.UnknownFruitException;
+import org.shoppingcart.utils.UnknownTierException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PricingSessionServiceTest {
+
+    private final FruitCatalog catalog = FruitCatalog.of(1L, List.of(
+            new Fruit("apple", 0.35, OfferType.NoOffer, null),
+            new Fruit("melon", 0.50, OfferType.BOGO, null),
+            new Fruit("lime", 0.15, OfferType.ThreeForTwo, null)));
+
+    private FruitCatalogService catalogService;
+    private PricingSessionService sessionService;
+
+    @BeforeEach
+    void setUp() {
+        catalogService = mock(FruitCatalogService.class);
+        when(catalogService.current()).thenReturn(catalog);
+        sessionService = new PricingSessionService(catalogService, 100, Duration.ofMinutes(30));
+    }
+
+    @Test
+    void apply_Deltas_ReturnChangedLinesAndRunningTotals() {
+        // Arrange
+        String id = sessionService.open().getSessionId();
+        sessionService.apply(id, List.of(new CartDeltaDTO("apple", 2), new CartDeltaDTO("melon", 1)));
+
+        // Act: a second melon is free
+        PricingSessionDTO update = sessionService.apply(id, List.of(new CartDeltaDTO("melon", 1)));
+
+        // Assert
+        assertEquals(1, update.getFruits().size());
+        FruitPriceDTO melon = update.getFruits().get(0);
+        assertEquals("melon", melon.getFruit());
+        assertEquals(2, melon.getQuantity());
+        assertEquals(50L, melon.getChargedMinor());
+        assertEquals(4, update.getTotalQuantity());
+        assertEquals(120L, update.getTotalPriceMinor());
+    }
+
+    @Test
+    void apply_RemovingEveryUnit_DropsTheLine() {
+        // Arrange
+        String id = sessionService.open().getSessionId();
+        sessionService.apply(id, List.of(new CartDeltaDTO("lime", 3), new CartDeltaDTO("apple", 1)));
+
+        // Act: removing more than is in the cart empties the line
+        PricingSessionDTO update = sessionService.apply(id, List.of(new CartDeltaDTO("lime", -5)));
+
+        // Assert
+        assertEquals(0, update.getFruits().get(0).getQuantity());
+        assertEquals(0L, update.getFruits().get(0).getChargedMinor());
+        assertEquals(1, update.getTotalQuantity());
+        assertEquals(35L, update.getTotalPriceMinor());
+        List<FruitPriceDTO> lines = sessionService.view(id).getFruits();
+        assertEquals(1, lines.size());
+        assertEquals("apple", lines.get(0).getFruit());
+    }
+
+    @Test
+    void apply_UnknownFruit_LeavesSessionUnchanged() {
+        // Arrange
+        String id = sessionService.open().getSessionId();
+        sessionService.apply(id, List.of(new CartDeltaDTO("apple", 1)));
+
+        // Act
+        UnknownFruitException error = assertThrows(UnknownFruitException.class, () ->
+                sessionService.apply(id, List.of(new CartDeltaDTO("apple", 1), new CartDeltaDTO("kiwi", 1))));
+
+        // Assert
+        assertEquals(List.of("kiwi"), error.getUnknownNames());
+        PricingSessionDTO view = sessionService.view(id);
+        assertEquals(1, view.getTotalQuantity());
+        assertEquals(35L, view.getTotalPriceMinor());
+    }
+
+    @Test
+    void apply_AfterCatalogReload_RepricesAgainstNewSnapshot() {
+        // Arrange
+        String id = sessionService.open().getSessionId();
+        sessionService.apply(id, List.of(new CartDeltaDTO("apple", 2), new CartDeltaDTO("lime", 1)));
+        when(catalogService.current()).thenReturn(FruitCatalog.of(2L, List.of(
+                new Fruit("apple", 0.40, OfferType.NoOffer, null),
+                new Fruit("melon", 0.50, OfferType.BOGO, null))));
+
+        // Act
+        PricingSessionDTO update = sessionService.apply(id, List.of(new CartDeltaDTO("melon", 1)));
+
+        // Assert: apples at the new price, limes no longer sold
+        assertEquals(3, update.getTotalQuantity());
+        assertEquals(130L, update.getTotalPriceMinor());
+        assertEquals(2, sessionService.view(id).getFruits().size());
+    }
+
+    @Test
+    void apply_ManyLines_TotalsMatchAFullRepricing() {
+        // Arrange
+        FruitBillService billService = new FruitBillService(catalogService, null, BillCache.disabled(), PricingMetrics.disabled());
+        String id = sessionService.open().getSessionId();
+        String[] names = {"apple", "melon", "lime"};
+        int[] quantities = new int[names.length];
+
+        // Act
+        PricingSessionDTO update = null;
+        for (int i = 0; i < 300; i++) {
+            int line = i % names.length;
+            int delta = i % 7 == 6 ? -2 : 1;
+            quantities[line] = Math.max(0, quantities[line] + delta);
+            update = sessionService.apply(id, List.of(new CartDeltaDTO(names[line], delta)));
+        }
+
+        // Assert
+        List<FruitDTO> cart = new ArrayList<>();
+        for (int line = 0; line < names.length; line++) {
+            if (quantities[line] > 0) {
+                cart.add(new FruitDTO(names[line], quantities[line]));
+            }
+        }
+        assertEquals(billService.billCalculator(cart).getTotalPriceMinor(), update.getTotalPriceMinor());
+        assertEquals(billService.billCalculator(cart).getTotalQuantity(), update.getTotalQuantity());
+    }
+
+    @Test
+    void apply_OverflowingDelta_LeavesSessionUnchanged() {
+        // Arrange
+        String id = sessionService.open().getSessionId();
+        sessionService.apply(id, List.of(new CartDeltaDTO("apple", Integer.MAX_VALUE - 1)));
+
+        // Act: the melon is valid, the apples overflow
+        assertThrows(ArithmeticException.class, () ->
+                sessionService.apply(id, List.of(new CartDeltaDTO("melon", 1), new CartDeltaDTO("apple", 2))));
+
+        // Assert
+        PricingSessionDTO view = sessionService.view(id);
+        assertEquals(1, view.getFruits().size());
+        assertEquals(Integer.MAX_VALUE - 1, view.getTotalQuantity());
+    }
+
+    @Test
+    void apply_TierAndBundles_TotalsMatchTheBill() {
+        // Arrange: members pay 0.30 for apples; an apple and two limes make a 0.50 bundle
+        FruitCatalog bundled = FruitCatalog.of(1L, List.of(
+                        new Fruit("apple", 0.35, OfferType.NoOffer, null),
+                        new Fruit("melon", 0.50, OfferType.BOGO, null),
+                        new Fruit("lime", 0.15, OfferType.ThreeForTwo, null)),
+                List.of(Bundle.fixed("apple-limes", 0.50, Map.of("apple", 1, "lime", 2))),
+                Map.of("member", List.of(new Fruit("apple", 0.30, null, null))));
+        when(catalogService.current()).thenReturn(bundled);
+        FruitBillService billService = new FruitBillService(catalogService, null, BillCache.disabled(), PricingMetrics.disabled());
+        String id = sessionService.open("member").getSessionId();
+
+        // Act
+        sessionService.apply(id, List.of(new CartDeltaDTO("apple", 2), new CartDeltaDTO("melon", 1)));
+        PricingSessionDTO update = sessionService.apply(id, List.of(new CartDeltaDTO("lime", 5)));
+
+        // Assert: one bundle, 0.30 + 0.50 + 3 limes for 0.30 beside it; a second would cost more than its units
+        FruitResponseDTO bill = billService.billFromTally(
+                CartTally.of(bundled, List.of("apple", "apple", "melon", "lime", "lime", "lime", "lime", "lime")), "member");
+        assertEquals(bill.getTotalPriceMinor(), update.getTotalPriceMinor());
+        assertEquals(160L, update.getTotalPriceMinor());
+        assertEquals("member", update.getTier());
+        assertEquals(bill.getBundles(), update.getBundles());
+        assertEquals(bill.getFruits(), sessionService.view(id).getFruits());
+        FruitPriceDTO apple = update.getFruits().stream().filter(line -> line.getFruit().equals("apple")).findFirst().orElseThrow();
+        assertEquals(1, apple.getBundled());
+    }
+
+    @Test
+    void open_UnknownTier_Throws() {
+        assertThrows(UnknownTierException.class, () -> sessionService.open("gold"));
+    }
+
+    @Test
+    void view_IdleSession_HasExpired() {
+        // Arrange
+        PricingSessionService expiring = new PricingSessionService(catalogService, 100, Duration.ZERO);
+        String id = expiring.open().getSessionId();
+
+        // Act / Assert
+        assertThrows(SessionNotFoundException.class, () -> expiring.view(id));
+    }
+
+    @Test
+    void close_UnknownSession_Throws() {
+        assertThrows(SessionNotFoundException.class, () -> sessionService.close("missing"));
+    }
+}
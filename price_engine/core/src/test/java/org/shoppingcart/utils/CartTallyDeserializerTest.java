@@ -0,0 +1,50 @@
+package org.shoppingcart.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import org.junit.jupiter.api.Test;
+import org.shoppingcart.models.CartTally;
+import org.shoppingcart.models.Fruit;
+import org.shoppingcart.models.FruitCatalog;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CartTallyDeserializerTest {
+
+    private final FruitCatalog catalog = FruitCatalog.of(1L, List.of(
+            new Fruit("apple", 0.35, OfferType.NoOffer, null),
+            new Fruit("lime", 0.15, OfferType.ThreeForTwo, null)));
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(PricingJson.cartTallyModule(() -> catalog));
+
+    @Test
+    void deserialize_Names_TalliesKnownAndRecordsUnknown() throws Exception {
+        // Act
+        CartTally tally = objectMapper.readValue("[\"apple\", \"LIME\", \"apple\", \"kiwi\", 42]", CartTally.class);
+
+        // Assert
+        assertEquals(2, tally.distinctCount());
+        assertEquals(3, tally.totalUnits());
+        assertEquals(List.of("kiwi", "42"), List.copyOf(tally.getUnknownNames()));
+    }
+
+    @Test
+    void deserialize_ObjectInPlaceOfAName_FailsWithoutInventingAName() {
+        // Act
+        MismatchedInputException element = assertThrows(MismatchedInputException.class,
+                () -> objectMapper.readValue("[\"apple\", {\"apple\": {\"x\": 1}}]", CartTally.class));
+        MismatchedInputException array = assertThrows(MismatchedInputException.class,
+                () -> objectMapper.readValue("[[\"apple\"]]", CartTally.class));
+        MismatchedInputException body = assertThrows(MismatchedInputException.class,
+                () -> objectMapper.readValue("{\"apple\": {\"x\": 1}}", CartTally.class));
+
+        // Assert
+        assertTrue(element.getOriginalMessage().startsWith("Expected a fruit name, got an object"),
+                element.getOriginalMessage());
+        assertTrue(array.getOriginalMessage().startsWith("Expected a fruit name, got an array"),
+                array.getOriginalMessage());
+        assertFalse(body.getOriginalMessage().contains("}"), body.getOriginalMessage());
+    }
+}
@@ -0,0 +1,302 @@
+package org.shoppingcart.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.shoppingcart.components.BundleTable;
+import org.shoppingcart.components.OfferTable;
+import org.shoppingcart.models.BOGO;
+import org.shoppingcart.models.Bundle;
+import org.shoppingcart.models.Fruit;
+import org.shoppingcart.models.FruitCatalog;
+import org.shoppingcart.models.MultiPrice;
+import org.shoppingcart.models.Promotion;
+import org.shoppingcart.models.ThreeForTwo;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogFileTest {
+
+    @TempDir
+    Path directory;
+
+    private static List<Fruit> fruits(int size) {
+        List<Fruit> fruits = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            double price = 0.05 + (i % 97) / 100.0;
+            fruits.add(switch (i % 4) {
+                case 0 -> new Fruit("sku-" + i, price, OfferType.BOGO, new BOGO(1, 1));
+                case 1 -> new Fruit("sku-" + i, price, OfferType.ThreeForTwo, new ThreeForTwo(3, 2));
+                case 2 -> new Fruit("sku-" + i, price, OfferType.MultiPrice, new MultiPrice(4, 1.00));
+                default -> new Fruit("sku-" + i, price, OfferType.NoOffer, null);
+            });
+        }
+        return fruits;
+    }
+
+    @Test
+    void map_WrittenCatalog_PricesAndLooksUpLikeTheSource() throws IOException {
+        // Arrange: enough SKUs to span several pages of mapped entries
+        FruitCatalog source = FruitCatalog.of(1L, fruits(2_500));
+        Path file = directory.resolve("catalog.bin");
+        CatalogFile.write(source, file);
+
+        // Act
+        FruitCatalog mapped = CatalogFile.map(file, 7L);
+
+        // Assert
+        assertEquals(7L, mapped.getVersion());
+        assertEquals(source.size(), mapped.size());
+        assertEquals(SkuDictionary.NOT_FOUND, mapped.idOf("kiwi"));
+        for (int id = 0; id < source.size(); id++) {
+            String name = source.get(id).getName();
+            assertEquals(id, mapped.idOf(name.toUpperCase()));
+            assertEquals(name, mapped.get(id).getName());
+            assertEquals(source.get(id).getOfferType(), mapped.get(id).getOfferType());
+            assertEquals(Money.toMajor(source.unitPriceMinor(id)), mapped.get(id).getPrice());
+            for (int quantity : new int[]{0, 1, 2, 3, 4, 7, 1_000}) {
+                assertEquals(source.offers().charge(id, quantity), mapped.offers().charge(id, quantity));
+            }
+        }
+        assertSame(mapped.get(1_500), mapped.get("SKU-1500"));
+    }
+
+    @Test
+    void map_BestPriceSkus_ChargeLikeTheSource() throws IOException {
+        // Arrange
+        List<Fruit> fruits = fruits(10);
+        fruits.add(new Fruit("melon", 0.50, OfferType.BOGO, null, List.of(new ThreeForTwo(3, 2))));
+        fruits.add(new Fruit("lime", 0.45, null, null, List.of(new MultiPrice(3, 1.00), new MultiPrice(6, 1.80))));
+        FruitCatalog source = FruitCatalog.of(1L, fruits);
+        Path file = directory.resolve("best-price.bin");
+        CatalogFile.write(source, file);
+
+        // Act
+        FruitCatalog mapped = CatalogFile.map(file, 2L);
+
+        // Assert
+        assertEquals(OfferType.BestPrice, mapped.get("lime").getOfferType());
+        for (int id = 0; id < source.size(); id++) {
+            assertEquals(source.offers().hasBestPriceTable(id), mapped.offers().hasBestPriceTable(id));
+            for (int quantity = 0; quantity <= 50; quantity++) {
+                assertEquals(source.offers().charge(id, quantity), mapped.offers().charge(id, quantity));
+            }
+        }
+    }
+
+    @Test
+    void map_Bundles_ReadBackWithTheirMembers() throws IOException {
+        // Arrange
+        List<Fruit> fruits = fruits(10);
+        FruitCatalog source = FruitCatalog.of(1L, fruits, List.of(
+                Bundle.fixed("pair", 0.50, Map.of("SKU-1", 1, "SKU-2", 2)),
+                Bundle.anyOf("any-3", 0.90, 3, List.of("SKU-3", "SKU-4", "SKU-5"))));
+        Path file = directory.resolve("bundles.bin");
+        CatalogFile.write(source, file);
+
+        // Act
+        FruitCatalog mapped = CatalogFile.map(file, 2L);
+
+        // Assert
+        BundleTable expected = source.bundles();
+        BundleTable actual = mapped.bundles();
+        assertEquals(2, actual.size());
+        for (int bundle = 0; bundle < expected.size(); bundle++) {
+            assertEquals(expected.name(bundle), actual.name(bundle));
+            assertEquals(expected.priceMinor(bundle), actual.priceMinor(bundle));
+            assertEquals(expected.poolSize(bundle), actual.poolSize(bundle));
+            assertEquals(expected.memberStart(bundle), actual.memberStart(bundle));
+            assertEquals(expected.memberEnd(bundle), actual.memberEnd(bundle));
+        }
+        for (int member = 0; member < expected.memberEnd(expected.size() - 1); member++) {
+            assertEquals(expected.memberSku(member), actual.memberSku(member));
+            assertEquals(expected.memberUnits(member), actual.memberUnits(member));
+        }
+        assertTrue(actual.indexOf(mapped.idOf("SKU-4")) >= 0);
+        assertTrue(actual.indexOf(mapped.idOf("SKU-6")) < 0);
+    }
+
+    @Test
+    void map_Promotions_KeepTheirTimeline() throws IOException {
+        // Arrange: BOGO limes for a day, then a lower price for good
+        List<Fruit> fruits = fruits(10);
+        fruits.add(new Fruit("lime", 0.15, OfferType.NoOffer, null, null, List.of(
+                new Promotion("2024-11-29T00:00:00Z", "2024-11-30T00:00:00Z", null, OfferType.BOGO, null, null),
+                new Promotion("2024-12-01T00:00:00Z", null, 0.12, null, null, null))));
+        FruitCatalog source = FruitCatalog.of(1L, fruits);
+        Path file = directory.resolve("promotions.bin");
+        CatalogFile.write(source, file);
+
+        // Act
+        FruitCatalog mapped = CatalogFile.map(file, 1L);
+
+        // Assert: the same snapshots at the same instants
+        for (String instant : new String[]{"2024-01-01T00:00:00Z", "2024-11-29T12:00:00Z", "2024-11-30T00:00:00Z",
+                "2024-12-01T00:00:00Z"}) {
+            long at = Instant.parse(instant).toEpochMilli();
+            FruitCatalog expected = source.activeAt(at);
+            FruitCatalog actual = mapped.activeAt(at);
+            assertEquals(expected.getVersion(), actual.getVersion(), instant);
+            assertEquals(expected.getActiveUntil(), actual.getActiveUntil(), instant);
+            assertEquals(expected.get("lime").getOfferType(), actual.get("lime").getOfferType(), instant);
+            for (int id = 0; id < source.size(); id++) {
+                assertEquals(expected.offers().charge(id, 4), actual.offers().charge(id, 4), instant);
+            }
+        }
+        FruitCatalog bogo = mapped.activeAt(Instant.parse("2024-11-29T12:00:00Z").toEpochMilli());
+        assertEquals(30L, bogo.offers().charge(bogo.idOf("lime"), 4));
+        assertEquals(4L, mapped.lastVersion());
+    }
+
+    @Test
+    void map_Promotions_SnapshotsOverlayOneSharedOfferTable() throws IOException {
+        // Arrange: three windows over a thousand SKUs, each promoting one of them
+        List<Fruit> fruits = fruits(1_000);
+        fruits.set(7, new Fruit("sku-7", 0.40, OfferType.NoOffer, null, null, List.of(
+                new Promotion("2024-11-29T00:00:00Z", "2024-11-30T00:00:00Z", 0.20, null, null, null))));
+        fruits.set(8, new Fruit("sku-8", 0.40, OfferType.NoOffer, null, null, List.of(
+                new Promotion("2024-12-01T00:00:00Z", null, null, OfferType.BOGO, null, null))));
+        FruitCatalog source = FruitCatalog.of(1L, fruits);
+        Path file = directory.resolve("shared.bin");
+        CatalogFile.write(source, file);
+
+        // Act
+        FruitCatalog mapped = CatalogFile.map(file, 1L);
+
+        // Assert: every snapshot charges the SKUs it does not promote from the same table
+        for (FruitCatalog catalog : List.of(source, mapped)) {
+            List<FruitCatalog> snapshots = catalog.snapshots();
+            assertEquals(4, snapshots.size());
+            OfferTable shared = snapshots.get(0).offers().base();
+            for (FruitCatalog snapshot : snapshots) {
+                assertSame(shared, snapshot.offers().base());
+            }
+            assertEquals(160L, shared.charge(7, 4));
+            assertEquals(80L, snapshots.get(1).offers().charge(7, 4));
+            assertEquals(OfferType.NoOffer, snapshots.get(2).get("sku-8").getOfferType());
+            assertEquals(OfferType.BOGO, snapshots.get(3).get("sku-8").getOfferType());
+            assertEquals(80L, snapshots.get(3).offers().charge(8, 4));
+            assertEquals(shared.charge(9, 4), snapshots.get(3).offers().charge(9, 4));
+        }
+        assertTrue(Files.size(file) < 2 * source.snapshots().get(0).offers().base().imageBytes());
+    }
+
+    @Test
+    void map_Tiers_PriceLikeTheSourceInEverySnapshot() throws IOException {
+        // Arrange: staff prices over a catalog with a promotion
+        List<Fruit> fruits = fruits(10);
+        fruits.add(new Fruit("lime", 0.15, OfferType.NoOffer, null, null, List.of(
+                new Promotion("2024-11-29T00:00:00Z", "2024-11-30T00:00:00Z", null, OfferType.BOGO, null, null))));
+        FruitCatalog source = FruitCatalog.of(1L, fruits, List.of(), Map.of("staff", List.of(
+                new Fruit("lime", 0.10, null, null),
+                new Fruit("sku-3", null, OfferType.MultiPrice, new MultiPrice(2, 0.10)))));
+        Path file = directory.resolve("tiers.bin");
+        CatalogFile.write(source.forTier("staff"), file);
+
+        // Act
+        FruitCatalog mapped = CatalogFile.map(file, 1L);
+
+        // Assert
+        assertEquals(Set.of("staff"), mapped.tierNames());
+        for (String instant : new String[]{"2024-01-01T00:00:00Z", "2024-11-29T12:00:00Z"}) {
+            long at = Instant.parse(instant).toEpochMilli();
+            FruitCatalog expected = source.activeAt(at).forTier("staff");
+            FruitCatalog actual = mapped.activeAt(at).forTier("STAFF");
+            assertEquals("staff", actual.getTier());
+            assertEquals(expected.getVersion(), actual.getVersion(), instant);
+            assertEquals(expected.get("lime").getOfferType(), actual.get("lime").getOfferType(), instant);
+            assertEquals(expected.get("sku-3").getOfferType(), actual.get("sku-3").getOfferType(), instant);
+            for (int id = 0; id < source.size(); id++) {
+                assertEquals(expected.get(id).getName(), actual.get(id).getName());
+                assertEquals(expected.unitPriceMinor(id), actual.unitPriceMinor(id));
+                assertEquals(expected.offers().charge(id, 4), actual.offers().charge(id, 4), instant);
+            }
+        }
+        FruitCatalog promoted = mapped.activeAt(Instant.parse("2024-11-29T12:00:00Z").toEpochMilli()).forTier("staff");
+        assertEquals(20L, promoted.offers().charge(promoted.idOf("lime"), 4));
+        assertEquals(20L, promoted.offers().charge(promoted.idOf("sku-3"), 4));
+        assertSame(mapped, mapped.forTier("staff").forTier(null));
+    }
+
+    @Test
+    void map_EmptyCatalog_HasNoSkus() throws IOException {
+        // Arrange
+        Path file = directory.resolve("empty.bin");
+        CatalogFile.write(FruitCatalog.empty(), file);
+
+        // Act
+        FruitCatalog mapped = CatalogFile.map(file, 1L);
+
+        // Assert
+        assertEquals(0, mapped.size());
+        assertEquals(SkuDictionary.NOT_FOUND, mapped.idOf("apple"));
+    }
+
+    @Test
+    void map_OtherFormatVersion_Throws() throws IOException {
+        // Arrange
+        Path file = directory.resolve("catalog.bin");
+        CatalogFile.write(FruitCatalog.of(1L, fruits(3)), file);
+        byte[] bytes = Files.readAllBytes(file);
+        ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).putInt(Integer.BYTES, CatalogFile.FORMAT_VERSION + 1);
+        Files.write(file, bytes);
+
+        // Act
+        IOException error = assertThrows(IOException.class, () -> CatalogFile.map(file, 1L));
+
+        // Assert
+        assertTrue(error.getMessage().contains("format version"));
+    }
+
+    @Test
+    void map_TruncatedFile_Throws() throws IOException {
+        // Arrange
+        Path file = directory.resolve("catalog.bin");
+        CatalogFile.write(FruitCatalog.of(1L, fruits(3)), file);
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 8));
+
+        // Act / Assert
+        assertThrows(IOException.class, () -> CatalogFile.map(file, 1L));
+    }
+
+    @Test
+    void loadCatalog_CompiledLocation_MapsItAndJsonLocationParses() throws IOException {
+        // Arrange
+        Path json = directory.resolve("offer.json");
+        Files.writeString(json, """
+                {"fruits": [
+                  {"name": "apple", "price": 0.35},
+                  {"name": "lime", "price": 0.15, "type": "ThreeForTwo",
+                   "offer": {"type": "ThreeForTwo", "buy": 3, "payFor": 2}}
+                ]}""");
+        Path compiled = directory.resolve("offer.bin");
+        CatalogCompiler.compile(json, compiled);
+
+        // Act
+        FruitCatalog fromBinary = new FruitLoader(new ObjectMapper(), compiled.toUri().toString())
+                .loadCatalog(2L);
+        FruitCatalog fromJson = new FruitLoader(new ObjectMapper(), json.toString())
+                .loadCatalog(2L);
+
+        // Assert
+        assertTrue(CatalogFile.isCatalogFile(compiled));
+        assertFalse(CatalogFile.isCatalogFile(json));
+        int lime = fromBinary.idOf("lime");
+        assertEquals(30L, fromBinary.offers().charge(lime, 3));
+        assertEquals(fromJson.offers().charge(fromJson.idOf("lime"), 3), fromBinary.offers().charge(lime, 3));
+        assertEquals(OfferType.ThreeForTwo, fromBinary.get(lime).getOfferType());
+    }
+}
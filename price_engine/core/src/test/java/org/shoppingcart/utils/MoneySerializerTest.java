@@ -0,0 +1,81 @@
+package org.shoppingcart.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.shoppingcart.models.FruitPriceDTO;
+import org.shoppingcart.models.FruitResponseDTO;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneySerializerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @ParameterizedTest(name = "{0} minor units → {1}")
+    @CsvSource({
+            "0, 0.00",
+            "5, 0.05",
+            "35, 0.35",
+            "100, 1.00",
+            "123456, 1234.56",
+            "-5, -0.05",
+            "-123456, -1234.56",
+            "9223372036854775807, 92233720368547758.07",
+            "-9223372036854775808, -92233720368547758.08"
+    })
+    @DisplayName("Should format minor units with two decimals")
+    void format_minorUnits_twoDecimals(long minor, String expected) {
+        char[] buffer = new char[21];
+        int start = MoneySerializer.format(minor, buffer);
+        assertEquals(expected, new String(buffer, start, buffer.length - start));
+    }
+
+    @Test
+    @DisplayName("Should write bill amounts as two-decimal strings by default")
+    void serialize_defaultMode_writesStrings() throws Exception {
+        String json = objectMapper.writeValueAsString(sampleBill());
+
+        assertEquals("{\"fruits\":[{\"fruit\":\"lime\",\"offer\":\"ThreeForTwo\",\"unitPrice\":\"0.15\","
+                + "\"quantity\":3,\"charged\":\"0.30\",\"avgPrice\":\"0.10\"}],"
+                + "\"totalQuantity\":3,\"totalPrice\":\"0.30\"}", json);
+    }
+
+    @Test
+    @DisplayName("Should write amounts as JSON numbers when configured")
+    void serialize_numberMode_writesNumbers() throws Exception {
+        SimpleModule module = new SimpleModule();
+        module.addSerializer(Long.class, new MoneySerializer(true));
+        ObjectMapper numberMapper = new ObjectMapper().registerModule(module);
+
+        assertEquals("[0.35,-1.05]", numberMapper.writeValueAsString(List.of(35L, -105L)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(doubles = {0.0, 0.35, 1.1, 0.125, 1.005, 2.675, 1234567.891, -0.35, 1e15, 0.333333})
+    @DisplayName("Should format doubles exactly like String.format(\"%.2f\")")
+    void doubleSerializer_matchesStringFormat(double value) throws Exception {
+        SimpleModule module = new SimpleModule();
+        module.addSerializer(Double.class, new PricingJson.DoubleSerializer(false));
+        ObjectMapper doubleMapper = new ObjectMapper().registerModule(module);
+
+        assertEquals("\"" + String.format("%.2f", value) + "\"", doubleMapper.writeValueAsString(value));
+    }
+
+    private static FruitResponseDTO sampleBill() {
+        FruitPriceDTO line = new FruitPriceDTO();
+        line.setFruit("lime");
+        line.setOffer(OfferType.ThreeForTwo);
+        line.setUnitPriceMinor(15);
+        line.setQuantity(3);
+        line.setChargedMinor(30);
+        line.setAvgPriceMinor(10);
+        return FruitResponseDTO.ofMinor(List.of(line), 3, 30);
+    }
+}
@@ -0,0 +1,78 @@
+package org.shoppingcart.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneyTest {
+
+    @ParameterizedTest(name = "{0} → {1} minor units")
+    @CsvSource({
+            "0.35, 35",
+            "0.20, 20",
+            "0.005, 1",
+            "0.004, 0",
+            "1.10, 110",
+            "0, 0"
+    })
+    @DisplayName("Should convert decimal prices to minor units rounding half up")
+    void toMinor_decimalPrices_roundsHalfUp(double major, long expectedMinor) {
+        assertEquals(expectedMinor, Money.toMinor(major));
+    }
+
+    @Test
+    @DisplayName("Should reject non-finite amounts")
+    void toMinor_nonFinite_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> Money.toMinor(Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> Money.toMinor(Double.POSITIVE_INFINITY));
+    }
+
+    @Test
+    @DisplayName("Should sum cent amounts exactly where doubles drift")
+    void add_centAmounts_noDrift() {
+        assertNotEquals(0.30, 0.10 + 0.20);
+        assertEquals(0.30, Money.toMajor(Money.add(Money.toMinor(0.10), Money.toMinor(0.20))));
+    }
+
+    @ParameterizedTest(name = "{0} / {1} ({2})")
+    @CsvSource({
+            "100, 3, HALF_UP",
+            "50, 4, HALF_UP",
+            "50, 4, HALF_EVEN",
+            "70, 4, HALF_EVEN",
+            "50, 4, HALF_DOWN",
+            "-50, 4, HALF_UP",
+            "-50, 4, HALF_DOWN",
+            "-70, 4, HALF_EVEN",
+            "7, 2, FLOOR",
+            "-7, 2, FLOOR",
+            "7, 2, CEILING",
+            "-7, 2, CEILING",
+            "-7, 2, DOWN",
+            "-7, 2, UP",
+            "9, 3, UNNECESSARY"
+    })
+    @DisplayName("Should divide with the same rounding as BigDecimal")
+    void divide_matchesBigDecimal(long minor, long divisor, RoundingMode rounding) {
+        long expected = BigDecimal.valueOf(minor).divide(BigDecimal.valueOf(divisor), 0, rounding).longValueExact();
+        assertEquals(expected, Money.divide(minor, divisor, rounding));
+    }
+
+    @Test
+    @DisplayName("Should throw when rounding is required but not allowed")
+    void divide_unnecessaryWithRemainder_throwsException() {
+        assertThrows(ArithmeticException.class, () -> Money.divide(10, 3, RoundingMode.UNNECESSARY));
+    }
+
+    @Test
+    @DisplayName("Should detect overflow instead of wrapping")
+    void multiply_overflow_throwsException() {
+        assertThrows(ArithmeticException.class, () -> Money.multiply(Long.MAX_VALUE, 2));
+    }
+}
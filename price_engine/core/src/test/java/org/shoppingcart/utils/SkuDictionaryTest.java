@@ -0,0 +1,84 @@
+package org.shoppingcart.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SkuDictionaryTest {
+
+    @Test
+    void idOf_KnownNames_ReturnsDenseIdsInInsertionOrder() {
+        // Arrange
+        SkuDictionary skus = SkuDictionary.of("apple", "banana", "lime");
+
+        // Act & Assert
+        assertEquals(3, skus.size());
+        assertEquals(0, skus.idOf("apple"));
+        assertEquals(1, skus.idOf("banana"));
+        assertEquals(2, skus.idOf("lime"));
+        assertEquals("banana", skus.name(1));
+    }
+
+    @Test
+    void idOf_DifferentCase_MatchesSameSku() {
+        SkuDictionary skus = SkuDictionary.of("apple");
+
+        assertEquals(0, skus.idOf("APPLE"));
+        assertEquals(0, skus.idOf("Apple"));
+    }
+
+    @Test
+    void idOf_UnknownOrNull_ReturnsNotFound() {
+        SkuDictionary skus = SkuDictionary.of("apple");
+
+        assertEquals(SkuDictionary.NOT_FOUND, skus.idOf("kiwi"));
+        assertEquals(SkuDictionary.NOT_FOUND, skus.idOf("appl"));
+        assertEquals(SkuDictionary.NOT_FOUND, skus.idOf((String) null));
+    }
+
+    @Test
+    void idOf_CharacterRange_MatchesWithoutCopying() {
+        SkuDictionary skus = SkuDictionary.of("lime");
+
+        assertEquals(0, skus.idOf("[\"LIME\"]", 2, 4));
+    }
+
+    @Test
+    void add_DuplicateName_ReturnsExistingId() {
+        // Arrange
+        SkuDictionary.Builder builder = SkuDictionary.builder(2);
+
+        // Act
+        int first = builder.add("melon");
+        int second = builder.add("MELON");
+
+        // Assert
+        assertEquals(first, second);
+        assertEquals(1, builder.build().size());
+    }
+
+    @Test
+    void add_BlankName_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> SkuDictionary.builder(1).add(" "));
+    }
+
+    @Test
+    void build_LargeAssortment_EveryNameResolvesToItsId() {
+        // Arrange: well past the initial capacity, so the table is rehashed many times
+        int size = 200_000;
+        SkuDictionary.Builder builder = SkuDictionary.builder(16);
+        for (int i = 0; i < size; i++) {
+            builder.add("SKU-" + i);
+        }
+
+        // Act
+        SkuDictionary skus = builder.build();
+
+        // Assert
+        assertEquals(size, skus.size());
+        for (int i = 0; i < size; i++) {
+            assertEquals(i, skus.idOf("sku-" + i));
+        }
+        assertEquals(SkuDictionary.NOT_FOUND, skus.idOf("sku-" + size));
+    }
+}
@@ -0,0 +1,96 @@
+package org.shoppingcart.server;
+
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Settings for the {@link StandaloneServer}, under the Spring application's property names
+ * ({@code server.port}, {@code catalog.location}, {@code pricing.cache.enabled}, ...).
+ * A value is taken from the {@code --name=value} arguments, then from a {@code -Dname=value}
+ * system property, then from the default the caller passes.
+ * <p>
+ * Durations are ISO-8601 ({@code PT10M}) or a number with a unit of {@code ms}, {@code s},
+ * {@code m}, {@code h} or {@code d} ({@code 10m}); a bare number is milliseconds.
+ */
+public final class ServerSettings {
+
+    private final Map<String, String> values;
+
+    private ServerSettings(Map<String, String> values) {
+        this.values = values;
+    }
+
+    public static ServerSettings of(Map<String, String> values) {
+        return new ServerSettings(Map.copyOf(values));
+    }
+
+    public static ServerSettings fromArgs(String... args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (!arg.startsWith("--") || equals < 3) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            values.put(arg.substring(2, equals), arg.substring(equals + 1));
+        }
+        return new ServerSettings(values);
+    }
+
+    public String get(String name, String defaultValue) {
+        String value = values.get(name);
+        if (value == null) {
+            value = System.getProperty(name);
+        }
+        return value == null ? defaultValue : value.trim();
+    }
+
+    public int getInt(String name, int defaultValue) {
+        String value = get(name, null);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+
+    public long getLong(String name, long defaultValue) {
+        String value = get(name, null);
+        return value == null ? defaultValue : Long.parseLong(value);
+    }
+
+    public boolean getBoolean(String name, boolean defaultValue) {
+        String value = get(name, null);
+        return value == null ? defaultValue : Boolean.parseBoolean(value);
+    }
+
+    public Duration getDuration(String name, Duration defaultValue) {
+        String value = get(name, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return parseDuration(value);
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Bad duration for " + name + ": " + value, e);
+        }
+    }
+
+    static Duration parseDuration(String value) {
+        String text = value.toLowerCase(Locale.ROOT);
+        if (text.startsWith("p") || text.startsWith("-p")) {
+            return Duration.parse(value);
+        }
+        int unitStart = text.length();
+        while (unitStart > 0 && Character.isLetter(text.charAt(unitStart - 1))) {
+            unitStart--;
+        }
+        long amount = Long.parseLong(text.substring(0, unitStart));
+        return switch (text.substring(unitStart)) {
+            case "", "ms" -> Duration.ofMillis(amount);
+            case "s" -> Duration.ofSeconds(amount);
+            case "m" -> Duration.ofMinutes(amount);
+            case "h" -> Duration.ofHours(amount);
+            case "d" -> Duration.ofDays(amount);
+            default -> throw new NumberFormatException("Unknown duration unit in " + value);
+        };
+    }
+}
@@ -0,0 +1,287 @@
+package org.shoppingcart.server;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.shoppingcart.models.CartTally;
+import org.shoppingcart.models.CatalogInfoDTO;
+import org.shoppingcart.services.BillCache;
+import org.shoppingcart.services.BillJournal;
+import org.shoppingcart.services.BillStreamService;
+import org.shoppingcart.services.FruitBillService;
+import org.shoppingcart.services.FruitCatalogService;
+import org.shoppingcart.utils.CatalogVersionNotFoundException;
+import org.shoppingcart.utils.ExecutionMode;
+import org.shoppingcart.utils.FruitLoader;
+import org.shoppingcart.utils.PricingJson;
+import org.shoppingcart.utils.PricingMetrics;
+import org.shoppingcart.utils.UnknownFruitException;
+import org.shoppingcart.utils.UnknownTierException;
+import org.shoppingcart.utils.VirtualThreads;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.System.Logger.Level;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * The pricing engine served by the JDK's built-in HTTP server, with no framework around it:
+ * for instances that only price carts, and should start in a fraction of a second on a small
+ * heap. The Spring application builds the same core services; this class builds them by hand.
+ * <p>
+ * The endpoints, request bodies and responses match the Spring application's:
+ * {@code POST /api/bill}, {@code POST /api/bill/batch}, {@code POST /api/bill/stream}
+ * (NDJSON), {@code GET /api/catalog}, {@code GET /api/catalog/versions} and
+ * {@code POST /api/catalog/reload}, plus {@code GET /health}. The bill endpoints take the
+ * same {@code tier} query parameter, and {@code POST /api/bill} the same {@code version}.
+ * Pricing sessions, gRPC, the reactive endpoint and Prometheus
+ * metrics are only served by the Spring application.
+ * <p>
+ * Settings are read by {@link ServerSettings}. Besides the application's pricing and catalog
+ * properties, {@code server.port} (8080) and {@code pricing.execution.mode} apply; in platform
+ * mode requests are handled by a pool of {@code server.threads} threads. The bill journal is
+ * off unless {@code pricing.journal.enabled} is set.
+ */
+public final class StandaloneServer {
+
+    private static final System.Logger log = System.getLogger(StandaloneServer.class.getName());
+
+    private static final String JSON = "application/json";
+    private static final String NDJSON = "application/x-ndjson";
+    private static final TypeReference<List<List<String>>> CARTS = new TypeReference<>() {
+    };
+
+    private final ObjectMapper objectMapper;
+    private final FruitCatalogService catalogService;
+    private final FruitBillService billService;
+    private final BillStreamService billStreamService;
+    private final BillJournal billJournal;
+    private final ForkJoinPool pricingPool;
+    private final ExecutorService requestExecutor;
+    private final HttpServer server;
+
+    /**
+     * Builds the engine and loads the catalog. The port is bound but nothing is served
+     * until {@link #start}.
+     */
+    public StandaloneServer(ServerSettings settings) throws IOException {
+        boolean moneyAsNumber = settings.getBoolean("pricing.json.money-as-number", false);
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .registerModule(PricingJson.moneyModule(moneyAsNumber))
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        objectMapper.setHandlerInstantiator(PricingJson.handlerInstantiator(moneyAsNumber));
+
+        catalogService = new FruitCatalogService(new FruitLoader(objectMapper,
+                settings.get("catalog.location", FruitLoader.DEFAULT_LOCATION)), Clock.systemUTC(),
+                settings.getInt("catalog.history.size", FruitCatalogService.DEFAULT_HISTORY_SIZE));
+        objectMapper.registerModule(PricingJson.cartTallyModule(catalogService::current));
+        catalogService.init();
+
+        int parallelism = settings.getInt("pricing.batch.parallelism", 0);
+        pricingPool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        BillCache billCache = new BillCache(
+                settings.getBoolean("pricing.cache.enabled", true),
+                settings.getLong("pricing.cache.maximum-size", 10_000L),
+                settings.getDuration("pricing.cache.expire-after-write", Duration.ofMinutes(10)));
+        billJournal = settings.getBoolean("pricing.journal.enabled", false)
+                ? new BillJournal(Path.of(settings.get("pricing.journal.directory", "journal")),
+                        settings.getInt("pricing.journal.capacity", 8192),
+                        settings.getLong("pricing.journal.segment-size", 64L << 20),
+                        settings.getDuration("pricing.journal.flush-interval", Duration.ofMillis(100)))
+                : BillJournal.disabled();
+        billJournal.start();
+        ExecutionMode mode = executionMode(settings);
+        requestExecutor = mode == ExecutionMode.VIRTUAL
+                ? VirtualThreads.newThreadPerTaskExecutor("http-vt-")
+                : Executors.newFixedThreadPool(settings.getInt("server.threads",
+                        Math.max(8, 4 * Runtime.getRuntime().availableProcessors())));
+        // Batch slices run on virtual threads too when the requests do
+        ExecutorService batchExecutor = mode == ExecutionMode.VIRTUAL
+                ? VirtualThreads.newThreadPerTaskExecutor("batch-vt-")
+                : pricingPool;
+        billService = new FruitBillService(catalogService, batchExecutor, billCache, PricingMetrics.disabled(), billJournal);
+        billStreamService = new BillStreamService(billService, objectMapper,
+                settings.getInt("pricing.stream.max-line-bytes", 1 << 20));
+
+        server = HttpServer.create(new InetSocketAddress(settings.getInt("server.port", 8080)), 0);
+        server.setExecutor(requestExecutor);
+        route("/api/bill", "POST", this::bill);
+        route("/api/bill/batch", "POST", this::batchBill);
+        route("/api/bill/stream", "POST", this::streamBills);
+        route("/api/catalog", "GET", exchange ->
+                sendJson(exchange, 200, CatalogInfoDTO.from(catalogService.current())));
+        route("/api/catalog/versions", "GET", exchange ->
+                sendJson(exchange, 200, catalogService.versions().stream().map(CatalogInfoDTO::from).toList()));
+        route("/api/catalog/reload", "POST", exchange ->
+                sendJson(exchange, 200, CatalogInfoDTO.from(catalogService.reload())));
+        route("/health", "GET", exchange -> sendJson(exchange, 200, Map.of("status", "UP")));
+    }
+
+    public static void main(String[] args) throws IOException {
+        StandaloneServer server = new StandaloneServer(ServerSettings.fromArgs(args));
+        server.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(server::stop, "standalone-server-shutdown"));
+        log.log(Level.INFO, "Pricing server listening on port {0}, started in {1} ms",
+                String.valueOf(server.port()), String.valueOf(ManagementFactory.getRuntimeMXBean().getUptime()));
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * Stops accepting connections, gives exchanges in progress a second to finish, then
+     * releases the worker threads.
+     */
+    public void stop() {
+        server.stop(1);
+        requestExecutor.shutdown();
+        pricingPool.shutdown();
+        billJournal.close();
+    }
+
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    private void bill(HttpExchange exchange) throws IOException {
+        CartTally tally = objectMapper.readValue(exchange.getRequestBody(), CartTally.class);
+        // Unknown names are reported together, once the whole body is decoded
+        if (tally.hasUnknownNames()) {
+            throw new UnknownFruitException(tally.getUnknownNames());
+        }
+        String version = queryParameter(exchange, "version");
+        if (version == null) {
+            sendJson(exchange, 200, billService.billFromTally(tally, queryParameter(exchange, "tier")));
+            return;
+        }
+        long catalogVersion;
+        try {
+            catalogVersion = Long.parseLong(version);
+        } catch (NumberFormatException e) {
+            sendJson(exchange, 400, Map.of("version", "Catalog version must be a number"));
+            return;
+        }
+        sendJson(exchange, 200, billService.billAtVersion(tally, catalogVersion, queryParameter(exchange, "tier")));
+    }
+
+    private void batchBill(HttpExchange exchange) throws IOException {
+        List<List<String>> carts = objectMapper.readValue(exchange.getRequestBody(), CARTS);
+        sendJson(exchange, 200, billService.billBatch(carts, queryParameter(exchange, "tier")));
+    }
+
+    private void streamBills(HttpExchange exchange) throws IOException {
+        String tier = queryParameter(exchange, "tier");
+        // Checked before the headers go out, so an unknown tier can still be answered 400
+        billService.requireTier(tier);
+        exchange.getResponseHeaders().set("Content-Type", NDJSON);
+        exchange.sendResponseHeaders(200, 0);
+        try (InputStream carts = exchange.getRequestBody()) {
+            billStreamService.stream(carts, exchange.getResponseBody(), tier);
+        }
+    }
+
+    /**
+     * The first query parameter called {@code name}, or {@code null} without one.
+     */
+    private static String queryParameter(HttpExchange exchange, String name) {
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query == null) {
+            return null;
+        }
+        for (String parameter : query.split("&")) {
+            int equals = parameter.indexOf('=');
+            if (name.equals(equals < 0 ? parameter : parameter.substring(0, equals))) {
+                return equals < 0 ? "" : URLDecoder.decode(parameter.substring(equals + 1), StandardCharsets.UTF_8);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Serves {@code path} exactly, answering other paths under it with 404 and other methods
+     * with 405. Errors are answered like the Spring application's exception handler does.
+     */
+    private void route(String path, String method, Endpoint endpoint) {
+        server.createContext(path, exchange -> {
+            try {
+                if (!path.equals(exchange.getRequestURI().getPath())) {
+                    sendJson(exchange, 404, Map.of("path", "No endpoint at " + exchange.getRequestURI().getPath()));
+                } else if (!method.equals(exchange.getRequestMethod())) {
+                    exchange.getResponseHeaders().set("Allow", method);
+                    sendJson(exchange, 405, Map.of("method", method + " only"));
+                } else {
+                    endpoint.handle(exchange);
+                }
+            } catch (UnknownFruitException e) {
+                sendJson(exchange, 400, Map.of("fruits", e.getMessage()));
+            } catch (UnknownTierException e) {
+                sendJson(exchange, 400, Map.of("tier", e.getMessage()));
+            } catch (CatalogVersionNotFoundException e) {
+                sendJson(exchange, 404, Map.of("version", e.getMessage()));
+            } catch (JsonProcessingException e) {
+                sendJson(exchange, 400, Map.of("body", "Malformed request body"));
+            } catch (IOException e) {
+                sendText(exchange, 500, "Error reading fruit data: " + e.getMessage());
+            } catch (RuntimeException e) {
+                log.log(Level.WARNING, "Request to " + path + " failed", e);
+                sendJson(exchange, 500, Map.of("error", String.valueOf(e.getMessage())));
+            } finally {
+                exchange.close();
+            }
+        });
+    }
+
+    private void sendJson(HttpExchange exchange, int status, Object body) throws IOException {
+        send(exchange, status, JSON, objectMapper.writeValueAsBytes(body));
+    }
+
+    private static void sendText(HttpExchange exchange, int status, String body) throws IOException {
+        send(exchange, status, "text/plain;charset=UTF-8", body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, byte[] body) throws IOException {
+        // Headers already went out if a streamed response failed part way; all that is left is to close it
+        if (exchange.getResponseCode() != -1) {
+            return;
+        }
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        exchange.getResponseBody().write(body);
+    }
+
+    private static ExecutionMode executionMode(ServerSettings settings) {
+        ExecutionMode mode = ExecutionMode.valueOf(
+                settings.get("pricing.execution.mode", "platform").toUpperCase(Locale.ROOT));
+        if (mode == ExecutionMode.VIRTUAL && !VirtualThreads.isSupported()) {
+            log.log(Level.WARNING, "pricing.execution.mode=virtual needs Java 21+ (running {0}); using platform threads",
+                    Runtime.version());
+            return ExecutionMode.PLATFORM;
+        }
+        return mode;
+    }
+
+    @FunctionalInterface
+    private interface Endpoint {
+        void handle(HttpExchange exchange) throws IOException;
+    }
+}
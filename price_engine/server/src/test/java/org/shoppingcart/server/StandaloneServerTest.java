@@ -0,0 +1,155 @@
+package org.shoppingcart.server;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StandaloneServerTest {
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private StandaloneServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        // The default catalog: apple 0.35, banana 0.20, melon 0.50 BOGO, lime 0.15 three for two
+        server = new StandaloneServer(ServerSettings.of(Map.of("server.port", "0", "server.threads", "2")));
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop();
+    }
+
+    private HttpResponse<String> send(String method, String path, String body, String contentType)
+            throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + server.port() + path))
+                .timeout(Duration.ofSeconds(10))
+                .method(method, body == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(body));
+        if (contentType != null) {
+            request.header("Content-Type", contentType);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    @Test
+    void bill_KnownFruits_ReturnsBillLikeTheSpringApplication() throws Exception {
+        // Act
+        HttpResponse<String> response = send("POST", "/api/bill",
+                "[\"apple\", \"lime\", \"lime\", \"lime\", \"melon\", \"melon\"]", "application/json");
+
+        // Assert
+        assertEquals(200, response.statusCode());
+        assertTrue(response.body().startsWith("{\"fruits\":[{\"fruit\":\"apple\",\"offer\":\"NoOffer\","
+                + "\"unitPrice\":\"0.35\",\"quantity\":1,\"charged\":\"0.35\",\"avgPrice\":\"0.35\"}"), response.body());
+        assertTrue(response.body().endsWith("\"totalQuantity\":6,\"totalPrice\":\"1.15\"}"), response.body());
+    }
+
+    @Test
+    void bill_UnknownFruitOrMalformedBody_Returns400() throws Exception {
+        // Act
+        HttpResponse<String> unknown = send("POST", "/api/bill", "[\"apple\", \"kiwi\"]", "application/json");
+        HttpResponse<String> malformed = send("POST", "/api/bill", "[\"apple\"", "application/json");
+
+        // Assert
+        assertEquals(400, unknown.statusCode());
+        assertTrue(unknown.body().contains("\"fruits\"") && unknown.body().contains("kiwi"), unknown.body());
+        assertEquals(400, malformed.statusCode());
+        assertEquals("{\"body\":\"Malformed request body\"}", malformed.body());
+    }
+
+    @Test
+    void bill_TierParameter_ChargesTheTierPricesAndRejectsUnknownTiers() throws Exception {
+        // Act
+        HttpResponse<String> member = send("POST", "/api/bill?tier=member", "[\"apple\", \"banana\"]",
+                "application/json");
+        HttpResponse<String> unknown = send("POST", "/api/bill?tier=gold", "[\"apple\"]", "application/json");
+        HttpResponse<String> unknownStream = send("POST", "/api/bill/stream?tier=gold", "[\"apple\"]\n",
+                "application/x-ndjson");
+
+        // Assert: the member apple is 0.30, the banana keeps its base 0.20
+        assertEquals(200, member.statusCode());
+        assertTrue(member.body().endsWith("\"totalQuantity\":2,\"totalPrice\":\"0.50\"}"), member.body());
+        assertEquals(400, unknown.statusCode());
+        assertEquals("{\"tier\":\"Unknown tier: gold\"}", unknown.body());
+        assertEquals(400, unknownStream.statusCode());
+    }
+
+    @Test
+    void batchAndStream_PriceEachCartInOrder() throws Exception {
+        // Act
+        HttpResponse<String> batch = send("POST", "/api/bill/batch",
+                "[[\"banana\"], [\"kiwi\"]]", "application/json");
+        HttpResponse<String> stream = send("POST", "/api/bill/stream",
+                "[\"banana\"]\n[\"kiwi\"]\n", "application/x-ndjson");
+
+        // Assert
+        assertEquals(200, batch.statusCode());
+        assertTrue(batch.body().startsWith("[{\"index\":0,\"bill\":"), batch.body());
+        assertTrue(batch.body().contains("{\"index\":1,\"error\":\"Unknown fruit type: kiwi\"}"), batch.body());
+        assertEquals(200, stream.statusCode());
+        assertEquals(2, stream.body().lines().count());
+        assertTrue(stream.body().lines().toList().get(0).endsWith("\"totalPrice\":\"0.20\"}"), stream.body());
+    }
+
+    @Test
+    void catalogAndRouting_ServeCatalogInfoAndRejectUnknownRequests() throws Exception {
+        // Act
+        HttpResponse<String> catalog = send("GET", "/api/catalog", null, null);
+        HttpResponse<String> reloaded = send("POST", "/api/catalog/reload", null, null);
+        HttpResponse<String> wrongMethod = send("GET", "/api/bill", null, null);
+        HttpResponse<String> unknownPath = send("GET", "/api/catalog/other", null, null);
+
+        // Assert
+        assertEquals(200, catalog.statusCode());
+        assertTrue(catalog.body().startsWith("{\"version\":1,\"fruitCount\":4,\"loadedAt\":\""), catalog.body());
+        assertTrue(reloaded.body().startsWith("{\"version\":2,"), reloaded.body());
+        assertEquals(405, wrongMethod.statusCode());
+        assertEquals("POST", wrongMethod.headers().firstValue("Allow").orElse(null));
+        assertEquals(404, unknownPath.statusCode());
+    }
+
+    @Test
+    void bill_VersionParameter_RepricesAgainstARetainedVersion() throws Exception {
+        // Arrange
+        send("POST", "/api/catalog/reload", null, null);
+
+        // Act
+        HttpResponse<String> current = send("POST", "/api/bill", "[\"apple\"]", "application/json");
+        HttpResponse<String> previous = send("POST", "/api/bill?version=1", "[\"apple\"]", "application/json");
+        HttpResponse<String> missing = send("POST", "/api/bill?version=9", "[\"apple\"]", "application/json");
+        HttpResponse<String> malformed = send("POST", "/api/bill?version=one", "[\"apple\"]", "application/json");
+        HttpResponse<String> versions = send("GET", "/api/catalog/versions", null, null);
+
+        // Assert
+        assertTrue(current.body().contains("\"catalogVersion\":2,"), current.body());
+        assertEquals(200, previous.statusCode());
+        assertTrue(previous.body().contains("\"catalogVersion\":1,"), previous.body());
+        assertEquals(404, missing.statusCode());
+        assertEquals("{\"version\":\"Catalog version 9 is not retained\"}", missing.body());
+        assertEquals(400, malformed.statusCode());
+        assertTrue(versions.body().startsWith("[{\"version\":2,"), versions.body());
+        assertTrue(versions.body().contains("{\"version\":1,"), versions.body());
+    }
+
+    @Test
+    void parseDuration_IsoAndShortForms() {
+        assertEquals(Duration.ofMinutes(10), ServerSettings.parseDuration("PT10M"));
+        assertEquals(Duration.ofMinutes(30), ServerSettings.parseDuration("30m"));
+        assertEquals(Duration.ofSeconds(5), ServerSettings.parseDuration("5s"));
+        assertEquals(Duration.ofMillis(250), ServerSettings.parseDuration("250"));
+        assertThrows(NumberFormatException.class, () -> ServerSettings.parseDuration("5w"));
+    }
+}
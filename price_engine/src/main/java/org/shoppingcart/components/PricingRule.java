@@ -1,5 +0,0 @@
-package org.shoppingcart.components;
-
-public interface PricingRule {
-    double calculatePrice(double unitPrice, int quantity);
-}
\ No newline at end of file
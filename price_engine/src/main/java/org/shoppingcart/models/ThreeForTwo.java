@@ -1,23 +0,0 @@
-package org.shoppingcart.models;
-import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
-import com.fasterxml.jackson.annotation.JsonProperty;
-import lombok.*;
-
-@Data
-@AllArgsConstructor
-@NoArgsConstructor
-@JsonIgnoreProperties(ignoreUnknown = true)
-public class ThreeForTwo extends OfferDetails {
-    @JsonProperty("buy")
-    private Integer buy;
-    @JsonProperty("payFor")
-    private Integer payFor;
-
-    public String toString() {
-        return String.format(
-                "{\"buy\": \"%s\", \"free\": %s}",
-                buy,
-                payFor
-        );
-    }
-}
\ No newline at end of file
@@ -1,34 +0,0 @@
-package org.shoppingcart.utils;
-
-
-import com.fasterxml.jackson.core.JsonGenerator;
-import com.fasterxml.jackson.databind.JsonSerializer;
-import com.fasterxml.jackson.databind.SerializerProvider;
-import com.fasterxml.jackson.databind.module.SimpleModule;
-import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.Configuration;
-
-import java.io.IOException;
-
-@Configuration
-public class JacksonConfig {
-
-    @Bean
-    public SimpleModule javaMoneyModule() {
-        SimpleModule module = new SimpleModule();
-        module.addSerializer(Double.class, new DoubleSerializer());
-        return module;
-    }
-
-    public static class DoubleSerializer extends JsonSerializer<Double> {
-        @Override
-        public void serialize(Double value, JsonGenerator gen, SerializerProvider provider)
-                throws IOException {
-            if (value == null) {
-                gen.writeNull();
-            } else {
-                gen.writeString(String.format("%.2f", value));
-            }
-        }
-    }
-}
\ No newline at end of file
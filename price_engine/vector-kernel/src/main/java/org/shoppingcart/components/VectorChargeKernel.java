@@ -0,0 +1,64 @@
+package org.shoppingcart.components;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Prices {@code SPECIES.length()} rows per step in SIMD lanes with the JDK Vector API
+ * (incubating; needs {@code --add-modules jdk.incubator.vector}). Only loaded through
+ * {@link ChargeKernels}, which falls back to the scalar kernel when the module is absent.
+ * <p>
+ * Lanes have no integer division, so the group count is the double quotient rounded to a
+ * whole number and then corrected: rounding can only overshoot by one group, which shows
+ * up as a negative remainder. Everything after that is exact on whole numbers below
+ * 2<sup>53</sup>. A step whose charges reach that bound is redone in long arithmetic by
+ * the scalar kernel, which also prices the tail.
+ * <p>
+ * Rows are read from contiguous columns only. Gathering prices by SKU inside the loop
+ * ({@code fromArray} with an index map) was tried and crashed C2 in JDK 17 and 21.
+ */
+final class VectorChargeKernel implements ChargeKernel {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+    // Adding and subtracting 2^52 rounds a non-negative double below 2^52 to a whole number
+    private static final double ROUNDING_BIAS = 0x1p52;
+
+    @Override
+    public void charge(ChargeColumns columns) {
+        double[] quantities = columns.quantities;
+        double[] unitPrices = columns.unitPrices;
+        double[] groupSizes = columns.groupSizes;
+        double[] groupPrices = columns.groupPrices;
+        double[] charged = columns.charged;
+        int size = columns.size;
+        int bound = SPECIES.loopBound(size);
+
+        int row = 0;
+        for (; row < bound; row += SPECIES.length()) {
+            DoubleVector quantity = DoubleVector.fromArray(SPECIES, quantities, row);
+            DoubleVector groupSize = DoubleVector.fromArray(SPECIES, groupSizes, row);
+
+            DoubleVector groups = quantity.div(groupSize).add(ROUNDING_BIAS).sub(ROUNDING_BIAS);
+            DoubleVector rest = quantity.sub(groups.mul(groupSize));
+            VectorMask<Double> overshot = rest.compare(VectorOperators.LT, 0.0);
+            groups = groups.sub(1.0, overshot);
+            rest = rest.add(groupSize, overshot);
+
+            DoubleVector amount = DoubleVector.fromArray(SPECIES, groupPrices, row).mul(groups)
+                    .add(DoubleVector.fromArray(SPECIES, unitPrices, row).mul(rest));
+            if (amount.compare(VectorOperators.GE, ChargeColumns.EXACT_LIMIT).anyTrue()) {
+                ScalarChargeKernel.chargeRows(columns, row, row + SPECIES.length());
+            } else {
+                amount.intoArray(charged, row);
+            }
+        }
+        ScalarChargeKernel.chargeRows(columns, row, size);
+    }
+
+    @Override
+    public String name() {
+        return "vector-" + SPECIES.vectorBitSize();
+    }
+}
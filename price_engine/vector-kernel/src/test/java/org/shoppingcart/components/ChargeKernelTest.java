@@ -0,0 +1,126 @@
+package org.shoppingcart.components;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChargeKernelTest {
+
+    private static List<ChargeKernel> kernels() {
+        List<ChargeKernel> kernels = new ArrayList<>();
+        kernels.add(ChargeKernels.scalar());
+        // This module's tests run with --add-modules jdk.incubator.vector, so the SIMD path is covered on any runtime
+        kernels.add(new VectorChargeKernel());
+        return kernels;
+    }
+
+    @Test
+    void charge_RandomRows_MatchOfferTableRowByRow() {
+        // Arrange: a row count that leaves a tail after the last full vector
+        Random random = new Random(42);
+        int skus = 50;
+        OfferTable.Builder builder = OfferTable.builder(skus);
+        for (int sku = 0; sku < skus; sku++) {
+            long unitPrice = random.nextInt(10_000);
+            int groupSize = 1 + random.nextInt(sku % 2 == 0 ? 5 : 1_000);
+            builder.put(sku, unitPrice, new CompiledOffer(groupSize, random.nextInt(groupSize) * unitPrice));
+        }
+        OfferTable offers = builder.build();
+        int[] rowSkus = new int[1_003];
+        int[] rowQuantities = new int[rowSkus.length];
+        for (int row = 0; row < rowSkus.length; row++) {
+            rowSkus[row] = random.nextInt(skus);
+            rowQuantities[row] = row % 10 == 0 ? random.nextInt(Integer.MAX_VALUE / 20_000) : random.nextInt(100);
+        }
+
+        for (ChargeKernel kernel : kernels()) {
+            ChargeColumns columns = new ChargeColumns(16);
+            for (int row = 0; row < rowSkus.length; row++) {
+                columns.add(offers, rowSkus[row], rowQuantities[row]);
+            }
+
+            // Act
+            kernel.charge(columns);
+
+            // Assert
+            for (int row = 0; row < rowSkus.length; row++) {
+                assertEquals(offers.charge(rowSkus[row], rowQuantities[row]), columns.chargedMinor(row),
+                        kernel.name() + " row " + row);
+            }
+        }
+    }
+
+    @Test
+    void charge_QuotientsThatRoundUp_CountOnlyCompleteGroups() {
+        // Arrange: 2 of 3, and one short of a large group, round up in double division
+        OfferTable offers = OfferTable.builder(4)
+                .put(0, 10L, new CompiledOffer(3, 20L))
+                .put(1, 1L, new CompiledOffer(1_000_000, 0L))
+                .put(2, 1L, new CompiledOffer(Integer.MAX_VALUE, 0L))
+                .put(3, 10L, new CompiledOffer(2, 10L))
+                .build();
+
+        for (ChargeKernel kernel : kernels()) {
+            ChargeColumns columns = new ChargeColumns(4);
+            for (int i = 0; i < 2; i++) {
+                columns.add(offers, 0, 2);
+                columns.add(offers, 1, 999_999);
+                columns.add(offers, 2, Integer.MAX_VALUE - 1);
+                columns.add(offers, 3, 0);
+            }
+
+            // Act
+            kernel.charge(columns);
+
+            // Assert
+            for (int i = 0; i < 8; i += 4) {
+                assertEquals(20L, columns.chargedMinor(i), kernel.name());
+                assertEquals(999_999L, columns.chargedMinor(i + 1), kernel.name());
+                assertEquals(Integer.MAX_VALUE - 1L, columns.chargedMinor(i + 2), kernel.name());
+                assertEquals(0L, columns.chargedMinor(i + 3), kernel.name());
+            }
+        }
+    }
+
+    @Test
+    void charge_AmountBeyondExactRange_Throws() {
+        OfferTable offers = OfferTable.builder(1).put(0, 1L << 40, CompiledOffer.none(1L << 40)).build();
+
+        for (ChargeKernel kernel : kernels()) {
+            ChargeColumns columns = new ChargeColumns(8);
+            for (int row = 0; row < 8; row++) {
+                columns.add(offers, 0, 1_000_000);
+            }
+
+            assertThrows(ArithmeticException.class, () -> kernel.charge(columns), kernel.name());
+        }
+    }
+
+    @Test
+    void charge_BestPriceSkus_MatchOfferTable() {
+        // Arrange
+        OfferTable offers = OfferTable.builder(2)
+                .put(0, 100L, new CompiledOffer(3, 200L))
+                .put(1, 45L, BestPriceTable.of(45L, List.of(new CompiledOffer(3, 100L), new CompiledOffer(6, 180L))))
+                .build();
+
+        for (ChargeKernel kernel : kernels()) {
+            ChargeColumns columns = new ChargeColumns(4);
+            for (int row = 0; row < 20; row++) {
+                columns.add(offers, row % 2, row);
+            }
+
+            // Act
+            kernel.charge(columns);
+
+            // Assert
+            for (int row = 0; row < 20; row++) {
+                assertEquals(offers.charge(row % 2, row), columns.chargedMinor(row), kernel.name() + " row " + row);
+            }
+        }
+    }
+}